@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.benchmark;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates synthetic decisions used by benchmarks.
+ * Rule i of a decision has an entry testing equality with i for every input and a single output with value i,
+ * so variables created for rule index match exactly one rule, whatever the hit policy is.
+ * Inputs are literal, so they read variables of the same name regardless of entry expression type.
+ */
+final class BenchmarkDecisions {
+
+    static final String INPUT_NAME_PREFIX = "input";
+    static final String OUTPUT_NAME = "result";
+
+    private BenchmarkDecisions() {
+    }
+
+    /**
+     * @param hitPolicy decision hit policy
+     * @param ruleCount number of rules
+     * @param inputCount number of inputs, every rule has an entry for each of them
+     * @param expressionType type of input entry expressions
+     * @return synthetic decision
+     */
+    static Decision create(final HitPolicy hitPolicy, final int ruleCount, final int inputCount, final ExpressionType expressionType) {
+        final Decision.Builder builder = Decision.builder()
+                .id("benchmark_" + hitPolicy.name().toLowerCase() + "_" + ruleCount + "_" + inputCount)
+                .name("Benchmark decision")
+                .hitPolicy(hitPolicy)
+                .expressionType(expressionType);
+
+        for (int i = 0; i < inputCount; i++) {
+            final String inputName = INPUT_NAME_PREFIX + i;
+
+            builder.withInput(in -> in
+                    .name(inputName)
+                    .type(ValueType.INTEGER)
+                    .withExpression(ex -> ex
+                            .type(ExpressionType.LITERAL)
+                            .build())
+                    .build());
+        }
+
+        builder.withOutput(out -> out
+                .name(OUTPUT_NAME)
+                .type(ValueType.INTEGER)
+                .build());
+
+        for (int i = 0; i < ruleCount; i++) {
+            final int ruleIndex = i;
+
+            builder.withRule(rule -> createRule(rule, ruleIndex, inputCount, expressionType));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param ruleIndex index of the rule matched by the variables
+     * @param inputCount number of decision inputs
+     * @return variables matching given rule
+     */
+    static DecisionVariables variables(final int ruleIndex, final int inputCount) {
+        final Map<String, Serializable> variables = new HashMap<>();
+
+        for (int i = 0; i < inputCount; i++) {
+            variables.put(INPUT_NAME_PREFIX + i, ruleIndex);
+        }
+
+        return new DecisionVariables(variables);
+    }
+
+    private static Rule createRule(final Rule.Builder rule, final int ruleIndex, final int inputCount, final ExpressionType expressionType) {
+        for (int i = 0; i < inputCount; i++) {
+            final String inputName = INPUT_NAME_PREFIX + i;
+
+            rule.withInputEntry(in -> in
+                    .name(inputName)
+                    .evaluationMode(expressionType == ExpressionType.LITERAL ? EvaluationMode.INPUT_COMPARISON : EvaluationMode.BOOLEAN)
+                    .withExpression(ex -> ex
+                            .type(expressionType)
+                            .value(createEntryExpression(ruleIndex, expressionType))
+                            .build())
+                    .build());
+        }
+
+        return rule
+                .withOutputEntry(out -> out
+                        .name(OUTPUT_NAME)
+                        .withExpression(ex -> ex
+                                .type(ExpressionType.LITERAL)
+                                .value(ruleIndex)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static Serializable createEntryExpression(final int ruleIndex, final ExpressionType expressionType) {
+        final Serializable expression;
+
+        switch (expressionType) {
+            case LITERAL:
+                expression = ruleIndex;
+                break;
+            case FEEL:
+                expression = String.valueOf(ruleIndex);
+                break;
+            default:
+                expression = "cellInput == " + ruleIndex;
+        }
+
+        return expression;
+    }
+}
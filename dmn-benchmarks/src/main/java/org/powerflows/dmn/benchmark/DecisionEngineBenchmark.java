@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.benchmark;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.DecisionEngine;
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DecisionEngine} evaluation across hit policies, table sizes and input widths.
+ * Evaluation through the engine compiles the decision on every call, evaluation of compiled decision shows
+ * the cost of matching rules only.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionEngineBenchmark {
+
+    private static final int VARIABLE_COUNT = 64;
+
+    @Param({"UNIQUE", "FIRST", "ANY", "COLLECT", "RULE_ORDER"})
+    private HitPolicy hitPolicy;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int ruleCount;
+
+    @Param({"1", "4", "16"})
+    private int inputCount;
+
+    private DecisionEngine decisionEngine;
+    private Decision decision;
+    private CompiledDecision compiledDecision;
+    private DecisionVariables[] decisionVariables;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        decisionEngine = new DefaultDecisionEngineConfiguration().configure();
+        decision = BenchmarkDecisions.create(hitPolicy, ruleCount, inputCount, ExpressionType.LITERAL);
+        compiledDecision = decisionEngine.compile(decision);
+        decisionVariables = new DecisionVariables[VARIABLE_COUNT];
+
+        for (int i = 0; i < VARIABLE_COUNT; i++) {
+            decisionVariables[i] = BenchmarkDecisions.variables((int) ((long) i * ruleCount / VARIABLE_COUNT), inputCount);
+        }
+    }
+
+    @Benchmark
+    public DecisionResult evaluateCompiled() {
+        return compiledDecision.evaluate(nextVariables());
+    }
+
+    @Benchmark
+    public DecisionResult evaluate() {
+        return decisionEngine.evaluate(decision, nextVariables());
+    }
+
+    @Benchmark
+    public CompiledDecision compile() {
+        return decisionEngine.compile(decision);
+    }
+
+    private DecisionVariables nextVariables() {
+        next = (next + 1) & (VARIABLE_COUNT - 1);
+
+        return decisionVariables[next];
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.benchmark;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares expression evaluation providers on identical decisions, which differ in input entry expression type only.
+ * Literal and FEEL entries test equality with a constant, script entries compare the cell input with the same constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluationProviderBenchmark {
+
+    private static final int VARIABLE_COUNT = 64;
+
+    @Param({"LITERAL", "FEEL", "MVEL", "JUEL", "GROOVY", "JAVASCRIPT"})
+    private ExpressionType expressionType;
+
+    @Param({"10", "100"})
+    private int ruleCount;
+
+    @Param({"1", "4"})
+    private int inputCount;
+
+    private CompiledDecision compiledDecision;
+    private DecisionVariables[] decisionVariables;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        compiledDecision = new DefaultDecisionEngineConfiguration()
+                .configure()
+                .compile(BenchmarkDecisions.create(HitPolicy.FIRST, ruleCount, inputCount, expressionType));
+        decisionVariables = new DecisionVariables[VARIABLE_COUNT];
+
+        for (int i = 0; i < VARIABLE_COUNT; i++) {
+            decisionVariables[i] = BenchmarkDecisions.variables(i * ruleCount / VARIABLE_COUNT, inputCount);
+        }
+    }
+
+    @Benchmark
+    public DecisionResult evaluate() {
+        next = (next + 1) & (VARIABLE_COUNT - 1);
+
+        return compiledDecision.evaluate(decisionVariables[next]);
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.benchmark;
+
+
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration;
+import org.powerflows.dmn.engine.evaluator.metrics.DecisionMetricsSnapshot;
+import org.powerflows.dmn.engine.evaluator.metrics.EvaluationMetrics;
+import org.powerflows.dmn.engine.evaluator.metrics.LatencySnapshot;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+import org.powerflows.dmn.engine.sample.generator.DecisionGenerator;
+import org.powerflows.dmn.engine.sample.generator.DecisionShape;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives evaluation of generated decision from growing number of threads and reports throughput, latency percentiles,
+ * GC pauses and allocation rate of every run, so scaling across cores can be tracked.
+ * <p>
+ * Usage: {@code java -cp dmn-benchmarks/target/benchmarks.jar org.powerflows.dmn.benchmark.LoadTestRunner [key=value...]}
+ * with keys: threads (comma separated thread counts), duration and warmup (seconds), rules, inputs, hitPolicy,
+ * valueTypes (comma separated), wildcardDensity, expressionTypes (comma separated type:weight pairs), workload and seed.
+ */
+public final class LoadTestRunner {
+
+    private static final String REPORT_FORMAT = "%7s %12s %12s %10s %10s %10s %10s %8s %10s %12s %10s%n";
+
+    private final CompiledDecision compiledDecision;
+    private final Decision decision;
+    private final DecisionVariables[] workload;
+    private final long durationNanos;
+    private final long warmupNanos;
+
+    public LoadTestRunner(final DecisionShape shape, final int workloadSize, final long durationSeconds, final long warmupSeconds) {
+        final DecisionGenerator generator = new DecisionGenerator(shape);
+
+        this.decision = generator.generateDecision();
+        this.compiledDecision = new DefaultDecisionEngineConfiguration().configure().compile(decision);
+        this.workload = generator.generateVariables(workloadSize, shape.getSeed()).toArray(new DecisionVariables[0]);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = parseOptions(args);
+        final DecisionShape shape = DecisionShape.builder()
+                .seed(Long.parseLong(options.getOrDefault("seed", "1")))
+                .hitPolicy(HitPolicy.valueOf(options.getOrDefault("hitPolicy", "FIRST")))
+                .ruleCount(Integer.parseInt(options.getOrDefault("rules", "50000")))
+                .inputCount(Integer.parseInt(options.getOrDefault("inputs", "80")))
+                .valueTypes(parseValueTypes(options.getOrDefault("valueTypes", "INTEGER,DOUBLE,STRING,BOOLEAN")))
+                .wildcardDensity(Double.parseDouble(options.getOrDefault("wildcardDensity", "0.7")))
+                .expressionTypeWeights(parseExpressionTypeWeights(options.getOrDefault("expressionTypes", "FEEL:8,MVEL:1,JUEL:1")))
+                .build();
+        final LoadTestRunner runner = new LoadTestRunner(shape,
+                Integer.parseInt(options.getOrDefault("workload", "100000")),
+                Long.parseLong(options.getOrDefault("duration", "30")),
+                Long.parseLong(options.getOrDefault("warmup", "10")));
+
+        System.out.println(shape);
+        System.out.printf(REPORT_FORMAT, "threads", "evaluations", "ops/s", "p50 us", "p99 us", "p999 us", "max us",
+                "gc", "gc ms", "alloc MB/s", "bytes/op");
+
+        for (String threads : options.getOrDefault("threads", "1,2,4,8").split(",")) {
+            runner.run(Integer.parseInt(threads.trim())).print();
+        }
+    }
+
+    /**
+     * Warms up and measures evaluation on given number of threads.
+     *
+     * @param threadCount number of evaluating threads
+     * @return measurement of the run
+     * @throws InterruptedException when interrupted while waiting for evaluating threads
+     */
+    public Result run(final int threadCount) throws InterruptedException {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+        try {
+            runWorkers(executor, threadCount, compiledDecision, warmupNanos);
+
+            final EvaluationMetrics metrics = new EvaluationMetrics();
+            final CompiledDecision measuredDecision = new DefaultDecisionEngineConfiguration()
+                    .evaluationListeners(Collections.singletonList(metrics))
+                    .configure()
+                    .compile(decision);
+            final long gcCountBefore = getGcCount();
+            final long gcTimeBefore = getGcTime();
+            final long start = System.nanoTime();
+            final long allocatedBytes = runWorkers(executor, threadCount, measuredDecision, durationNanos);
+            final long elapsedNanos = System.nanoTime() - start;
+
+            return new Result(threadCount,
+                    elapsedNanos,
+                    metrics.getSnapshot(measuredDecision.getDecision().getId()),
+                    getGcCount() - gcCountBefore,
+                    getGcTime() - gcTimeBefore,
+                    allocatedBytes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return bytes allocated by all workers, or -1 when allocation measurement is not supported by the JVM
+     */
+    private long runWorkers(final ExecutorService executor,
+                            final int threadCount,
+                            final CompiledDecision evaluatedDecision,
+                            final long runNanos) throws InterruptedException {
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<Long>> workers = new ArrayList<>(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            final int offset = i * workload.length / threadCount;
+
+            workers.add(executor.submit(() -> evaluate(evaluatedDecision, offset, startLatch, runNanos)));
+        }
+
+        startLatch.countDown();
+
+        long allocatedBytes = 0;
+
+        for (Future<Long> worker : workers) {
+            try {
+                final long workerAllocatedBytes = worker.get();
+
+                allocatedBytes = allocatedBytes < 0 || workerAllocatedBytes < 0 ? -1 : allocatedBytes + workerAllocatedBytes;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load test worker failed", e.getCause());
+            }
+        }
+
+        return allocatedBytes;
+    }
+
+    private long evaluate(final CompiledDecision evaluatedDecision,
+                          final int offset,
+                          final CountDownLatch startLatch,
+                          final long runNanos) throws InterruptedException {
+        startLatch.await();
+
+        final long allocatedBefore = getAllocatedBytes();
+        final long deadline = System.nanoTime() + runNanos;
+        int index = offset;
+
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 64; i++) {
+                try {
+                    evaluatedDecision.evaluate(workload[index]);
+                } catch (RuntimeException e) {
+                    // failures are counted by evaluation metrics
+                }
+
+                index = index + 1 == workload.length ? 0 : index + 1;
+            }
+        }
+
+        return allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+    }
+
+    private static long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final long allocatedBytes;
+
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+            allocatedBytes = ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        } else {
+            allocatedBytes = -1;
+        }
+
+        return allocatedBytes;
+    }
+
+    private static long getGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long getGcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Option " + arg + " has to be given as key=value");
+            }
+
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+
+    private static List<ValueType> parseValueTypes(final String valueTypes) {
+        final List<ValueType> types = new ArrayList<>();
+
+        for (String valueType : valueTypes.split(",")) {
+            types.add(ValueType.valueOf(valueType.trim()));
+        }
+
+        return types;
+    }
+
+    private static Map<ExpressionType, Integer> parseExpressionTypeWeights(final String expressionTypes) {
+        final Map<ExpressionType, Integer> weights = new EnumMap<>(ExpressionType.class);
+
+        for (String expressionType : expressionTypes.split(",")) {
+            final String[] typeAndWeight = expressionType.trim().split(":");
+
+            weights.put(ExpressionType.valueOf(typeAndWeight[0]), typeAndWeight.length > 1 ? Integer.parseInt(typeAndWeight[1]) : 1);
+        }
+
+        return weights;
+    }
+
+    /**
+     * Measurement of single load test run.
+     */
+    public static class Result {
+
+        private final int threadCount;
+        private final long elapsedNanos;
+        private final DecisionMetricsSnapshot metrics;
+        private final long gcCount;
+        private final long gcTimeMillis;
+        private final long allocatedBytes;
+
+        private Result(final int threadCount,
+                       final long elapsedNanos,
+                       final DecisionMetricsSnapshot metrics,
+                       final long gcCount,
+                       final long gcTimeMillis,
+                       final long allocatedBytes) {
+            this.threadCount = threadCount;
+            this.elapsedNanos = elapsedNanos;
+            this.metrics = metrics;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public int getThreadCount() {
+            return threadCount;
+        }
+
+        public long getEvaluationCount() {
+            return metrics == null ? 0 : metrics.getEvaluationCount();
+        }
+
+        public double getThroughput() {
+            return getEvaluationCount() * 1e9 / elapsedNanos;
+        }
+
+        public LatencySnapshot getLatency() {
+            return metrics == null ? null : metrics.getLatency();
+        }
+
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        public long getGcTimeMillis() {
+            return gcTimeMillis;
+        }
+
+        /**
+         * @return allocation rate in bytes per second, or -1 when not supported by the JVM
+         */
+        public double getAllocationRate() {
+            return allocatedBytes < 0 ? -1 : allocatedBytes * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @return bytes allocated per evaluation, or -1 when not supported by the JVM
+         */
+        public double getAllocatedBytesPerEvaluation() {
+            return allocatedBytes < 0 || getEvaluationCount() == 0 ? -1 : (double) allocatedBytes / getEvaluationCount();
+        }
+
+        private void print() {
+            final LatencySnapshot latency = getLatency();
+
+            System.out.printf(REPORT_FORMAT,
+                    threadCount,
+                    getEvaluationCount(),
+                    String.format("%.0f", getThroughput()),
+                    micros(latency == null ? 0 : latency.getP50Nanos()),
+                    micros(latency == null ? 0 : latency.getP99Nanos()),
+                    micros(latency == null ? 0 : latency.getP999Nanos()),
+                    micros(latency == null ? 0 : latency.getMaxNanos()),
+                    gcCount,
+                    gcTimeMillis,
+                    String.format("%.1f", getAllocationRate() / (1024 * 1024)),
+                    String.format("%.0f", getAllocatedBytesPerEvaluation()));
+        }
+
+        private static String micros(final long nanos) {
+            return String.format("%.1f", nanos / 1000d);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.benchmark;
+
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures type converters for values of the target type, for values given as strings and for collections.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+    @Param({"STRING", "INTEGER", "DOUBLE", "BOOLEAN", "DATE"})
+    private ValueType valueType;
+
+    private TypeConverter<?> typeConverter;
+    private Object typedValue;
+    private Object stringValue;
+    private Object collectionValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        typeConverter = new TypeConverterFactory().getInstance(valueType);
+
+        switch (valueType) {
+            case INTEGER:
+                typedValue = 42;
+                stringValue = "42";
+                collectionValue = Arrays.asList(1, 2L, "3");
+                break;
+            case DOUBLE:
+                typedValue = 4.2d;
+                stringValue = "4.2";
+                collectionValue = Arrays.asList(1.5d, 2, "3.5");
+                break;
+            case BOOLEAN:
+                typedValue = true;
+                stringValue = "true";
+                collectionValue = Arrays.asList(true, "false", Boolean.TRUE);
+                break;
+            case DATE:
+                typedValue = new Date();
+                stringValue = "2019-01-01T12:00:00";
+                collectionValue = Arrays.asList(new Date(), "2019-01-01", "2019-01-01T12:00:00");
+                break;
+            default:
+                typedValue = "value";
+                stringValue = "value";
+                collectionValue = Arrays.asList("a", "b", "c");
+        }
+    }
+
+    @Benchmark
+    public SpecifiedTypeValue<?> convertTyped() {
+        return typeConverter.convert(typedValue);
+    }
+
+    @Benchmark
+    public SpecifiedTypeValue<?> convertString() {
+        return typeConverter.convert(stringValue);
+    }
+
+    @Benchmark
+    public SpecifiedTypeValue<?> convertCollection() {
+        return typeConverter.convert(collectionValue);
+    }
+}
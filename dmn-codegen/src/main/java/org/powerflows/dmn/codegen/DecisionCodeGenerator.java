@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.codegen;
+
+
+import org.powerflows.dmn.codegen.ExpressionTranslator.OutputValue;
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.Output;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates Java classes evaluating decisions by plain conditions, extending
+ * {@code org.powerflows.dmn.engine.evaluator.generated.AbstractGeneratedDecision}, and JUnit tests comparing
+ * their results with results of the decision engine. Decisions with inputs read from decision variables,
+ * literal and FEEL entries and public static bound functions are supported, generation of other decisions fails.
+ */
+public class DecisionCodeGenerator {
+
+    private static final int SERIALIZED_DECISION_PART_LENGTH = 8192;
+    private static final int MAX_SAMPLE_COUNT = 1024;
+
+    private final String packageName;
+    private final List<MethodBinding> methodBindings;
+
+    /**
+     * @param packageName    package of generated classes
+     * @param methodBindings functions available in FEEL expressions
+     */
+    public DecisionCodeGenerator(final String packageName, final List<MethodBinding> methodBindings) {
+        if (packageName == null) {
+            throw new NullPointerException("Package name can not be null");
+        }
+
+        if (methodBindings == null) {
+            throw new NullPointerException("Method bindings can not be null");
+        }
+
+        this.packageName = packageName;
+        this.methodBindings = methodBindings;
+    }
+
+    /**
+     * @param decision decision definition
+     * @return fully qualified name of the class generated for the decision
+     */
+    public String getClassName(final Decision decision) {
+        return qualify(JavaSyntax.toClassName(decision.getId(), "Decision"));
+    }
+
+    /**
+     * @param decision decision definition
+     * @return source of the decision class
+     * @throws CodeGenerationException if the decision is not supported
+     */
+    public GeneratedSource generateClass(final Decision decision) {
+        final DecisionModel model = new DecisionModel(decision);
+        final String simpleName = JavaSyntax.toClassName(decision.getId(), "Decision");
+        final StringBuilder source = new StringBuilder();
+
+        packageDeclaration(source);
+        source.append("import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException;\n")
+                .append("import org.powerflows.dmn.engine.evaluator.generated.AbstractGeneratedDecision;\n")
+                .append("import org.powerflows.dmn.engine.model.decision.field.ValueType;\n")
+                .append("import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;\n")
+                .append("import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;\n")
+                .append('\n')
+                .append("import java.io.Serializable;\n")
+                .append("import java.util.Collections;\n")
+                .append("import java.util.Date;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Objects;\n")
+                .append('\n')
+                .append("/**\n")
+                .append(" * Evaluates decision ").append(escapeComment(describe(decision))).append(".\n")
+                .append(" * Generated from the decision definition, do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public final class ").append(simpleName).append(" extends AbstractGeneratedDecision {\n")
+                .append('\n');
+
+        appendConstants(source, decision, model);
+
+        source.append('\n')
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("        super(DECISION);\n")
+                .append("    }\n")
+                .append('\n');
+
+        appendEvaluateMethod(source, decision, model);
+
+        source.append('\n')
+                .append("    @Override\n")
+                .append("    protected DecisionResult evaluateConverted(final Object[] inputValues) {\n")
+                .append("        return evaluate(");
+
+        for (int i = 0; i < model.inputs.size(); i++) {
+            source.append(i == 0 ? "" : ", ")
+                    .append('(').append(JavaSyntax.toJavaType(model.inputs.get(i).getType()).getSimpleName()).append(") inputValues[").append(i).append(']');
+        }
+
+        source.append(");\n")
+                .append("    }\n")
+                .append("}\n");
+
+        return new GeneratedSource(qualify(simpleName), source.toString());
+    }
+
+    /**
+     * Generated test evaluates the decision for inputs made of null, tested literals and values next to them,
+     * by the generated class and by the decision engine, and expects equal results. Inputs the engine fails
+     * to evaluate expressions for, e.g. missing values compared with numbers, are skipped, the generated class
+     * evaluates such comparisons to false.
+     *
+     * @param decision decision definition
+     * @return source of JUnit test of the decision class
+     * @throws CodeGenerationException if the decision is not supported
+     */
+    public GeneratedSource generateTest(final Decision decision) {
+        final DecisionModel model = new DecisionModel(decision);
+        final String decisionClassName = JavaSyntax.toClassName(decision.getId(), "Decision");
+        final String simpleName = decisionClassName + "Test";
+        final StringBuilder source = new StringBuilder();
+
+        packageDeclaration(source);
+        source.append("import org.junit.Test;\n")
+                .append("import org.powerflows.dmn.engine.CompiledDecision;\n")
+                .append("import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration;\n")
+                .append("import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException;\n")
+                .append("import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;\n")
+                .append("import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding;\n")
+                .append('\n')
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.Arrays;\n")
+                .append("import java.util.Date;\n")
+                .append("import java.util.List;\n")
+                .append('\n')
+                .append("import static org.junit.Assert.assertEquals;\n")
+                .append('\n')
+                .append("/**\n")
+                .append(" * Compares results of {@link ").append(decisionClassName).append("} with results of the decision engine.\n")
+                .append(" * Generated from the decision definition, do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings(\"all\")\n")
+                .append("public class ").append(simpleName).append(" {\n")
+                .append('\n')
+                .append("    private static final Object[][] INPUT_VALUES = {\n");
+
+        for (List<Object> sample : createSamples(decision, model)) {
+            source.append("            {").append(sample.stream().map(JavaSyntax::toLiteral).collect(Collectors.joining(", "))).append("},\n");
+        }
+
+        source.append("    };\n")
+                .append('\n')
+                .append("    @Test\n")
+                .append("    public void shouldEvaluateLikeDecisionEngine() throws Exception {\n")
+                .append("        final ").append(decisionClassName).append(" generatedDecision = new ").append(decisionClassName).append("();\n")
+                .append("        final List<MethodBinding> methodBindings = new ArrayList<>();\n");
+
+        for (MethodBinding methodBinding : model.translator.getUsedMethodBindings()) {
+            final Method method = methodBinding.method();
+
+            source.append("        methodBindings.add(new StaticMethodBinding(").append(JavaSyntax.toStringLiteral(methodBinding.name())).append(", ")
+                    .append(method.getDeclaringClass().getCanonicalName()).append(".class.getMethod(").append(JavaSyntax.toStringLiteral(method.getName()));
+
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                source.append(", ").append(parameterType.getCanonicalName()).append(".class");
+            }
+
+            source.append(")));\n");
+        }
+
+        source.append("        final CompiledDecision engineDecision = new DefaultDecisionEngineConfiguration()\n")
+                .append("                .methodBindings(methodBindings)\n")
+                .append("                .configure()\n")
+                .append("                .compile(generatedDecision.getDecision());\n")
+                .append('\n')
+                .append("        for (Object[] inputValues : INPUT_VALUES) {\n")
+                .append("            final String engineResult = evaluate(engineDecision, inputValues);\n")
+                .append('\n')
+                .append("            if (!engineResult.startsWith(ExpressionEvaluationException.class.getName())) {\n")
+                .append("                assertEquals(\"Input values \" + Arrays.toString(inputValues), engineResult, evaluate(generatedDecision, inputValues));\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append('\n')
+                .append("    private static String evaluate(final CompiledDecision decision, final Object[] inputValues) {\n")
+                .append("        try {\n")
+                .append("            return String.valueOf(decision.evaluateInputs(inputValues));\n")
+                .append("        } catch (RuntimeException e) {\n")
+                .append("            return e.getClass().getName() + \": \" + e.getMessage();\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+
+        return new GeneratedSource(qualify(simpleName), source.toString());
+    }
+
+    private void appendConstants(final StringBuilder source, final Decision decision, final DecisionModel model) {
+        source.append("    private static final String[] DECISION = {\n");
+
+        for (String part : serialize(decision)) {
+            source.append("            \"").append(part).append("\",\n");
+        }
+
+        source.append("    };\n");
+
+        for (Map.Entry<String, String> dateConstant : model.translator.getDateConstants().entrySet()) {
+            source.append("    private static final Date ").append(dateConstant.getKey()).append(" = ").append(dateConstant.getValue()).append(";\n");
+        }
+
+        for (RuleModel rule : model.rules) {
+            if (rule.constant) {
+                source.append("    private static final RuleResult ").append(rule.constantName).append(" = ").append(rule.result).append(";\n");
+            }
+        }
+    }
+
+    private void appendEvaluateMethod(final StringBuilder source, final Decision decision, final DecisionModel model) {
+        source.append("    /**\n")
+                .append("     * Evaluates the decision for values of its inputs.\n")
+                .append("     *\n");
+
+        for (int i = 0; i < model.inputs.size(); i++) {
+            source.append("     * @param ").append(model.variables.get(i)).append(" value of input ").append(escapeComment(model.inputs.get(i).getName())).append('\n');
+        }
+
+        source.append("     * @return evaluation result\n")
+                .append("     */\n")
+                .append("    public DecisionResult evaluate(");
+
+        for (int i = 0; i < model.inputs.size(); i++) {
+            source.append(i == 0 ? "" : ", ")
+                    .append("final ").append(JavaSyntax.toJavaType(model.inputs.get(i).getType()).getSimpleName()).append(' ').append(model.variables.get(i));
+        }
+
+        source.append(") {\n");
+
+        if (isSingleRuleResultExpected(decision)) {
+            appendFirstMatch(source, model);
+        } else {
+            appendAllMatches(source, model, HitPolicy.UNIQUE == decision.getHitPolicy());
+        }
+
+        source.append("    }\n");
+    }
+
+    /**
+     * Rules are tested by if/else chain, rule matching any input ends the chain.
+     */
+    private void appendFirstMatch(final StringBuilder source, final DecisionModel model) {
+        source.append("        final RuleResult ruleResult;\n")
+                .append('\n');
+
+        boolean first = true;
+        boolean complete = false;
+
+        for (RuleModel rule : model.rules) {
+            if (ExpressionTranslator.TRUE.equals(rule.condition)) {
+                source.append(first ? "        " : " else {\n            ")
+                        .append("ruleResult = ").append(rule.getResult()).append(";\n")
+                        .append(first ? "" : "        }\n");
+                complete = true;
+                break;
+            }
+
+            source.append(first ? "        if (" : " else if (").append(rule.condition).append(") {\n")
+                    .append("            ruleResult = ").append(rule.getResult()).append(";\n")
+                    .append("        }");
+            first = false;
+        }
+
+        if (!complete) {
+            source.append(first ? "        ruleResult = null;\n" : " else {\n            ruleResult = null;\n        }\n");
+        }
+
+        source.append('\n')
+                .append("        return decisionResult(ruleResult == null ? Collections.<RuleResult>emptyList() : Collections.singletonList(ruleResult));\n");
+    }
+
+    private void appendAllMatches(final StringBuilder source, final DecisionModel model, final boolean unique) {
+        source.append("        List<RuleResult> ruleResults = Collections.emptyList();\n")
+                .append('\n');
+
+        for (RuleModel rule : model.rules) {
+            if (ExpressionTranslator.TRUE.equals(rule.condition)) {
+                source.append("        ruleResults = addRuleResult(ruleResults, ").append(rule.getResult()).append(");\n");
+            } else {
+                source.append("        if (").append(rule.condition).append(") {\n")
+                        .append("            ruleResults = addRuleResult(ruleResults, ").append(rule.getResult()).append(");\n")
+                        .append("        }\n");
+            }
+        }
+
+        if (unique) {
+            source.append('\n')
+                    .append("        if (ruleResults.size() > 1) {\n")
+                    .append("            throw new HitPolicyViolationException(\"Unique result is expected\");\n")
+                    .append("        }\n");
+        }
+
+        source.append('\n')
+                .append("        return decisionResult(ruleResults);\n");
+    }
+
+    /**
+     * All combinations of sample values are used, unless there are too many of them.
+     * Then combinations are chosen randomly, with seed depending on decision id, so the test does not change between builds.
+     */
+    private List<List<Object>> createSamples(final Decision decision, final DecisionModel model) {
+        final List<List<Object>> sampleValues = model.inputs
+                .stream()
+                .map(input -> new ArrayList<>(model.translator.getSampleValues(input)))
+                .collect(Collectors.toList());
+        final long combinationCount = sampleValues.stream().mapToLong(List::size).reduce(1, (a, b) -> Math.min(a * b, Long.MAX_VALUE / MAX_SAMPLE_COUNT));
+        final Random random = new Random(decision.getId().hashCode());
+        final Set<List<Object>> samples = new LinkedHashSet<>();
+
+        for (long i = 0; i < Math.min(combinationCount, MAX_SAMPLE_COUNT); i++) {
+            final List<Object> sample = new ArrayList<>();
+            long remainder = i;
+
+            for (List<Object> values : sampleValues) {
+                if (combinationCount <= MAX_SAMPLE_COUNT) {
+                    sample.add(values.get((int) (remainder % values.size())));
+                    remainder /= values.size();
+                } else {
+                    sample.add(values.get(random.nextInt(values.size())));
+                }
+            }
+
+            samples.add(sample);
+        }
+
+        return new ArrayList<>(samples);
+    }
+
+    private void packageDeclaration(final StringBuilder source) {
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n")
+                    .append('\n');
+        }
+    }
+
+    private String qualify(final String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    private static boolean isSingleRuleResultExpected(final Decision decision) {
+        return HitPolicy.FIRST == decision.getHitPolicy() || HitPolicy.ANY == decision.getHitPolicy();
+    }
+
+    private static String describe(final Decision decision) {
+        return decision.getName() == null ? decision.getId() : decision.getName() + " (" + decision.getId() + ")";
+    }
+
+    private static String escapeComment(final String text) {
+        return String.valueOf(text).replaceAll("\\s", " ").replace("*/", "*&#47;").replace("\\u", "\\\\u");
+    }
+
+    /**
+     * Serialized decision is split into parts, as string constants of Java classes are limited in length.
+     */
+    private static List<String> serialize(final Decision decision) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(decision);
+        } catch (IOException e) {
+            throw new CodeGenerationException("Decision " + decision.getId() + " can not be serialized", e);
+        }
+
+        final String encoded = Base64.getEncoder().encodeToString(bytes.toByteArray());
+        final List<String> parts = new ArrayList<>();
+
+        for (int i = 0; i < encoded.length(); i += SERIALIZED_DECISION_PART_LENGTH) {
+            parts.add(encoded.substring(i, Math.min(encoded.length(), i + SERIALIZED_DECISION_PART_LENGTH)));
+        }
+
+        return parts;
+    }
+
+    /**
+     * Decision validated and translated into Java conditions and rule results.
+     */
+    private class DecisionModel {
+
+        private final ExpressionTranslator translator = new ExpressionTranslator(methodBindings);
+        private final List<Input> inputs;
+        private final List<String> variables = new ArrayList<>();
+        private final List<RuleModel> rules = new ArrayList<>();
+
+        private DecisionModel(final Decision decision) {
+            if (decision == null) {
+                throw new NullPointerException("Decision can not be null");
+            }
+
+            this.inputs = decision.getInputs();
+
+            final Map<String, Input> inputsByName = new HashMap<>();
+            final Map<String, String> variablesByName = new HashMap<>();
+
+            for (Input input : inputs) {
+                validate(input);
+
+                final String variable = JavaSyntax.toVariableName(input.getName(), "input", variables);
+
+                variables.add(variable);
+                inputsByName.put(input.getName(), input);
+                variablesByName.put(input.getName(), variable);
+            }
+
+            final Map<String, Output> outputsByName = decision.getOutputs()
+                    .stream()
+                    .collect(Collectors.toMap(Output::getName, output -> output));
+
+            for (Rule rule : decision.getRules()) {
+                if (!rule.getOutputEntries().isEmpty()) {
+                    addRule(rule, inputsByName, variablesByName, outputsByName);
+                }
+            }
+        }
+
+        /**
+         * Rules without output entries never match, rules with entries which never match are skipped too.
+         */
+        private void addRule(final Rule rule,
+                             final Map<String, Input> inputsByName,
+                             final Map<String, String> variablesByName,
+                             final Map<String, Output> outputsByName) {
+            final List<String> conditions = new ArrayList<>();
+
+            for (InputEntry inputEntry : rule.getInputEntries()) {
+                final Input input = inputsByName.get(inputEntry.getName());
+
+                conditions.add(translator.translateInputEntry(inputEntry, input, variablesByName.get(inputEntry.getName())));
+            }
+
+            final List<OutputValue> outputValues = new ArrayList<>();
+
+            for (OutputEntry outputEntry : rule.getOutputEntries()) {
+                final Output output = outputsByName.get(outputEntry.getName());
+
+                if (output == null || output.getType() == null) {
+                    throw new CodeGenerationException("Output " + outputEntry.getName() + " has no type");
+                }
+
+                outputValues.add(translator.translateOutputEntry(outputEntry, output));
+            }
+
+            if (!conditions.contains(ExpressionTranslator.FALSE)) {
+                rules.add(new RuleModel(rules.size(), rule, conditions, outputValues));
+            }
+        }
+
+        /**
+         * Values of generated decision inputs are read from decision variables only.
+         */
+        private void validate(final Input input) {
+            if (input.getType() == null) {
+                throw new CodeGenerationException("Input " + input.getName() + " has no type");
+            }
+
+            if (input.getExpression() != null && (ExpressionType.LITERAL != input.getExpression().getType() || input.getExpression().getValue() != null)) {
+                throw new CodeGenerationException("Input " + input.getName() + " with expression is not supported");
+            }
+        }
+    }
+
+    /**
+     * Rule having output entries and input entries which may match.
+     */
+    private static class RuleModel {
+
+        private final String condition;
+        private final boolean constant;
+        private final String constantName;
+        private final String result;
+
+        private RuleModel(final int index, final Rule rule, final List<String> conditions, final List<OutputValue> outputValues) {
+            final List<String> matchingConditions = conditions
+                    .stream()
+                    .filter(condition -> !ExpressionTranslator.TRUE.equals(condition))
+                    .collect(Collectors.toList());
+
+            this.condition = matchingConditions.isEmpty() ? ExpressionTranslator.TRUE : String.join(" && ", matchingConditions);
+            this.constant = outputValues.stream().allMatch(OutputValue::isConstant);
+            this.constantName = "RULE_" + index;
+            this.result = "ruleResult(new String[]{"
+                    + rule.getOutputEntries().stream().map(outputEntry -> JavaSyntax.toStringLiteral(outputEntry.getName())).collect(Collectors.joining(", "))
+                    + "}, "
+                    + outputValues.stream().map(OutputValue::getExpression).collect(Collectors.joining(", "))
+                    + ")";
+        }
+
+        private String getResult() {
+            return constant ? constantName : result;
+        }
+    }
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.codegen;
+
+
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.expression.Expression;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.Output;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Translates entries of single decision into Java expressions, the way the engine evaluates them.
+ * Supports literal entries and FEEL unary tests made of literals, ranges, comparisons, lists, negations
+ * and calls of static bound functions with literal arguments. Missing input values never match ranges
+ * and comparisons. Input entry translation also collects values of inputs worth testing, which are
+ * the tested literals and values next to them.
+ */
+final class ExpressionTranslator {
+
+    static final String TRUE = "true";
+    static final String FALSE = "false";
+
+    private static final String FEEL_ANY = "-";
+    private static final String COLLECTION_PATTERN = ",(?=([^\"]*\"[^\"]*\")*[^\"]*$)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("^\"[^\"\\\\]*\"$");
+    private static final Pattern INTEGER_LITERAL = Pattern.compile("^-?\\d+$");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("^-?\\d+(\\.\\d+)?$");
+    private static final Pattern BOOLEAN_LITERAL = Pattern.compile("^(true|false)$");
+    private static final Pattern RANGE = Pattern.compile("^(\\(|\\]|\\[)(.*[^\\.])\\.\\.(.+)(\\)|\\[|\\])$");
+    private static final Pattern COMPARISON = Pattern.compile("^(<|<=|>|>=)([^=].*)$");
+    private static final Pattern NOT = Pattern.compile("^not\\((.+)\\)$");
+    private static final Pattern DATE_AND_TIME_LITERAL = Pattern.compile("^date\\s+and\\s+time\\s*\\(\\s*\"([^\"]*)\"\\s*\\)$");
+    private static final Pattern FUNCTION_CALL = Pattern.compile("^([^(]+)\\((.*)\\)$");
+    private static final long DATE_SAMPLE_DISTANCE = 1;
+    private static final double DOUBLE_SAMPLE_DISTANCE = 0.5;
+
+    private final TypeConverterFactory typeConverterFactory = new TypeConverterFactory();
+    private final Map<String, MethodBinding> methodBindings = new LinkedHashMap<>();
+    private final Map<String, String> dateConstants = new LinkedHashMap<>();
+    private final Set<MethodBinding> usedMethodBindings = new LinkedHashSet<>();
+    private final Map<String, Set<Object>> sampleValues = new LinkedHashMap<>();
+
+    ExpressionTranslator(final List<MethodBinding> methodBindings) {
+        for (MethodBinding methodBinding : methodBindings) {
+            this.methodBindings.put(removeWhiteChars(methodBinding.name()), methodBinding);
+        }
+    }
+
+    /**
+     * @param inputEntry entry of a rule
+     * @param input      input of the entry
+     * @param variable   name of Java variable holding input value
+     * @return Java condition, {@link #TRUE} if the entry matches any value or {@link #FALSE} if it never matches
+     */
+    String translateInputEntry(final InputEntry inputEntry, final Input input, final String variable) {
+        final Expression expression = inputEntry.getExpression();
+        final String condition;
+
+        try {
+            if (ExpressionType.LITERAL == expression.getType()) {
+                condition = translateLiteralInputEntry(inputEntry, input, variable);
+            } else if (ExpressionType.FEEL == expression.getType() && expression.getValue() instanceof String) {
+                condition = translateFeelInputEntry(((String) expression.getValue()).trim(), input, variable);
+            } else {
+                throw unsupported(expression);
+            }
+        } catch (EvaluationException e) {
+            throw new CodeGenerationException("Entry " + expression.getValue() + " of input " + input.getName() + " can not be generated", e);
+        }
+
+        return condition;
+    }
+
+    /**
+     * @param outputEntry entry of a rule
+     * @param output      output of the entry
+     * @return translated value of the entry
+     */
+    OutputValue translateOutputEntry(final OutputEntry outputEntry, final Output output) {
+        final Expression expression = outputEntry.getExpression();
+        final OutputValue outputValue;
+
+        if (ExpressionType.LITERAL == expression.getType()) {
+            outputValue = constantOutputValue(expression.getValue(), JavaSyntax.toLiteral(expression.getValue()), output);
+        } else if (ExpressionType.FEEL == expression.getType() && expression.getValue() instanceof String) {
+            outputValue = translateFeelOutputEntry(((String) expression.getValue()).trim(), output);
+        } else {
+            throw unsupported(expression);
+        }
+
+        return outputValue;
+    }
+
+    /**
+     * @return Java expressions creating dates used by translated entries, by names of their constants
+     */
+    Map<String, String> getDateConstants() {
+        return dateConstants;
+    }
+
+    /**
+     * @return bound functions called by translated entries
+     */
+    Set<MethodBinding> getUsedMethodBindings() {
+        return usedMethodBindings;
+    }
+
+    /**
+     * @param input decision input
+     * @return null, literals tested by translated entries of the input and values next to them
+     */
+    Set<Object> getSampleValues(final Input input) {
+        final Set<Object> values = new LinkedHashSet<>();
+
+        values.add(null);
+        values.addAll(samples(input));
+
+        if (values.size() == 1) {
+            values.add(defaultSampleValue(input.getType()));
+        }
+
+        return values;
+    }
+
+    private String translateLiteralInputEntry(final InputEntry inputEntry, final Input input, final String variable) {
+        final Object value = inputEntry.getExpression().getValue();
+        final String condition;
+
+        if (EvaluationMode.INPUT_COMPARISON != inputEntry.getEvaluationMode()) {
+            final SpecifiedTypeValue<?> typedValue = typeConverterFactory.getInstance(input.getType()).convert(value);
+
+            condition = Boolean.TRUE.equals(value) || typedValue.isSingleValue() && Boolean.TRUE.equals(typedValue.getValue()) ? TRUE : FALSE;
+        } else if (ValueType.BOOLEAN != input.getType() && Boolean.TRUE.equals(value)) {
+            condition = TRUE;
+        } else if (ValueType.BOOLEAN != input.getType() && Boolean.FALSE.equals(value)) {
+            condition = FALSE;
+        } else {
+            final SpecifiedTypeValue<?> typedValue = typeConverterFactory.getInstance(input.getType()).convert(value);
+            final List<?> values = typedValue.isSingleValue() ? Collections.singletonList(typedValue.getValue()) : typedValue.getValues();
+            final List<String> equalities = new ArrayList<>();
+
+            for (Object singleValue : values) {
+                equalities.add(equality(variable, literalOf(singleValue, value, input)));
+                samples(input).add(singleValue);
+            }
+
+            condition = equalities.isEmpty() ? FALSE : or(equalities);
+        }
+
+        return condition;
+    }
+
+    /**
+     * Literal dates are given as strings or as dates already parsed by decision reader.
+     */
+    private String literalOf(final Object typedValue, final Object value, final Input input) {
+        final String literal;
+
+        if (ValueType.DATE == input.getType() && typedValue != null) {
+            literal = dateConstant(value instanceof String ? "date(" + JavaSyntax.toStringLiteral((String) value) + ")" : JavaSyntax.toLiteral(typedValue));
+        } else {
+            literal = JavaSyntax.toLiteral(typedValue);
+        }
+
+        return literal;
+    }
+
+    private String translateFeelInputEntry(final String feelExpression, final Input input, final String variable) {
+        final Matcher notMatcher = NOT.matcher(feelExpression);
+        final String condition;
+
+        if (feelExpression.isEmpty() || FEEL_ANY.equals(feelExpression)) {
+            condition = TRUE;
+        } else if (ValueType.BOOLEAN == input.getType()) {
+            throw new CodeGenerationException("FEEL entry " + feelExpression + " of boolean input " + input.getName() + " is not supported");
+        } else if (notMatcher.matches()) {
+            final String negated = notMatcher.group(1);
+
+            if (isCollection(negated)) {
+                condition = "!" + translateCollection(negated, input, variable);
+            } else if (RANGE.matcher(negated).matches()) {
+                condition = "!" + translateRange(negated, input, variable);
+            } else {
+                condition = "!" + translateEquality(negated, input, variable);
+            }
+        } else if (feelExpression.startsWith("not(")) {
+            throw unsupported(feelExpression);
+        } else if (isCollection(feelExpression)) {
+            condition = translateCollection(feelExpression, input, variable);
+        } else {
+            condition = translateUnaryTest(feelExpression, input, variable);
+        }
+
+        return condition;
+    }
+
+    private boolean isCollection(final String feelExpression) {
+        return feelExpression.split(COLLECTION_PATTERN, -1).length > 1;
+    }
+
+    private String translateCollection(final String feelExpression, final Input input, final String variable) {
+        final List<String> conditions = new ArrayList<>();
+
+        for (String expression : feelExpression.split(COLLECTION_PATTERN, -1)) {
+            final String trimmedExpression = expression.trim();
+
+            if (trimmedExpression.isEmpty()) {
+                throw unsupported(feelExpression);
+            }
+
+            conditions.add(translateUnaryTest(trimmedExpression, input, variable));
+        }
+
+        return or(conditions);
+    }
+
+    private String translateUnaryTest(final String feelExpression, final Input input, final String variable) {
+        final String condition;
+
+        if (isFunctionCall(feelExpression)) {
+            condition = "isEqual(ValueType." + input.getType() + ", " + variable + ", " + translateFunctionCall(feelExpression) + ")";
+        } else if (feelExpression.startsWith("(") || feelExpression.startsWith("[") || feelExpression.startsWith("]")) {
+            condition = translateRange(feelExpression, input, variable);
+        } else if (feelExpression.startsWith("<") || feelExpression.startsWith(">")) {
+            condition = translateComparison(feelExpression, input, variable);
+        } else {
+            condition = translateEquality(feelExpression, input, variable);
+        }
+
+        return condition;
+    }
+
+    private String translateRange(final String feelExpression, final Input input, final String variable) {
+        final Matcher matcher = RANGE.matcher(feelExpression);
+
+        if (!matcher.matches()) {
+            throw unsupported(feelExpression);
+        }
+
+        final String startOperator = "[".equals(matcher.group(1)) ? ">=" : ">";
+        final String endOperator = "]".equals(matcher.group(4)) ? "<=" : "<";
+
+        return "(" + variable + " != null && "
+                + compare(variable, startOperator, matcher.group(2).trim(), input) + " && "
+                + compare(variable, endOperator, matcher.group(3).trim(), input) + ")";
+    }
+
+    /**
+     * Comparisons of dates are not supported by the engine, so they are not supported either.
+     */
+    private String translateComparison(final String feelExpression, final Input input, final String variable) {
+        final Matcher matcher = COMPARISON.matcher(feelExpression);
+
+        if (!matcher.matches() || ValueType.DATE == input.getType()) {
+            throw unsupported(feelExpression);
+        }
+
+        return "(" + variable + " != null && " + compare(variable, matcher.group(1), matcher.group(2).trim(), input) + ")";
+    }
+
+    private String compare(final String variable, final String operator, final String operand, final Input input) {
+        final String comparison;
+
+        if ((ValueType.INTEGER == input.getType() || ValueType.DOUBLE == input.getType()) && NUMBER_LITERAL.matcher(operand).matches()) {
+            addNumberSamples(input, Double.parseDouble(operand));
+            comparison = variable + " " + operator + " " + JavaSyntax.toNumberLiteral(operand);
+        } else if (ValueType.DATE == input.getType() && DATE_AND_TIME_LITERAL.matcher(operand).matches()) {
+            comparison = variable + ".compareTo(" + translateDateAndTime(operand, input) + ") " + operator + " 0";
+        } else {
+            throw unsupported(operand);
+        }
+
+        return comparison;
+    }
+
+    /**
+     * Integer and number literals are folded by the engine for inputs of their types,
+     * other numbers are compared as double values.
+     */
+    private String translateEquality(final String feelExpression, final Input input, final String variable) {
+        final String condition;
+
+        if (ValueType.STRING == input.getType() && STRING_LITERAL.matcher(feelExpression).matches()) {
+            final String value = feelExpression.substring(1, feelExpression.length() - 1);
+
+            samples(input).add(value);
+            condition = equality(variable, JavaSyntax.toStringLiteral(value));
+        } else if (ValueType.INTEGER == input.getType() && INTEGER_LITERAL.matcher(feelExpression).matches() && isInt(feelExpression)) {
+            addNumberSamples(input, Double.parseDouble(feelExpression));
+            condition = equality(variable, JavaSyntax.toNumberLiteral(feelExpression));
+        } else if (ValueType.DOUBLE == input.getType() && NUMBER_LITERAL.matcher(feelExpression).matches()) {
+            addNumberSamples(input, Double.parseDouble(feelExpression));
+            condition = equality(variable, JavaSyntax.toLiteral(Double.valueOf(feelExpression)));
+        } else if (ValueType.INTEGER == input.getType() && NUMBER_LITERAL.matcher(feelExpression).matches()) {
+            addNumberSamples(input, Double.parseDouble(feelExpression));
+            condition = "(" + variable + " != null && " + variable + " == " + JavaSyntax.toLiteral(Double.valueOf(feelExpression)) + ")";
+        } else if (ValueType.DATE == input.getType() && DATE_AND_TIME_LITERAL.matcher(feelExpression).matches()) {
+            condition = equality(variable, translateDateAndTime(feelExpression, input));
+        } else if (isFunctionCall(feelExpression)) {
+            condition = "isEqual(ValueType." + input.getType() + ", " + variable + ", " + translateFunctionCall(feelExpression) + ")";
+        } else {
+            throw unsupported(feelExpression);
+        }
+
+        return condition;
+    }
+
+    private String translateDateAndTime(final String feelExpression, final Input input) {
+        final Matcher matcher = DATE_AND_TIME_LITERAL.matcher(feelExpression);
+
+        if (!matcher.matches()) {
+            throw unsupported(feelExpression);
+        }
+
+        final Date date = (Date) typeConverterFactory.getInstance(ValueType.DATE).convert(matcher.group(1)).getValue();
+
+        if (input != null) {
+            samples(input).add(new Date(date.getTime() - DATE_SAMPLE_DISTANCE));
+            samples(input).add(date);
+            samples(input).add(new Date(date.getTime() + DATE_SAMPLE_DISTANCE));
+        }
+
+        return dateConstant("date(" + JavaSyntax.toStringLiteral(matcher.group(1)) + ")");
+    }
+
+    private OutputValue translateFeelOutputEntry(final String feelExpression, final Output output) {
+        final OutputValue outputValue;
+
+        if (DATE_AND_TIME_LITERAL.matcher(feelExpression).matches()) {
+            final Matcher matcher = DATE_AND_TIME_LITERAL.matcher(feelExpression);
+            matcher.matches();
+
+            outputValue = constantOutputValue(matcher.group(1), translateDateAndTime(feelExpression, null), output);
+        } else if (STRING_LITERAL.matcher(feelExpression).matches()) {
+            final String value = feelExpression.substring(1, feelExpression.length() - 1);
+
+            outputValue = constantOutputValue(value, JavaSyntax.toStringLiteral(value), output);
+        } else if (INTEGER_LITERAL.matcher(feelExpression).matches() && isInt(feelExpression)) {
+            outputValue = constantOutputValue(Integer.valueOf(feelExpression), JavaSyntax.toNumberLiteral(feelExpression), output);
+        } else if (NUMBER_LITERAL.matcher(feelExpression).matches() && !INTEGER_LITERAL.matcher(feelExpression).matches()) {
+            outputValue = constantOutputValue(Double.valueOf(feelExpression), JavaSyntax.toLiteral(Double.valueOf(feelExpression)), output);
+        } else if (BOOLEAN_LITERAL.matcher(feelExpression).matches()) {
+            outputValue = constantOutputValue(Boolean.valueOf(feelExpression), feelExpression, output);
+        } else if (isFunctionCall(feelExpression)) {
+            outputValue = new OutputValue("output(ValueType." + output.getType() + ", (Serializable) " + translateFunctionCall(feelExpression) + ")", false);
+        } else {
+            throw unsupported(feelExpression);
+        }
+
+        return outputValue;
+    }
+
+    private OutputValue constantOutputValue(final Object value, final String literal, final Output output) {
+        try {
+            typeConverterFactory.getInstance(output.getType()).convert(value);
+        } catch (EvaluationException e) {
+            throw new CodeGenerationException("Entry " + value + " of output " + output.getName() + " can not be generated", e);
+        }
+
+        return new OutputValue(value == null ? "(Serializable) null" : literal, true);
+    }
+
+    private boolean isFunctionCall(final String feelExpression) {
+        final Matcher matcher = FUNCTION_CALL.matcher(feelExpression);
+
+        return matcher.matches() && methodBindings.containsKey(removeWhiteChars(matcher.group(1)));
+    }
+
+    /**
+     * Bound functions are called directly, so they have to be public static methods of public classes.
+     */
+    private String translateFunctionCall(final String feelExpression) {
+        final Matcher matcher = FUNCTION_CALL.matcher(feelExpression);
+        matcher.matches();
+
+        final MethodBinding methodBinding = methodBindings.get(removeWhiteChars(matcher.group(1)));
+        final Method method = methodBinding.method();
+
+        if (!Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            throw new CodeGenerationException("Bound function " + methodBinding.name() + " has to be public static method of public class");
+        }
+
+        if (Void.TYPE.equals(method.getReturnType())) {
+            throw new CodeGenerationException("Bound function " + methodBinding.name() + " does not return a value");
+        }
+
+        final String argumentsExpression = matcher.group(2).trim();
+        final String[] arguments = argumentsExpression.isEmpty() ? new String[0] : argumentsExpression.split(COLLECTION_PATTERN, -1);
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+
+        if (arguments.length != parameterTypes.length) {
+            throw new CodeGenerationException("Bound function " + methodBinding.name() + " expects " + parameterTypes.length + " arguments in " + feelExpression);
+        }
+
+        final List<String> argumentLiterals = new ArrayList<>();
+
+        for (int i = 0; i < arguments.length; i++) {
+            argumentLiterals.add(translateArgument(arguments[i].trim(), parameterTypes[i], feelExpression));
+        }
+
+        usedMethodBindings.add(methodBinding);
+
+        return method.getDeclaringClass().getCanonicalName() + "." + method.getName() + "(" + String.join(", ", argumentLiterals) + ")";
+    }
+
+    private String translateArgument(final String argument, final Class<?> parameterType, final String feelExpression) {
+        final String literal;
+
+        if (STRING_LITERAL.matcher(argument).matches() && parameterType.isAssignableFrom(String.class)) {
+            literal = JavaSyntax.toStringLiteral(argument.substring(1, argument.length() - 1));
+        } else if (BOOLEAN_LITERAL.matcher(argument).matches() && (Boolean.TYPE.equals(parameterType) || parameterType.isAssignableFrom(Boolean.class))) {
+            literal = argument;
+        } else if (INTEGER_LITERAL.matcher(argument).matches() && isInt(argument) && (Integer.TYPE.equals(parameterType) || parameterType.isAssignableFrom(Integer.class))) {
+            literal = JavaSyntax.toNumberLiteral(argument);
+        } else if (INTEGER_LITERAL.matcher(argument).matches() && (Long.TYPE.equals(parameterType) || Long.class.equals(parameterType))) {
+            literal = new BigDecimal(argument).longValueExact() + "L";
+        } else if (NUMBER_LITERAL.matcher(argument).matches() && (Double.TYPE.equals(parameterType) || Double.class.equals(parameterType))) {
+            literal = JavaSyntax.toLiteral(Double.valueOf(argument));
+        } else {
+            throw new CodeGenerationException("Argument " + argument + " of " + feelExpression + " is not supported");
+        }
+
+        return literal;
+    }
+
+    private String dateConstant(final String expression) {
+        return dateConstants.entrySet()
+                .stream()
+                .filter(constant -> constant.getValue().equals(expression))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseGet(() -> {
+                    final String name = "DATE_" + dateConstants.size();
+                    dateConstants.put(name, expression);
+
+                    return name;
+                });
+    }
+
+    private void addNumberSamples(final Input input, final double value) {
+        final Collection<Object> samples = samples(input);
+
+        if (ValueType.INTEGER == input.getType()) {
+            final long floor = (long) Math.floor(value);
+            final long ceil = (long) Math.ceil(value);
+
+            for (long sample = floor - 1; sample <= ceil + 1; sample++) {
+                if (sample >= Integer.MIN_VALUE && sample <= Integer.MAX_VALUE) {
+                    samples.add((int) sample);
+                }
+            }
+        } else {
+            samples.add(value - DOUBLE_SAMPLE_DISTANCE);
+            samples.add(value);
+            samples.add(value + DOUBLE_SAMPLE_DISTANCE);
+        }
+    }
+
+    private Collection<Object> samples(final Input input) {
+        return sampleValues.computeIfAbsent(input.getName(), name -> new LinkedHashSet<>());
+    }
+
+    private static Object defaultSampleValue(final ValueType type) {
+        final Object value;
+
+        switch (type) {
+            case INTEGER:
+                value = 0;
+                break;
+            case DOUBLE:
+                value = 0.0d;
+                break;
+            case BOOLEAN:
+                value = true;
+                break;
+            case DATE:
+                value = new Date(0);
+                break;
+            default:
+                value = "";
+        }
+
+        return value;
+    }
+
+    private static boolean isInt(final String integer) {
+        boolean isInt;
+
+        try {
+            Integer.parseInt(integer);
+            isInt = true;
+        } catch (NumberFormatException e) {
+            isInt = false;
+        }
+
+        return isInt;
+    }
+
+    private static String equality(final String variable, final String literal) {
+        return "Objects.equals(" + variable + ", " + literal + ")";
+    }
+
+    private static String or(final List<String> conditions) {
+        return conditions.size() == 1 ? conditions.get(0) : conditions.stream().collect(Collectors.joining(" || ", "(", ")"));
+    }
+
+    private static String removeWhiteChars(final String string) {
+        return string.replaceAll("\\s", "");
+    }
+
+    private static CodeGenerationException unsupported(final Expression expression) {
+        return new CodeGenerationException(expression.getType() + " expression " + expression.getValue() + " is not supported");
+    }
+
+    private static CodeGenerationException unsupported(final String feelExpression) {
+        return new CodeGenerationException("FEEL expression " + feelExpression + " is not supported");
+    }
+
+    /**
+     * Java expression of output entry value.
+     */
+    static final class OutputValue {
+
+        private final String expression;
+        private final boolean constant;
+
+        private OutputValue(final String expression, final boolean constant) {
+            this.expression = expression;
+            this.constant = constant;
+        }
+
+        String getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return true if the expression does not call any function, so its value can be shared by all evaluations
+         */
+        boolean isConstant() {
+            return constant;
+        }
+    }
+}
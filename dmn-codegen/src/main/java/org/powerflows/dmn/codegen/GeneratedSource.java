@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.codegen;
+
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Source of generated Java class.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class GeneratedSource {
+
+    /**
+     * Fully qualified name of the class
+     */
+    private final String className;
+    private final String source;
+
+    /**
+     * @return path of the source file, relative to source root
+     */
+    public String getPath() {
+        return className.replace('.', '/') + ".java";
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.codegen;
+
+
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Java identifiers, type names and literals of generated sources.
+ */
+final class JavaSyntax {
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+            "default", "do", "double", "else", "enum", "extends", "false", "final", "finally", "float", "for", "goto",
+            "if", "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "null", "package",
+            "private", "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized",
+            "this", "throw", "throws", "transient", "true", "try", "void", "volatile", "while"));
+
+    private JavaSyntax() {
+    }
+
+    /**
+     * @param name   decision id, input name or other name
+     * @param suffix appended to the identifier unless it already ends with it
+     * @return upper camel case identifier
+     */
+    static String toClassName(final String name, final String suffix) {
+        final String identifier = toCamelCase(name, true);
+        final String className;
+
+        if (identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.charAt(0))) {
+            className = suffix + identifier;
+        } else if (identifier.endsWith(suffix)) {
+            className = identifier;
+        } else {
+            className = identifier + suffix;
+        }
+
+        return className;
+    }
+
+    /**
+     * @param name     input name or other name
+     * @param fallback identifier used when name has no letters
+     * @param used     identifiers already in use, they are not returned
+     * @return lower camel case identifier
+     */
+    static String toVariableName(final String name, final String fallback, final Collection<String> used) {
+        final String identifier = toCamelCase(name, false);
+        final String variableName = identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.charAt(0)) || KEYWORDS.contains(identifier)
+                ? fallback
+                : identifier;
+        String uniqueVariableName = variableName;
+
+        for (int i = 1; used.contains(uniqueVariableName); i++) {
+            uniqueVariableName = variableName + i;
+        }
+
+        return uniqueVariableName;
+    }
+
+    static Class<?> toJavaType(final ValueType type) {
+        final Class<?> javaType;
+
+        switch (type) {
+            case INTEGER:
+                javaType = Integer.class;
+                break;
+            case DOUBLE:
+                javaType = Double.class;
+                break;
+            case STRING:
+                javaType = String.class;
+                break;
+            case BOOLEAN:
+                javaType = Boolean.class;
+                break;
+            case DATE:
+                javaType = Date.class;
+                break;
+            default:
+                throw new CodeGenerationException("Unknown value type " + type);
+        }
+
+        return javaType;
+    }
+
+    /**
+     * @param value string, number, boolean or date
+     * @return Java expression creating equal value
+     */
+    static String toLiteral(final Object value) {
+        final String literal;
+
+        if (value == null) {
+            literal = "null";
+        } else if (value instanceof String) {
+            literal = toStringLiteral((String) value);
+        } else if (value instanceof Integer || value instanceof Boolean) {
+            literal = value.toString();
+        } else if (value instanceof Long) {
+            literal = value + "L";
+        } else if (value instanceof Double) {
+            literal = toDoubleLiteral((Double) value);
+        } else if (value instanceof Date) {
+            literal = "new Date(" + ((Date) value).getTime() + "L)";
+        } else {
+            throw new CodeGenerationException("Value " + value + " of type " + value.getClass().getName() + " can not be generated");
+        }
+
+        return literal;
+    }
+
+    /**
+     * @param number number literal of FEEL expression
+     * @return int literal if the number is integer in int range, double literal otherwise
+     */
+    static String toNumberLiteral(final String number) {
+        final BigDecimal value = new BigDecimal(number);
+        String literal;
+
+        try {
+            literal = Integer.toString(value.intValueExact());
+        } catch (ArithmeticException e) {
+            literal = toDoubleLiteral(value.doubleValue());
+        }
+
+        return literal;
+    }
+
+    static String toStringLiteral(final String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    private static String toDoubleLiteral(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new CodeGenerationException("Value " + value + " can not be generated");
+        }
+
+        return Double.toString(value);
+    }
+
+    private static String toCamelCase(final String name, final boolean upperFirst) {
+        final StringBuilder identifier = new StringBuilder();
+        boolean upperNext = upperFirst;
+
+        for (char c : String.valueOf(name).toCharArray()) {
+            if (!Character.isLetterOrDigit(c) || c > '~') {
+                upperNext = identifier.length() > 0 || upperFirst;
+            } else if (upperNext) {
+                identifier.append(Character.toUpperCase(c));
+                upperNext = false;
+            } else {
+                identifier.append(identifier.length() == 0 && !upperFirst ? Character.toLowerCase(c) : c);
+            }
+        }
+
+        return identifier.toString();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.codegen
+
+import org.junit.runner.JUnitCore
+import org.junit.runner.Result
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.tools.JavaCompiler
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+class DecisionCodeGeneratorSpec extends Specification {
+
+    @Shared
+    private List<MethodBinding> methodBindings = [new StaticMethodBinding('answer', TestFunctions.getMethod('answer')),
+                                                  new StaticMethodBinding('limit', TestFunctions.getMethod('limit', int)),
+                                                  new StaticMethodBinding('parse', TestFunctions.getMethod('parse', String))]
+
+    @Shared
+    private DecisionCodeGenerator generator = new DecisionCodeGenerator('org.powerflows.dmn.generated', methodBindings)
+
+    @Unroll
+    void 'should generate decision class evaluating like decision engine for #hitPolicy'(final HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision { it.replace('hit-policy: COLLECT', 'hit-policy: ' + hitPolicy) }
+        final CompiledDecision engineDecision = new DefaultDecisionEngineConfiguration().methodBindings(methodBindings).configure().compile(decision)
+        final List<DecisionVariables> decisionVariables = [[17, 30, 42, 70, null], [1500.5d, 2500.0d, 6000.0d, null], ['retail', 'business', null], [new Date(0), TestFunctions.parse('2020-02-02'), null], [true, false, null]]
+                .combinations()
+                .collect { new DecisionVariables([age: it[0], income: it[1], segment: it[2], since: it[3], vip: it[4]]) }
+                .findAll { !evaluate { engineDecision.evaluate(it) }.startsWith(ExpressionEvaluationException.getName()) }
+
+        when:
+        final ClassLoader classLoader = compile(generator.generateClass(decision), generator.generateTest(decision))
+        final CompiledDecision generatedDecision = classLoader.loadClass(generator.getClassName(decision)).newInstance() as CompiledDecision
+        final Result testResult = new JUnitCore().run(classLoader.loadClass(generator.getClassName(decision) + 'Test'))
+
+        then:
+        decisionVariables.size() > 100
+        testResult.getFailures()*.getMessage() == []
+        testResult.getRunCount() == 1
+        generatedDecision.getDecision() == decision
+        decisionVariables.collect { evaluate { generatedDecision.evaluate(it) } } == decisionVariables.collect { evaluate { engineDecision.evaluate(it) } }
+        evaluate { generatedDecision.evaluateBatch(decisionVariables) } == evaluate { engineDecision.evaluateBatch(decisionVariables) }
+
+        where:
+        hitPolicy << [HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.ANY, HitPolicy.UNIQUE, HitPolicy.RULE_ORDER]
+    }
+
+    void 'should generate typed evaluate method'() {
+        given:
+        final Decision decision = readDecision { it.replace('hit-policy: COLLECT', 'hit-policy: FIRST') }
+        final ClassLoader classLoader = compile(generator.generateClass(decision))
+        final Object generatedDecision = classLoader.loadClass('org.powerflows.dmn.generated.LoanOfferDecision').newInstance()
+
+        when:
+        final Object result = generatedDecision.evaluate(Integer.valueOf(30), Double.valueOf(6000.0d), 'retail', null, Boolean.FALSE)
+
+        then:
+        result.getSingleRuleResult().getEntryResults()*.getValue() == ['premium', 10000.0d]
+    }
+
+    @Unroll
+    void 'should fail generation of decision with entry #expression'(final String expression, final String message) {
+        given:
+        final Decision decision = readDecision { it.replace("expression: '< 18'", "expression: '${expression}'") }
+
+        when:
+        generator.generateClass(decision)
+
+        then:
+        final CodeGenerationException exception = thrown()
+        exception.getMessage() == message
+
+        where:
+        expression                     || message
+        '> income'                     || 'FEEL expression income is not supported'
+        'unknown(1)'                   || 'FEEL expression unknown(1) is not supported'
+        'limit("1")'                   || 'Argument "1" of limit("1") is not supported'
+        'not(> 5)'                     || 'FEEL expression > 5 is not supported'
+        '"18"'                         || 'FEEL expression "18" is not supported'
+    }
+
+    void 'should fail generation of decision with input expression'() {
+        given:
+        final Decision decision = readDecision { it.replaceFirst('age:\n      type: INTEGER', 'age:\n      type: INTEGER\n      expression-type: MVEL\n      expression: years * 12') }
+
+        when:
+        generator.generateClass(decision)
+
+        then:
+        final CodeGenerationException exception = thrown()
+        exception.getMessage() == 'Input age with expression is not supported'
+    }
+
+    private static Decision readDecision(final Closure<String> modification) {
+        final String yaml = DecisionCodeGeneratorSpec.getResourceAsStream('loan-offer.yml').text
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(modification(yaml).getBytes('UTF-8'))).get()
+    }
+
+    private static ClassLoader compile(final GeneratedSource... sources) {
+        final Path sourceDirectory = Files.createTempDirectory('dmn-codegen-sources')
+        final Path classDirectory = Files.createTempDirectory('dmn-codegen-classes')
+        final List<String> sourceFiles = sources.collect {
+            final Path sourceFile = sourceDirectory.resolve(it.getPath())
+            Files.createDirectories(sourceFile.getParent())
+            sourceFile.write(it.getSource(), 'UTF-8')
+
+            return sourceFile.toString()
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler()
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream()
+        final int status = compiler.run(null, errors, errors, (['-d', classDirectory.toString(), '-classpath', System.getProperty('java.class.path')] + sourceFiles) as String[])
+
+        if (status != 0) {
+            throw new IllegalStateException(errors.toString('UTF-8'))
+        }
+
+        return new URLClassLoader([classDirectory.toUri().toURL()] as URL[], DecisionCodeGeneratorSpec.getClassLoader())
+    }
+
+    private static String evaluate(final Closure<?> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.codegen;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+public class TestFunctions {
+    public static Date parse(final String dateText) {
+        return Date.from(LocalDate.parse(dateText).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    public static Integer answer() {
+        return 42;
+    }
+
+    public static Double limit(final int base) {
+        return base * 2.0d;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine;
+
+
+import org.powerflows.dmn.engine.evaluator.decision.PrunedRule;
+import org.powerflows.dmn.engine.evaluator.decision.RuleOverlap;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Decision prepared for repeated evaluation.
+ * All expression evaluation providers, type converters and evaluation mode providers are resolved once,
+ * when the decision is compiled. Implementations are immutable and may be shared between threads.
+ *
+ * @see DecisionEngine#compile(Decision)
+ */
+public interface CompiledDecision {
+
+    /**
+     * @return Definition of decision this instance was compiled from
+     */
+    Decision getDecision();
+
+    /**
+     * @return Rules dropped from the decision when it was compiled, as they never change its results
+     */
+    List<PrunedRule> getPrunedRules();
+
+    /**
+     * @return Pairs of rules of unique hit policy decision which may match the same input values, found when the decision was compiled.
+     * Empty if the rules never overlap, so evaluation stops at the first matching rule. Null if the rules were not checked
+     */
+    List<RuleOverlap> getRuleOverlaps();
+
+    /**
+     * @param decisionVariables Variables used in evaluation
+     * @return evaluation result
+     */
+    DecisionResult evaluate(DecisionVariables decisionVariables);
+
+    /**
+     * Evaluates the decision for values of its inputs, without building decision variables.
+     * Other variables are not available, so inputs with non literal expressions need null values.
+     *
+     * @param inputValues Values of decision inputs, in order of the inputs
+     * @return evaluation result
+     */
+    DecisionResult evaluateInputs(Object... inputValues);
+
+    /**
+     * Evaluates the decision for every variable set, reusing single evaluation context.
+     *
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    List<DecisionResult> evaluateBatch(List<DecisionVariables> decisionVariables);
+
+    /**
+     * Lazily evaluates the decision for every variable set, when next result is requested.
+     * Returned iterator is not thread safe.
+     *
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    Iterator<DecisionResult> evaluateBatch(Iterator<DecisionVariables> decisionVariables);
+
+    /**
+     * Lazily evaluates the decision for every variable set, each time returned iterable is iterated.
+     *
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    Iterable<DecisionResult> evaluateBatch(Iterable<DecisionVariables> decisionVariables);
+
+}
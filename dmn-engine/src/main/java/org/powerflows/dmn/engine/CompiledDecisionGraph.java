@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decision requirements graph prepared for repeated evaluation.
+ * Decisions are evaluated after decisions they require, outputs of required decisions are added to their variables.
+ * Within single evaluation every decision is evaluated once, independent decisions may be evaluated in parallel.
+ * Implementations are immutable and may be shared between threads.
+ *
+ * @see DecisionEngine#compileGraph(List)
+ */
+public interface CompiledDecisionGraph {
+
+    /**
+     * @return Decisions of the graph, each one following decisions it requires
+     */
+    List<Decision> getDecisions();
+
+    /**
+     * Evaluates the decision and all decisions it requires, directly or indirectly.
+     *
+     * @param decisionId Id of evaluated decision
+     * @param decisionVariables Variables used in evaluation of all decisions
+     * @return evaluation result of the decision
+     */
+    DecisionResult evaluate(String decisionId, DecisionVariables decisionVariables);
+
+    /**
+     * Evaluates all decisions of the graph.
+     *
+     * @param decisionVariables Variables used in evaluation of all decisions
+     * @return evaluation results by decision ids, each decision following decisions it requires
+     */
+    Map<String, DecisionResult> evaluateAll(DecisionVariables decisionVariables);
+
+}
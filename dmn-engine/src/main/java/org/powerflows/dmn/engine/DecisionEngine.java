@@ -21,6 +21,11 @@ import org.powerflows.dmn.engine.model.decision.Decision;
 import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
 import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Decision engine contract.
  */
@@ -33,4 +38,79 @@ public interface DecisionEngine {
      */
     DecisionResult evaluate(Decision decision, DecisionVariables decisionVariables);
 
+    /**
+     * @param decision Definition of decision
+     * @param inputValues Values of decision inputs, in order of the inputs
+     * @return evaluation result
+     * @see CompiledDecision#evaluateInputs(Object...)
+     */
+    DecisionResult evaluateInputs(Decision decision, Object... inputValues);
+
+    /**
+     * Evaluates decision asynchronously on default executor of the engine.
+     * Returned future is completed exceptionally when the engine limit of pending evaluations is reached,
+     * unless the engine is configured to make the caller run or wait.
+     *
+     * @param decision Definition of decision
+     * @param decisionVariables Variables used in evaluation
+     * @return future completed with evaluation result
+     */
+    CompletableFuture<DecisionResult> evaluateAsync(Decision decision, DecisionVariables decisionVariables);
+
+    /**
+     * Evaluates decision asynchronously on given executor, applying the engine limit of pending evaluations.
+     *
+     * @param decision Definition of decision
+     * @param decisionVariables Variables used in evaluation
+     * @param executor Executor running the evaluation
+     * @return future completed with evaluation result
+     */
+    CompletableFuture<DecisionResult> evaluateAsync(Decision decision, DecisionVariables decisionVariables, Executor executor);
+
+    /**
+     * Evaluates decision for many variable sets, compiling the decision once.
+     *
+     * @param decision Definition of decision
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    List<DecisionResult> evaluateBatch(Decision decision, List<DecisionVariables> decisionVariables);
+
+    /**
+     * Evaluates decision for many variable sets, compiling the decision once.
+     * Results are evaluated lazily, when iterated.
+     *
+     * @param decision Definition of decision
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    Iterable<DecisionResult> evaluateBatch(Decision decision, Iterable<DecisionVariables> decisionVariables);
+
+    /**
+     * Evaluates decision for many variable sets, compiling the decision once.
+     * Results are evaluated lazily, when iterated.
+     *
+     * @param decision Definition of decision
+     * @param decisionVariables Variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    Iterator<DecisionResult> evaluateBatch(Decision decision, Iterator<DecisionVariables> decisionVariables);
+
+    /**
+     * Prepares decision for repeated evaluation.
+     * Compiled decision should be kept and reused by callers evaluating the same decision many times.
+     *
+     * @param decision Definition of decision
+     * @return compiled decision
+     */
+    CompiledDecision compile(Decision decision);
+
+    /**
+     * Prepares decision requirements graph for repeated evaluation.
+     *
+     * @param decisions Definitions of all graph decisions, including all required decisions
+     * @return compiled graph
+     */
+    CompiledDecisionGraph compileGraph(List<Decision> decisions);
+
 }
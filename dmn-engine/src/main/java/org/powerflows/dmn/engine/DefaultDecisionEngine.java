@@ -17,25 +17,173 @@
 package org.powerflows.dmn.engine;
 
 
+import org.powerflows.dmn.engine.evaluator.async.AsyncEvaluationExecutor;
 import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator;
+import org.powerflows.dmn.engine.evaluator.graph.DecisionGraphEvaluator;
 import org.powerflows.dmn.engine.model.decision.Decision;
 import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
 import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Default decision engine implementation.
+ * Decision requirements graphs are evaluated on common fork join pool, unless other graph evaluator is given.
+ * Decisions evaluated by the engine are compiled once per decision instance, so decisions are expected
+ * not to be modified once evaluated. Compiled decisions of at most {@value #MAX_COMPILED_DECISION_COUNT}
+ * decision instances are kept, the least recently evaluated one is dropped when another decision is compiled.
+ * Decision instances and their compiled decisions are retained until they are dropped this way.
+ * Decisions created for single evaluation are compiled every time, they are better evaluated by {@link DecisionEvaluator}
+ * directly, or compiled by {@link #compile(Decision)} and evaluated many times.
  */
 public class DefaultDecisionEngine implements DecisionEngine {
 
+    static final int MAX_COMPILED_DECISION_COUNT = 1024;
+
     private final DecisionEvaluator decisionEvaluator;
+    private final AsyncEvaluationExecutor asyncEvaluationExecutor;
+    private final DecisionGraphEvaluator decisionGraphEvaluator;
+    private final Map<DecisionKey, CompiledDecision> compiledDecisions = new LinkedHashMap<DecisionKey, CompiledDecision>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<DecisionKey, CompiledDecision> eldest) {
+            return size() > MAX_COMPILED_DECISION_COUNT;
+        }
+    };
 
     public DefaultDecisionEngine(DecisionEvaluator decisionEvaluator) {
+        this(decisionEvaluator, new AsyncEvaluationExecutor());
+    }
+
+    public DefaultDecisionEngine(DecisionEvaluator decisionEvaluator, AsyncEvaluationExecutor asyncEvaluationExecutor) {
+        this(decisionEvaluator, asyncEvaluationExecutor, new DecisionGraphEvaluator(decisionEvaluator, ForkJoinPool.commonPool()));
+    }
+
+    public DefaultDecisionEngine(DecisionEvaluator decisionEvaluator,
+                                 AsyncEvaluationExecutor asyncEvaluationExecutor,
+                                 DecisionGraphEvaluator decisionGraphEvaluator) {
         this.decisionEvaluator = decisionEvaluator;
+        this.asyncEvaluationExecutor = asyncEvaluationExecutor;
+        this.decisionGraphEvaluator = decisionGraphEvaluator;
     }
 
     @Override
     public DecisionResult evaluate(final Decision decision, final DecisionVariables decisionVariables) {
-        return decisionEvaluator.evaluate(decision, decisionVariables);
+        return getCompiledDecision(decision).evaluate(decisionVariables);
+    }
+
+    @Override
+    public DecisionResult evaluateInputs(final Decision decision, final Object... inputValues) {
+        return getCompiledDecision(decision).evaluateInputs(inputValues);
+    }
+
+    @Override
+    public CompletableFuture<DecisionResult> evaluateAsync(final Decision decision, final DecisionVariables decisionVariables) {
+        validate(decision, decisionVariables);
+
+        return asyncEvaluationExecutor.submit(() -> evaluate(decision, decisionVariables));
+    }
+
+    @Override
+    public CompletableFuture<DecisionResult> evaluateAsync(final Decision decision, final DecisionVariables decisionVariables, final Executor executor) {
+        validate(decision, decisionVariables);
+
+        return asyncEvaluationExecutor.submit(() -> evaluate(decision, decisionVariables), executor);
+    }
+
+    @Override
+    public List<DecisionResult> evaluateBatch(final Decision decision, final List<DecisionVariables> decisionVariables) {
+        return getCompiledDecision(decision).evaluateBatch(decisionVariables);
+    }
+
+    @Override
+    public Iterable<DecisionResult> evaluateBatch(final Decision decision, final Iterable<DecisionVariables> decisionVariables) {
+        return getCompiledDecision(decision).evaluateBatch(decisionVariables);
     }
 
+    @Override
+    public Iterator<DecisionResult> evaluateBatch(final Decision decision, final Iterator<DecisionVariables> decisionVariables) {
+        return getCompiledDecision(decision).evaluateBatch(decisionVariables);
+    }
+
+    @Override
+    public CompiledDecision compile(final Decision decision) {
+        return decisionEvaluator.compile(decision);
+    }
+
+    @Override
+    public CompiledDecisionGraph compileGraph(final List<Decision> decisions) {
+        return decisionGraphEvaluator.compile(decisions);
+    }
+
+    /**
+     * Decision is compiled without holding the lock, when it is compiled concurrently the first compiled decision is kept.
+     */
+    private CompiledDecision getCompiledDecision(final Decision decision) {
+        if (decision == null) {
+            throw new NullPointerException("Decision can not be null");
+        }
+
+        final DecisionKey decisionKey = new DecisionKey(decision);
+        CompiledDecision compiledDecision;
+
+        synchronized (compiledDecisions) {
+            compiledDecision = compiledDecisions.get(decisionKey);
+        }
+
+        if (compiledDecision == null) {
+            final CompiledDecision newCompiledDecision = compile(decision);
+
+            synchronized (compiledDecisions) {
+                compiledDecision = compiledDecisions.get(decisionKey);
+
+                if (compiledDecision == null) {
+                    compiledDecision = newCompiledDecision;
+                    compiledDecisions.put(decisionKey, newCompiledDecision);
+                }
+            }
+        }
+
+        return compiledDecision;
+    }
+
+    private void validate(final Decision decision, final DecisionVariables decisionVariables) {
+        if (decision == null) {
+            throw new NullPointerException("Decision can not be null");
+        }
+
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+    }
+
+    /**
+     * Identity of decision instance.
+     */
+    private static final class DecisionKey {
+
+        private final Decision decision;
+
+        private DecisionKey(final Decision decision) {
+            this.decision = decision;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof DecisionKey && ((DecisionKey) other).decision == decision;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(decision);
+        }
+    }
 }
@@ -21,6 +21,9 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.powerflows.dmn.engine.DecisionEngine;
 import org.powerflows.dmn.engine.DefaultDecisionEngine;
+import org.powerflows.dmn.engine.evaluator.async.AsyncEvaluationExecutor;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionDeterminismAnalyzer;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionResultCache;
 import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator;
 import org.powerflows.dmn.engine.evaluator.entry.InputEntryEvaluator;
 import org.powerflows.dmn.engine.evaluator.entry.OutputEntryEvaluator;
@@ -28,16 +31,32 @@ import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModePro
 import org.powerflows.dmn.engine.evaluator.expression.provider.DefaultExpressionEvaluationProviderFactory;
 import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationConfiguration;
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.evaluator.graph.DecisionGraphEvaluator;
+import org.powerflows.dmn.engine.evaluator.listener.CompositeEvaluationListener;
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener;
 import org.powerflows.dmn.engine.evaluator.rule.RuleEvaluator;
 import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Default DecisionEngine configurer.
  * Builds and configures {@link DefaultDecisionEngine} instances.
- * Allows for customisation of method binding configuration.
+ * Allows for customisation of method binding configuration, of asynchronous evaluation executor, of decision result cache
+ * and of evaluation listeners. Compiled decisions may reuse evaluation state confined to the evaluating thread,
+ * so evaluations of literal and FEEL comparison decisions allocate their results only.
+ * Decisions made of literal inputs, constant entries and constant outputs may be compiled into method handles,
+ * other decisions are interpreted. Handles are held by compiled decisions, so they are not inlined into callers.
+ * Rules which never change decision results, like rules with entries matching no value or rules shadowed
+ * by earlier rules of first hit policy decisions, may be dropped from compiled decisions.
+ * Rules of unique hit policy decisions may be checked for overlaps, so evaluation of decisions with rules
+ * proven to never overlap stops at the first matching rule.
+ * Indexed input columns may be compiled into decision trees, so candidate rules are found by one lookup per tree level.
+ * Results of decisions with BOOLEAN and STRING inputs may be precomputed for up to given number of input value combinations.
+ * Decisions of decision requirements graphs are evaluated on given executor, common fork join pool by default.
  *
  * @see MethodBinding
  */
@@ -46,6 +65,26 @@ public class DefaultDecisionEngineConfiguration implements DecisionEngineConfigu
 
     @Setter
     private List<MethodBinding> methodBindings = Collections.emptyList();
+    @Setter
+    private AsyncEvaluationExecutor asyncEvaluationExecutor;
+    @Setter
+    private DecisionResultCache decisionResultCache;
+    @Setter
+    private List<EvaluationListener> evaluationListeners = Collections.emptyList();
+    @Setter
+    private boolean reuseEvaluationState;
+    @Setter
+    private boolean compileToMethodHandles;
+    @Setter
+    private boolean pruneRules;
+    @Setter
+    private boolean checkRuleOverlaps;
+    @Setter
+    private boolean compileToDecisionTrees;
+    @Setter
+    private int maxTruthTableSize;
+    @Setter
+    private Executor decisionGraphExecutor;
     private ExpressionEvaluationConfiguration configuration;
     private DecisionEvaluator decisionEvaluator;
     private RuleEvaluator ruleEvaluator;
@@ -54,6 +93,7 @@ public class DefaultDecisionEngineConfiguration implements DecisionEngineConfigu
     private OutputEntryEvaluator outputEntryEvaluator;
     private DefaultExpressionEvaluationProviderFactory expressionEvaluationProviderFactory;
     private TypeConverterFactory typeConverterFactory;
+    private DecisionGraphEvaluator decisionGraphEvaluator;
 
     @Override
     public DecisionEngine configure() {
@@ -65,8 +105,11 @@ public class DefaultDecisionEngineConfiguration implements DecisionEngineConfigu
         initOutputEntryEvaluator();
         initRuleEvaluator();
         initDecisionEvaluator();
+        initDecisionGraphEvaluator();
 
-        return new DefaultDecisionEngine(decisionEvaluator);
+        initAsyncEvaluationExecutor();
+
+        return new DefaultDecisionEngine(decisionEvaluator, asyncEvaluationExecutor, decisionGraphEvaluator);
     }
 
     private void initExpressionEvaluation() {
@@ -100,6 +143,28 @@ public class DefaultDecisionEngineConfiguration implements DecisionEngineConfigu
     }
 
     private void initDecisionEvaluator() {
-        decisionEvaluator = new DecisionEvaluator(ruleEvaluator);
+        decisionEvaluator = DecisionEvaluator.builder()
+                .ruleEvaluator(ruleEvaluator)
+                .decisionResultCache(decisionResultCache)
+                .decisionDeterminismAnalyzer(new DecisionDeterminismAnalyzer(methodBindings))
+                .evaluationListener(CompositeEvaluationListener.of(evaluationListeners))
+                .reuseEvaluationState(reuseEvaluationState)
+                .compileToMethodHandles(compileToMethodHandles)
+                .pruneRules(pruneRules)
+                .checkRuleOverlaps(checkRuleOverlaps)
+                .compileToDecisionTrees(compileToDecisionTrees)
+                .maxTruthTableSize(maxTruthTableSize)
+                .build();
+    }
+
+    private void initDecisionGraphEvaluator() {
+        decisionGraphEvaluator = new DecisionGraphEvaluator(decisionEvaluator,
+                decisionGraphExecutor == null ? ForkJoinPool.commonPool() : decisionGraphExecutor);
+    }
+
+    private void initAsyncEvaluationExecutor() {
+        if (asyncEvaluationExecutor == null) {
+            asyncEvaluationExecutor = new AsyncEvaluationExecutor();
+        }
     }
 }
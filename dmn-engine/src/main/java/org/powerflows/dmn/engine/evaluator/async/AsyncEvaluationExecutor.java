@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.async;
+
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous evaluations with admission control.
+ * Number of submitted and not yet completed evaluations is limited, so pending evaluations can not exhaust memory
+ * of the executor queue. When the limit is reached the {@link RejectionPolicy} is applied.
+ * Evaluation stays pending until it finishes running, even when its future is cancelled or completed by caller.
+ */
+public class AsyncEvaluationExecutor {
+
+    /**
+     * Default limit of pending evaluations.
+     */
+    public static final int DEFAULT_MAX_PENDING_EVALUATIONS = 1024;
+
+    private final Executor defaultExecutor;
+    private final Semaphore pendingEvaluations;
+    private final RejectionPolicy rejectionPolicy;
+    private final int maxPendingEvaluations;
+
+    /**
+     * Creates executor using virtual threads on JDK 21 and newer, or common fork join pool otherwise,
+     * with default limit of pending evaluations aborting evaluations above the limit.
+     */
+    public AsyncEvaluationExecutor() {
+        this(DefaultAsyncExecutor.create(), DEFAULT_MAX_PENDING_EVALUATIONS, RejectionPolicy.ABORT);
+    }
+
+    /**
+     * @param defaultExecutor executor used when evaluation is submitted without one
+     * @param maxPendingEvaluations limit of submitted and not yet completed evaluations
+     * @param rejectionPolicy policy applied when the limit is reached
+     */
+    public AsyncEvaluationExecutor(final Executor defaultExecutor,
+                                   final int maxPendingEvaluations,
+                                   final RejectionPolicy rejectionPolicy) {
+        if (defaultExecutor == null) {
+            throw new NullPointerException("Executor can not be null");
+        }
+
+        if (rejectionPolicy == null) {
+            throw new NullPointerException("Rejection policy can not be null");
+        }
+
+        if (maxPendingEvaluations < 1) {
+            throw new IllegalArgumentException("Maximum number of pending evaluations must be positive");
+        }
+
+        this.defaultExecutor = defaultExecutor;
+        this.pendingEvaluations = new Semaphore(maxPendingEvaluations);
+        this.rejectionPolicy = rejectionPolicy;
+        this.maxPendingEvaluations = maxPendingEvaluations;
+    }
+
+    /**
+     * @return number of submitted and not yet completed evaluations
+     */
+    public int getPendingEvaluations() {
+        return maxPendingEvaluations - pendingEvaluations.availablePermits();
+    }
+
+    /**
+     * @param evaluation evaluation to run
+     * @param <T> evaluation result type
+     * @return future completed with evaluation result
+     */
+    public <T> CompletableFuture<T> submit(final Supplier<T> evaluation) {
+        return submit(evaluation, defaultExecutor);
+    }
+
+    /**
+     * @param evaluation evaluation to run
+     * @param executor executor running the evaluation
+     * @param <T> evaluation result type
+     * @return future completed with evaluation result
+     */
+    public <T> CompletableFuture<T> submit(final Supplier<T> evaluation, final Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("Executor can not be null");
+        }
+
+        final CompletableFuture<T> result;
+
+        if (admit()) {
+            result = runAdmitted(evaluation, executor);
+        } else if (RejectionPolicy.CALLER_RUNS == rejectionPolicy) {
+            result = runOnCaller(evaluation);
+        } else {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(new RejectedExecutionException("Maximum number of pending evaluations " + maxPendingEvaluations + " is reached"));
+        }
+
+        return result;
+    }
+
+    private boolean admit() {
+        final boolean admitted;
+
+        if (RejectionPolicy.BLOCK == rejectionPolicy) {
+            pendingEvaluations.acquireUninterruptibly();
+            admitted = true;
+        } else {
+            admitted = pendingEvaluations.tryAcquire();
+        }
+
+        return admitted;
+    }
+
+    /**
+     * Permit is released by the evaluation task itself, as the returned future is dependent copy of the task future,
+     * so completing or cancelling it by caller doesn't release the permit of still running evaluation.
+     */
+    private <T> CompletableFuture<T> runAdmitted(final Supplier<T> evaluation, final Executor executor) {
+        CompletableFuture<T> result;
+
+        try {
+            result = CompletableFuture.supplyAsync(() -> evaluateAdmitted(evaluation), executor);
+        } catch (RejectedExecutionException e) {
+            pendingEvaluations.release();
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+
+        return result.thenApply(Function.identity());
+    }
+
+    private <T> T evaluateAdmitted(final Supplier<T> evaluation) {
+        try {
+            return evaluation.get();
+        } finally {
+            pendingEvaluations.release();
+        }
+    }
+
+    private <T> CompletableFuture<T> runOnCaller(final Supplier<T> evaluation) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        try {
+            result.complete(evaluation.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+}
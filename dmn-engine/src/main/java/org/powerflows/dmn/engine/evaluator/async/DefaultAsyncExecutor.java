@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.async;
+
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides default executor of asynchronous evaluations.
+ * On JDK 21 and newer every evaluation gets its own virtual thread, so evaluations blocked by script engines
+ * or I/O bound method bindings don't block platform threads. Older JDKs use the common fork join pool.
+ * Virtual thread executor is looked up reflectively, so the same Java 8 binary works on all JDKs.
+ */
+@Slf4j
+final class DefaultAsyncExecutor {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    private DefaultAsyncExecutor() {
+    }
+
+    static Executor create() {
+        Executor executor;
+
+        try {
+            final Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY);
+            executor = (ExecutorService) factoryMethod.invoke(null);
+
+            log.debug("Using virtual thread per task executor for asynchronous evaluations");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            executor = ForkJoinPool.commonPool();
+
+            log.debug("Virtual threads are not available, using common fork join pool for asynchronous evaluations");
+        }
+
+        return executor;
+    }
+}
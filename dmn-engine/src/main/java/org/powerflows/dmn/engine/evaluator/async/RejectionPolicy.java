@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.async;
+
+
+/**
+ * Policy applied to asynchronous evaluation submitted when the pending evaluations limit is reached.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Returned future is completed exceptionally with {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ABORT,
+
+    /**
+     * Evaluation is performed by the submitting thread, so the caller is slowed down.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Submitting thread waits until any pending evaluation completes.
+     */
+    BLOCK
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.batch;
+
+
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates batches of variable sets in parallel, splitting them into chunks.
+ * Every chunk is evaluated as single batch of compiled decision, so it reuses one evaluation context.
+ * Results are returned in order of variable sets and the first evaluation failure is rethrown to the caller.
+ *
+ * <p>Lists are split recursively on {@link ForkJoinPool}, so idle workers steal chunks of busy ones.
+ * Iterators are read by the calling thread, keeping only limited number of chunks in flight,
+ * so memory stays bounded regardless of the batch size.</p>
+ */
+public class ParallelBatchEvaluator {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    /**
+     * @param forkJoinPool pool evaluating chunks, default chunk size is used and twice as many chunks as pool parallelism are kept in flight
+     */
+    public ParallelBatchEvaluator(final ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, DEFAULT_CHUNK_SIZE, forkJoinPool.getParallelism() * 2);
+    }
+
+    /**
+     * @param executor executor evaluating chunks, when it is {@link ForkJoinPool} lists are evaluated with work stealing
+     * @param chunkSize maximum number of variable sets evaluated by single task
+     * @param maxChunksInFlight maximum number of chunks read from an iterator ahead of the caller
+     */
+    public ParallelBatchEvaluator(final Executor executor, final int chunkSize, final int maxChunksInFlight) {
+        if (executor == null) {
+            throw new NullPointerException("Executor can not be null");
+        }
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of chunks in flight must be positive");
+        }
+
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * @param compiledDecision decision to evaluate
+     * @param decisionVariables variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    public List<DecisionResult> evaluate(final CompiledDecision compiledDecision, final List<DecisionVariables> decisionVariables) {
+        validate(compiledDecision, decisionVariables);
+
+        final List<DecisionResult> decisionResults;
+
+        if (executor instanceof ForkJoinPool) {
+            final DecisionResult[] results = new DecisionResult[decisionVariables.size()];
+            final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+            ((ForkJoinPool) executor).invoke(new ChunkAction(compiledDecision, decisionVariables, results, failure, 0, results.length));
+
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            decisionResults = Arrays.asList(results);
+        } else {
+            decisionResults = new ArrayList<>(decisionVariables.size());
+            evaluate(compiledDecision, decisionVariables.iterator()).forEachRemaining(decisionResults::add);
+        }
+
+        return decisionResults;
+    }
+
+    /**
+     * Evaluates variable sets ahead of the caller, when the first result is requested.
+     * Returned iterator is not thread safe.
+     *
+     * @param compiledDecision decision to evaluate
+     * @param decisionVariables variables used in subsequent evaluations
+     * @return evaluation results in order of variable sets
+     */
+    public Iterator<DecisionResult> evaluate(final CompiledDecision compiledDecision, final Iterator<DecisionVariables> decisionVariables) {
+        validate(compiledDecision, decisionVariables);
+
+        return new ChunkIterator(compiledDecision, decisionVariables);
+    }
+
+    private void validate(final CompiledDecision compiledDecision, final Object decisionVariables) {
+        if (compiledDecision == null) {
+            throw new NullPointerException("Compiled decision can not be null");
+        }
+
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+    }
+
+    /**
+     * Splits range of variable sets in halves until it fits single chunk.
+     */
+    private class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1;
+
+        private final transient CompiledDecision compiledDecision;
+        private final transient List<DecisionVariables> decisionVariables;
+        private final DecisionResult[] results;
+        private final AtomicReference<RuntimeException> failure;
+        private final int from;
+        private final int to;
+
+        private ChunkAction(final CompiledDecision compiledDecision,
+                            final List<DecisionVariables> decisionVariables,
+                            final DecisionResult[] results,
+                            final AtomicReference<RuntimeException> failure,
+                            final int from,
+                            final int to) {
+            this.compiledDecision = compiledDecision;
+            this.decisionVariables = decisionVariables;
+            this.results = results;
+            this.failure = failure;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+
+            if (to - from > chunkSize) {
+                final int middle = (from + to) >>> 1;
+
+                invokeAll(new ChunkAction(compiledDecision, decisionVariables, results, failure, from, middle),
+                        new ChunkAction(compiledDecision, decisionVariables, results, failure, middle, to));
+            } else {
+                try {
+                    final List<DecisionResult> chunkResults = compiledDecision.evaluateBatch(decisionVariables.subList(from, to));
+
+                    for (int i = 0; i < chunkResults.size(); i++) {
+                        results[from + i] = chunkResults.get(i);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads next chunk of variable sets each time results of the oldest chunk are consumed.
+     */
+    private class ChunkIterator implements Iterator<DecisionResult> {
+
+        private final CompiledDecision compiledDecision;
+        private final Iterator<DecisionVariables> decisionVariables;
+        private final Deque<CompletableFuture<List<DecisionResult>>> chunks = new ArrayDeque<>();
+        private Iterator<DecisionResult> currentChunk = Collections.emptyIterator();
+
+        private ChunkIterator(final CompiledDecision compiledDecision, final Iterator<DecisionVariables> decisionVariables) {
+            this.compiledDecision = compiledDecision;
+            this.decisionVariables = decisionVariables;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentChunk.hasNext()) {
+                submitChunks();
+
+                if (chunks.isEmpty()) {
+                    return false;
+                }
+
+                currentChunk = join(chunks.poll()).iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public DecisionResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return currentChunk.next();
+        }
+
+        private void submitChunks() {
+            while (chunks.size() < maxChunksInFlight && decisionVariables.hasNext()) {
+                final List<DecisionVariables> chunk = new ArrayList<>(chunkSize);
+
+                while (chunk.size() < chunkSize && decisionVariables.hasNext()) {
+                    chunk.add(decisionVariables.next());
+                }
+
+                chunks.add(CompletableFuture.supplyAsync(() -> compiledDecision.evaluateBatch(chunk), executor));
+            }
+        }
+
+        private List<DecisionResult> join(final CompletableFuture<List<DecisionResult>> chunk) {
+            try {
+                return chunk.join();
+            } catch (CompletionException e) {
+                chunks.forEach(pendingChunk -> pendingChunk.cancel(false));
+                chunks.clear();
+
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+
+                throw e;
+            }
+        }
+    }
+}
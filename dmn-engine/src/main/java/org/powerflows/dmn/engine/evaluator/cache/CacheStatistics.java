@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.cache;
+
+
+import lombok.ToString;
+
+/**
+ * Snapshot of decision result cache statistics.
+ */
+@ToString
+public class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    CacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * @return number of evaluations served from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of evaluations performed because no valid result was cached
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of results removed because the cache was full or they expired
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return ratio of hits to all cached decision evaluations, 0 when there were none
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
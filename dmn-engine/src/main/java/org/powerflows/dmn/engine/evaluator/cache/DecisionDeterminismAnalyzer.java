@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.cache;
+
+
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.Pure;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.expression.Expression;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Proves decision results depend on values of decision inputs only, so they may be cached.
+ * Inputs have to read their values from decision variables, so they have to be literal.
+ * Entries have to be literals, or FEEL expressions referring only to decision inputs, input entry alias
+ * and method bindings marked {@link Pure}. Script expressions are never considered deterministic.
+ */
+public class DecisionDeterminismAnalyzer {
+
+    private static final Set<String> FEEL_KEYWORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("not", "and", "or", "true", "false", "null")));
+    private static final Pattern FEEL_DATE_AND_TIME_FUNCTION = Pattern.compile("date\\s+and\\s+time\\s*\\(");
+
+    private final Set<String> pureFunctionNames;
+
+    /**
+     * @param methodBindings method bindings available in expressions
+     */
+    public DecisionDeterminismAnalyzer(final List<MethodBinding> methodBindings) {
+        if (methodBindings == null) {
+            throw new NullPointerException("Method bindings can not be null");
+        }
+
+        final Set<String> impureFunctionNames = methodBindings
+                .stream()
+                .filter(methodBinding -> !isPure(methodBinding))
+                .map(MethodBinding::name)
+                .collect(Collectors.toSet());
+
+        this.pureFunctionNames = methodBindings
+                .stream()
+                .filter(this::isPure)
+                .map(MethodBinding::name)
+                .filter(name -> !impureFunctionNames.contains(name))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @param decision decision to analyze
+     * @return true if the decision result depends on values of decision inputs only
+     */
+    public boolean isDeterministic(final Decision decision) {
+        if (decision == null) {
+            throw new NullPointerException("Decision can not be null");
+        }
+
+        final Set<String> inputNames = decision
+                .getInputs()
+                .stream()
+                .map(Input::getName)
+                .collect(Collectors.toSet());
+
+        boolean deterministic = decision
+                .getInputs()
+                .stream()
+                .allMatch(input -> isLiteral(input.getExpression()));
+
+        for (Rule rule : decision.getRules()) {
+            for (InputEntry inputEntry : rule.getInputEntries()) {
+                deterministic &= isDeterministic(inputEntry.getExpression(), inputNames, inputEntry.getNameAlias());
+            }
+
+            for (OutputEntry outputEntry : rule.getOutputEntries()) {
+                deterministic &= isDeterministic(outputEntry.getExpression(), inputNames, null);
+            }
+        }
+
+        return deterministic;
+    }
+
+    private boolean isPure(final MethodBinding methodBinding) {
+        return methodBinding.method().isAnnotationPresent(Pure.class);
+    }
+
+    private boolean isLiteral(final Expression expression) {
+        return expression == null || ExpressionType.LITERAL == expression.getType();
+    }
+
+    private boolean isDeterministic(final Expression expression, final Set<String> inputNames, final String nameAlias) {
+        final boolean result;
+
+        if (isLiteral(expression)) {
+            result = true;
+        } else if (ExpressionType.FEEL == expression.getType()) {
+            result = findIdentifiers(String.valueOf(expression.getValue()))
+                    .stream()
+                    .allMatch(identifier -> inputNames.contains(identifier)
+                            || identifier.equals(nameAlias)
+                            || FEEL_KEYWORDS.contains(identifier)
+                            || pureFunctionNames.contains(identifier));
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return identifiers used in FEEL expression outside of string literals, except of built-in date and time function
+     */
+    private Set<String> findIdentifiers(final String feelExpression) {
+        final String expression = FEEL_DATE_AND_TIME_FUNCTION.matcher(feelExpression).replaceAll("(");
+        final Set<String> identifiers = new HashSet<>();
+        int i = 0;
+
+        while (i < expression.length()) {
+            final char character = expression.charAt(i);
+
+            if (character == '"') {
+                i++;
+
+                while (i < expression.length() && expression.charAt(i) != '"') {
+                    i += expression.charAt(i) == '\\' ? 2 : 1;
+                }
+
+                i++;
+            } else if (Character.isDigit(character)) {
+                while (i < expression.length() && (Character.isLetterOrDigit(expression.charAt(i)) || expression.charAt(i) == '.')) {
+                    i++;
+                }
+            } else if (Character.isJavaIdentifierStart(character)) {
+                final int start = i;
+
+                while (i < expression.length() && Character.isJavaIdentifierPart(expression.charAt(i))) {
+                    i++;
+                }
+
+                identifiers.add(expression.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+
+        return identifiers;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.cache;
+
+
+import lombok.Builder;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches decision results by values of decision inputs, evicting least recently used results when full
+ * and results older than time to live.
+ * Results are split by key hash into segments with their own locks and least recently used order, so lookups
+ * on many threads rarely wait for each other. Caches of fewer than {@value #MIN_SEGMENT_SIZE} results per
+ * segment have fewer segments, single segment cache evicts results in exact least recently used order.
+ * Only deterministic decisions, whose results depend on values of their inputs only, are cached,
+ * see {@link DecisionDeterminismAnalyzer}. Caching of particular decisions may be disabled by decision filter.
+ * Results of decisions with DATE outputs are not cached, as their mutable dates would be shared by all cache hits.
+ * Dates of cached keys are copied, so changing variables after evaluation does not change cached keys.
+ * Results are not cached by decision engines with evaluation listeners, so listeners are notified of every evaluation.
+ * Instances are thread safe and may be shared by many decision engines.
+ */
+public class DecisionResultCache {
+
+    /**
+     * Default maximum number of cached results.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    static final int MAX_SEGMENT_COUNT = 16;
+    static final int MIN_SEGMENT_SIZE = 64;
+
+    private final long timeToLiveNanos;
+    private final Predicate<Decision> decisionFilter;
+    private final LongSupplier ticker;
+    private final Segment[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize maximum number of cached results, must be positive, {@link #DEFAULT_MAXIMUM_SIZE} when not set
+     * @param timeToLive time after which cached result expires, results don't expire when not set
+     * @param decisionFilter returns true for decisions which results may be cached, all decisions when not set
+     * @param ticker source of nanosecond time, {@link System#nanoTime()} when not set
+     */
+    @Builder
+    private DecisionResultCache(final Integer maximumSize,
+                                final Duration timeToLive,
+                                final Predicate<Decision> decisionFilter,
+                                final LongSupplier ticker) {
+        if (maximumSize != null && maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+
+        this.timeToLiveNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+        this.decisionFilter = decisionFilter == null ? decision -> true : decisionFilter;
+        this.ticker = ticker == null ? System::nanoTime : ticker;
+
+        final int cacheSize = maximumSize == null ? DEFAULT_MAXIMUM_SIZE : maximumSize;
+
+        this.segments = new Segment[Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENT_COUNT, cacheSize / MIN_SEGMENT_SIZE)))];
+
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(cacheSize / segments.length + (i < cacheSize % segments.length ? 1 : 0));
+        }
+    }
+
+    /**
+     * @param decision definition of decision
+     * @return true if the decision has no DATE output and caching of its results is not disabled by decision filter
+     */
+    public boolean isEnabled(final Decision decision) {
+        return decision.getOutputs().stream().noneMatch(output -> ValueType.DATE == output.getType())
+                && decisionFilter.test(decision);
+    }
+
+    /**
+     * Returns cached result, or evaluates and caches it when there is no valid cached result.
+     * Evaluation is performed without holding the segment lock, so concurrent misses of the same key may evaluate it twice.
+     * Failed evaluations are not cached.
+     *
+     * @param key identifies the result
+     * @param evaluation evaluates the result
+     * @return cached or evaluated result
+     */
+    public DecisionResult getOrEvaluate(final DecisionResultKey key, final Supplier<DecisionResult> evaluation) {
+        final DecisionResult cachedDecisionResult = get(key);
+        final DecisionResult decisionResult;
+
+        if (cachedDecisionResult == null) {
+            missCount.increment();
+            decisionResult = evaluation.get();
+            put(key.copyDates(), decisionResult);
+        } else {
+            hitCount.increment();
+            decisionResult = cachedDecisionResult;
+        }
+
+        return decisionResult;
+    }
+
+    /**
+     * Removes all cached results, statistics are kept.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return snapshot of cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        int size = 0;
+
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private DecisionResult get(final DecisionResultKey key) {
+        return getSegment(key).get(key);
+    }
+
+    private void put(final DecisionResultKey key, final DecisionResult decisionResult) {
+        getSegment(key).put(key, new CachedResult(decisionResult, ticker.getAsLong()));
+    }
+
+    private Segment getSegment(final DecisionResultKey key) {
+        final int hashCode = key.hashCode();
+
+        return segments[(hashCode ^ hashCode >>> 16) & (segments.length - 1)];
+    }
+
+    /**
+     * Part of cached results guarded by its own lock, evicting its least recently used result when full.
+     */
+    private class Segment {
+
+        private final int maximumSize;
+        private final Map<DecisionResultKey, CachedResult> results;
+
+        private Segment(final int maximumSize) {
+            this.maximumSize = maximumSize;
+            this.results = new LinkedHashMap<DecisionResultKey, CachedResult>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<DecisionResultKey, CachedResult> eldest) {
+                    final boolean full = size() > Segment.this.maximumSize;
+
+                    if (full) {
+                        evictionCount.increment();
+                    }
+
+                    return full;
+                }
+            };
+        }
+
+        private synchronized DecisionResult get(final DecisionResultKey key) {
+            final CachedResult cachedResult = results.get(key);
+            final DecisionResult decisionResult;
+
+            if (cachedResult == null) {
+                decisionResult = null;
+            } else if (timeToLiveNanos != 0 && ticker.getAsLong() - cachedResult.createdNanos >= timeToLiveNanos) {
+                results.remove(key);
+                evictionCount.increment();
+                decisionResult = null;
+            } else {
+                decisionResult = cachedResult.decisionResult;
+            }
+
+            return decisionResult;
+        }
+
+        private synchronized void put(final DecisionResultKey key, final CachedResult cachedResult) {
+            results.put(key, cachedResult);
+        }
+
+        private synchronized void clear() {
+            results.clear();
+        }
+
+        private synchronized int size() {
+            return results.size();
+        }
+    }
+
+    /**
+     * Cached result with time it was cached at.
+     */
+    private static class CachedResult {
+
+        private final DecisionResult decisionResult;
+        private final long createdNanos;
+
+        private CachedResult(final DecisionResult decisionResult, final long createdNanos) {
+            this.decisionResult = decisionResult;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
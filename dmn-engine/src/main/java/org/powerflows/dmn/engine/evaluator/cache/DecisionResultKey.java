@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.cache;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Identifies cached decision result by decision definition and values of variables the decision depends on.
+ * Decision definitions are compared by equality, so a changed definition never hits results of previous one.
+ * Hash code of the decision is computed once when the decision is compiled, hash code of the key when the key is created.
+ */
+public final class DecisionResultKey {
+
+    private final Decision decision;
+    private final Serializable[] values;
+    private final int hashCode;
+
+    /**
+     * @param decision definition of decision
+     * @param decisionHashCode hash code of the decision, computed once when the decision is compiled
+     * @param values values of variables the decision depends on
+     */
+    public DecisionResultKey(final Decision decision, final int decisionHashCode, final Serializable[] values) {
+        this.decision = decision;
+        this.values = values;
+        this.hashCode = 31 * decisionHashCode + Arrays.hashCode(values);
+    }
+
+    private DecisionResultKey(final Decision decision, final Serializable[] values, final int hashCode) {
+        this.decision = decision;
+        this.values = values;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Dates are mutable, so keys kept by cache hold copies of them.
+     *
+     * @return key with copies of date values, or this key if it has no date value
+     */
+    DecisionResultKey copyDates() {
+        Serializable[] copiedValues = null;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Date) {
+                if (copiedValues == null) {
+                    copiedValues = values.clone();
+                }
+
+                copiedValues[i] = (Date) ((Date) values[i]).clone();
+            }
+        }
+
+        return copiedValues == null ? this : new DecisionResultKey(decision, copiedValues, hashCode);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        final boolean result;
+
+        if (this == object) {
+            result = true;
+        } else if (object instanceof DecisionResultKey) {
+            final DecisionResultKey other = (DecisionResultKey) object;
+
+            result = hashCode == other.hashCode
+                    && Arrays.equals(values, other.values)
+                    && (decision == other.decision || decision.equals(other.decision));
+        } else {
+            result = false;
+        }
+
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Base of single input column indexes.
+ * Rules without entry for the column are wildcard rules, they are candidates for every input value.
+ * Keyed indexes are searched by unboxed input values, without converting them to input type.
+ * Input values which may be not convertible to input type are not looked up, all rules are candidates for them.
+ */
+abstract class AbstractColumnIndex implements ColumnIndex {
+
+    private final CompiledInputEntry inputEvaluator;
+    private final long[] wildcardRules;
+
+    AbstractColumnIndex(final CompiledInputEntry inputEvaluator, final long[] wildcardRules) {
+        this.inputEvaluator = inputEvaluator;
+        this.wildcardRules = wildcardRules;
+    }
+
+    @Override
+    public boolean retainCandidates(final EvaluationState evaluationState, final long[] matches) {
+        final int[] matchingRules = findMatchingRules(evaluationState);
+        final boolean anyMatch;
+
+        if (matchingRules == null) {
+            anyMatch = true;
+        } else {
+            final long[] candidates = evaluationState.getScratch();
+            System.arraycopy(wildcardRules, 0, candidates, 0, candidates.length);
+
+            for (int position : matchingRules) {
+                RuleBitset.set(candidates, position);
+            }
+
+            anyMatch = RuleBitset.and(matches, candidates);
+        }
+
+        return anyMatch;
+    }
+
+    /**
+     * @param evaluationState state of running evaluation
+     * @return ascending positions of rules having entry matching the input value, one of {@link #getMatchingRuleSets()},
+     * or null if the index can not be used for the value
+     */
+    int[] findMatchingRules(final EvaluationState evaluationState) {
+        final int keyedInput = isKeyed() ? evaluationState.findKeyedInput(inputEvaluator) : -1;
+        final int[] matchingRules;
+
+        if (keyedInput >= 0) {
+            matchingRules = findMatchingRules(inputEvaluator.getInput().getType(), evaluationState.getInputKey(keyedInput));
+        } else if (evaluationState.isInputConvertible(inputEvaluator)) {
+            final SpecifiedTypeValue<?> inputValue = evaluationState.getTypedInputValue(inputEvaluator);
+            matchingRules = inputValue != null && inputValue.isSingleValue() ? findMatchingRules(inputValue.getValue()) : null;
+        } else {
+            matchingRules = null;
+        }
+
+        return matchingRules;
+    }
+
+    /**
+     * @return all arrays of rule positions the index finds for input values
+     */
+    abstract Collection<int[]> getMatchingRuleSets();
+
+    long[] getWildcardRules() {
+        return wildcardRules;
+    }
+
+    /**
+     * @param inputValue single input value converted to the input type
+     * @return ascending positions of rules having entry matching the value or null if the index can not be used for the value
+     */
+    abstract int[] findMatchingRules(Object inputValue);
+
+    /**
+     * @return true if the index finds matching rules by {@link PrimitiveKey} of input value
+     */
+    boolean isKeyed() {
+        return false;
+    }
+
+    /**
+     * @param type input type
+     * @param inputKey key of single input value
+     * @return ascending positions of rules having entry matching the value
+     */
+    int[] findMatchingRules(final ValueType type, final long inputKey) {
+        throw new UnsupportedOperationException("Index is not keyed");
+    }
+
+    static List<CompiledInputEntry> findInputEntries(final CompiledRule rule, final Input input) {
+        final List<CompiledInputEntry> inputEntries = new ArrayList<>(1);
+
+        for (CompiledInputEntry inputEntry : rule.getInputEntries()) {
+            if (input.getName().equals(inputEntry.getInputEntry().getName())) {
+                inputEntries.add(inputEntry);
+            }
+        }
+
+        return inputEntries;
+    }
+}
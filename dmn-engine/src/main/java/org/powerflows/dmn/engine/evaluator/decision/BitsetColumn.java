@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single input column of decision table stored as distinct entries with bitsets of rules having them.
+ * Each distinct entry is evaluated once per decision evaluation, so result of the column is exact
+ * and its entries don't have to be evaluated rule by rule.
+ * Entries having comparison kernels are evaluated for unboxed key of the input value, when the value has one.
+ * Columns are not applicable to input values which may be not convertible to the input type.
+ */
+class BitsetColumn {
+
+    private static final int MAX_BITSET_WORDS = 1 << 16;
+    private static final int UNRESOLVED_INPUT = -2;
+
+    private final Input input;
+    private final CompiledInputEntry[] distinctEntries;
+    private final long[][] rulesByEntry;
+    private final long[] wildcardRules;
+
+    private BitsetColumn(final Input input,
+                         final CompiledInputEntry[] distinctEntries,
+                         final long[][] rulesByEntry,
+                         final long[] wildcardRules) {
+        this.input = input;
+        this.distinctEntries = distinctEntries;
+        this.rulesByEntry = rulesByEntry;
+        this.wildcardRules = wildcardRules;
+    }
+
+    /**
+     * Builds bitset column for the input.
+     * Only inputs with literal expression are stored by column, as their evaluation doesn't depend on other inputs.
+     * Every non wildcard entry of the column has to depend on input value only, being either constant or made of intervals.
+     *
+     * @param input input of the column
+     * @param rules compiled decision rules
+     * @return column or null if entries of the input have to be evaluated rule by rule
+     */
+    static BitsetColumn create(final Input input, final CompiledRule[] rules) {
+        if (ExpressionType.LITERAL != input.getExpression().getType()) {
+            return null;
+        }
+
+        final Map<List<Object>, CompiledInputEntry> entriesByKey = new LinkedHashMap<>();
+        final Map<List<Object>, long[]> rulesByKey = new LinkedHashMap<>();
+        final long[] wildcardRules = RuleBitset.create(rules.length);
+
+        for (int i = 0; i < rules.length; i++) {
+            final List<CompiledInputEntry> inputEntries = AbstractColumnIndex.findInputEntries(rules[i], input);
+
+            if (inputEntries.isEmpty()) {
+                RuleBitset.set(wildcardRules, i);
+            } else if (inputEntries.size() > 1 || !isInputValueDependent(inputEntries.get(0))) {
+                return null;
+            } else {
+                final List<Object> key = createKey(inputEntries.get(0).getInputEntry());
+
+                entriesByKey.putIfAbsent(key, inputEntries.get(0));
+                RuleBitset.set(rulesByKey.computeIfAbsent(key, k -> RuleBitset.create(rules.length)), i);
+            }
+        }
+
+        if (entriesByKey.isEmpty() || (long) entriesByKey.size() * wildcardRules.length > MAX_BITSET_WORDS) {
+            return null;
+        }
+
+        return new BitsetColumn(input,
+                entriesByKey.values().toArray(new CompiledInputEntry[0]),
+                rulesByKey.values().toArray(new long[0][]),
+                wildcardRules);
+    }
+
+    Input getInput() {
+        return input;
+    }
+
+    /**
+     * @param evaluationState state of running evaluation
+     * @return true if the input value is convertible to the input type, so entries of the column can be evaluated
+     */
+    boolean isApplicable(final EvaluationState evaluationState) {
+        return evaluationState.isInputConvertible(distinctEntries[0]);
+    }
+
+    /**
+     * Clears rules not matching the column, which has to be applicable for the evaluation.
+     * Entries having no rule left in matches are not evaluated.
+     *
+     * @param evaluationState state of running evaluation
+     * @param matches rules matching all previous columns
+     * @return true if any rule is left in matches
+     */
+    boolean retainMatches(final EvaluationState evaluationState, final long[] matches) {
+        final long[] columnMatches = evaluationState.getScratch();
+        System.arraycopy(wildcardRules, 0, columnMatches, 0, columnMatches.length);
+        int keyedInput = UNRESOLVED_INPUT;
+
+        for (int i = 0; i < distinctEntries.length; i++) {
+            if (RuleBitset.intersects(rulesByEntry[i], matches)) {
+                final CompiledInputEntry entry = distinctEntries[i];
+
+                if (entry.hasComparisonKernel() && keyedInput == UNRESOLVED_INPUT) {
+                    keyedInput = evaluationState.findKeyedInput(entry);
+                }
+
+                final boolean positive;
+
+                if (entry.hasComparisonKernel() && keyedInput >= 0) {
+                    positive = entry.evaluate(evaluationState.getInputKey(keyedInput));
+                } else {
+                    positive = entry.evaluate(evaluationState.getEvaluationContext(), evaluationState.getTypedInputValue(entry));
+                }
+
+                if (positive) {
+                    RuleBitset.or(columnMatches, rulesByEntry[i]);
+                }
+            }
+        }
+
+        return RuleBitset.and(matches, columnMatches);
+    }
+
+    private static boolean isInputValueDependent(final CompiledInputEntry inputEntry) {
+        return inputEntry.isConstant() || inputEntry.getConstantIntervals() != null;
+    }
+
+    private static List<Object> createKey(final InputEntry inputEntry) {
+        return Arrays.asList(inputEntry.getExpression(), inputEntry.getEvaluationMode());
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+/**
+ * Index of decision rules by entries of single input column.
+ * Index is conservative, every rule matching the column must be a candidate, but candidates are still fully evaluated.
+ */
+interface ColumnIndex {
+
+    /**
+     * Clears rules which are not candidates of the column. Matches are left untouched if the index can not be used for the input value.
+     *
+     * @param evaluationState state of running evaluation
+     * @param matches rules matching all previous columns
+     * @return false if no rule is left in matches
+     */
+    boolean retainCandidates(EvaluationState evaluationState, long[] matches);
+}
@@ -17,9 +17,15 @@
 package org.powerflows.dmn.engine.evaluator.decision;
 
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.Builder;
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionDeterminismAnalyzer;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionResultCache;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
 import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException;
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
 import org.powerflows.dmn.engine.evaluator.rule.RuleEvaluator;
 import org.powerflows.dmn.engine.model.decision.Decision;
 import org.powerflows.dmn.engine.model.decision.HitPolicy;
@@ -37,25 +43,79 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Evaluates decisions.
  */
-@Slf4j
 public class DecisionEvaluator {
 
     private static final Set<HitPolicy> UNSUPPORTED_HIT_POLICIES = Collections.unmodifiableSet(EnumSet.of(HitPolicy.OUTPUT_ORDER, HitPolicy.PRIORITY));
     private final RuleEvaluator ruleEvaluator;
+    private final DecisionResultCache decisionResultCache;
+    private final DecisionDeterminismAnalyzer decisionDeterminismAnalyzer;
+    private final EvaluationListener evaluationListener;
+    private final boolean reuseEvaluationState;
+    private final boolean compileToMethodHandles;
+    private final boolean pruneRules;
+    private final boolean checkRuleOverlaps;
+    private final boolean compileToDecisionTrees;
+    private final int maxTruthTableSize;
 
     /**
      *
      * @param ruleEvaluator rule evaluator to use.
      */
     public DecisionEvaluator(RuleEvaluator ruleEvaluator) {
+        this(ruleEvaluator, null, null, null, false, false, false, false, false, 0);
+    }
+
+    /**
+     *
+     * @param ruleEvaluator rule evaluator to use.
+     * @param decisionResultCache cache of compiled decision results, null if results are not cached.
+     * @param decisionDeterminismAnalyzer analyzer deciding if decision results may be cached.
+     * @param evaluationListener listener of compiled decision evaluations, null if there is none.
+     * @param reuseEvaluationState true if compiled decisions reuse evaluation state confined to the evaluating thread.
+     * @param compileToMethodHandles true if decisions are compiled into method handles when possible.
+     * @param pruneRules true if rules never changing decision results are dropped from compiled decisions.
+     * @param checkRuleOverlaps true if rules of unique hit policy decisions are checked for overlaps.
+     * @param compileToDecisionTrees true if indexed input columns are compiled into decision trees when possible.
+     * @param maxTruthTableSize maximal number of input value combinations precomputed for a decision, 0 if results are not precomputed.
+     */
+    @Builder
+    private DecisionEvaluator(RuleEvaluator ruleEvaluator,
+                              DecisionResultCache decisionResultCache,
+                              DecisionDeterminismAnalyzer decisionDeterminismAnalyzer,
+                              EvaluationListener evaluationListener,
+                              boolean reuseEvaluationState,
+                              boolean compileToMethodHandles,
+                              boolean pruneRules,
+                              boolean checkRuleOverlaps,
+                              boolean compileToDecisionTrees,
+                              int maxTruthTableSize) {
+        if (maxTruthTableSize < 0) {
+            throw new IllegalArgumentException("Max truth table size can not be negative");
+        }
+
+        if (decisionResultCache != null && decisionDeterminismAnalyzer == null) {
+            throw new NullPointerException("Decision determinism analyzer can not be null");
+        }
+
         this.ruleEvaluator = ruleEvaluator;
+        this.decisionResultCache = decisionResultCache;
+        this.decisionDeterminismAnalyzer = decisionDeterminismAnalyzer;
+        this.evaluationListener = evaluationListener;
+        this.reuseEvaluationState = reuseEvaluationState;
+        this.compileToMethodHandles = compileToMethodHandles;
+        this.pruneRules = pruneRules;
+        this.checkRuleOverlaps = checkRuleOverlaps;
+        this.compileToDecisionTrees = compileToDecisionTrees;
+        this.maxTruthTableSize = maxTruthTableSize;
     }
 
     /**
@@ -78,8 +138,6 @@ public class DecisionEvaluator {
             throw new UnsupportedOperationException("HitPolicy " + decision.getHitPolicy() + " is not supported");
         }
 
-        log.info("Starting evaluation of decision: {} with decision variables: {}", decision, decisionVariables);
-
         validateDecisionVariables(decision.getInputs(), decisionVariables);
 
         final List<RuleResult> ruleResults = new ArrayList<>();
@@ -110,16 +168,168 @@ public class DecisionEvaluator {
         }
 
         if (isUniqueRuleResultExpected(decision) && isNonUniqueRuleResult(ruleResults)) {
-            throw new EvaluationException("Unique result is expected");
+            throw new HitPolicyViolationException("Unique result is expected");
         }
 
         final DecisionResult decisionResult = DecisionResult.builder().ruleResults(ruleResults).build();
 
-        log.info("Evaluated decision result: {}", decisionResult);
-
         return decisionResult;
     }
 
+    /**
+     * Compiles decision for repeated evaluation.
+     * Inputs and outputs are resolved, all rules and entries are compiled with their evaluation providers.
+     * Input columns made of constant equality entries, or ranges and comparisons on numbers and dates, are indexed,
+     * so only candidate rules are evaluated. Input columns made of entries depending on input value only are also
+     * stored as bitsets, so each distinct entry of candidate rules is evaluated once instead of rule by rule.
+     * Results of deterministic decisions are cached when the evaluator has a result cache enabled for the decision,
+     * unless evaluations are listened to, as cached results are returned without evaluation.
+     * Evaluation state is reused by evaluations on the same thread when the evaluator is configured to reuse it.
+     * When the evaluator is configured to compile decisions into method handles, decisions made of literal inputs,
+     * constant entries and constant outputs are evaluated by method handles, unless evaluations are listened to.
+     * When the evaluator is configured to prune rules, rules never changing results of the decision are dropped,
+     * see {@link RuleTableAnalyzer}. When the evaluator is configured to check rule overlaps, evaluation of unique
+     * hit policy decisions with rules proven to never overlap stops at the first matching rule.
+     * When the evaluator is configured to compile decision trees, indexes of two or more input columns are replaced
+     * by single {@link DecisionTreeIndex}. When the evaluator is configured with truth table size, results of decisions
+     * made of literal BOOLEAN and STRING inputs, constant entries and constant outputs are precomputed for every
+     * combination of input values, unless there are more combinations or evaluations are listened to.
+     *
+     * @param decision decision to compile
+     * @return compiled decision
+     */
+    public CompiledDecision compile(final Decision decision) {
+        if (decision == null) {
+            throw new NullPointerException("Decision can not be null");
+        }
+
+        if (isUnsupportedSupportedHitPolicy(decision.getHitPolicy())) {
+            throw new UnsupportedOperationException("HitPolicy " + decision.getHitPolicy() + " is not supported");
+        }
+
+        final Map<String, Input> inputs = decision
+                .getInputs()
+                .stream()
+                .collect(Collectors.toMap(Input::getName, Function.identity()));
+
+        final Map<String, Output> outputs = decision
+                .getOutputs()
+                .stream()
+                .collect(Collectors.toMap(Output::getName, Function.identity()));
+
+        final CompiledRule[] allRules = decision
+                .getRules()
+                .stream()
+                .map(rule -> ruleEvaluator.compile(rule, inputs, outputs))
+                .toArray(CompiledRule[]::new);
+
+        final List<PrunedRule> prunedRules = pruneRules
+                ? RuleTableAnalyzer.analyze(decision, allRules, isSingleNonUniqueRuleResultExpected(decision))
+                : Collections.emptyList();
+
+        final List<RuleOverlap> ruleOverlaps = checkRuleOverlaps && isUniqueRuleResultExpected(decision)
+                ? RuleTableAnalyzer.findOverlaps(decision, allRules, prunedRules)
+                : null;
+
+        final boolean firstRuleResultExpected = isSingleNonUniqueRuleResultExpected(decision)
+                || ruleOverlaps != null && ruleOverlaps.isEmpty();
+
+        final CompiledRule[] rules = removePrunedRules(allRules, prunedRules);
+
+        final String[] nonLiteralInputNames = decision
+                .getInputs()
+                .stream()
+                .filter(input -> !isLiteral(input.getExpression()))
+                .map(Input::getName)
+                .toArray(String[]::new);
+
+        final ColumnIndex[] columnIndexes = decision
+                .getInputs()
+                .stream()
+                .map(input -> createIndex(input, rules))
+                .filter(Objects::nonNull)
+                .toArray(ColumnIndex[]::new);
+
+        final ColumnIndex decisionTree = compileToDecisionTrees ? DecisionTreeIndex.create(columnIndexes, rules.length) : null;
+
+        final ColumnIndex[] indexes = decisionTree == null ? columnIndexes : new ColumnIndex[]{decisionTree};
+
+        final BitsetColumn[] columns = decision
+                .getInputs()
+                .stream()
+                .map(input -> BitsetColumn.create(input, rules))
+                .filter(Objects::nonNull)
+                .toArray(BitsetColumn[]::new);
+
+        final DefaultCompiledDecision compiledDecision = new DefaultCompiledDecision(decision,
+                rules,
+                indexes,
+                columns,
+                nonLiteralInputNames,
+                firstRuleResultExpected,
+                isUniqueRuleResultExpected(decision),
+                isCached(decision) ? decisionResultCache : null,
+                evaluationListener,
+                reuseEvaluationState,
+                createMethodHandleEvaluator(decision, rules, firstRuleResultExpected),
+                prunedRules,
+                ruleOverlaps);
+
+        return maxTruthTableSize > 0 ? compiledDecision.withTruthTable(maxTruthTableSize) : compiledDecision;
+    }
+
+    private CompiledRule[] removePrunedRules(final CompiledRule[] rules, final List<PrunedRule> prunedRules) {
+        final CompiledRule[] remainingRules;
+
+        if (prunedRules.isEmpty()) {
+            remainingRules = rules;
+        } else {
+            final boolean[] pruned = new boolean[rules.length];
+
+            for (PrunedRule prunedRule : prunedRules) {
+                pruned[prunedRule.getRuleIndex()] = true;
+            }
+
+            remainingRules = IntStream
+                    .range(0, rules.length)
+                    .filter(i -> !pruned[i])
+                    .mapToObj(i -> rules[i])
+                    .toArray(CompiledRule[]::new);
+        }
+
+        return remainingRules;
+    }
+
+    private MethodHandleEvaluator createMethodHandleEvaluator(final Decision decision,
+                                                              final CompiledRule[] rules,
+                                                              final boolean firstRuleResultExpected) {
+        final MethodHandleEvaluator methodHandleEvaluator;
+
+        if (compileToMethodHandles && evaluationListener == null) {
+            methodHandleEvaluator = MethodHandleEvaluator.create(decision,
+                    rules,
+                    firstRuleResultExpected,
+                    isUniqueRuleResultExpected(decision));
+        } else {
+            methodHandleEvaluator = null;
+        }
+
+        return methodHandleEvaluator;
+    }
+
+    private boolean isCached(final Decision decision) {
+        return decisionResultCache != null
+                && evaluationListener == null
+                && decisionResultCache.isEnabled(decision)
+                && decisionDeterminismAnalyzer.isDeterministic(decision);
+    }
+
+    private ColumnIndex createIndex(final Input input, final CompiledRule[] rules) {
+        final ColumnIndex equalityColumnIndex = EqualityColumnIndex.create(input, rules);
+
+        return equalityColumnIndex == null ? IntervalColumnIndex.create(input, rules) : equalityColumnIndex;
+    }
+
     private boolean isUnsupportedSupportedHitPolicy(HitPolicy hitPolicy) {
         return UNSUPPORTED_HIT_POLICIES.contains(hitPolicy);
     }
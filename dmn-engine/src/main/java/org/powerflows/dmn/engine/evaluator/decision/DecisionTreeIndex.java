@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decision tree of rules over indexed input columns.
+ * Every node splits its candidate rules by one column index, so evaluation looks up one column per tree level
+ * and retains candidates of the reached leaf at once, instead of intersecting candidates of every indexed column.
+ * Columns leaving the smallest expected number of candidates are split first, every distinct set of rules
+ * found by a column index is expected to be equally likely. Nodes with the same candidates and remaining columns
+ * are shared, so the tree is a directed acyclic graph. Nodes are not split when at most one candidate is left
+ * or no remaining column narrows candidates. Candidates of leaves are evaluated rule by rule, like candidates of column indexes.
+ */
+final class DecisionTreeIndex implements ColumnIndex {
+
+    /**
+     * Limits size of the tree, as every level may multiply number of nodes.
+     */
+    static final int MAX_NODE_COUNT = 1 << 14;
+
+    private final Node root;
+
+    private DecisionTreeIndex(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @param indexes   column indexes of the decision
+     * @param ruleCount number of compiled rules
+     * @return decision tree or null if there are less than two column indexes or the tree would be too large
+     */
+    static DecisionTreeIndex create(final ColumnIndex[] indexes, final int ruleCount) {
+        final List<AbstractColumnIndex> columns = new ArrayList<>(indexes.length);
+
+        for (ColumnIndex index : indexes) {
+            if (index instanceof AbstractColumnIndex) {
+                columns.add((AbstractColumnIndex) index);
+            }
+        }
+
+        if (columns.size() < 2) {
+            return null;
+        }
+
+        final long[] rules = RuleBitset.create(ruleCount);
+        final BitSet remainingColumns = new BitSet(columns.size());
+
+        for (int i = 0; i < ruleCount; i++) {
+            RuleBitset.set(rules, i);
+        }
+
+        remainingColumns.set(0, columns.size());
+
+        final Builder builder = new Builder(columns, ruleCount);
+        final Node root = builder.build(rules, remainingColumns);
+
+        return builder.nodeCount > MAX_NODE_COUNT ? null : new DecisionTreeIndex(root);
+    }
+
+    @Override
+    public boolean retainCandidates(final EvaluationState evaluationState, final long[] matches) {
+        Node node = root;
+
+        while (node.column != null) {
+            final int[] matchingRules = node.column.findMatchingRules(evaluationState);
+
+            node = matchingRules == null ? node.unknownValueChild : node.children.get(matchingRules);
+        }
+
+        return RuleBitset.and(matches, node.candidates);
+    }
+
+    /**
+     * Leaf when it has no column, otherwise its children are keyed by rule positions found by the column index.
+     */
+    private static final class Node {
+
+        private final AbstractColumnIndex column;
+        private final Map<int[], Node> children;
+        private final Node unknownValueChild;
+        private final long[] candidates;
+
+        private Node(final AbstractColumnIndex column, final Map<int[], Node> children, final Node unknownValueChild, final long[] candidates) {
+            this.column = column;
+            this.children = children;
+            this.unknownValueChild = unknownValueChild;
+            this.candidates = candidates;
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class NodeKey {
+
+        private final long[] candidates;
+        private final BitSet remainingColumns;
+
+        private NodeKey(final long[] candidates, final BitSet remainingColumns) {
+            this.candidates = candidates;
+            this.remainingColumns = remainingColumns;
+        }
+    }
+
+    private static final class Builder {
+
+        private final List<AbstractColumnIndex> columns;
+        private final List<int[][]> matchingRuleSetsByColumn;
+        private final List<long[][]> candidatesByColumn;
+        private final Map<NodeKey, Node> nodes = new HashMap<>();
+        private int nodeCount;
+
+        /**
+         * Candidates of every set of rules found by a column index include rules without entry of the column.
+         */
+        private Builder(final List<AbstractColumnIndex> columns, final int ruleCount) {
+            this.columns = columns;
+            this.matchingRuleSetsByColumn = new ArrayList<>(columns.size());
+            this.candidatesByColumn = new ArrayList<>(columns.size());
+
+            for (AbstractColumnIndex column : columns) {
+                final Set<int[]> matchingRuleSets = Collections.newSetFromMap(new IdentityHashMap<>());
+                matchingRuleSets.addAll(column.getMatchingRuleSets());
+
+                final int[][] columnMatchingRuleSets = matchingRuleSets.toArray(new int[0][]);
+                final long[][] columnCandidates = new long[columnMatchingRuleSets.length][];
+
+                for (int i = 0; i < columnMatchingRuleSets.length; i++) {
+                    columnCandidates[i] = RuleBitset.create(ruleCount);
+                    System.arraycopy(column.getWildcardRules(), 0, columnCandidates[i], 0, columnCandidates[i].length);
+
+                    for (int position : columnMatchingRuleSets[i]) {
+                        RuleBitset.set(columnCandidates[i], position);
+                    }
+                }
+
+                matchingRuleSetsByColumn.add(columnMatchingRuleSets);
+                candidatesByColumn.add(columnCandidates);
+            }
+        }
+
+        private Node build(final long[] candidates, final BitSet remainingColumns) {
+            final NodeKey nodeKey = new NodeKey(candidates, remainingColumns);
+            Node node = nodes.get(nodeKey);
+
+            if (node == null) {
+                node = createNode(candidates, remainingColumns);
+                nodes.put(nodeKey, node);
+            }
+
+            return node;
+        }
+
+        private Node createNode(final long[] candidates, final BitSet remainingColumns) {
+            final int candidateCount = RuleBitset.cardinality(candidates);
+            final int column = ++nodeCount > MAX_NODE_COUNT || candidateCount <= 1 ? -1 : findSplitColumn(candidates, candidateCount, remainingColumns);
+            final Node node;
+
+            if (column < 0) {
+                node = new Node(null, null, null, candidates);
+            } else {
+                final BitSet childRemainingColumns = (BitSet) remainingColumns.clone();
+                final int[][] matchingRuleSets = matchingRuleSetsByColumn.get(column);
+                final long[][] columnCandidates = candidatesByColumn.get(column);
+                final Map<int[], Node> children = new IdentityHashMap<>(matchingRuleSets.length * 2);
+
+                childRemainingColumns.clear(column);
+
+                for (int i = 0; i < matchingRuleSets.length; i++) {
+                    final long[] childCandidates = candidates.clone();
+                    RuleBitset.and(childCandidates, columnCandidates[i]);
+
+                    children.put(matchingRuleSets[i], build(childCandidates, childRemainingColumns));
+                }
+
+                node = new Node(columns.get(column), children, build(candidates, childRemainingColumns), null);
+            }
+
+            return node;
+        }
+
+        /**
+         * @return column leaving the smallest average number of candidates, or -1 if no column narrows candidates
+         */
+        private int findSplitColumn(final long[] candidates, final int candidateCount, final BitSet remainingColumns) {
+            int splitColumn = -1;
+            double splitCandidateCount = candidateCount;
+
+            for (int column = remainingColumns.nextSetBit(0); column >= 0; column = remainingColumns.nextSetBit(column + 1)) {
+                final long[][] columnCandidates = candidatesByColumn.get(column);
+                long remainingCandidateCount = 0;
+
+                for (long[] matchingCandidates : columnCandidates) {
+                    remainingCandidateCount += countCommon(candidates, matchingCandidates);
+                }
+
+                final double averageCandidateCount = (double) remainingCandidateCount / columnCandidates.length;
+
+                if (averageCandidateCount < splitCandidateCount) {
+                    splitColumn = column;
+                    splitCandidateCount = averageCandidateCount;
+                }
+            }
+
+            return splitColumn;
+        }
+
+        private static int countCommon(final long[] first, final long[] second) {
+            int count = 0;
+
+            for (int i = 0; i < first.length; i++) {
+                count += Long.bitCount(first[i] & second[i]);
+            }
+
+            return count;
+        }
+    }
+}
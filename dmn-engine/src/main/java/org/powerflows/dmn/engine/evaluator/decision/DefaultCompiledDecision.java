@@ -0,0 +1,543 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionResultCache;
+import org.powerflows.dmn.engine.evaluator.cache.DecisionResultKey;
+import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.context.VariableSlots;
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException;
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Default {@link CompiledDecision} implementation.
+ * Evaluates compiled rules in decision order, applying the decision hit policy.
+ * Candidates of indexed columns are found first, then they are matched by columns stored as bitsets,
+ * so only input entries of remaining columns are evaluated rule by rule.
+ * Batch evaluations reuse single evaluation state for all variable sets. When enabled, single evaluations reuse
+ * evaluation state confined to the evaluating thread, so finding matching rules allocates nothing.
+ * Results of single matching rules are not copied into growable lists.
+ * Evaluation of unique hit policy decision with rules proven to never overlap stops at the first matching rule, like for first hit policy.
+ * Input values which may be not convertible to input type are not looked up by column indexes, and when any bitset column
+ * has such value, all rules are evaluated rule by rule, so failed conversion is reported the same way.
+ * Evaluation listener, when present, is notified of evaluation progress, otherwise no callback is made.
+ * Names of inputs and of input name aliases are resolved to evaluation context slots once, input values given
+ * in order of decision inputs are evaluated without building variable map.
+ * Decisions compiled into method handles are evaluated by them, without evaluation state.
+ * Results of decisions over few BOOLEAN and STRING input values may be precomputed when the decision is compiled.
+ * Cached results are keyed by values of decision inputs and of input name aliases, the only variables literal inputs are read from.
+ */
+class DefaultCompiledDecision implements CompiledDecision {
+
+    private final Decision decision;
+    private final Input[] inputs;
+    private final VariableSlots variableSlots;
+    private final CompiledRule[] rules;
+    private final CompiledRule[] remainingRules;
+    private final ColumnIndex[] indexes;
+    private final BitsetColumn[] columns;
+    private final long[] rulesWithOutputEntries;
+    private final boolean exactMatches;
+    private final String[] nonLiteralInputNames;
+    private final boolean singleNonUniqueRuleResultExpected;
+    private final boolean uniqueRuleResultExpected;
+    private final DecisionResultCache decisionResultCache;
+    private final String[] keyVariableNames;
+    private final int decisionHashCode;
+    private final EvaluationListener evaluationListener;
+    private final ThreadLocal<EvaluationState> evaluationStates;
+    private final MethodHandleEvaluator methodHandleEvaluator;
+    private final TruthTableEvaluator truthTableEvaluator;
+    private final List<PrunedRule> prunedRules;
+    private final List<RuleOverlap> ruleOverlaps;
+
+    DefaultCompiledDecision(final Decision decision,
+                            final CompiledRule[] rules,
+                            final ColumnIndex[] indexes,
+                            final BitsetColumn[] columns,
+                            final String[] nonLiteralInputNames,
+                            final boolean singleNonUniqueRuleResultExpected,
+                            final boolean uniqueRuleResultExpected,
+                            final DecisionResultCache decisionResultCache,
+                            final EvaluationListener evaluationListener,
+                            final boolean reuseEvaluationState,
+                            final MethodHandleEvaluator methodHandleEvaluator,
+                            final List<PrunedRule> prunedRules,
+                            final List<RuleOverlap> ruleOverlaps) {
+        this.decision = decision;
+        this.inputs = decision.getInputs().toArray(new Input[0]);
+        this.variableSlots = VariableSlots.of(Stream
+                .concat(decision.getInputs().stream().map(Input::getName), decision.getInputs().stream().map(Input::getNameAlias))
+                .distinct()
+                .collect(Collectors.toList()));
+        this.rules = rules;
+        this.indexes = indexes;
+        this.columns = columns;
+        this.nonLiteralInputNames = nonLiteralInputNames;
+        this.singleNonUniqueRuleResultExpected = singleNonUniqueRuleResultExpected;
+        this.uniqueRuleResultExpected = uniqueRuleResultExpected;
+        this.decisionResultCache = decisionResultCache;
+        this.keyVariableNames = decisionResultCache == null ? null : decision
+                .getInputs()
+                .stream()
+                .flatMap(input -> Stream.of(input.getName(), input.getNameAlias()))
+                .distinct()
+                .toArray(String[]::new);
+        this.decisionHashCode = decisionResultCache == null ? 0 : decision.hashCode();
+        this.evaluationListener = evaluationListener;
+        this.evaluationStates = reuseEvaluationState ? ThreadLocal.withInitial(this::createEvaluationState) : null;
+        this.methodHandleEvaluator = methodHandleEvaluator;
+        this.prunedRules = prunedRules;
+        this.ruleOverlaps = ruleOverlaps;
+
+        final Set<String> columnInputNames = Arrays
+                .stream(columns)
+                .map(column -> column.getInput().getName())
+                .collect(Collectors.toSet());
+
+        this.remainingRules = new CompiledRule[rules.length];
+        this.rulesWithOutputEntries = RuleBitset.create(rules.length);
+        boolean remainingInputEntries = false;
+
+        for (int i = 0; i < rules.length; i++) {
+            remainingRules[i] = rules[i].withoutInputEntries(columnInputNames);
+            remainingInputEntries |= !remainingRules[i].getInputEntries().isEmpty() || !remainingRules[i].getWildcardInputEntries().isEmpty();
+
+            if (rules[i].hasOutputEntries()) {
+                RuleBitset.set(rulesWithOutputEntries, i);
+            }
+        }
+
+        this.exactMatches = !remainingInputEntries;
+        this.truthTableEvaluator = null;
+    }
+
+    private DefaultCompiledDecision(final DefaultCompiledDecision compiledDecision, final TruthTableEvaluator truthTableEvaluator) {
+        this.decision = compiledDecision.decision;
+        this.inputs = compiledDecision.inputs;
+        this.variableSlots = compiledDecision.variableSlots;
+        this.rules = compiledDecision.rules;
+        this.remainingRules = compiledDecision.remainingRules;
+        this.indexes = compiledDecision.indexes;
+        this.columns = compiledDecision.columns;
+        this.rulesWithOutputEntries = compiledDecision.rulesWithOutputEntries;
+        this.exactMatches = compiledDecision.exactMatches;
+        this.nonLiteralInputNames = compiledDecision.nonLiteralInputNames;
+        this.singleNonUniqueRuleResultExpected = compiledDecision.singleNonUniqueRuleResultExpected;
+        this.uniqueRuleResultExpected = compiledDecision.uniqueRuleResultExpected;
+        this.decisionResultCache = compiledDecision.decisionResultCache;
+        this.keyVariableNames = compiledDecision.keyVariableNames;
+        this.decisionHashCode = compiledDecision.decisionHashCode;
+        this.evaluationListener = compiledDecision.evaluationListener;
+        this.evaluationStates = compiledDecision.evaluationStates == null ? null : ThreadLocal.withInitial(this::createEvaluationState);
+        this.methodHandleEvaluator = compiledDecision.methodHandleEvaluator;
+        this.truthTableEvaluator = truthTableEvaluator;
+        this.prunedRules = compiledDecision.prunedRules;
+        this.ruleOverlaps = compiledDecision.ruleOverlaps;
+    }
+
+    /**
+     * Precomputes results of the decision, see {@link TruthTableEvaluator}.
+     *
+     * @param maxTruthTableSize maximal number of precomputed input value combinations
+     * @return compiled decision evaluating precomputed results, or this decision if they can not be precomputed
+     */
+    DefaultCompiledDecision withTruthTable(final int maxTruthTableSize) {
+        final TruthTableEvaluator newTruthTableEvaluator = evaluationListener == null
+                ? TruthTableEvaluator.create(decision, rules, maxTruthTableSize, variables -> evaluate(variables, createEvaluationState()))
+                : null;
+
+        return newTruthTableEvaluator == null ? this : new DefaultCompiledDecision(this, newTruthTableEvaluator);
+    }
+
+    @Override
+    public Decision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public List<PrunedRule> getPrunedRules() {
+        return prunedRules;
+    }
+
+    @Override
+    public List<RuleOverlap> getRuleOverlaps() {
+        return ruleOverlaps;
+    }
+
+    @Override
+    public DecisionResult evaluate(final DecisionVariables decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final DecisionResult decisionResult;
+
+        if (decisionResultCache == null) {
+            decisionResult = evaluateSingle(decisionVariables);
+        } else {
+            decisionResult = decisionResultCache.getOrEvaluate(createKey(decisionVariables), () -> evaluateSingle(decisionVariables));
+        }
+
+        return decisionResult;
+    }
+
+    @Override
+    public DecisionResult evaluateInputs(final Object... inputValues) {
+        if (inputValues == null) {
+            throw new NullPointerException("Input values can not be null");
+        }
+
+        if (inputValues.length != inputs.length) {
+            throw new IllegalArgumentException("Decision has " + inputs.length + " inputs, got " + inputValues.length + " input values");
+        }
+
+        final Serializable[] values = new Serializable[inputValues.length];
+
+        for (int i = 0; i < inputValues.length; i++) {
+            if (inputValues[i] != null && !(inputValues[i] instanceof Serializable)) {
+                throw new IllegalArgumentException("Value of input " + inputs[i].getName() + " is not serializable");
+            }
+
+            values[i] = (Serializable) inputValues[i];
+        }
+
+        return evaluate(new PositionalDecisionVariables(variableSlots, values));
+    }
+
+    @Override
+    public List<DecisionResult> evaluateBatch(final List<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final List<DecisionResult> decisionResults = new ArrayList<>(decisionVariables.size());
+        final Iterator<DecisionResult> decisionResultIterator = evaluateBatch(decisionVariables.iterator());
+
+        while (decisionResultIterator.hasNext()) {
+            decisionResults.add(decisionResultIterator.next());
+        }
+
+        return decisionResults;
+    }
+
+    @Override
+    public Iterable<DecisionResult> evaluateBatch(final Iterable<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        return () -> evaluateBatch(decisionVariables.iterator());
+    }
+
+    @Override
+    public Iterator<DecisionResult> evaluateBatch(final Iterator<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        return new BatchIterator(decisionVariables);
+    }
+
+    private DecisionResult evaluateSingle(final DecisionVariables decisionVariables) {
+        final DecisionResult compiledDecisionResult = evaluateCompiled(decisionVariables);
+
+        return compiledDecisionResult == null ? evaluateInThreadState(decisionVariables) : compiledDecisionResult;
+    }
+
+    /**
+     * @return decision result or null if the decision has to be interpreted
+     */
+    private DecisionResult evaluateCompiled(final DecisionVariables decisionVariables) {
+        final DecisionResult precomputedDecisionResult = truthTableEvaluator == null ? null : truthTableEvaluator.evaluate(decisionVariables);
+
+        return precomputedDecisionResult == null && methodHandleEvaluator != null
+                ? methodHandleEvaluator.evaluate(decisionVariables)
+                : precomputedDecisionResult;
+    }
+
+    /**
+     * Nested evaluation of the decision on the same thread, e.g. by evaluation listener, uses its own state.
+     */
+    private DecisionResult evaluateInThreadState(final DecisionVariables decisionVariables) {
+        final EvaluationState evaluationState = evaluationStates == null ? null : evaluationStates.get();
+        final DecisionResult decisionResult;
+
+        if (evaluationState != null && evaluationState.acquire()) {
+            try {
+                decisionResult = evaluate(decisionVariables, evaluationState);
+            } finally {
+                evaluationState.release();
+            }
+        } else {
+            decisionResult = evaluate(decisionVariables, createEvaluationState());
+        }
+
+        return decisionResult;
+    }
+
+    private EvaluationState createEvaluationState() {
+        return new EvaluationState(inputs, variableSlots, rules.length);
+    }
+
+    private DecisionResult evaluate(final DecisionVariables decisionVariables, final EvaluationState evaluationState) {
+        final DecisionResult decisionResult;
+
+        evaluationState.reset(decisionVariables);
+
+        if (evaluationListener == null) {
+            decisionResult = evaluateDecision(decisionVariables, evaluationState);
+        } else {
+            evaluationListener.decisionStarted(decision, decisionVariables);
+
+            try {
+                decisionResult = evaluateDecision(decisionVariables, evaluationState);
+            } catch (RuntimeException e) {
+                evaluationListener.decisionFailed(decision, decisionVariables, e);
+
+                throw e;
+            }
+
+            evaluationListener.decisionEvaluated(decision, decisionVariables, decisionResult);
+        }
+
+        return decisionResult;
+    }
+
+    private DecisionResult evaluateDecision(final DecisionVariables decisionVariables, final EvaluationState evaluationState) {
+        validateDecisionVariables(decisionVariables);
+
+        final EvaluationContext evaluationContext = evaluationState.getEvaluationContext();
+        final long[] matches = findMatches(evaluationState);
+        final List<RuleResult> ruleResults;
+
+        if (matches == null) {
+            ruleResults = evaluateRules(evaluationContext);
+        } else {
+            ruleResults = evaluateMatchingRules(evaluationContext, matches);
+        }
+
+        if (uniqueRuleResultExpected && ruleResults.size() > 1) {
+            throw new HitPolicyViolationException("Unique result is expected");
+        }
+
+        final DecisionResult decisionResult = DecisionResult.builder().ruleResults(ruleResults).build();
+
+        return decisionResult;
+    }
+
+    private List<RuleResult> evaluateRules(final EvaluationContext evaluationContext) {
+        List<RuleResult> ruleResults = Collections.emptyList();
+
+        for (int i = 0; i < rules.length; i++) {
+            final RuleResult ruleResult = rules[i].evaluate(evaluationContext, evaluationListener);
+
+            if (ruleResult != null) {
+                ruleResults = addRuleResult(ruleResults, ruleResult);
+                notifyRuleMatched(i, ruleResult);
+
+                if (singleNonUniqueRuleResultExpected) {
+                    break;
+                }
+            }
+        }
+
+        return ruleResults;
+    }
+
+    private List<RuleResult> evaluateMatchingRules(final EvaluationContext evaluationContext, final long[] matches) {
+        if (uniqueRuleResultExpected && exactMatches && RuleBitset.cardinality(matches) > 1) {
+            throw new HitPolicyViolationException("Unique result is expected");
+        }
+
+        List<RuleResult> ruleResults = Collections.emptyList();
+
+        for (int i = RuleBitset.nextSetBit(matches, 0); i >= 0; i = RuleBitset.nextSetBit(matches, i + 1)) {
+            final RuleResult ruleResult = remainingRules[i].evaluate(evaluationContext, evaluationListener);
+
+            if (ruleResult != null) {
+                ruleResults = addRuleResult(ruleResults, ruleResult);
+                notifyRuleMatched(i, ruleResult);
+
+                if (singleNonUniqueRuleResultExpected) {
+                    break;
+                }
+            }
+        }
+
+        return ruleResults;
+    }
+
+    /**
+     * Rule results are kept in immutable single element list until second rule matches.
+     */
+    static List<RuleResult> addRuleResult(final List<RuleResult> ruleResults, final RuleResult ruleResult) {
+        final List<RuleResult> allRuleResults;
+
+        if (ruleResults.isEmpty()) {
+            allRuleResults = Collections.singletonList(ruleResult);
+        } else if (ruleResults.size() == 1) {
+            allRuleResults = new ArrayList<>();
+            allRuleResults.add(ruleResults.get(0));
+            allRuleResults.add(ruleResult);
+        } else {
+            allRuleResults = ruleResults;
+            allRuleResults.add(ruleResult);
+        }
+
+        return allRuleResults;
+    }
+
+    /**
+     * @return bitset of rules matching all bitset columns and being candidates for all indexed columns,
+     * or null if all rules have to be evaluated rule by rule
+     */
+    private long[] findMatches(final EvaluationState evaluationState) {
+        if (indexes.length == 0 && columns.length == 0 || !areColumnsApplicable(evaluationState)) {
+            return null;
+        }
+
+        final long[] matches = evaluationState.getMatches();
+        System.arraycopy(rulesWithOutputEntries, 0, matches, 0, matches.length);
+
+        boolean anyMatch = true;
+
+        for (int i = 0; i < indexes.length && anyMatch; i++) {
+            anyMatch = indexes[i].retainCandidates(evaluationState, matches);
+        }
+
+        for (int i = 0; i < columns.length && anyMatch; i++) {
+            anyMatch = columns[i].retainMatches(evaluationState, matches);
+        }
+
+        return matches;
+    }
+
+    private boolean areColumnsApplicable(final EvaluationState evaluationState) {
+        boolean applicable = true;
+
+        for (int i = 0; i < columns.length && applicable; i++) {
+            applicable = columns[i].isApplicable(evaluationState);
+        }
+
+        return applicable;
+    }
+
+    private void notifyRuleMatched(final int ruleIndex, final RuleResult ruleResult) {
+        if (evaluationListener != null) {
+            evaluationListener.ruleMatched(decision, ruleIndex, rules[ruleIndex].getRule(), ruleResult);
+        }
+    }
+
+    private DecisionResultKey createKey(final DecisionVariables decisionVariables) {
+        final Serializable[] values = new Serializable[keyVariableNames.length];
+
+        for (int i = 0; i < keyVariableNames.length; i++) {
+            values[i] = decisionVariables.get(keyVariableNames[i]);
+        }
+
+        return new DecisionResultKey(decision, decisionHashCode, values);
+    }
+
+    private void validateDecisionVariables(final DecisionVariables decisionVariables) {
+        StringBuilder invalidInputNames = null;
+
+        for (String inputName : nonLiteralInputNames) {
+            if (decisionVariables.isPresent(inputName)) {
+                if (invalidInputNames == null) {
+                    invalidInputNames = new StringBuilder(inputName);
+                } else {
+                    invalidInputNames.append(',').append(inputName);
+                }
+            }
+        }
+
+        if (invalidInputNames != null) {
+            throw new EvaluationException("Can not apply decision variables to inputs '" + invalidInputNames + "'. Only to inputs with literal expression possible.");
+        }
+    }
+
+    /**
+     * Evaluates next variable set when next result is requested, reusing evaluation state of previous one.
+     */
+    private class BatchIterator implements Iterator<DecisionResult> {
+
+        private final Iterator<DecisionVariables> decisionVariables;
+        private EvaluationState evaluationState;
+
+        private BatchIterator(final Iterator<DecisionVariables> decisionVariables) {
+            this.decisionVariables = decisionVariables;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return decisionVariables.hasNext();
+        }
+
+        @Override
+        public DecisionResult next() {
+            final DecisionVariables nextDecisionVariables = decisionVariables.next();
+
+            if (nextDecisionVariables == null) {
+                throw new NullPointerException("Decision variables can not be null");
+            }
+
+            final DecisionResult decisionResult;
+
+            if (decisionResultCache == null) {
+                decisionResult = evaluateInContext(nextDecisionVariables);
+            } else {
+                decisionResult = decisionResultCache.getOrEvaluate(createKey(nextDecisionVariables), () -> evaluateInContext(nextDecisionVariables));
+            }
+
+            return decisionResult;
+        }
+
+        private DecisionResult evaluateInContext(final DecisionVariables nextDecisionVariables) {
+            final DecisionResult compiledDecisionResult = evaluateCompiled(nextDecisionVariables);
+
+            if (compiledDecisionResult != null) {
+                return compiledDecisionResult;
+            }
+
+            if (evaluationState == null) {
+                evaluationState = createEvaluationState();
+            }
+
+            return evaluate(nextDecisionVariables, evaluationState);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index of rules by constant values of single input column.
+ */
+class EqualityColumnIndex extends AbstractColumnIndex {
+
+    private final Map<Object, int[]> rulesByValue;
+
+    private EqualityColumnIndex(final CompiledInputEntry inputEvaluator,
+                                final Map<Object, int[]> rulesByValue,
+                                final long[] wildcardRules) {
+        super(inputEvaluator, wildcardRules);
+        this.rulesByValue = rulesByValue;
+    }
+
+    /**
+     * Builds index for the input column.
+     * Only inputs with literal expression are indexed, as their evaluation doesn't depend on other inputs.
+     * Every non wildcard entry of the column has to be constant and evaluated in input comparison mode.
+     *
+     * @param input indexed input
+     * @param rules compiled decision rules
+     * @return index or null if the column can not be indexed
+     */
+    static EqualityColumnIndex create(final Input input, final CompiledRule[] rules) {
+        if (ExpressionType.LITERAL != input.getExpression().getType()) {
+            return null;
+        }
+
+        final Map<Object, List<Integer>> positionsByValue = new HashMap<>();
+        final long[] wildcardRules = RuleBitset.create(rules.length);
+        CompiledInputEntry inputEvaluator = null;
+
+        for (int i = 0; i < rules.length; i++) {
+            final List<CompiledInputEntry> inputEntries = findInputEntries(rules[i], input);
+
+            if (inputEntries.isEmpty()) {
+                RuleBitset.set(wildcardRules, i);
+            } else if (inputEntries.size() > 1 || !isIndexable(inputEntries.get(0))) {
+                return null;
+            } else {
+                inputEvaluator = inputEntries.get(0);
+
+                for (Object value : getValues(inputEvaluator.getConstantInputEntryValue(), input.getType())) {
+                    positionsByValue.computeIfAbsent(value, key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+
+        if (inputEvaluator == null) {
+            return null;
+        }
+
+        final Map<Object, int[]> rulesByValue = new HashMap<>(positionsByValue.size() * 2);
+        positionsByValue.forEach((value, positions) -> rulesByValue.put(value, RulePositions.toArray(positions)));
+
+        return new EqualityColumnIndex(inputEvaluator, rulesByValue, wildcardRules);
+    }
+
+    @Override
+    int[] findMatchingRules(final Object inputValue) {
+        return rulesByValue.getOrDefault(inputValue, RulePositions.NONE);
+    }
+
+    @Override
+    Collection<int[]> getMatchingRuleSets() {
+        final List<int[]> matchingRuleSets = new ArrayList<>(rulesByValue.values());
+        matchingRuleSets.add(RulePositions.NONE);
+
+        return matchingRuleSets;
+    }
+
+    private static boolean isIndexable(final CompiledInputEntry inputEntry) {
+        return inputEntry.isConstant() && EvaluationMode.INPUT_COMPARISON == inputEntry.getInputEntry().getEvaluationMode();
+    }
+
+    /**
+     * Single boolean false on non boolean input never matches, so such entry has no values.
+     */
+    private static Collection<?> getValues(final SpecifiedTypeValue<?> inputEntryValue, final ValueType inputType) {
+        final Collection<?> values;
+
+        if (!inputEntryValue.isSingleValue()) {
+            values = new LinkedHashSet<>(inputEntryValue.getValues());
+        } else if (ValueType.BOOLEAN != inputType && Boolean.FALSE.equals(inputEntryValue.getValue())) {
+            values = Collections.emptyList();
+        } else {
+            values = Collections.singletonList(inputEntryValue.getValue());
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.context.VariableSlots;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scratch state of single compiled decision evaluation: evaluation context, bitsets of matching rules,
+ * input values converted to input types and unboxed {@link PrimitiveKey} of input values, each computed once per evaluation.
+ * Input values are read from slots of the evaluation context, without looking them up by name.
+ * The state is confined to one thread and is reset before each evaluation, so it can be reused by later ones.
+ * Single input values already being of the input type are not converted, they are held by reused value holders,
+ * as conversion would return the same value.
+ */
+class EvaluationState {
+
+    private static final byte KEY_UNKNOWN = 0;
+    private static final byte KEY_PRESENT = 1;
+    private static final byte KEY_ABSENT = 2;
+
+    private static final DecisionVariables NO_VARIABLES = new DecisionVariables(Collections.emptyMap());
+
+    private final Input[] inputs;
+    private final int[] inputSlots;
+    private final SpecifiedTypeValue<?>[] typedInputValues;
+    private final SingleValue[] singleValues;
+    private final long[] inputKeys;
+    private final byte[] inputKeyStates;
+    private final long[] matches;
+    private final long[] scratch;
+    private final EvaluationContext evaluationContext;
+    private boolean inUse;
+
+    /**
+     * @param inputs decision inputs, shared by all states of the decision
+     * @param variableSlots slots of decision variables, shared by all states of the decision
+     * @param ruleCount number of decision rules
+     */
+    EvaluationState(final Input[] inputs, final VariableSlots variableSlots, final int ruleCount) {
+        this.inputs = inputs;
+        this.inputSlots = new int[inputs.length];
+        this.typedInputValues = new SpecifiedTypeValue<?>[inputs.length];
+        this.singleValues = new SingleValue[inputs.length];
+        this.inputKeys = new long[inputs.length];
+        this.inputKeyStates = new byte[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            singleValues[i] = new SingleValue();
+            inputSlots[i] = variableSlots.slotOf(inputs[i].getName());
+        }
+        this.evaluationContext = new EvaluationContext(NO_VARIABLES, variableSlots);
+        this.matches = RuleBitset.create(ruleCount);
+        this.scratch = RuleBitset.create(ruleCount);
+    }
+
+    /**
+     * Prepares the state for evaluation of next variable set.
+     *
+     * @param decisionVariables variables of next evaluation
+     */
+    void reset(final DecisionVariables decisionVariables) {
+        if (decisionVariables instanceof PositionalDecisionVariables) {
+            evaluationContext.reset(((PositionalDecisionVariables) decisionVariables).getValues());
+        } else {
+            evaluationContext.reset(decisionVariables);
+        }
+
+        Arrays.fill(typedInputValues, null);
+        Arrays.fill(inputKeyStates, KEY_UNKNOWN);
+    }
+
+    EvaluationContext getEvaluationContext() {
+        return evaluationContext;
+    }
+
+    /**
+     * @return bitset of matching rules, filled by caller
+     */
+    long[] getMatches() {
+        return matches;
+    }
+
+    /**
+     * @return bitset for temporary results, its content is undefined until filled by caller
+     */
+    long[] getScratch() {
+        return scratch;
+    }
+
+    /**
+     * Evaluates input of the entry and converts it to the input type, unless it was already done during this evaluation.
+     *
+     * @param inputEvaluator any entry of literal input
+     * @return input value converted to the input type
+     */
+    SpecifiedTypeValue<?> getTypedInputValue(final CompiledInputEntry inputEvaluator) {
+        final int position = findInputPosition(inputEvaluator.getInput());
+        final SpecifiedTypeValue<?> typedInputValue;
+
+        if (position < 0) {
+            typedInputValue = inputEvaluator.evaluateInput(evaluationContext);
+        } else {
+            if (typedInputValues[position] == null) {
+                typedInputValues[position] = toTypedInputValue(position, inputEvaluator, getInputValue(position, inputEvaluator));
+            }
+
+            typedInputValue = typedInputValues[position];
+        }
+
+        return typedInputValue;
+    }
+
+    /**
+     * Evaluates input of the entry and checks whether its value is known to be convertible to the input type:
+     * null values, values of the input type and values having {@link PrimitiveKey} of the input type are.
+     * Other values are left to rule by rule evaluation, which reports failed conversion.
+     *
+     * @param inputEvaluator any entry of literal input
+     * @return true if {@link #getTypedInputValue(CompiledInputEntry)} converts the input value
+     */
+    boolean isInputConvertible(final CompiledInputEntry inputEvaluator) {
+        final int position = findInputPosition(inputEvaluator.getInput());
+        final boolean convertible;
+
+        if (position < 0) {
+            convertible = false;
+        } else if (typedInputValues[position] != null) {
+            convertible = true;
+        } else {
+            final ValueType inputType = inputs[position].getType();
+            final Serializable inputValue = getInputValue(position, inputEvaluator);
+
+            convertible = inputValue == null
+                    || inputType != null && (inputType.realType() == inputValue.getClass() || PrimitiveKey.hasKey(inputType, inputValue));
+        }
+
+        return convertible;
+    }
+
+    /**
+     * Evaluates input of the entry and computes key of its value, unless it was already done during this evaluation.
+     *
+     * @param inputEvaluator any entry of literal input
+     * @return position of the input to get its key by {@link #getInputKey(int)}, or -1 if the input value has no key
+     */
+    int findKeyedInput(final CompiledInputEntry inputEvaluator) {
+        final int position = findInputPosition(inputEvaluator.getInput());
+
+        if (position >= 0 && inputKeyStates[position] == KEY_UNKNOWN) {
+            final ValueType inputType = inputs[position].getType();
+            final Serializable inputValue = PrimitiveKey.isSupported(inputType) ? getInputValue(position, inputEvaluator) : null;
+
+            if (PrimitiveKey.hasKey(inputType, inputValue)) {
+                inputKeys[position] = PrimitiveKey.of(inputType, inputValue);
+                inputKeyStates[position] = KEY_PRESENT;
+            } else {
+                inputKeyStates[position] = KEY_ABSENT;
+            }
+        }
+
+        return position >= 0 && inputKeyStates[position] == KEY_PRESENT ? position : -1;
+    }
+
+    /**
+     * @param position position returned by {@link #findKeyedInput(CompiledInputEntry)}
+     * @return key of the input value
+     */
+    long getInputKey(final int position) {
+        return inputKeys[position];
+    }
+
+    /**
+     * Marks the state as used by running evaluation. Nested evaluations on the same thread don't get used state.
+     *
+     * @return true if the state was not in use
+     */
+    boolean acquire() {
+        final boolean acquired = !inUse;
+        inUse = true;
+
+        return acquired;
+    }
+
+    /**
+     * Marks the state as not used, dropping variables of finished evaluation so they are not retained by the thread.
+     */
+    void release() {
+        evaluationContext.reset(NO_VARIABLES);
+
+        for (SingleValue singleValue : singleValues) {
+            singleValue.value = null;
+        }
+
+        inUse = false;
+    }
+
+    /**
+     * Value present in input slot is the evaluated input value, so the input is evaluated only if the slot is empty.
+     */
+    private Serializable getInputValue(final int position, final CompiledInputEntry inputEvaluator) {
+        final Serializable inputValue = inputSlots[position] < 0 ? null : evaluationContext.get(inputSlots[position]);
+
+        return inputValue == null ? inputEvaluator.evaluateInputValue(evaluationContext) : inputValue;
+    }
+
+    private SpecifiedTypeValue<?> toTypedInputValue(final int position, final CompiledInputEntry inputEvaluator, final Serializable inputValue) {
+        final SpecifiedTypeValue<?> typedInputValue;
+
+        if (inputValue != null && inputs[position].getType() != null && inputs[position].getType().realType() == inputValue.getClass()) {
+            singleValues[position].value = inputValue;
+            typedInputValue = singleValues[position];
+        } else {
+            typedInputValue = inputEvaluator.convertInputValue(inputValue);
+        }
+
+        return typedInputValue;
+    }
+
+    private int findInputPosition(final Input input) {
+        for (int i = 0; i < inputs.length; i++) {
+            if (inputs[i] == input) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static class SingleValue implements SpecifiedTypeValue<Object> {
+
+        private Object value;
+
+        @Override
+        public boolean isSingleValue() {
+            return true;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public List<Object> getValues() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Breakpoint index of rules by constant intervals of single INTEGER, DOUBLE or DATE input column.
+ * Sorted interval bounds split input values into elementary segments, every segment knows rules containing it,
+ * so single binary search finds all rules matching the column.
+ */
+class IntervalColumnIndex extends AbstractColumnIndex {
+
+    /**
+     * Limits number of rule positions kept by all segments, as overlapping intervals may cover many segments each.
+     */
+    private static final int MAX_INDEXED_POSITIONS = 1 << 20;
+
+    private final double[] breakpoints;
+    private final int[][] rulesBySegment;
+
+    private IntervalColumnIndex(final CompiledInputEntry inputEvaluator,
+                                final double[] breakpoints,
+                                final int[][] rulesBySegment,
+                                final long[] wildcardRules) {
+        super(inputEvaluator, wildcardRules);
+        this.breakpoints = breakpoints;
+        this.rulesBySegment = rulesBySegment;
+    }
+
+    /**
+     * Builds index for the input column.
+     * Only inputs with literal expression are indexed, as their evaluation doesn't depend on other inputs.
+     * Every non wildcard entry of the column has to be described by intervals or be constant and evaluated in input comparison mode.
+     *
+     * @param input indexed input
+     * @param rules compiled decision rules
+     * @return index or null if the column can not be indexed
+     */
+    static IntervalColumnIndex create(final Input input, final CompiledRule[] rules) {
+        if (ExpressionType.LITERAL != input.getExpression().getType() || !isIntervalType(input.getType())) {
+            return null;
+        }
+
+        final List<List<Interval>> intervalsByRule = new ArrayList<>(rules.length);
+        final long[] wildcardRules = RuleBitset.create(rules.length);
+        CompiledInputEntry inputEvaluator = null;
+
+        for (int i = 0; i < rules.length; i++) {
+            final List<CompiledInputEntry> inputEntries = findInputEntries(rules[i], input);
+
+            if (inputEntries.isEmpty()) {
+                RuleBitset.set(wildcardRules, i);
+                intervalsByRule.add(null);
+            } else {
+                final List<Interval> intervals = inputEntries.size() == 1 ? getIntervals(inputEntries.get(0)) : null;
+
+                if (intervals == null) {
+                    return null;
+                }
+
+                inputEvaluator = inputEntries.get(0);
+                intervalsByRule.add(intervals);
+            }
+        }
+
+        final double[] breakpoints = inputEvaluator == null ? null : createBreakpoints(intervalsByRule);
+        final int[][] rulesBySegment = breakpoints == null ? null : createSegments(breakpoints, intervalsByRule);
+
+        return rulesBySegment == null ? null : new IntervalColumnIndex(inputEvaluator, breakpoints, rulesBySegment, wildcardRules);
+    }
+
+    @Override
+    int[] findMatchingRules(final Object inputValue) {
+        final double key = toKey(inputValue);
+
+        return Double.isNaN(key) ? null : findSegment(key);
+    }
+
+    @Override
+    boolean isKeyed() {
+        return true;
+    }
+
+    @Override
+    int[] findMatchingRules(final ValueType type, final long inputKey) {
+        return findSegment(PrimitiveKey.toDouble(type, inputKey));
+    }
+
+    @Override
+    Collection<int[]> getMatchingRuleSets() {
+        return Arrays.asList(rulesBySegment);
+    }
+
+    private int[] findSegment(final double key) {
+        final int breakpoint = Arrays.binarySearch(breakpoints, key);
+
+        return rulesBySegment[breakpoint >= 0 ? 2 * breakpoint + 1 : -2 * (breakpoint + 1)];
+    }
+
+    private static boolean isIntervalType(final ValueType type) {
+        return ValueType.INTEGER == type || ValueType.DOUBLE == type || ValueType.DATE == type;
+    }
+
+    static List<Interval> getIntervals(final CompiledInputEntry inputEntry) {
+        final List<Interval> intervals;
+
+        if (inputEntry.getConstantIntervals() != null) {
+            intervals = inputEntry.getConstantIntervals();
+        } else if (inputEntry.isConstant() && EvaluationMode.INPUT_COMPARISON == inputEntry.getInputEntry().getEvaluationMode()) {
+            intervals = getPointIntervals(inputEntry.getConstantInputEntryValue());
+        } else {
+            intervals = null;
+        }
+
+        return intervals;
+    }
+
+    /**
+     * Single boolean false on non boolean input never matches, so such entry has no intervals.
+     */
+    private static List<Interval> getPointIntervals(final SpecifiedTypeValue<?> inputEntryValue) {
+        final List<?> values = inputEntryValue.isSingleValue() ? Arrays.asList(inputEntryValue.getValue()) : inputEntryValue.getValues();
+        final List<Interval> intervals = new ArrayList<>(values.size());
+
+        for (Object value : values) {
+            if (value instanceof Number || value instanceof Date) {
+                intervals.add(Interval.point((Comparable<?>) value));
+            } else if (!Boolean.FALSE.equals(value)) {
+                return null;
+            }
+        }
+
+        return intervals;
+    }
+
+    static double[] createBreakpoints(final List<List<Interval>> intervalsByRule) {
+        final List<Double> bounds = new ArrayList<>();
+
+        for (List<Interval> intervals : intervalsByRule) {
+            if (intervals != null) {
+                for (Interval interval : intervals) {
+                    if (interval.getStart() != null) {
+                        bounds.add(toKey(interval.getStart()));
+                    }
+
+                    if (interval.getEnd() != null) {
+                        bounds.add(toKey(interval.getEnd()));
+                    }
+                }
+            }
+        }
+
+        final double[] breakpoints = bounds.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+
+        return breakpoints.length > 0 && Double.isNaN(breakpoints[breakpoints.length - 1]) ? null : breakpoints;
+    }
+
+    /**
+     * Segment 2i + 1 contains breakpoint i only, segment 2i contains values between breakpoints i - 1 and i.
+     */
+    private static int[][] createSegments(final double[] breakpoints, final List<List<Interval>> intervalsByRule) {
+        final int[][] rulesBySegment = new int[2 * breakpoints.length + 1][];
+        final int[] segmentSizes = new int[rulesBySegment.length];
+        int indexedPositions = 0;
+
+        for (int i = 0; i < intervalsByRule.size(); i++) {
+            final List<Interval> intervals = intervalsByRule.get(i);
+
+            if (intervals != null) {
+                for (Interval interval : intervals) {
+                    final int firstSegment = getFirstSegment(breakpoints, interval);
+                    final int lastSegment = getLastSegment(breakpoints, interval);
+
+                    for (int segment = firstSegment; segment <= lastSegment; segment++) {
+                        final int size = segmentSizes[segment];
+
+                        if (size == 0 || rulesBySegment[segment][size - 1] != i) {
+                            if (size == 0) {
+                                rulesBySegment[segment] = new int[4];
+                            } else if (size == rulesBySegment[segment].length) {
+                                rulesBySegment[segment] = Arrays.copyOf(rulesBySegment[segment], 2 * size);
+                            }
+
+                            rulesBySegment[segment][size] = i;
+                            segmentSizes[segment]++;
+
+                            if (++indexedPositions > MAX_INDEXED_POSITIONS) {
+                                return null;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int segment = 0; segment < rulesBySegment.length; segment++) {
+            rulesBySegment[segment] = segmentSizes[segment] == 0 ? RulePositions.NONE : Arrays.copyOf(rulesBySegment[segment], segmentSizes[segment]);
+        }
+
+        return rulesBySegment;
+    }
+
+    static int getFirstSegment(final double[] breakpoints, final Interval interval) {
+        final int segment;
+
+        if (interval.getStart() == null) {
+            segment = 0;
+        } else {
+            final int breakpoint = Arrays.binarySearch(breakpoints, toKey(interval.getStart()));
+
+            segment = interval.isStartInclusive() ? 2 * breakpoint + 1 : 2 * breakpoint + 2;
+        }
+
+        return segment;
+    }
+
+    static int getLastSegment(final double[] breakpoints, final Interval interval) {
+        final int segment;
+
+        if (interval.getEnd() == null) {
+            segment = 2 * breakpoints.length;
+        } else {
+            final int breakpoint = Arrays.binarySearch(breakpoints, toKey(interval.getEnd()));
+
+            segment = interval.isEndInclusive() ? 2 * breakpoint + 1 : 2 * breakpoint;
+        }
+
+        return segment;
+    }
+
+    /**
+     * Numbers and dates are compared as double values, dates by their epoch milliseconds.
+     * Adding zero turns negative zero into zero, so both are equal like in expression languages.
+     */
+    private static double toKey(final Object value) {
+        final double key;
+
+        if (value instanceof Number) {
+            key = ((Number) value).doubleValue() + 0.0;
+        } else if (value instanceof Date) {
+            key = ((Date) value).getTime();
+        } else {
+            key = Double.NaN;
+        }
+
+        return key;
+    }
+}
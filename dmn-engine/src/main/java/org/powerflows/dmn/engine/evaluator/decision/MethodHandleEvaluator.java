@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates decision by tree of method handles.
+ * The tree is held by an instance field, which the JIT compiler does not treat as constant, so the tree is not
+ * inlined into its callers. It is invoked as a non-constant handle and compiled on its own, so evaluation avoids
+ * evaluation state and virtual calls of interpreted entries, but not the call of the tree itself.
+ * Input values are read and converted by handles with type converters bound to them, input entries are tested
+ * by guard handles with evaluation mode providers, entry values and comparison kernels bound to them,
+ * and results of matching rules are constants.
+ * Only decisions with literal inputs, constant or comparison input entries and constant outputs are compiled,
+ * other decisions, e.g. ones with script expressions, are interpreted. Decision is interpreted as well when
+ * comparison entry has to be evaluated for input value without unboxed key, or when input value can not be converted,
+ * as handles convert all inputs up front while interpreter converts them only when their entries are reached.
+ * Other failures of evaluation by handles, e.g. hit policy violations, are thrown the same way interpreter throws them.
+ */
+final class MethodHandleEvaluator {
+
+    /**
+     * Handle trees test rules one by one and grow with every guard, so decisions needing more guards,
+     * one per rule and one per input entry, are interpreted with indexes.
+     */
+    static final int MAX_GUARD_COUNT = 64;
+
+    private static final MethodHandle READ_INPUT = findStatic(MethodHandleEvaluator.class, "readInput",
+            MethodType.methodType(Serializable.class, DecisionVariables.class, String.class, String.class));
+    private static final MethodHandle ADD_RULE_RESULT = findStatic(DefaultCompiledDecision.class, "addRuleResult",
+            MethodType.methodType(List.class, List.class, RuleResult.class));
+    private static final MethodHandle CREATE_RESULT = findStatic(MethodHandleEvaluator.class, "createResult",
+            MethodType.methodType(DecisionResult.class, List.class));
+    private static final MethodHandle CREATE_UNIQUE_RESULT = findStatic(MethodHandleEvaluator.class, "createUniqueResult",
+            MethodType.methodType(DecisionResult.class, List.class));
+    private static final MethodHandle REQUIRE_INTERPRETATION = findStatic(MethodHandleEvaluator.class, "requireInterpretation",
+            MethodType.methodType(boolean.class, SpecifiedTypeValue.class));
+    private static final MethodHandle REQUIRE_CONVERSION_INTERPRETATION = findStatic(MethodHandleEvaluator.class, "requireInterpretation",
+            MethodType.methodType(SpecifiedTypeValue.class, EvaluationException.class, Serializable.class));
+    private static final InterpretationRequiredException INTERPRETATION_REQUIRED = new InterpretationRequiredException();
+    private static final MethodHandle INPUT_VALUE_GETTER = MethodHandles.arrayElementGetter(SpecifiedTypeValue[].class);
+    private static final MethodHandle MATCH = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, SpecifiedTypeValue[].class);
+    private static final MethodHandle NO_MATCH = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, SpecifiedTypeValue[].class);
+    private static final MethodHandle SKIP_RULE = MethodHandles.dropArguments(MethodHandles.identity(List.class), 1, SpecifiedTypeValue[].class);
+
+    private final Decision decision;
+    private final MethodHandle evaluationHandle;
+
+    private MethodHandleEvaluator(final Decision decision, final MethodHandle evaluationHandle) {
+        this.decision = decision;
+        this.evaluationHandle = evaluationHandle;
+    }
+
+    /**
+     * @param decision decision to compile
+     * @param rules compiled rules of the decision
+     * @param singleNonUniqueRuleResultExpected true if evaluation stops at the first matching rule
+     * @param uniqueRuleResultExpected true if single matching rule is expected
+     * @return evaluator or null if the decision can not be compiled into method handles
+     */
+    static MethodHandleEvaluator create(final Decision decision,
+                                        final CompiledRule[] rules,
+                                        final boolean singleNonUniqueRuleResultExpected,
+                                        final boolean uniqueRuleResultExpected) {
+        final List<Input> inputs = decision.getInputs();
+
+        if (countGuards(rules) > MAX_GUARD_COUNT || !isLiteral(inputs)) {
+            return null;
+        }
+
+        final Map<String, Integer> inputIndexes = new HashMap<>();
+        final MethodHandle[] conversionHandles = new MethodHandle[inputs.size()];
+        final MethodHandle[] matchHandles = new MethodHandle[rules.length];
+
+        for (int i = 0; i < inputs.size(); i++) {
+            inputIndexes.put(inputs.get(i).getName(), i);
+        }
+
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].hasOutputEntries()) {
+                if (rules[i].getConstantRuleResult() == null) {
+                    return null;
+                }
+
+                matchHandles[i] = createMatchHandle(rules[i], inputIndexes, conversionHandles);
+
+                if (matchHandles[i] == null) {
+                    return null;
+                }
+            }
+        }
+
+        final MethodHandle rulesHandle = singleNonUniqueRuleResultExpected
+                ? createFirstMatchHandle(rules, matchHandles)
+                : createAllMatchesHandle(rules, matchHandles, uniqueRuleResultExpected);
+
+        return new MethodHandleEvaluator(decision, MethodHandles.filterArguments(rulesHandle, 0, createInputsHandle(inputs, conversionHandles)));
+    }
+
+    /**
+     * @param decisionVariables decision variables
+     * @return decision result or null if the decision has to be interpreted
+     */
+    DecisionResult evaluate(final DecisionVariables decisionVariables) {
+        DecisionResult decisionResult;
+
+        try {
+            decisionResult = (DecisionResult) evaluationHandle.invokeExact(decisionVariables);
+        } catch (InterpretationRequiredException e) {
+            decisionResult = null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EvaluationException("Can not evaluate decision " + decision.getId(), e);
+        }
+
+        return decisionResult;
+    }
+
+    /**
+     * Inputs of wildcard entries are converted like inputs of other entries, so their values are validated.
+     *
+     * @return handle of type {@code (SpecifiedTypeValue[]) -> boolean} or null if any entry can not be turned into handle
+     */
+    private static MethodHandle createMatchHandle(final CompiledRule rule,
+                                                  final Map<String, Integer> inputIndexes,
+                                                  final MethodHandle[] conversionHandles) {
+        final List<CompiledInputEntry> inputEntries = rule.getInputEntries();
+        MethodHandle matchHandle = MATCH;
+
+        for (int i = inputEntries.size() - 1; i >= 0; i--) {
+            final CompiledInputEntry inputEntry = inputEntries.get(i);
+            final MethodHandle entryHandle = inputEntry.createEvaluationHandle(REQUIRE_INTERPRETATION);
+
+            if (entryHandle == null) {
+                return null;
+            }
+
+            final int inputIndex = inputIndexes.get(inputEntry.getInput().getName());
+
+            if (conversionHandles[inputIndex] == null) {
+                conversionHandles[inputIndex] = inputEntry.createConversionHandle();
+            }
+
+            final MethodHandle inputValueGetter = MethodHandles.insertArguments(INPUT_VALUE_GETTER, 1, inputIndex);
+
+            matchHandle = MethodHandles.guardWithTest(MethodHandles.filterArguments(entryHandle, 0, inputValueGetter), matchHandle, NO_MATCH);
+        }
+
+        for (CompiledInputEntry wildcardInputEntry : rule.getWildcardInputEntries()) {
+            final int inputIndex = inputIndexes.get(wildcardInputEntry.getInput().getName());
+
+            if (conversionHandles[inputIndex] == null) {
+                conversionHandles[inputIndex] = wildcardInputEntry.createConversionHandle();
+            }
+        }
+
+        return matchHandle;
+    }
+
+    /**
+     * @return handle of type {@code (SpecifiedTypeValue[]) -> DecisionResult} testing rules until the first one matches
+     */
+    private static MethodHandle createFirstMatchHandle(final CompiledRule[] rules, final MethodHandle[] matchHandles) {
+        MethodHandle rulesHandle = constantResult(Collections.emptyList());
+
+        for (int i = rules.length - 1; i >= 0; i--) {
+            if (matchHandles[i] == MATCH) {
+                rulesHandle = constantResult(Collections.singletonList(rules[i].getConstantRuleResult()));
+            } else if (matchHandles[i] != null) {
+                rulesHandle = MethodHandles.guardWithTest(matchHandles[i],
+                        constantResult(Collections.singletonList(rules[i].getConstantRuleResult())),
+                        rulesHandle);
+            }
+        }
+
+        return rulesHandle;
+    }
+
+    /**
+     * @return handle of type {@code (SpecifiedTypeValue[]) -> DecisionResult} collecting results of all matching rules
+     */
+    private static MethodHandle createAllMatchesHandle(final CompiledRule[] rules,
+                                                       final MethodHandle[] matchHandles,
+                                                       final boolean uniqueRuleResultExpected) {
+        final MethodType collectType = MethodType.methodType(List.class, List.class, SpecifiedTypeValue[].class);
+        MethodHandle collectHandle = SKIP_RULE;
+
+        for (int i = rules.length - 1; i >= 0; i--) {
+            if (matchHandles[i] != null) {
+                final MethodHandle addRuleResult = MethodHandles.dropArguments(
+                        MethodHandles.insertArguments(ADD_RULE_RESULT, 1, rules[i].getConstantRuleResult()), 1, SpecifiedTypeValue[].class);
+                final MethodHandle ruleHandle = MethodHandles.guardWithTest(
+                        MethodHandles.dropArguments(matchHandles[i], 0, List.class), addRuleResult, SKIP_RULE);
+
+                collectHandle = MethodHandles.permuteArguments(MethodHandles.collectArguments(collectHandle, 0, ruleHandle), collectType, 0, 1, 1);
+            }
+        }
+
+        return MethodHandles.filterReturnValue(MethodHandles.insertArguments(collectHandle, 0, Collections.emptyList()),
+                uniqueRuleResultExpected ? CREATE_UNIQUE_RESULT : CREATE_RESULT);
+    }
+
+    /**
+     * @return handle of type {@code (DecisionVariables) -> SpecifiedTypeValue[]} reading and converting all inputs
+     */
+    private static MethodHandle createInputsHandle(final List<Input> inputs, final MethodHandle[] conversionHandles) {
+        final MethodHandle[] inputHandles = new MethodHandle[inputs.size()];
+
+        for (int i = 0; i < inputs.size(); i++) {
+            final Input input = inputs.get(i);
+
+            if (conversionHandles[i] == null) {
+                inputHandles[i] = MethodHandles.dropArguments(MethodHandles.constant(SpecifiedTypeValue.class, null), 0, DecisionVariables.class);
+            } else {
+                inputHandles[i] = MethodHandles.filterReturnValue(
+                        MethodHandles.insertArguments(READ_INPUT, 1, input.getName(), input.getNameAlias()),
+                        MethodHandles.catchException(conversionHandles[i], EvaluationException.class, REQUIRE_CONVERSION_INTERPRETATION));
+            }
+        }
+
+        final MethodHandle inputValues = MethodHandles
+                .identity(SpecifiedTypeValue[].class)
+                .asCollector(SpecifiedTypeValue[].class, inputs.size());
+
+        return MethodHandles.permuteArguments(MethodHandles.filterArguments(inputValues, 0, inputHandles),
+                MethodType.methodType(SpecifiedTypeValue[].class, DecisionVariables.class),
+                new int[inputs.size()]);
+    }
+
+    private static MethodHandle constantResult(final List<RuleResult> ruleResults) {
+        return MethodHandles.dropArguments(MethodHandles.constant(DecisionResult.class, createResult(ruleResults)), 0, SpecifiedTypeValue[].class);
+    }
+
+    private static int countGuards(final CompiledRule[] rules) {
+        int guardCount = 0;
+
+        for (CompiledRule rule : rules) {
+            if (rule.hasOutputEntries()) {
+                guardCount += 1 + rule.getInputEntries().size();
+            }
+        }
+
+        return guardCount;
+    }
+
+    private static boolean isLiteral(final List<Input> inputs) {
+        return inputs.stream().allMatch(input -> ExpressionType.LITERAL.equals(input.getExpression().getType()));
+    }
+
+    /**
+     * Reads literal input the same way literal expression evaluation provider does.
+     */
+    private static Serializable readInput(final DecisionVariables decisionVariables, final String name, final String nameAlias) {
+        final Serializable value = decisionVariables.get(name);
+
+        return value == null ? decisionVariables.get(nameAlias) : value;
+    }
+
+    private static boolean requireInterpretation(final SpecifiedTypeValue<?> typedInputValue) {
+        throw INTERPRETATION_REQUIRED;
+    }
+
+    private static SpecifiedTypeValue<?> requireInterpretation(final EvaluationException conversionException, final Serializable inputValue) {
+        throw INTERPRETATION_REQUIRED;
+    }
+
+    private static DecisionResult createResult(final List<RuleResult> ruleResults) {
+        return DecisionResult.builder().ruleResults(ruleResults).build();
+    }
+
+    private static DecisionResult createUniqueResult(final List<RuleResult> ruleResults) {
+        if (ruleResults.size() > 1) {
+            throw new HitPolicyViolationException("Unique result is expected");
+        }
+
+        return createResult(ruleResults);
+    }
+
+    private static MethodHandle findStatic(final Class<?> type, final String name, final MethodType methodType) {
+        try {
+            return MethodHandles.lookup().findStatic(type, name, methodType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Can not find method " + name + " of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Thrown when entry has to be evaluated in context, it is shared, so it has no stack trace.
+     */
+    private static final class InterpretationRequiredException extends RuntimeException {
+
+        private static final long serialVersionUID = 1;
+
+        private InterpretationRequiredException() {
+            super("Decision has to be interpreted", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.context.VariableSlots;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decision variables given as values of decision inputs, in order of the inputs.
+ * Values are copied into evaluation context slots directly, the variable map is built only when requested
+ * by {@link #getAll()}, e.g. by evaluation listeners.
+ */
+class PositionalDecisionVariables extends DecisionVariables {
+
+    private static final long serialVersionUID = 1;
+
+    private final VariableSlots variableSlots;
+    private final Serializable[] values;
+
+    /**
+     * @param variableSlots slots of the decision, first slots belong to decision inputs
+     * @param values values of decision inputs
+     */
+    PositionalDecisionVariables(final VariableSlots variableSlots, final Serializable[] values) {
+        super(Collections.emptyMap());
+        this.variableSlots = variableSlots;
+        this.values = values;
+    }
+
+    /**
+     * @return values of decision inputs, which are values of first slots
+     */
+    Serializable[] getValues() {
+        return values;
+    }
+
+    @Override
+    public Serializable get(final String name) {
+        final int slot = variableSlots.slotOf(name);
+
+        return slot >= 0 && slot < values.length ? values[slot] : null;
+    }
+
+    @Override
+    public Map<String, Serializable> getAll() {
+        if (variables.isEmpty() && values.length > 0) {
+            final Map<String, Serializable> allVariables = new HashMap<>();
+
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    allVariables.put(variableSlots.getName(i), values[i]);
+                }
+            }
+
+            variables = Collections.unmodifiableMap(allVariables);
+        }
+
+        return variables;
+    }
+
+    @Override
+    public boolean isPresent(final String name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public String toString() {
+        getAll();
+
+        return super.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+
+/**
+ * Rule dropped from compiled decision, as it never changes results of the decision.
+ *
+ * @see org.powerflows.dmn.engine.CompiledDecision#getPrunedRules()
+ */
+@ToString
+@EqualsAndHashCode
+public class PrunedRule {
+
+    /**
+     * Reason the rule is never reached.
+     */
+    public enum Reason {
+        /**
+         * An input entry of the rule matches no value.
+         */
+        EMPTY_DOMAIN,
+        /**
+         * Only the first matching rule is evaluated and an earlier rule matches all values the rule matches.
+         */
+        SUBSUMED
+    }
+
+    private final int ruleIndex;
+    private final Rule rule;
+    private final Reason reason;
+    private final Integer subsumingRuleIndex;
+
+    PrunedRule(final int ruleIndex, final Rule rule, final Reason reason, final Integer subsumingRuleIndex) {
+        this.ruleIndex = ruleIndex;
+        this.rule = rule;
+        this.reason = reason;
+        this.subsumingRuleIndex = subsumingRuleIndex;
+    }
+
+    /**
+     * @return position of the rule in the decision, starting from 0
+     */
+    public int getRuleIndex() {
+        return ruleIndex;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return position of the earlier rule matching all values the rule matches, null if the rule is not subsumed
+     */
+    public Integer getSubsumingRuleIndex() {
+        return subsumingRuleIndex;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+/**
+ * Operations on bitsets of rule positions, stored in words of 64 rules each.
+ */
+final class RuleBitset {
+
+    private static final int WORD_SHIFT = 6;
+
+    private RuleBitset() {
+    }
+
+    static long[] create(final int ruleCount) {
+        return new long[(ruleCount + Long.SIZE - 1) >>> WORD_SHIFT];
+    }
+
+    static void set(final long[] bitset, final int position) {
+        bitset[position >>> WORD_SHIFT] |= 1L << position;
+    }
+
+    static void or(final long[] target, final long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= other[i];
+        }
+    }
+
+    /**
+     * @return true if any bit is left in target bitset
+     */
+    static boolean and(final long[] target, final long[] other) {
+        long any = 0;
+
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= other[i];
+            any |= target[i];
+        }
+
+        return any != 0;
+    }
+
+    static boolean intersects(final long[] first, final long[] second) {
+        for (int i = 0; i < first.length; i++) {
+            if ((first[i] & second[i]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return position of the lowest set bit at or after given position, or -1 if there is no such bit
+     */
+    static int nextSetBit(final long[] bitset, final int from) {
+        int wordIndex = from >>> WORD_SHIFT;
+
+        if (wordIndex >= bitset.length) {
+            return -1;
+        }
+
+        long word = bitset[wordIndex] & (-1L << from);
+
+        while (word == 0) {
+            if (++wordIndex == bitset.length) {
+                return -1;
+            }
+
+            word = bitset[wordIndex];
+        }
+
+        return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+    }
+
+    static int cardinality(final long[] bitset) {
+        int cardinality = 0;
+
+        for (long word : bitset) {
+            cardinality += Long.bitCount(word);
+        }
+
+        return cardinality;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+
+/**
+ * Pair of rules which may match the same input values.
+ *
+ * @see org.powerflows.dmn.engine.CompiledDecision#getRuleOverlaps()
+ */
+@ToString
+@EqualsAndHashCode
+public class RuleOverlap {
+
+    private final int firstRuleIndex;
+    private final Rule firstRule;
+    private final int secondRuleIndex;
+    private final Rule secondRule;
+
+    RuleOverlap(final int firstRuleIndex, final Rule firstRule, final int secondRuleIndex, final Rule secondRule) {
+        this.firstRuleIndex = firstRuleIndex;
+        this.firstRule = firstRule;
+        this.secondRuleIndex = secondRuleIndex;
+        this.secondRule = secondRule;
+    }
+
+    /**
+     * @return position of the earlier rule in the decision, starting from 0
+     */
+    public int getFirstRuleIndex() {
+        return firstRuleIndex;
+    }
+
+    public Rule getFirstRule() {
+        return firstRule;
+    }
+
+    /**
+     * @return position of the later rule in the decision, starting from 0
+     */
+    public int getSecondRuleIndex() {
+        return secondRuleIndex;
+    }
+
+    public Rule getSecondRule() {
+        return secondRule;
+    }
+}
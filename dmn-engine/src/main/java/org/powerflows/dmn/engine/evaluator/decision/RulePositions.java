@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import java.util.List;
+
+/**
+ * Operations on ascending arrays of rule positions.
+ */
+final class RulePositions {
+
+    static final int[] NONE = new int[0];
+
+    private RulePositions() {
+    }
+
+    static int[] toArray(final List<Integer> positions) {
+        final int[] result = new int[positions.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+
+        return result;
+    }
+}
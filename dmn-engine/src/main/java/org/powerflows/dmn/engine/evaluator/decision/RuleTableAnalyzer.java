@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds rules of compiled decision which never change results of the decision.
+ * Every input entry is described by domain of input values it matches, built from constant values and intervals
+ * of the compiled entry. Domains of an input column are sets of segments between interval bounds, or sets of
+ * distinct values, so they can be compared with each other. Entries without constant values or intervals
+ * are not analyzed, rules having such entries are never dropped.
+ * When only the first matching rule is expected, rules are compared with earlier rules, unless the decision
+ * has more than {@link #MAX_COMPARED_RULE_COUNT} rules. Rules of unique hit policy decisions are compared
+ * with each other to find rules which may match the same input values.
+ */
+final class RuleTableAnalyzer {
+
+    static final int MAX_COMPARED_RULE_COUNT = 4096;
+    static final int MAX_REPORTED_OVERLAP_COUNT = 100;
+
+    private RuleTableAnalyzer() {
+    }
+
+    /**
+     * @param decision                          compiled decision
+     * @param rules                             compiled rules of the decision, in order of the decision rules
+     * @param singleNonUniqueRuleResultExpected true if only the first matching rule is evaluated
+     * @return rules which can be dropped, in order of the decision rules
+     */
+    static List<PrunedRule> analyze(final Decision decision, final CompiledRule[] rules, final boolean singleNonUniqueRuleResultExpected) {
+        final List<Domain[]> domainsByInput = createDomains(decision, rules);
+        final boolean rulesCompared = singleNonUniqueRuleResultExpected && rules.length <= MAX_COMPARED_RULE_COUNT;
+        final boolean[] pruned = new boolean[rules.length];
+        final List<PrunedRule> prunedRules = new ArrayList<>();
+
+        for (int i = 0; i < rules.length; i++) {
+            final PrunedRule prunedRule;
+
+            if (hasEmptyDomain(domainsByInput, i)) {
+                prunedRule = new PrunedRule(i, rules[i].getRule(), PrunedRule.Reason.EMPTY_DOMAIN, null);
+            } else if (rulesCompared) {
+                final int subsumingRuleIndex = findSubsumingRule(domainsByInput, pruned, i);
+
+                prunedRule = subsumingRuleIndex < 0 ? null : new PrunedRule(i, rules[i].getRule(), PrunedRule.Reason.SUBSUMED, subsumingRuleIndex);
+            } else {
+                prunedRule = null;
+            }
+
+            if (prunedRule != null) {
+                pruned[i] = true;
+                prunedRules.add(prunedRule);
+            }
+        }
+
+        return Collections.unmodifiableList(prunedRules);
+    }
+
+    /**
+     * Two rules never overlap when entries of any input column match disjoint domains.
+     * Only first {@link #MAX_REPORTED_OVERLAP_COUNT} overlaps are reported.
+     *
+     * @param decision    compiled decision
+     * @param rules       compiled rules of the decision, in order of the decision rules
+     * @param prunedRules rules dropped from the decision, they are not compared
+     * @return pairs of rules which may match the same input values, in order of the decision rules,
+     * or null if the decision has too many rules to compare them
+     */
+    static List<RuleOverlap> findOverlaps(final Decision decision, final CompiledRule[] rules, final List<PrunedRule> prunedRules) {
+        if (rules.length > MAX_COMPARED_RULE_COUNT) {
+            return null;
+        }
+
+        final List<Domain[]> domainsByInput = createDomains(decision, rules);
+        final boolean[] pruned = new boolean[rules.length];
+        final List<RuleOverlap> ruleOverlaps = new ArrayList<>();
+
+        for (PrunedRule prunedRule : prunedRules) {
+            pruned[prunedRule.getRuleIndex()] = true;
+        }
+
+        for (int i = 0; i < rules.length && ruleOverlaps.size() < MAX_REPORTED_OVERLAP_COUNT; i++) {
+            for (int j = i + 1; j < rules.length && !pruned[i] && ruleOverlaps.size() < MAX_REPORTED_OVERLAP_COUNT; j++) {
+                if (!pruned[j] && !areDisjoint(domainsByInput, i, j)) {
+                    ruleOverlaps.add(new RuleOverlap(i, rules[i].getRule(), j, rules[j].getRule()));
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(ruleOverlaps);
+    }
+
+    private static boolean areDisjoint(final List<Domain[]> domainsByInput, final int rule, final int otherRule) {
+        for (Domain[] domains : domainsByInput) {
+            if (domains[rule].isDisjoint(domains[otherRule])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean hasEmptyDomain(final List<Domain[]> domainsByInput, final int rule) {
+        for (Domain[] domains : domainsByInput) {
+            if (domains[rule].isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Rules dropped for any reason never match, so they never shadow later rules.
+     */
+    private static int findSubsumingRule(final List<Domain[]> domainsByInput, final boolean[] pruned, final int rule) {
+        for (int i = 0; i < rule; i++) {
+            if (!pruned[i] && contains(domainsByInput, i, rule)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean contains(final List<Domain[]> domainsByInput, final int containingRule, final int containedRule) {
+        for (Domain[] domains : domainsByInput) {
+            if (!domains[containingRule].contains(domains[containedRule])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static List<Domain[]> createDomains(final Decision decision, final CompiledRule[] rules) {
+        final List<Domain[]> domainsByInput = new ArrayList<>(decision.getInputs().size());
+
+        for (Input input : decision.getInputs()) {
+            domainsByInput.add(createDomains(input, rules));
+        }
+
+        return domainsByInput;
+    }
+
+    private static Domain[] createDomains(final Input input, final CompiledRule[] rules) {
+        final Domain[] domains = new Domain[rules.length];
+
+        if (isIntervalType(input.getType())) {
+            createIntervalDomains(input, rules, domains);
+        } else {
+            createValueDomains(input, rules, domains);
+        }
+
+        return domains;
+    }
+
+    private static void createIntervalDomains(final Input input, final CompiledRule[] rules, final Domain[] domains) {
+        final List<List<Interval>> intervalsByRule = new ArrayList<>(rules.length);
+
+        for (int i = 0; i < rules.length; i++) {
+            final CompiledInputEntry inputEntry = findSingleInputEntry(rules[i], input);
+            final List<Interval> intervals;
+
+            if (inputEntry == null || EvaluationMode.BOOLEAN == inputEntry.getInputEntry().getEvaluationMode()) {
+                intervals = null;
+                domains[i] = createDomain(inputEntry, rules[i], input);
+            } else {
+                intervals = IntervalColumnIndex.getIntervals(inputEntry);
+                domains[i] = intervals == null ? Domain.UNKNOWN : null;
+            }
+
+            intervalsByRule.add(intervals);
+        }
+
+        final double[] breakpoints = IntervalColumnIndex.createBreakpoints(intervalsByRule);
+
+        for (int i = 0; i < rules.length; i++) {
+            if (domains[i] == null) {
+                domains[i] = breakpoints == null ? Domain.UNKNOWN : createIntervalDomain(breakpoints, intervalsByRule.get(i));
+            }
+        }
+    }
+
+    private static Domain createIntervalDomain(final double[] breakpoints, final List<Interval> intervals) {
+        final BitSet segments = new BitSet(2 * breakpoints.length + 1);
+
+        for (Interval interval : intervals) {
+            final int firstSegment = IntervalColumnIndex.getFirstSegment(breakpoints, interval);
+            final int lastSegment = IntervalColumnIndex.getLastSegment(breakpoints, interval);
+
+            if (firstSegment <= lastSegment) {
+                segments.set(firstSegment, lastSegment + 1);
+            }
+        }
+
+        return new Domain(segments);
+    }
+
+    private static void createValueDomains(final Input input, final CompiledRule[] rules, final Domain[] domains) {
+        final Map<Object, Integer> valueIndexes = new HashMap<>();
+
+        for (int i = 0; i < rules.length; i++) {
+            final CompiledInputEntry inputEntry = findSingleInputEntry(rules[i], input);
+
+            if (inputEntry != null && inputEntry.isConstant() && EvaluationMode.INPUT_COMPARISON == inputEntry.getInputEntry().getEvaluationMode()) {
+                domains[i] = createValueDomain(inputEntry.getConstantInputEntryValue(), input, valueIndexes);
+            } else {
+                domains[i] = createDomain(inputEntry, rules[i], input);
+            }
+        }
+    }
+
+    /**
+     * Single boolean true on non boolean input matches any value and single boolean false matches none.
+     * Entries with empty collections of values match empty collections of input values only, so they are not analyzed.
+     */
+    private static Domain createValueDomain(final SpecifiedTypeValue<?> inputEntryValue, final Input input, final Map<Object, Integer> valueIndexes) {
+        final Domain domain;
+
+        if (inputEntryValue.isSingleValue() && ValueType.BOOLEAN != input.getType() && Boolean.TRUE.equals(inputEntryValue.getValue())) {
+            domain = Domain.ANY;
+        } else if (inputEntryValue.isSingleValue() && ValueType.BOOLEAN != input.getType() && Boolean.FALSE.equals(inputEntryValue.getValue())) {
+            domain = Domain.EMPTY;
+        } else if (!inputEntryValue.isSingleValue() && inputEntryValue.getValues().isEmpty()) {
+            domain = Domain.UNKNOWN;
+        } else {
+            final List<?> values = inputEntryValue.isSingleValue() ? Collections.singletonList(inputEntryValue.getValue()) : inputEntryValue.getValues();
+            final BitSet indexes = new BitSet();
+
+            for (Object value : values) {
+                indexes.set(valueIndexes.computeIfAbsent(value, v -> valueIndexes.size()));
+            }
+
+            domain = new Domain(indexes);
+        }
+
+        return domain;
+    }
+
+    /**
+     * Rules without entry of the input match any value. Constant entries evaluated in boolean mode
+     * match any value if they are single boolean true, otherwise they match none.
+     */
+    private static Domain createDomain(final CompiledInputEntry inputEntry, final CompiledRule rule, final Input input) {
+        final Domain domain;
+
+        if (inputEntry == null) {
+            domain = AbstractColumnIndex.findInputEntries(rule, input).isEmpty() ? Domain.ANY : Domain.UNKNOWN;
+        } else if (inputEntry.isConstant() && EvaluationMode.BOOLEAN == inputEntry.getInputEntry().getEvaluationMode()) {
+            final SpecifiedTypeValue<?> inputEntryValue = inputEntry.getConstantInputEntryValue();
+
+            domain = inputEntryValue.isSingleValue() && Boolean.TRUE.equals(inputEntryValue.getValue()) ? Domain.ANY : Domain.EMPTY;
+        } else {
+            domain = Domain.UNKNOWN;
+        }
+
+        return domain;
+    }
+
+    private static CompiledInputEntry findSingleInputEntry(final CompiledRule rule, final Input input) {
+        final List<CompiledInputEntry> inputEntries = AbstractColumnIndex.findInputEntries(rule, input);
+
+        return inputEntries.size() == 1 ? inputEntries.get(0) : null;
+    }
+
+    private static boolean isIntervalType(final ValueType type) {
+        return ValueType.INTEGER == type || ValueType.DOUBLE == type || ValueType.DATE == type;
+    }
+
+    /**
+     * Set of segments or distinct values of an input column matched by an entry.
+     */
+    private static final class Domain {
+
+        static final Domain ANY = new Domain(null);
+        static final Domain EMPTY = new Domain(new BitSet());
+        static final Domain UNKNOWN = new Domain(null);
+
+        /**
+         * Matched segments or values, null if the domain is not described by them
+         */
+        private final BitSet elements;
+
+        private Domain(final BitSet elements) {
+            this.elements = elements;
+        }
+
+        boolean isEmpty() {
+            return elements != null && elements.isEmpty();
+        }
+
+        /**
+         * Any value includes values not matched by any entry of the column, e.g. missing values,
+         * so it is contained only by domain matching any value.
+         */
+        boolean contains(final Domain domain) {
+            final boolean result;
+
+            if (this == ANY) {
+                result = true;
+            } else if (this == UNKNOWN || domain == ANY || domain == UNKNOWN) {
+                result = false;
+            } else {
+                final BitSet notContained = (BitSet) domain.elements.clone();
+
+                notContained.andNot(elements);
+                result = notContained.isEmpty();
+            }
+
+            return result;
+        }
+
+        /**
+         * Non empty collections of input values match entries containing all of them, single input values match
+         * entries containing them, so no input value matches entries with disjoint domains.
+         */
+        boolean isDisjoint(final Domain domain) {
+            return elements != null && domain.elements != null && !elements.intersects(domain.elements);
+        }
+    }
+}
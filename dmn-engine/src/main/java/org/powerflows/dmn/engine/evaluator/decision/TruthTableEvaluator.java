@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.decision;
+
+
+import lombok.extern.slf4j.Slf4j;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.rule.CompiledRule;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Evaluates decision by looking its result up in a table precomputed for every combination of input values.
+ * Only decisions with literal BOOLEAN and STRING inputs, constant input entries and constant outputs are precomputed.
+ * Values of BOOLEAN input are true, false and missing value. Values of STRING input are strings found in its entries,
+ * other strings and missing value, as constant entries match all other strings the same way.
+ * Input values of other types, e.g. collections, are interpreted, as well as combinations which failed to evaluate
+ * when the table was computed, so the failure is reported the same way.
+ */
+@Slf4j
+final class TruthTableEvaluator {
+
+    private static final int TRUE_VALUE = 0;
+    private static final int FALSE_VALUE = 1;
+    private static final int MISSING_BOOLEAN_VALUE = 2;
+    private static final int BOOLEAN_VALUE_COUNT = 3;
+
+    private final String[] inputNames;
+    private final String[] inputNameAliases;
+    private final Map<String, Integer>[] stringValues;
+    private final int[] strides;
+    private final DecisionResult[] decisionResults;
+
+    private TruthTableEvaluator(final String[] inputNames,
+                                final String[] inputNameAliases,
+                                final Map<String, Integer>[] stringValues,
+                                final int[] strides,
+                                final DecisionResult[] decisionResults) {
+        this.inputNames = inputNames;
+        this.inputNameAliases = inputNameAliases;
+        this.stringValues = stringValues;
+        this.strides = strides;
+        this.decisionResults = decisionResults;
+    }
+
+    /**
+     * @param decision     decision to precompute
+     * @param rules        compiled rules of the decision
+     * @param maxSize      maximal number of input value combinations
+     * @param interpreter  evaluates the decision rule by rule
+     * @return evaluator or null if the decision can not be precomputed or it has more input value combinations than allowed
+     */
+    @SuppressWarnings("unchecked")
+    static TruthTableEvaluator create(final Decision decision,
+                                      final CompiledRule[] rules,
+                                      final int maxSize,
+                                      final Function<DecisionVariables, DecisionResult> interpreter) {
+        final Input[] inputs = decision.getInputs().toArray(new Input[0]);
+        final Map<String, Integer> inputPositions = new HashMap<>();
+
+        for (int i = 0; i < inputs.length; i++) {
+            if (ExpressionType.LITERAL != inputs[i].getExpression().getType()
+                    || ValueType.BOOLEAN != inputs[i].getType() && ValueType.STRING != inputs[i].getType()) {
+                return null;
+            }
+
+            inputPositions.put(inputs[i].getName(), i);
+        }
+
+        final List<Set<String>> entryValues = collectEntryValues(inputs, inputPositions, rules);
+
+        if (entryValues == null) {
+            return null;
+        }
+
+        final Map<String, Integer>[] stringValues = new Map[inputs.length];
+        final int[] strides = new int[inputs.length];
+        long size = 1;
+
+        for (int i = 0; i < inputs.length && size <= maxSize; i++) {
+            final int valueCount;
+
+            if (ValueType.STRING == inputs[i].getType()) {
+                stringValues[i] = new HashMap<>(entryValues.get(i).size() * 2);
+
+                for (String value : entryValues.get(i)) {
+                    stringValues[i].put(value, stringValues[i].size());
+                }
+
+                valueCount = stringValues[i].size() + 2;
+            } else {
+                valueCount = BOOLEAN_VALUE_COUNT;
+            }
+
+            strides[i] = (int) size;
+            size *= valueCount;
+        }
+
+        if (size > maxSize) {
+            return null;
+        }
+
+        final DecisionResult[] decisionResults = new DecisionResult[(int) size];
+        final Serializable[][] representativeValues = createRepresentativeValues(inputs, stringValues);
+
+        for (int i = 0; i < decisionResults.length; i++) {
+            final Map<String, Serializable> variables = new HashMap<>();
+
+            for (int j = 0; j < inputs.length; j++) {
+                variables.put(inputs[j].getName(), representativeValues[j][i / strides[j] % representativeValues[j].length]);
+            }
+
+            try {
+                decisionResults[i] = interpreter.apply(new DecisionVariables(variables));
+            } catch (RuntimeException e) {
+                log.debug("Can not precompute decision result for {}, it will be interpreted", variables, e);
+            }
+        }
+
+        return new TruthTableEvaluator(Arrays.stream(inputs).map(Input::getName).toArray(String[]::new),
+                Arrays.stream(inputs).map(Input::getNameAlias).toArray(String[]::new),
+                stringValues,
+                strides,
+                decisionResults);
+    }
+
+    /**
+     * @param decisionVariables decision variables
+     * @return decision result or null if the decision has to be interpreted
+     */
+    DecisionResult evaluate(final DecisionVariables decisionVariables) {
+        int position = 0;
+
+        for (int i = 0; i < inputNames.length; i++) {
+            final int valuePosition = findValuePosition(i, readInput(decisionVariables, inputNames[i], inputNameAliases[i]));
+
+            if (valuePosition < 0) {
+                return null;
+            }
+
+            position += valuePosition * strides[i];
+        }
+
+        return decisionResults[position];
+    }
+
+    /**
+     * Strings found in entries are followed by other string and missing value.
+     */
+    private int findValuePosition(final int input, final Serializable value) {
+        final int valuePosition;
+
+        if (stringValues[input] != null) {
+            if (value == null) {
+                valuePosition = stringValues[input].size() + 1;
+            } else if (value instanceof String) {
+                valuePosition = stringValues[input].getOrDefault(value, stringValues[input].size());
+            } else {
+                valuePosition = -1;
+            }
+        } else if (value == null) {
+            valuePosition = MISSING_BOOLEAN_VALUE;
+        } else if (value instanceof Boolean) {
+            valuePosition = (Boolean) value ? TRUE_VALUE : FALSE_VALUE;
+        } else {
+            valuePosition = -1;
+        }
+
+        return valuePosition;
+    }
+
+    /**
+     * @return strings of constant entries of every STRING input, or null if any entry is not constant,
+     * any output is not constant or any entry value is not a string or boolean
+     */
+    private static List<Set<String>> collectEntryValues(final Input[] inputs, final Map<String, Integer> inputPositions, final CompiledRule[] rules) {
+        final List<Set<String>> entryValues = new ArrayList<>(inputs.length);
+
+        for (int i = 0; i < inputs.length; i++) {
+            entryValues.add(new LinkedHashSet<>());
+        }
+
+        for (CompiledRule rule : rules) {
+            if (rule.hasOutputEntries() && rule.getConstantRuleResult() == null) {
+                return null;
+            }
+
+            for (CompiledInputEntry inputEntry : rule.getInputEntries()) {
+                final Integer inputPosition = inputPositions.get(inputEntry.getInputEntry().getName());
+
+                if (inputPosition == null || !inputEntry.isConstant()) {
+                    return null;
+                }
+
+                if (EvaluationMode.INPUT_COMPARISON == inputEntry.getInputEntry().getEvaluationMode()
+                        && !addEntryValues(inputs[inputPosition].getType(), inputEntry.getConstantInputEntryValue(), entryValues.get(inputPosition))) {
+                    return null;
+                }
+            }
+        }
+
+        return entryValues;
+    }
+
+    /**
+     * Single boolean entry value of STRING input matches all or no values, so it is not a value of the input.
+     */
+    private static boolean addEntryValues(final ValueType inputType, final SpecifiedTypeValue<?> inputEntryValue, final Set<String> values) {
+        final List<?> entryValues = inputEntryValue.isSingleValue() ? Collections.singletonList(inputEntryValue.getValue()) : inputEntryValue.getValues();
+        final boolean added;
+
+        if (ValueType.BOOLEAN == inputType) {
+            added = entryValues.stream().allMatch(value -> value instanceof Boolean);
+        } else if (inputEntryValue.isSingleValue() && inputEntryValue.getValue() instanceof Boolean) {
+            added = true;
+        } else if (entryValues.stream().allMatch(value -> value instanceof String)) {
+            entryValues.forEach(value -> values.add((String) value));
+            added = true;
+        } else {
+            added = false;
+        }
+
+        return added;
+    }
+
+    /**
+     * @return values of every input in order of value positions
+     */
+    private static Serializable[][] createRepresentativeValues(final Input[] inputs, final Map<String, Integer>[] stringValues) {
+        final Serializable[][] representativeValues = new Serializable[inputs.length][];
+
+        for (int i = 0; i < inputs.length; i++) {
+            if (stringValues[i] != null) {
+                final Serializable[] values = new Serializable[stringValues[i].size() + 2];
+
+                stringValues[i].forEach((value, position) -> values[position] = value);
+                values[stringValues[i].size()] = createOtherValue(stringValues[i].keySet());
+                representativeValues[i] = values;
+            } else {
+                representativeValues[i] = new Serializable[]{Boolean.TRUE, Boolean.FALSE, null};
+            }
+        }
+
+        return representativeValues;
+    }
+
+    private static String createOtherValue(final Set<String> values) {
+        String otherValue = "";
+
+        for (int i = 0; values.contains(otherValue); i++) {
+            otherValue = "other" + i;
+        }
+
+        return otherValue;
+    }
+
+    /**
+     * Reads literal input the same way literal expression evaluation provider does.
+     */
+    private static Serializable readInput(final DecisionVariables decisionVariables, final String name, final String nameAlias) {
+        final Serializable value = decisionVariables.get(name);
+
+        return value == null ? decisionVariables.get(nameAlias) : value;
+    }
+}
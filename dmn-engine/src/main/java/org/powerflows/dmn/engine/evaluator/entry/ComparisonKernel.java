@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.entry;
+
+
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Comparison of unboxed input keys with constant entry, specialised by input type and entry evaluation mode.
+ * Equality kernel holds keys of constant values compared in input comparison mode, it is positive for equal keys.
+ * Interval kernel holds bounds of constant intervals, it is positive for numeric values of keys within any interval.
+ * The class is final and kernels differ by data only, so calls of the kernel are monomorphic.
+ */
+final class ComparisonKernel {
+
+    private final ValueType inputType;
+    private final long[] equalKeys;
+    private final double[] intervalStarts;
+    private final double[] intervalEnds;
+    private final boolean[] intervalStartsInclusive;
+    private final boolean[] intervalEndsInclusive;
+
+    private ComparisonKernel(final ValueType inputType, final long[] equalKeys, final List<Interval> intervals) {
+        this.inputType = inputType;
+        this.equalKeys = equalKeys;
+        this.intervalStarts = new double[intervals.size()];
+        this.intervalEnds = new double[intervals.size()];
+        this.intervalStartsInclusive = new boolean[intervals.size()];
+        this.intervalEndsInclusive = new boolean[intervals.size()];
+
+        for (int i = 0; i < intervals.size(); i++) {
+            final Interval interval = intervals.get(i);
+
+            intervalStarts[i] = interval.getStart() == null ? Double.NEGATIVE_INFINITY : toDouble(interval.getStart());
+            intervalEnds[i] = interval.getEnd() == null ? Double.POSITIVE_INFINITY : toDouble(interval.getEnd());
+            intervalStartsInclusive[i] = interval.getStart() == null || interval.isStartInclusive();
+            intervalEndsInclusive[i] = interval.getEnd() == null || interval.isEndInclusive();
+        }
+    }
+
+    /**
+     * @param inputType type of the entry input
+     * @param evaluationMode entry evaluation mode
+     * @param constantInputEntryValue entry value folded when the entry was compiled, null if the entry is not constant
+     * @param constantIntervals intervals describing the entry, null if the entry can not be described by intervals
+     * @return kernel or null if the entry has to be evaluated for converted input values
+     */
+    static ComparisonKernel create(final ValueType inputType,
+                                   final EvaluationMode evaluationMode,
+                                   final SpecifiedTypeValue<?> constantInputEntryValue,
+                                   final List<Interval> constantIntervals) {
+        final ComparisonKernel comparisonKernel;
+
+        if (!PrimitiveKey.isSupported(inputType)) {
+            comparisonKernel = null;
+        } else if (constantIntervals != null && constantIntervals.stream().allMatch(interval -> hasBoundsOf(inputType, interval))) {
+            comparisonKernel = new ComparisonKernel(inputType, null, constantIntervals);
+        } else if (constantInputEntryValue != null && EvaluationMode.INPUT_COMPARISON == evaluationMode) {
+            final long[] equalKeys = toKeys(inputType, constantInputEntryValue);
+
+            comparisonKernel = equalKeys == null ? null : new ComparisonKernel(inputType, equalKeys, Collections.emptyList());
+        } else {
+            comparisonKernel = null;
+        }
+
+        return comparisonKernel;
+    }
+
+    /**
+     * @param inputKey key of single input value
+     * @return true if the entry is positive for the input value
+     */
+    boolean isPositive(final long inputKey) {
+        final boolean positive;
+
+        if (equalKeys == null) {
+            positive = isWithinIntervals(PrimitiveKey.toDouble(inputType, inputKey));
+        } else {
+            positive = Arrays.binarySearch(equalKeys, inputKey) >= 0;
+        }
+
+        return positive;
+    }
+
+    private boolean isWithinIntervals(final double inputValue) {
+        for (int i = 0; i < intervalStarts.length; i++) {
+            final boolean afterStart = intervalStartsInclusive[i] ? inputValue >= intervalStarts[i] : inputValue > intervalStarts[i];
+            final boolean beforeEnd = intervalEndsInclusive[i] ? inputValue <= intervalEnds[i] : inputValue < intervalEnds[i];
+
+            if (afterStart && beforeEnd) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Single boolean entry values are positive or negative for all non boolean inputs, so such entries have no keys.
+     */
+    private static long[] toKeys(final ValueType inputType, final SpecifiedTypeValue<?> constantInputEntryValue) {
+        final List<?> values = constantInputEntryValue.isSingleValue()
+                ? Collections.singletonList(constantInputEntryValue.getValue())
+                : constantInputEntryValue.getValues();
+        final long[] keys = new long[values.size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            if (!inputType.realType().isInstance(values.get(i)) || !PrimitiveKey.hasKey(inputType, values.get(i))) {
+                return null;
+            }
+
+            keys[i] = PrimitiveKey.of(inputType, values.get(i));
+        }
+
+        Arrays.sort(keys);
+
+        return keys;
+    }
+
+    private static boolean hasBoundsOf(final ValueType inputType, final Interval interval) {
+        return isBoundOf(inputType, interval.getStart()) && isBoundOf(inputType, interval.getEnd());
+    }
+
+    private static boolean isBoundOf(final ValueType inputType, final Comparable<?> bound) {
+        return bound == null || (ValueType.DATE == inputType ? bound instanceof Date : bound instanceof Number);
+    }
+
+    /**
+     * Numbers and dates are compared as double values, dates by their epoch milliseconds, like by interval column index.
+     */
+    private static double toDouble(final Comparable<?> bound) {
+        return bound instanceof Number ? ((Number) bound).doubleValue() + 0.0 : ((Date) bound).getTime();
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.entry;
+
+
+import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModeProvider;
+import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationProvider;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Input entry with expression evaluation provider, type converters and evaluation mode provider bound to it.
+ * Constant entry value is converted once, so only the input value is converted during evaluation.
+ * Constant entries of INTEGER, DOUBLE and DATE inputs have comparison kernels, which evaluate them for unboxed keys
+ * of input values, without evaluating the entry expression or converting the input value.
+ * Constant entries can also be turned into method handles with their evaluators bound to them.
+ * Instances are immutable, they are created by {@link InputEntryEvaluator#compile(InputEntry, Input)}.
+ */
+public class CompiledInputEntry {
+
+    private static final MethodHandle CONVERT = findHandle(TypeConverter.class, "convert",
+            MethodType.methodType(SpecifiedTypeValue.class, Object.class), false);
+    private static final MethodHandle IS_POSITIVE = findHandle(EvaluationModeProvider.class, "isPositive",
+            MethodType.methodType(boolean.class, ValueType.class, SpecifiedTypeValue.class, SpecifiedTypeValue.class), false);
+    private static final MethodHandle IS_KERNEL_POSITIVE = findHandle(ComparisonKernel.class, "isPositive",
+            MethodType.methodType(boolean.class, long.class), false);
+    private static final MethodHandle HAS_KEY = findHandle(CompiledInputEntry.class, "hasKey",
+            MethodType.methodType(boolean.class, ValueType.class, SpecifiedTypeValue.class), true);
+    private static final MethodHandle KEY_OF = findHandle(CompiledInputEntry.class, "keyOf",
+            MethodType.methodType(long.class, ValueType.class, SpecifiedTypeValue.class), true);
+
+    private final InputEntry inputEntry;
+    private final Input input;
+    private final ExpressionEvaluationProvider inputExpressionEvaluator;
+    private final ExpressionEvaluationProvider inputEntryExpressionEvaluator;
+    private final TypeConverter typeConverter;
+    private final TypeConverter booleanTypeConverter;
+    private final EvaluationModeProvider evaluationModeProvider;
+    private final boolean wildcard;
+    private final SpecifiedTypeValue<?> constantInputEntryValue;
+    private final List<Interval> constantIntervals;
+    private final ComparisonKernel comparisonKernel;
+
+    CompiledInputEntry(final InputEntry inputEntry,
+                       final Input input,
+                       final ExpressionEvaluationProvider inputExpressionEvaluator,
+                       final ExpressionEvaluationProvider inputEntryExpressionEvaluator,
+                       final TypeConverter typeConverter,
+                       final TypeConverter booleanTypeConverter,
+                       final EvaluationModeProvider evaluationModeProvider,
+                       final boolean wildcard,
+                       final Serializable constantInputEntryValue,
+                       final List<Interval> constantIntervals) {
+        this.inputEntry = inputEntry;
+        this.input = input;
+        this.inputExpressionEvaluator = inputExpressionEvaluator;
+        this.inputEntryExpressionEvaluator = inputEntryExpressionEvaluator;
+        this.typeConverter = typeConverter;
+        this.booleanTypeConverter = booleanTypeConverter;
+        this.evaluationModeProvider = evaluationModeProvider;
+        this.wildcard = wildcard;
+        this.constantInputEntryValue = constantInputEntryValue == null ? null : convertInputEntryValue(constantInputEntryValue);
+        this.constantIntervals = constantIntervals;
+        this.comparisonKernel = ComparisonKernel.create(input.getType(), inputEntry.getEvaluationMode(), this.constantInputEntryValue, constantIntervals);
+    }
+
+    public InputEntry getInputEntry() {
+        return inputEntry;
+    }
+
+    public Input getInput() {
+        return input;
+    }
+
+    /**
+     * Wildcard entries match any input value convertible to the input type, so their expressions are not evaluated,
+     * only input values are converted.
+     *
+     * @return true if the entry evaluates to positive result for every convertible input value
+     */
+    public boolean isWildcard() {
+        return wildcard;
+    }
+
+    /**
+     * @return true if the entry value was folded when the entry was compiled
+     */
+    public boolean isConstant() {
+        return constantInputEntryValue != null;
+    }
+
+    /**
+     * @return entry value folded when the entry was compiled or null if the entry is not constant
+     */
+    public SpecifiedTypeValue<?> getConstantInputEntryValue() {
+        return constantInputEntryValue;
+    }
+
+    /**
+     * @return intervals of input values the entry is positive for or null if the entry can not be described by intervals
+     */
+    public List<Interval> getConstantIntervals() {
+        return constantIntervals;
+    }
+
+    /**
+     * Evaluates the entry input unless it is already present in evaluation context.
+     *
+     * @param evaluationContext decision variable context
+     * @return input value converted to the input type
+     */
+    public SpecifiedTypeValue<?> evaluateInput(final EvaluationContext evaluationContext) {
+        return convertInputValue(evaluateInputValue(evaluationContext));
+    }
+
+    /**
+     * Evaluates the entry input unless it is already present in evaluation context.
+     *
+     * @param evaluationContext decision variable context
+     * @return input value not converted to the input type
+     */
+    public Serializable evaluateInputValue(final EvaluationContext evaluationContext) {
+        if (!isInputEvaluated(evaluationContext)) {
+            final Serializable evaluatedInputValue = inputExpressionEvaluator.evaluateInput(input, evaluationContext);
+
+            evaluationContext.addVariable(input.getName(), evaluatedInputValue);
+        }
+
+        return evaluationContext.get(inputEntry.getName());
+    }
+
+    /**
+     * @param inputValue input value returned by {@link #evaluateInputValue(EvaluationContext)}
+     * @return input value converted to the input type
+     */
+    public SpecifiedTypeValue<?> convertInputValue(final Serializable inputValue) {
+        return typeConverter.convert(inputValue);
+    }
+
+    /**
+     * Performs entry expression evaluation.
+     *
+     * @param evaluationContext decision variable context
+     * @return evaluation result
+     */
+    public boolean evaluate(final EvaluationContext evaluationContext) {
+        return evaluate(evaluationContext, evaluateInput(evaluationContext));
+    }
+
+    /**
+     * Performs entry expression evaluation for already evaluated input value.
+     *
+     * @param evaluationContext decision variable context
+     * @param typedInputValue input value returned by {@link #evaluateInput(EvaluationContext)}
+     * @return evaluation result
+     */
+    public boolean evaluate(final EvaluationContext evaluationContext, final SpecifiedTypeValue<?> typedInputValue) {
+        final Object inputValue = typedInputValue.isSingleValue() ? typedInputValue.getValue() : null;
+        final boolean positive;
+
+        if (wildcard) {
+            positive = true;
+        } else if (comparisonKernel != null && PrimitiveKey.hasKey(input.getType(), inputValue)) {
+            positive = comparisonKernel.isPositive(PrimitiveKey.of(input.getType(), inputValue));
+        } else {
+            positive = evaluateInputEntry(evaluationContext, typedInputValue);
+        }
+
+        return positive;
+    }
+
+    /**
+     * @return true if the entry can be evaluated for unboxed keys of input values by {@link #evaluate(long)}
+     */
+    public boolean hasComparisonKernel() {
+        return comparisonKernel != null;
+    }
+
+    /**
+     * Performs entry evaluation by its comparison kernel.
+     *
+     * @param inputKey {@link PrimitiveKey} of single input value
+     * @return evaluation result
+     */
+    public boolean evaluate(final long inputKey) {
+        return comparisonKernel.isPositive(inputKey);
+    }
+
+    /**
+     * @return method handle of type {@code (Serializable) -> SpecifiedTypeValue} converting input values
+     * to the input type, with the type converter bound to it
+     */
+    public MethodHandle createConversionHandle() {
+        return CONVERT.bindTo(typeConverter).asType(MethodType.methodType(SpecifiedTypeValue.class, Serializable.class));
+    }
+
+    /**
+     * Creates method handle evaluating the entry for input values converted to the input type, the same way
+     * {@link #evaluate(EvaluationContext, SpecifiedTypeValue)} does. Evaluation mode provider, entry value
+     * and comparison kernel are bound to it. Entries having comparison kernel only are evaluated by the fallback
+     * handle for input values without unboxed keys, as their expressions have to be evaluated in context.
+     *
+     * @param fallbackHandle handle of type {@code (SpecifiedTypeValue) -> boolean} evaluating entry in context
+     * @return method handle of type {@code (SpecifiedTypeValue) -> boolean} or null if the entry is neither constant
+     * nor has comparison kernel
+     */
+    public MethodHandle createEvaluationHandle(final MethodHandle fallbackHandle) {
+        final MethodHandle modeHandle;
+
+        if (constantInputEntryValue == null) {
+            modeHandle = fallbackHandle;
+        } else {
+            modeHandle = MethodHandles.insertArguments(IS_POSITIVE.bindTo(evaluationModeProvider), 0, input.getType(), constantInputEntryValue);
+        }
+
+        final MethodHandle evaluationHandle;
+
+        if (comparisonKernel != null) {
+            evaluationHandle = MethodHandles.guardWithTest(MethodHandles.insertArguments(HAS_KEY, 0, input.getType()),
+                    MethodHandles.filterArguments(IS_KERNEL_POSITIVE.bindTo(comparisonKernel), 0, MethodHandles.insertArguments(KEY_OF, 0, input.getType())),
+                    modeHandle);
+        } else if (constantInputEntryValue != null) {
+            evaluationHandle = modeHandle;
+        } else {
+            evaluationHandle = null;
+        }
+
+        return evaluationHandle;
+    }
+
+    private boolean evaluateInputEntry(final EvaluationContext evaluationContext, final SpecifiedTypeValue<?> typedInputValue) {
+        final SpecifiedTypeValue<?> typedInputEntryValue;
+        if (constantInputEntryValue == null) {
+            typedInputEntryValue = convertInputEntryValue(inputEntryExpressionEvaluator.evaluateInputEntry(inputEntry, evaluationContext));
+        } else {
+            typedInputEntryValue = constantInputEntryValue;
+        }
+
+        return evaluationModeProvider.isPositive(input.getType(), typedInputEntryValue, typedInputValue);
+    }
+
+    private SpecifiedTypeValue<?> convertInputEntryValue(final Object inputEntryValue) {
+        final SpecifiedTypeValue<?> typedInputEntryValue;
+        if (isBoolean(inputEntryValue)) {
+            typedInputEntryValue = booleanTypeConverter.convert(inputEntryValue);
+        } else {
+            typedInputEntryValue = typeConverter.convert(inputEntryValue);
+        }
+
+        return typedInputEntryValue;
+    }
+
+    private boolean isBoolean(final Object value) {
+        return Boolean.TRUE.equals(value) || Boolean.FALSE.equals(value);
+    }
+
+    private boolean isInputEvaluated(final EvaluationContext evaluationContext) {
+        return evaluationContext.isPresent(input.getName());
+    }
+
+    private static boolean hasKey(final ValueType inputType, final SpecifiedTypeValue<?> typedInputValue) {
+        return typedInputValue.isSingleValue() && PrimitiveKey.hasKey(inputType, typedInputValue.getValue());
+    }
+
+    private static long keyOf(final ValueType inputType, final SpecifiedTypeValue<?> typedInputValue) {
+        return PrimitiveKey.of(inputType, typedInputValue.getValue());
+    }
+
+    private static MethodHandle findHandle(final Class<?> type, final String name, final MethodType methodType, final boolean isStatic) {
+        try {
+            return isStatic
+                    ? MethodHandles.lookup().findStatic(type, name, methodType)
+                    : MethodHandles.lookup().findVirtual(type, name, methodType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Can not find method " + name + " of " + type.getName(), e);
+        }
+    }
+}
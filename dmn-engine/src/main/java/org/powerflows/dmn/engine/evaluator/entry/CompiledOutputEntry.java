@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.entry;
+
+
+import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationProvider;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
+import org.powerflows.dmn.engine.model.decision.field.Output;
+import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
+import org.powerflows.dmn.engine.model.evaluation.result.EntryResult;
+
+import java.io.Serializable;
+
+/**
+ * Output entry with expression evaluation provider and type converter bound to it.
+ * Constant entry value is validated once and its result is shared by all evaluations.
+ * Instances are immutable, they are created by {@link OutputEntryEvaluator#compile(OutputEntry, Output)}.
+ */
+public class CompiledOutputEntry {
+
+    private final OutputEntry outputEntry;
+    private final Output output;
+    private final ExpressionEvaluationProvider expressionEvaluator;
+    private final TypeConverter typeConverter;
+    private final EntryResult constantEntryResult;
+
+    CompiledOutputEntry(final OutputEntry outputEntry,
+                        final Output output,
+                        final ExpressionEvaluationProvider expressionEvaluator,
+                        final TypeConverter typeConverter,
+                        final Serializable constantOutputEntryValue) {
+        this.outputEntry = outputEntry;
+        this.output = output;
+        this.expressionEvaluator = expressionEvaluator;
+        this.typeConverter = typeConverter;
+        this.constantEntryResult = constantOutputEntryValue == null ? null : createEntryResult(constantOutputEntryValue);
+    }
+
+    public OutputEntry getOutputEntry() {
+        return outputEntry;
+    }
+
+    public Output getOutput() {
+        return output;
+    }
+
+    /**
+     * @return true if the entry value was folded when the entry was compiled
+     */
+    public boolean isConstant() {
+        return constantEntryResult != null;
+    }
+
+    /**
+     * @param evaluationContext decision variable context
+     * @return entry evaluation result
+     */
+    public EntryResult evaluate(final EvaluationContext evaluationContext) {
+        final EntryResult outputEntryResult;
+        if (constantEntryResult == null) {
+            outputEntryResult = createEntryResult(expressionEvaluator.evaluateOutputEntry(outputEntry, evaluationContext));
+        } else {
+            outputEntryResult = constantEntryResult;
+        }
+
+        return outputEntryResult;
+    }
+
+    private EntryResult createEntryResult(final Serializable outputEntryValue) {
+        //Needed for the output entry value validation.
+        //Correct build means the output entry value has a type compatible with the output definition.
+        typeConverter.convert(outputEntryValue);
+
+        return EntryResult.builder().name(outputEntry.getName()).value(outputEntryValue).build();
+    }
+}
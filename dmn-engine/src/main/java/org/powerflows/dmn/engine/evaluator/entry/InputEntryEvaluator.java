@@ -17,28 +17,32 @@
 package org.powerflows.dmn.engine.evaluator.entry;
 
 
-import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
 import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModeProvider;
 import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModeProviderFactory;
+import org.powerflows.dmn.engine.evaluator.expression.provider.ConstantExpressionEvaluationProvider;
 import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationProvider;
 import org.powerflows.dmn.engine.evaluator.expression.provider.DefaultExpressionEvaluationProviderFactory;
 import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
 import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory;
-import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
 import org.powerflows.dmn.engine.model.decision.EvaluationMode;
+import org.powerflows.dmn.engine.model.decision.expression.Expression;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
 import org.powerflows.dmn.engine.model.decision.field.Input;
 import org.powerflows.dmn.engine.model.decision.field.ValueType;
 import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Evaluator for rule entry expressions.
  */
-@Slf4j
 public class InputEntryEvaluator {
 
+    private static final String FEEL_ANY = "-";
+
     private final DefaultExpressionEvaluationProviderFactory expressionEvaluationProviderFactory;
     private final TypeConverterFactory typeConverterFactory;
     private final EvaluationModeProviderFactory evaluationModeProviderFactory;
@@ -63,51 +67,89 @@ public class InputEntryEvaluator {
     public boolean evaluate(final InputEntry inputEntry,
                             final Input input,
                             final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input entry: {} with input: {} and evaluation context: {}", inputEntry, input, evaluationContext);
+        return compile(inputEntry, input).evaluate(evaluationContext);
+    }
 
+    /**
+     * Resolves expression evaluation providers, type converters and evaluation mode provider used by the entry.
+     *
+     * @param inputEntry entry expression defined in decision
+     * @param input value evaluated as decision entry input
+     * @return compiled entry
+     */
+    public CompiledInputEntry compile(final InputEntry inputEntry, final Input input) {
+        final ExpressionEvaluationProvider inputExpressionEvaluator = expressionEvaluationProviderFactory.getInstance(input.getExpression().getType());
         final ExpressionEvaluationProvider inputEntryExpressionEvaluator = expressionEvaluationProviderFactory.getInstance(inputEntry.getExpression().getType());
         final TypeConverter typeConverter = typeConverterFactory.getInstance(input.getType());
+        final TypeConverter booleanTypeConverter = typeConverterFactory.getInstance(ValueType.BOOLEAN);
+        final EvaluationModeProvider evaluationModeProvider = evaluationModeProviderFactory.getInstance(inputEntry.getEvaluationMode());
+
+        return new CompiledInputEntry(inputEntry,
+                input,
+                inputExpressionEvaluator,
+                inputEntryExpressionEvaluator,
+                typeConverter,
+                booleanTypeConverter,
+                evaluationModeProvider,
+                isWildcard(inputEntry, input),
+                evaluateConstant(inputEntryExpressionEvaluator, inputEntry, input),
+                evaluateConstantIntervals(inputEntryExpressionEvaluator, inputEntry, input));
+    }
 
-        if (!isInputEvaluated(input, evaluationContext)) {
-            final ExpressionEvaluationProvider inputExpressionEvaluator = expressionEvaluationProviderFactory.getInstance(input.getExpression().getType());
-            final Serializable evaluatedInputValue = inputExpressionEvaluator.evaluateInput(input, evaluationContext);
+    private Serializable evaluateConstant(final ExpressionEvaluationProvider inputEntryExpressionEvaluator,
+                                          final InputEntry inputEntry,
+                                          final Input input) {
+        final Serializable constantValue;
 
-            evaluationContext.addVariable(input.getName(), evaluatedInputValue);
+        if (inputEntryExpressionEvaluator instanceof ConstantExpressionEvaluationProvider) {
+            constantValue = ((ConstantExpressionEvaluationProvider) inputEntryExpressionEvaluator)
+                    .evaluateConstantInputEntry(inputEntry, input)
+                    .orElse(null);
+        } else {
+            constantValue = null;
         }
 
-        final Object inputValue = evaluationContext.get(inputEntry.getName());
-        final SpecifiedTypeValue<?> typedInputValue = typeConverter.convert(inputValue);
-        final Object inputEntryValue = inputEntryExpressionEvaluator.evaluateInputEntry(inputEntry, evaluationContext);
+        return constantValue;
+    }
 
-        final SpecifiedTypeValue<?> typedInputEntryValue;
-        if (isBoolean(inputEntryValue)) {
-            final TypeConverter booleanTypeConverter;
-            if (ValueType.BOOLEAN == input.getType()) {
-                booleanTypeConverter = typeConverter;
-            } else {
-                booleanTypeConverter = typeConverterFactory.getInstance(ValueType.BOOLEAN);
-            }
+    private List<Interval> evaluateConstantIntervals(final ExpressionEvaluationProvider inputEntryExpressionEvaluator,
+                                                     final InputEntry inputEntry,
+                                                     final Input input) {
+        final List<Interval> constantIntervals;
 
-            typedInputEntryValue = booleanTypeConverter.convert(inputEntryValue);
+        if (inputEntryExpressionEvaluator instanceof ConstantExpressionEvaluationProvider) {
+            constantIntervals = ((ConstantExpressionEvaluationProvider) inputEntryExpressionEvaluator)
+                    .evaluateConstantIntervals(inputEntry, input)
+                    .orElse(null);
         } else {
-            typedInputEntryValue = typeConverter.convert(inputEntryValue);
+            constantIntervals = null;
         }
 
-        final EvaluationMode evaluationMode = inputEntry.getEvaluationMode();
-        final EvaluationModeProvider evaluationModeProvider = evaluationModeProviderFactory.getInstance(evaluationMode);
-        final boolean result = evaluationModeProvider.isPositive(input.getType(), typedInputEntryValue, typedInputValue);
-
-        log.debug("Evaluated input entry result: {}", result);
-
-        return result;
+        return constantIntervals;
     }
 
-    private boolean isBoolean(final Object value) {
-        return Boolean.TRUE.equals(value) || Boolean.FALSE.equals(value);
-    }
+    /**
+     * Wildcard entries are positive for any input value, FEEL ones in boolean mode or for non boolean inputs,
+     * as input comparison of boolean input compares the entry result with the input value.
+     */
+    private boolean isWildcard(final InputEntry inputEntry, final Input input) {
+        final Expression expression = inputEntry.getExpression();
+        final boolean wildcard;
+
+        if (ExpressionType.FEEL == expression.getType() && expression.getValue() instanceof String) {
+            final String feelExpression = ((String) expression.getValue()).trim();
+
+            wildcard = (feelExpression.isEmpty() || FEEL_ANY.equals(feelExpression))
+                    && (EvaluationMode.BOOLEAN == inputEntry.getEvaluationMode() || ValueType.BOOLEAN != input.getType());
+        } else if (ExpressionType.LITERAL == expression.getType()) {
+            wildcard = EvaluationMode.INPUT_COMPARISON == inputEntry.getEvaluationMode()
+                    && ValueType.BOOLEAN != input.getType()
+                    && Boolean.TRUE.equals(expression.getValue());
+        } else {
+            wildcard = false;
+        }
 
-    private boolean isInputEvaluated(final Input input, final EvaluationContext evaluationContext) {
-        return evaluationContext.isPresent(input.getName());
+        return wildcard;
     }
 
 }
@@ -17,8 +17,8 @@
 package org.powerflows.dmn.engine.evaluator.entry;
 
 
-import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.expression.provider.ConstantExpressionEvaluationProvider;
 import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationProvider;
 import org.powerflows.dmn.engine.evaluator.expression.provider.DefaultExpressionEvaluationProviderFactory;
 import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
@@ -32,7 +32,6 @@ import java.io.Serializable;
 /**
  * Evaluator for output entry expressions.
  */
-@Slf4j
 public class OutputEntryEvaluator {
 
     private final DefaultExpressionEvaluationProviderFactory expressionEvaluationProviderFactory;
@@ -52,19 +51,34 @@ public class OutputEntryEvaluator {
      * @return entry evaluation result
      */
     public EntryResult evaluate(final OutputEntry outputEntry, final Output output, final EvaluationContext evaluationContext) {
+        return compile(outputEntry, output).evaluate(evaluationContext);
+    }
+
+    /**
+     * Resolves expression evaluation provider and type converter used by the entry.
+     *
+     * @param outputEntry output entry expression defined in decision
+     * @param output output definition
+     * @return compiled entry
+     */
+    public CompiledOutputEntry compile(final OutputEntry outputEntry, final Output output) {
         final ExpressionEvaluationProvider expressionEvaluator = expressionEvaluationProviderFactory.getInstance(outputEntry.getExpression().getType());
         final TypeConverter typeConverter = typeConverterFactory.getInstance(output.getType());
 
-        final Serializable outputEntryValue = expressionEvaluator.evaluateOutputEntry(outputEntry, evaluationContext);
-
-        //Needed for the output entry value validation.
-        //Correct build means the output entry value has a type compatible with the output definition.
-        typeConverter.convert(outputEntryValue);
+        return new CompiledOutputEntry(outputEntry, output, expressionEvaluator, typeConverter, evaluateConstant(expressionEvaluator, outputEntry));
+    }
 
-        final EntryResult outputEntryResult = EntryResult.builder().name(outputEntry.getName()).value(outputEntryValue).build();
+    private Serializable evaluateConstant(final ExpressionEvaluationProvider expressionEvaluator, final OutputEntry outputEntry) {
+        final Serializable constantValue;
 
-        log.debug("Evaluated output entry result: {}", outputEntryResult);
+        if (expressionEvaluator instanceof ConstantExpressionEvaluationProvider) {
+            constantValue = ((ConstantExpressionEvaluationProvider) expressionEvaluator)
+                    .evaluateConstantOutputEntry(outputEntry)
+                    .orElse(null);
+        } else {
+            constantValue = null;
+        }
 
-        return outputEntryResult;
+        return constantValue;
     }
 }
@@ -21,6 +21,7 @@ import org.powerflows.dmn.engine.model.decision.field.ValueType;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Objects;
 
 /**
  * Value comparison entry evaluation provider.
@@ -57,11 +58,21 @@ class InputComparisonEvaluationModeProvider implements EvaluationModeProvider {
         return result;
     }
 
+    /**
+     * Single input value is compared without wrapping values into collections.
+     */
     private <T, P> boolean isPositive(final SpecifiedTypeValue<T> inputEntryValue, final SpecifiedTypeValue<P> inputValue) {
-        final Collection<T> inputEntryValues = convertObjectToCollection(inputEntryValue);
-        final Collection<P> inputValues = convertObjectToCollection(inputValue);
+        final boolean result;
 
-        return areSubCollections(inputEntryValues, inputValues);
+        if (!inputValue.isSingleValue()) {
+            result = areSubCollections(convertObjectToCollection(inputEntryValue), inputValue.getValues());
+        } else if (inputEntryValue.isSingleValue()) {
+            result = Objects.equals(inputEntryValue.getValue(), inputValue.getValue());
+        } else {
+            result = inputEntryValue.getValues().contains(inputValue.getValue());
+        }
+
+        return result;
     }
 
     private <X> Collection<X> convertObjectToCollection(final SpecifiedTypeValue<X> object) {
@@ -44,17 +44,26 @@ public class DefaultExpressionEvaluationProviderFactory {
 
     public DefaultExpressionEvaluationProviderFactory(final ExpressionEvaluationConfiguration configuration) {
         this.configuration = configuration;
-        serviceLoader.forEach(provider ->
-                provider.supportedExpressionTypes()
-                        .forEach(type -> {
-                                    log.debug("Found ExpressionEvaluationProvider for type {} - {}", type, provider);
-                                    factories.put(type, provider);
-                                }
-                        )
-        );
+
+        synchronized (serviceLoader) {
+            serviceLoader.forEach(provider ->
+                    provider.supportedExpressionTypes()
+                            .forEach(type -> {
+                                        log.debug("Found ExpressionEvaluationProvider for type {} - {}", type, provider);
+                                        factories.put(type, provider);
+                                    }
+                            )
+            );
+        }
     }
 
-    public ExpressionEvaluationProvider getInstance(final ExpressionType expressionType) {
+    /**
+     * Provider is created once for each expression type, the method may be called concurrently.
+     *
+     * @param expressionType type of expressions evaluated by the provider
+     * @return provider of given expression type
+     */
+    public synchronized ExpressionEvaluationProvider getInstance(final ExpressionType expressionType) {
         final ExpressionEvaluationProvider expressionEvaluationProvider = providers.computeIfAbsent(expressionType, key -> Optional
                 .ofNullable(factories.get(key))
                 .map(factory -> factory.createProvider(configuration))
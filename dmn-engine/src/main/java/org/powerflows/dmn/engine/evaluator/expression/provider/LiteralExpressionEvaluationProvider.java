@@ -18,22 +18,24 @@ package org.powerflows.dmn.engine.evaluator.expression.provider;
 
 import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
 import org.powerflows.dmn.engine.model.decision.field.Input;
 import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
 import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Provides literal expression evaluation.
+ * Input and output entry literals are constant, so they are folded when decision is compiled.
  */
 @Slf4j
-class LiteralExpressionEvaluationProvider implements ExpressionEvaluationProvider {
+class LiteralExpressionEvaluationProvider implements ConstantExpressionEvaluationProvider {
 
     @Override
     public Serializable evaluateInput(final Input input, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input: {} with evaluation context: {}", input, evaluationContext);
-
         Serializable value = evaluationContext.get(input.getName());
 
         if (value == null) {
@@ -48,30 +50,31 @@ class LiteralExpressionEvaluationProvider implements ExpressionEvaluationProvide
             }
         }
 
-        log.debug("Evaluated input result: {}", value);
-
         return value;
     }
 
     @Override
     public Serializable evaluateInputEntry(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input entry with evaluation context: {}", inputEntry, evaluationContext);
-
-        final Serializable result = inputEntry.getExpression().getValue();
-
-        log.debug("Evaluated input entry result: {}", result);
-
-        return result;
+        return inputEntry.getExpression().getValue();
     }
 
     @Override
     public Serializable evaluateOutputEntry(final OutputEntry outputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of output entry with evaluation context: {}", outputEntry, evaluationContext);
+        return outputEntry.getExpression().getValue();
+    }
 
-        final Serializable result = outputEntry.getExpression().getValue();
+    @Override
+    public Optional<Serializable> evaluateConstantInputEntry(final InputEntry inputEntry, final Input input) {
+        return Optional.ofNullable(inputEntry.getExpression().getValue());
+    }
 
-        log.debug("Evaluated output entry result: {}", result);
+    @Override
+    public Optional<List<Interval>> evaluateConstantIntervals(final InputEntry inputEntry, final Input input) {
+        return Optional.empty();
+    }
 
-        return result;
+    @Override
+    public Optional<Serializable> evaluateConstantOutputEntry(final OutputEntry outputEntry) {
+        return Optional.ofNullable(outputEntry.getExpression().getValue());
     }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.generated;
+
+
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.evaluator.decision.PrunedRule;
+import org.powerflows.dmn.engine.evaluator.decision.RuleOverlap;
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverter;
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory;
+import org.powerflows.dmn.engine.evaluator.type.value.SpecifiedTypeValue;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.EntryResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Base of decision classes generated from decision definitions at build time.
+ * Generated classes evaluate rules by plain Java conditions instead of expression evaluation providers,
+ * values of decision variables are converted to input types by the same type converters the engine uses.
+ * Definition of the decision is kept serialized in the generated class, so it can be compiled by the engine too.
+ * Generated classes accept single values of inputs only.
+ */
+public abstract class AbstractGeneratedDecision implements CompiledDecision {
+
+    private static final TypeConverterFactory TYPE_CONVERTER_FACTORY = new TypeConverterFactory();
+
+    private final Decision decision;
+    private final Input[] inputs;
+    private final TypeConverter<?>[] typeConverters;
+
+    /**
+     * @param serializedDecision parts of Base64 encoded, serialized decision the class was generated from
+     */
+    protected AbstractGeneratedDecision(final String[] serializedDecision) {
+        this.decision = deserialize(serializedDecision);
+        this.inputs = decision.getInputs().toArray(new Input[0]);
+        this.typeConverters = new TypeConverter<?>[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            typeConverters[i] = TYPE_CONVERTER_FACTORY.getInstance(inputs[i].getType());
+        }
+    }
+
+    @Override
+    public Decision getDecision() {
+        return decision;
+    }
+
+    /**
+     * Generated classes skip rules which never match, but they don't report them.
+     */
+    @Override
+    public List<PrunedRule> getPrunedRules() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Generated classes don't check rules for overlaps.
+     */
+    @Override
+    public List<RuleOverlap> getRuleOverlaps() {
+        return null;
+    }
+
+    @Override
+    public DecisionResult evaluate(final DecisionVariables decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final Object[] inputValues = new Object[inputs.length];
+
+        for (int i = 0; i < inputs.length; i++) {
+            final Serializable value = decisionVariables.get(inputs[i].getName());
+
+            inputValues[i] = value == null && inputs[i].getNameAlias() != null ? decisionVariables.get(inputs[i].getNameAlias()) : value;
+        }
+
+        return evaluateConverted(convert(inputValues));
+    }
+
+    @Override
+    public DecisionResult evaluateInputs(final Object... inputValues) {
+        if (inputValues == null) {
+            throw new NullPointerException("Input values can not be null");
+        }
+
+        if (inputValues.length != inputs.length) {
+            throw new IllegalArgumentException("Decision has " + inputs.length + " inputs, got " + inputValues.length + " input values");
+        }
+
+        for (int i = 0; i < inputValues.length; i++) {
+            if (inputValues[i] != null && !(inputValues[i] instanceof Serializable)) {
+                throw new IllegalArgumentException("Value of input " + inputs[i].getName() + " is not serializable");
+            }
+        }
+
+        return evaluateConverted(convert(inputValues));
+    }
+
+    @Override
+    public List<DecisionResult> evaluateBatch(final List<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final List<DecisionResult> decisionResults = new ArrayList<>(decisionVariables.size());
+
+        for (DecisionVariables variables : decisionVariables) {
+            decisionResults.add(evaluate(variables));
+        }
+
+        return decisionResults;
+    }
+
+    @Override
+    public Iterable<DecisionResult> evaluateBatch(final Iterable<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        return () -> evaluateBatch(decisionVariables.iterator());
+    }
+
+    @Override
+    public Iterator<DecisionResult> evaluateBatch(final Iterator<DecisionVariables> decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        return new Iterator<DecisionResult>() {
+            @Override
+            public boolean hasNext() {
+                return decisionVariables.hasNext();
+            }
+
+            @Override
+            public DecisionResult next() {
+                return evaluate(decisionVariables.next());
+            }
+        };
+    }
+
+    /**
+     * @param inputValues values converted to types of inputs, in order of the inputs
+     * @return evaluation result
+     */
+    protected abstract DecisionResult evaluateConverted(Object[] inputValues);
+
+    /**
+     * Converts date the way date literals and FEEL date and time function are converted by the engine.
+     *
+     * @param value date in ISO 8601 format
+     * @return converted date
+     */
+    protected static Date date(final String value) {
+        return (Date) TYPE_CONVERTER_FACTORY.getInstance(ValueType.DATE).convert(value).getValue();
+    }
+
+    /**
+     * Compares input value with a value evaluated for the input entry, e.g. returned by bound function.
+     *
+     * @param inputType  type the entry value is converted to
+     * @param inputValue input value converted to the input type
+     * @param entryValue evaluated entry value
+     * @return true if both values are equal
+     */
+    protected static boolean isEqual(final ValueType inputType, final Object inputValue, final Object entryValue) {
+        boolean equal;
+
+        try {
+            final SpecifiedTypeValue<?> typedEntryValue = TYPE_CONVERTER_FACTORY.getInstance(inputType).convert(entryValue);
+
+            equal = typedEntryValue.isSingleValue() && Objects.equals(inputValue, typedEntryValue.getValue());
+        } catch (EvaluationException e) {
+            equal = false;
+        }
+
+        return equal;
+    }
+
+    /**
+     * Validates evaluated output entry value against the output type, like the engine does.
+     *
+     * @param outputType type of the output
+     * @param value      evaluated output entry value
+     * @return given value
+     */
+    protected static Serializable output(final ValueType outputType, final Serializable value) {
+        TYPE_CONVERTER_FACTORY.getInstance(outputType).convert(value);
+
+        return value;
+    }
+
+    /**
+     * @param outputNames  names of output entries
+     * @param outputValues values of output entries, in order of the names
+     * @return rule result
+     */
+    protected static RuleResult ruleResult(final String[] outputNames, final Serializable... outputValues) {
+        final List<EntryResult> entryResults = new ArrayList<>(outputNames.length);
+
+        for (int i = 0; i < outputNames.length; i++) {
+            entryResults.add(EntryResult.builder().name(outputNames[i]).value(outputValues[i]).build());
+        }
+
+        return RuleResult.builder().entryResults(unmodifiableList(entryResults)).build();
+    }
+
+    /**
+     * Rule results are kept in immutable single element list until second rule matches.
+     *
+     * @param ruleResults results of rules matched so far, empty list when no rule matched
+     * @param ruleResult  result of matching rule
+     * @return results of matched rules, including given result, to be passed to the next call
+     */
+    protected static List<RuleResult> addRuleResult(final List<RuleResult> ruleResults, final RuleResult ruleResult) {
+        final List<RuleResult> allRuleResults;
+
+        if (ruleResults.isEmpty()) {
+            allRuleResults = Collections.singletonList(ruleResult);
+        } else if (ruleResults.size() == 1) {
+            allRuleResults = new ArrayList<>();
+            allRuleResults.add(ruleResults.get(0));
+            allRuleResults.add(ruleResult);
+        } else {
+            allRuleResults = ruleResults;
+            allRuleResults.add(ruleResult);
+        }
+
+        return allRuleResults;
+    }
+
+    /**
+     * @param ruleResults results of matched rules
+     * @return decision result
+     */
+    protected static DecisionResult decisionResult(final List<RuleResult> ruleResults) {
+        return DecisionResult.builder().ruleResults(ruleResults).build();
+    }
+
+    private Object[] convert(final Object[] inputValues) {
+        final Object[] convertedInputValues = new Object[inputValues.length];
+
+        for (int i = 0; i < inputValues.length; i++) {
+            final SpecifiedTypeValue<?> typedInputValue = typeConverters[i].convert(inputValues[i]);
+
+            if (!typedInputValue.isSingleValue()) {
+                throw new EvaluationException("Generated decision accepts single value of input " + inputs[i].getName() + " only");
+            }
+
+            convertedInputValues[i] = typedInputValue.getValue();
+        }
+
+        return convertedInputValues;
+    }
+
+    private static Decision deserialize(final String[] serializedDecision) {
+        final byte[] bytes = Base64.getDecoder().decode(String.join("", serializedDecision));
+
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Decision) objectInputStream.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Can not deserialize decision", e);
+        }
+    }
+}
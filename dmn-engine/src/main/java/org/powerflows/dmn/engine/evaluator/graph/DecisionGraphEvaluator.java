@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.graph;
+
+
+import org.powerflows.dmn.engine.CompiledDecisionGraph;
+import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator;
+import org.powerflows.dmn.engine.model.decision.Decision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles decision requirements graphs.
+ * Decisions are ordered topologically, so every decision follows decisions it requires, and each decision is compiled once.
+ */
+public class DecisionGraphEvaluator {
+
+    private final DecisionEvaluator decisionEvaluator;
+    private final Executor executor;
+
+    /**
+     * @param decisionEvaluator evaluator compiling graph decisions
+     * @param executor executor evaluating graph decisions
+     */
+    public DecisionGraphEvaluator(final DecisionEvaluator decisionEvaluator, final Executor executor) {
+        if (decisionEvaluator == null) {
+            throw new NullPointerException("Decision evaluator can not be null");
+        }
+
+        if (executor == null) {
+            throw new NullPointerException("Executor can not be null");
+        }
+
+        this.decisionEvaluator = decisionEvaluator;
+        this.executor = executor;
+    }
+
+    /**
+     * @param decisions all decisions of the graph, including all required decisions
+     * @return compiled graph
+     */
+    public CompiledDecisionGraph compile(final List<Decision> decisions) {
+        if (decisions == null) {
+            throw new NullPointerException("Decisions can not be null");
+        }
+
+        final Map<String, Decision> decisionsById = new LinkedHashMap<>();
+
+        for (Decision decision : decisions) {
+            if (decision == null) {
+                throw new NullPointerException("Decision can not be null");
+            }
+
+            if (decisionsById.put(decision.getId(), decision) != null) {
+                throw new IllegalArgumentException("Decision id '" + decision.getId() + "' is not unique");
+            }
+        }
+
+        final Map<String, DecisionNode> nodesById = new LinkedHashMap<>();
+
+        for (Decision decision : sortTopologically(decisionsById)) {
+            final DecisionNode[] requiredNodes = decision
+                    .getRequiredDecisions()
+                    .stream()
+                    .map(nodesById::get)
+                    .toArray(DecisionNode[]::new);
+
+            nodesById.put(decision.getId(), new DecisionNode(decisionEvaluator.compile(decision), requiredNodes));
+        }
+
+        return new DefaultCompiledDecisionGraph(nodesById, executor);
+    }
+
+    /**
+     * Kahn's algorithm, decisions without requirements between them keep their order.
+     */
+    private static List<Decision> sortTopologically(final Map<String, Decision> decisionsById) {
+        final Map<String, Integer> missingRequirements = new HashMap<>();
+        final Map<String, List<Decision>> requiringDecisions = new HashMap<>();
+
+        for (Decision decision : decisionsById.values()) {
+            for (String requiredDecisionId : decision.getRequiredDecisions()) {
+                if (!decisionsById.containsKey(requiredDecisionId)) {
+                    throw new IllegalArgumentException("Decision '" + decision.getId() + "' requires unknown decision '" + requiredDecisionId + "'");
+                }
+
+                requiringDecisions.computeIfAbsent(requiredDecisionId, id -> new ArrayList<>()).add(decision);
+            }
+
+            missingRequirements.put(decision.getId(), decision.getRequiredDecisions().size());
+        }
+
+        final List<Decision> sortedDecisions = decisionsById
+                .values()
+                .stream()
+                .filter(decision -> decision.getRequiredDecisions().isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        for (int i = 0; i < sortedDecisions.size(); i++) {
+            for (Decision requiringDecision : requiringDecisions.getOrDefault(sortedDecisions.get(i).getId(), Collections.emptyList())) {
+                if (missingRequirements.merge(requiringDecision.getId(), -1, Integer::sum) == 0) {
+                    sortedDecisions.add(requiringDecision);
+                }
+            }
+        }
+
+        if (sortedDecisions.size() < decisionsById.size()) {
+            final List<String> cyclicDecisionIds = decisionsById
+                    .values()
+                    .stream()
+                    .filter(decision -> missingRequirements.get(decision.getId()) > 0)
+                    .map(Decision::getId)
+                    .collect(Collectors.toList());
+
+            throw new IllegalArgumentException("Decisions " + cyclicDecisionIds + " have cyclic requirements");
+        }
+
+        return sortedDecisions;
+    }
+}
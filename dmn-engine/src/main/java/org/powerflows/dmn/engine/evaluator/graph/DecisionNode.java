@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.graph;
+
+
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.field.Output;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.EntryResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled decision of decision requirements graph, with nodes of decisions it requires.
+ * Outputs of required decisions are added to decision variables, named by output names and overriding variables
+ * of the same names. Output of single rule result is its entry value, output of collection result is list of entry values.
+ */
+class DecisionNode {
+
+    private final CompiledDecision compiledDecision;
+    private final DecisionNode[] requiredNodes;
+
+    DecisionNode(final CompiledDecision compiledDecision, final DecisionNode[] requiredNodes) {
+        this.compiledDecision = compiledDecision;
+        this.requiredNodes = requiredNodes;
+    }
+
+    Decision getDecision() {
+        return compiledDecision.getDecision();
+    }
+
+    DecisionNode[] getRequiredNodes() {
+        return requiredNodes;
+    }
+
+    /**
+     * @param decisionVariables variables of graph evaluation
+     * @param requiredResults results of required decisions, in order of required nodes
+     * @return decision result
+     */
+    DecisionResult evaluate(final DecisionVariables decisionVariables, final DecisionResult[] requiredResults) {
+        final DecisionResult decisionResult;
+
+        if (requiredNodes.length == 0) {
+            decisionResult = compiledDecision.evaluate(decisionVariables);
+        } else {
+            final Map<String, Serializable> variables = new HashMap<>(decisionVariables.getAll());
+
+            for (int i = 0; i < requiredNodes.length; i++) {
+                for (Output output : requiredNodes[i].getDecision().getOutputs()) {
+                    variables.put(output.getName(), getOutputValue(requiredResults[i], output.getName()));
+                }
+            }
+
+            decisionResult = compiledDecision.evaluate(new DecisionVariables(variables));
+        }
+
+        return decisionResult;
+    }
+
+    private static Serializable getOutputValue(final DecisionResult decisionResult, final String outputName) {
+        final Serializable outputValue;
+
+        if (decisionResult.isSingleRuleResult()) {
+            outputValue = getEntryValue(decisionResult.getSingleRuleResult(), outputName);
+        } else if (decisionResult.getCollectionRulesResult().isEmpty()) {
+            outputValue = null;
+        } else {
+            final ArrayList<Serializable> entryValues = new ArrayList<>(decisionResult.getCollectionRulesResult().size());
+
+            for (RuleResult ruleResult : decisionResult.getCollectionRulesResult()) {
+                entryValues.add(getEntryValue(ruleResult, outputName));
+            }
+
+            outputValue = entryValues;
+        }
+
+        return outputValue;
+    }
+
+    private static Serializable getEntryValue(final RuleResult ruleResult, final String outputName) {
+        final List<EntryResult> entryResults = ruleResult.getEntryResults();
+
+        for (EntryResult entryResult : entryResults) {
+            if (outputName.equals(entryResult.getName())) {
+                return entryResult.getValue();
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.graph;
+
+
+import org.powerflows.dmn.engine.CompiledDecisionGraph;
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Default {@link CompiledDecisionGraph} implementation.
+ * Evaluation of every decision is scheduled on the executor when results of decisions it requires are completed,
+ * so independent branches of the graph are evaluated in parallel. Scheduled results are kept for single graph
+ * evaluation only, so decision required by many others is evaluated once per graph evaluation.
+ * The first evaluation failure is rethrown to the caller.
+ */
+class DefaultCompiledDecisionGraph implements CompiledDecisionGraph {
+
+    private final Map<String, DecisionNode> nodesById;
+    private final List<Decision> decisions;
+    private final Executor executor;
+
+    /**
+     * @param nodesById nodes of graph decisions, each one following nodes it requires
+     * @param executor executor evaluating graph decisions
+     */
+    DefaultCompiledDecisionGraph(final Map<String, DecisionNode> nodesById, final Executor executor) {
+        this.nodesById = nodesById;
+        this.decisions = unmodifiableList(nodesById.values().stream().map(DecisionNode::getDecision).collect(Collectors.toList()));
+        this.executor = executor;
+    }
+
+    @Override
+    public List<Decision> getDecisions() {
+        return decisions;
+    }
+
+    @Override
+    public DecisionResult evaluate(final String decisionId, final DecisionVariables decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final DecisionNode node = nodesById.get(decisionId);
+
+        if (node == null) {
+            throw new EvaluationException("Decision '" + decisionId + "' is not found");
+        }
+
+        return join(schedule(node, decisionVariables, new HashMap<>()));
+    }
+
+    @Override
+    public Map<String, DecisionResult> evaluateAll(final DecisionVariables decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        final Map<String, CompletableFuture<DecisionResult>> scheduledResults = new LinkedHashMap<>();
+
+        for (DecisionNode node : nodesById.values()) {
+            schedule(node, decisionVariables, scheduledResults);
+        }
+
+        final Map<String, DecisionResult> decisionResults = new LinkedHashMap<>();
+
+        for (Map.Entry<String, CompletableFuture<DecisionResult>> scheduledResult : scheduledResults.entrySet()) {
+            decisionResults.put(scheduledResult.getKey(), join(scheduledResult.getValue()));
+        }
+
+        return unmodifiableMap(decisionResults);
+    }
+
+    /**
+     * Scheduling is done by the calling thread only, so scheduled results don't have to be synchronized.
+     */
+    private CompletableFuture<DecisionResult> schedule(final DecisionNode node,
+                                                       final DecisionVariables decisionVariables,
+                                                       final Map<String, CompletableFuture<DecisionResult>> scheduledResults) {
+        CompletableFuture<DecisionResult> result = scheduledResults.get(node.getDecision().getId());
+
+        if (result == null) {
+            final DecisionNode[] requiredNodes = node.getRequiredNodes();
+            final CompletableFuture<?>[] requiredResults = new CompletableFuture<?>[requiredNodes.length];
+
+            for (int i = 0; i < requiredNodes.length; i++) {
+                requiredResults[i] = schedule(requiredNodes[i], decisionVariables, scheduledResults);
+            }
+
+            result = CompletableFuture
+                    .allOf(requiredResults)
+                    .thenApplyAsync(completed -> node.evaluate(decisionVariables, getResults(requiredResults)), executor);
+            scheduledResults.put(node.getDecision().getId(), result);
+        }
+
+        return result;
+    }
+
+    private static DecisionResult[] getResults(final CompletableFuture<?>[] completedResults) {
+        final DecisionResult[] results = new DecisionResult[completedResults.length];
+
+        for (int i = 0; i < completedResults.length; i++) {
+            results[i] = (DecisionResult) completedResults[i].join();
+        }
+
+        return results;
+    }
+
+    private static DecisionResult join(final CompletableFuture<DecisionResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new EvaluationException("Decision graph evaluation failed", e.getCause());
+        }
+    }
+}
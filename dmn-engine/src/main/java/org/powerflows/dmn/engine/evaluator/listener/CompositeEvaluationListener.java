@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.List;
+
+/**
+ * Forwards callbacks to many listeners, in order of registration.
+ */
+public class CompositeEvaluationListener implements EvaluationListener {
+
+    private final EvaluationListener[] evaluationListeners;
+
+    private CompositeEvaluationListener(final EvaluationListener[] evaluationListeners) {
+        this.evaluationListeners = evaluationListeners;
+    }
+
+    /**
+     * @param evaluationListeners listeners to combine
+     * @return null when there are no listeners, the only listener or composite of all listeners
+     */
+    public static EvaluationListener of(final List<EvaluationListener> evaluationListeners) {
+        if (evaluationListeners == null) {
+            throw new NullPointerException("Evaluation listeners can not be null");
+        }
+
+        final EvaluationListener evaluationListener;
+
+        if (evaluationListeners.isEmpty()) {
+            evaluationListener = null;
+        } else if (evaluationListeners.size() == 1) {
+            evaluationListener = evaluationListeners.get(0);
+        } else {
+            evaluationListener = new CompositeEvaluationListener(evaluationListeners.toArray(new EvaluationListener[0]));
+        }
+
+        return evaluationListener;
+    }
+
+    @Override
+    public void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+        for (EvaluationListener evaluationListener : evaluationListeners) {
+            evaluationListener.decisionStarted(decision, decisionVariables);
+        }
+    }
+
+    @Override
+    public void inputEntryEvaluated(final InputEntry inputEntry, final boolean positive) {
+        for (EvaluationListener evaluationListener : evaluationListeners) {
+            evaluationListener.inputEntryEvaluated(inputEntry, positive);
+        }
+    }
+
+    @Override
+    public void ruleMatched(final Decision decision, final int ruleIndex, final Rule rule, final RuleResult ruleResult) {
+        for (EvaluationListener evaluationListener : evaluationListeners) {
+            evaluationListener.ruleMatched(decision, ruleIndex, rule, ruleResult);
+        }
+    }
+
+    @Override
+    public void decisionEvaluated(final Decision decision, final DecisionVariables decisionVariables, final DecisionResult decisionResult) {
+        for (EvaluationListener evaluationListener : evaluationListeners) {
+            evaluationListener.decisionEvaluated(decision, decisionVariables, decisionResult);
+        }
+    }
+
+    @Override
+    public void decisionFailed(final Decision decision, final DecisionVariables decisionVariables, final RuntimeException exception) {
+        for (EvaluationListener evaluationListener : evaluationListeners) {
+            evaluationListener.decisionFailed(decision, decisionVariables, exception);
+        }
+    }
+}
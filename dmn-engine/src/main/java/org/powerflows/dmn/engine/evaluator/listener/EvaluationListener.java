@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+/**
+ * Receives typed callbacks of compiled decision evaluation, for tracing, sampling or metrics.
+ * All callbacks of single evaluation are invoked by the evaluating thread, in evaluation order.
+ * Implementations have to be thread safe and fast, as they are called on the evaluation hot path.
+ * Decisions compiled without listener don't invoke any callback.
+ *
+ * @see EvaluationListenerAdapter
+ */
+public interface EvaluationListener {
+
+    /**
+     * @param decision evaluated decision
+     * @param decisionVariables variables used in evaluation
+     */
+    void decisionStarted(Decision decision, DecisionVariables decisionVariables);
+
+    /**
+     * Invoked for every input entry evaluated rule by rule.
+     * Entries of indexed columns and of columns stored as bitsets are matched without being evaluated one by one,
+     * so they are not reported.
+     *
+     * @param inputEntry evaluated input entry
+     * @param positive entry evaluation result
+     */
+    void inputEntryEvaluated(InputEntry inputEntry, boolean positive);
+
+    /**
+     * @param decision evaluated decision
+     * @param ruleIndex index of matched rule in the decision
+     * @param rule matched rule
+     * @param ruleResult matched rule result
+     */
+    void ruleMatched(Decision decision, int ruleIndex, Rule rule, RuleResult ruleResult);
+
+    /**
+     * @param decision evaluated decision
+     * @param decisionVariables variables used in evaluation
+     * @param decisionResult evaluation result
+     */
+    void decisionEvaluated(Decision decision, DecisionVariables decisionVariables, DecisionResult decisionResult);
+
+    /**
+     * @param decision evaluated decision
+     * @param decisionVariables variables used in evaluation
+     * @param exception evaluation failure, rethrown to the caller after the callback
+     */
+    void decisionFailed(Decision decision, DecisionVariables decisionVariables, RuntimeException exception);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+/**
+ * Base class for {@link EvaluationListener} implementors interested in some of the callbacks only.
+ * All callbacks do nothing.
+ */
+public abstract class EvaluationListenerAdapter implements EvaluationListener {
+
+    @Override
+    public void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+    }
+
+    @Override
+    public void inputEntryEvaluated(final InputEntry inputEntry, final boolean positive) {
+    }
+
+    @Override
+    public void ruleMatched(final Decision decision, final int ruleIndex, final Rule rule, final RuleResult ruleResult) {
+    }
+
+    @Override
+    public void decisionEvaluated(final Decision decision, final DecisionVariables decisionVariables, final DecisionResult decisionResult) {
+    }
+
+    @Override
+    public void decisionFailed(final Decision decision, final DecisionVariables decisionVariables, final RuntimeException exception) {
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener;
+
+
+import lombok.ToString;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+
+/**
+ * Structured record of single sampled decision evaluation.
+ */
+@ToString
+public class EvaluationRecord {
+
+    private final long sequence;
+    private final String decisionId;
+    private final String threadName;
+    private final long startNanos;
+    private final long durationNanos;
+    private final int evaluatedInputEntryCount;
+    private final int[] matchedRuleIndexes;
+    private final DecisionResult decisionResult;
+    private final RuntimeException failure;
+
+    EvaluationRecord(final long sequence,
+                     final String decisionId,
+                     final String threadName,
+                     final long startNanos,
+                     final long durationNanos,
+                     final int evaluatedInputEntryCount,
+                     final int[] matchedRuleIndexes,
+                     final DecisionResult decisionResult,
+                     final RuntimeException failure) {
+        this.sequence = sequence;
+        this.decisionId = decisionId;
+        this.threadName = threadName;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.evaluatedInputEntryCount = evaluatedInputEntryCount;
+        this.matchedRuleIndexes = matchedRuleIndexes;
+        this.decisionResult = decisionResult;
+        this.failure = failure;
+    }
+
+    /**
+     * @return position of the record in sequence of all records written by the listener
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getDecisionId() {
+        return decisionId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} when the evaluation started
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return number of input entries evaluated rule by rule
+     */
+    public int getEvaluatedInputEntryCount() {
+        return evaluatedInputEntryCount;
+    }
+
+    /**
+     * @return indexes of matched rules in order of matching
+     */
+    public int[] getMatchedRuleIndexes() {
+        return matchedRuleIndexes.clone();
+    }
+
+    /**
+     * @return evaluation result or null if the evaluation failed
+     */
+    public DecisionResult getDecisionResult() {
+        return decisionResult;
+    }
+
+    /**
+     * @return evaluation failure or null if the evaluation succeeded
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Samples decision evaluations and writes their records to a lock-free ring buffer.
+ * Every evaluation is sampled with probability of one to sample interval. When the buffer is full,
+ * the oldest records are overwritten. Evaluation state is kept per thread, so evaluations which are not sampled
+ * cost a thread local lookup and a random number only. Evaluations nested in a sampled evaluation are part of its record.
+ */
+public class SamplingEvaluationListener implements EvaluationListener {
+
+    /**
+     * Default number of records kept in the buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int sampleInterval;
+    private final int mask;
+    private final AtomicReferenceArray<EvaluationRecord> records;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final ThreadLocal<Trace> traces = ThreadLocal.withInitial(Trace::new);
+
+    /**
+     * Creates listener sampling every evaluation, keeping {@link #DEFAULT_CAPACITY} records.
+     */
+    public SamplingEvaluationListener() {
+        this(DEFAULT_CAPACITY, 1);
+    }
+
+    /**
+     * @param capacity number of records kept in the buffer, rounded up to power of two
+     * @param sampleInterval average number of evaluations per sampled evaluation, 1 samples all evaluations
+     */
+    public SamplingEvaluationListener(final int capacity, final int sampleInterval) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be positive and not greater than 2^30");
+        }
+
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.sampleInterval = sampleInterval;
+        this.mask = size - 1;
+        this.records = new AtomicReferenceArray<>(size);
+    }
+
+    @Override
+    public void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+        final Trace trace = traces.get();
+
+        if (trace.depth++ == 0 && isSampled()) {
+            trace.start(decision);
+        }
+    }
+
+    @Override
+    public void inputEntryEvaluated(final InputEntry inputEntry, final boolean positive) {
+        final Trace trace = traces.get();
+
+        if (trace.sampled) {
+            trace.evaluatedInputEntryCount++;
+        }
+    }
+
+    @Override
+    public void ruleMatched(final Decision decision, final int ruleIndex, final Rule rule, final RuleResult ruleResult) {
+        final Trace trace = traces.get();
+
+        if (trace.sampled && trace.depth == 1) {
+            trace.addMatchedRule(ruleIndex);
+        }
+    }
+
+    @Override
+    public void decisionEvaluated(final Decision decision, final DecisionVariables decisionVariables, final DecisionResult decisionResult) {
+        end(decisionResult, null);
+    }
+
+    @Override
+    public void decisionFailed(final Decision decision, final DecisionVariables decisionVariables, final RuntimeException exception) {
+        end(null, exception);
+    }
+
+    /**
+     * @return number of records written since the listener was created, including overwritten ones
+     */
+    public long getRecordCount() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Returns records present in the buffer, from the oldest one.
+     * Records written concurrently with the call may be skipped.
+     *
+     * @return snapshot of records in the buffer
+     */
+    public List<EvaluationRecord> getRecords() {
+        final long end = nextSequence.get();
+        final List<EvaluationRecord> snapshot = new ArrayList<>();
+
+        for (long sequence = Math.max(0, end - records.length()); sequence < end; sequence++) {
+            final EvaluationRecord record = records.get((int) (sequence & mask));
+
+            if (record != null && record.getSequence() == sequence) {
+                snapshot.add(record);
+            }
+        }
+
+        return snapshot;
+    }
+
+    private boolean isSampled() {
+        return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+    private void end(final DecisionResult decisionResult, final RuntimeException failure) {
+        final Trace trace = traces.get();
+
+        if (--trace.depth == 0 && trace.sampled) {
+            final long durationNanos = System.nanoTime() - trace.startNanos;
+            final long sequence = nextSequence.getAndIncrement();
+
+            records.set((int) (sequence & mask), new EvaluationRecord(sequence,
+                    trace.decision.getId(),
+                    Thread.currentThread().getName(),
+                    trace.startNanos,
+                    durationNanos,
+                    trace.evaluatedInputEntryCount,
+                    Arrays.copyOf(trace.matchedRuleIndexes, trace.matchedRuleCount),
+                    decisionResult,
+                    failure));
+
+            trace.sampled = false;
+            trace.decision = null;
+        }
+    }
+
+    /**
+     * Mutable state of evaluation in progress on single thread.
+     */
+    private static class Trace {
+
+        private int depth;
+        private boolean sampled;
+        private Decision decision;
+        private long startNanos;
+        private int evaluatedInputEntryCount;
+        private int[] matchedRuleIndexes = new int[8];
+        private int matchedRuleCount;
+
+        private void start(final Decision decision) {
+            this.sampled = true;
+            this.decision = decision;
+            this.evaluatedInputEntryCount = 0;
+            this.matchedRuleCount = 0;
+            this.startNanos = System.nanoTime();
+        }
+
+        private void addMatchedRule(final int ruleIndex) {
+            if (matchedRuleCount == matchedRuleIndexes.length) {
+                matchedRuleIndexes = Arrays.copyOf(matchedRuleIndexes, matchedRuleCount * 2);
+            }
+
+            matchedRuleIndexes[matchedRuleCount++] = ruleIndex;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics;
+
+
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation metrics of single decision, updated by evaluating threads without locking.
+ */
+class DecisionMetrics implements DecisionMetricsMXBean {
+
+    private final String decisionId;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LongAdder evaluationCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder hitPolicyViolationCount = new LongAdder();
+    private final Map<Class<?>, LongAdder> errorCounts = new ConcurrentHashMap<>();
+
+    DecisionMetrics(final String decisionId) {
+        this.decisionId = decisionId;
+    }
+
+    void recordEvaluation(final long nanos) {
+        latencyHistogram.record(nanos);
+        evaluationCount.increment();
+    }
+
+    void recordFailure(final long nanos, final RuntimeException exception) {
+        recordEvaluation(nanos);
+        errorCount.increment();
+
+        LongAdder exceptionCount = errorCounts.get(exception.getClass());
+
+        if (exceptionCount == null) {
+            exceptionCount = errorCounts.computeIfAbsent(exception.getClass(), exceptionClass -> new LongAdder());
+        }
+
+        exceptionCount.increment();
+
+        if (exception instanceof HitPolicyViolationException) {
+            hitPolicyViolationCount.increment();
+        }
+    }
+
+    DecisionMetricsSnapshot snapshot() {
+        return new DecisionMetricsSnapshot(decisionId,
+                evaluationCount.sum(),
+                errorCount.sum(),
+                getErrorCounts(),
+                hitPolicyViolationCount.sum(),
+                latencyHistogram.snapshot());
+    }
+
+    @Override
+    public String getDecisionId() {
+        return decisionId;
+    }
+
+    @Override
+    public long getEvaluationCount() {
+        return evaluationCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrorCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+
+        errorCounts.forEach((exceptionClass, count) -> counts.merge(exceptionClass.getSimpleName(), count.sum(), Long::sum));
+
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public long getHitPolicyViolationCount() {
+        return hitPolicyViolationCount.sum();
+    }
+
+    @Override
+    public double getLatencyMeanNanos() {
+        return latencyHistogram.snapshot().getMeanNanos();
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return latencyHistogram.snapshot().getMaxNanos();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencyHistogram.snapshot().getP50Nanos();
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencyHistogram.snapshot().getP99Nanos();
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latencyHistogram.snapshot().getP999Nanos();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics;
+
+
+import java.util.Map;
+
+/**
+ * Management interface of single decision evaluation metrics, registered in platform MBean server.
+ * Latencies are in nanoseconds.
+ */
+public interface DecisionMetricsMXBean {
+
+    String getDecisionId();
+
+    long getEvaluationCount();
+
+    long getErrorCount();
+
+    /**
+     * @return numbers of failed evaluations by simple name of exception class
+     */
+    Map<String, Long> getErrorCounts();
+
+    long getHitPolicyViolationCount();
+
+    double getLatencyMeanNanos();
+
+    long getLatencyMaxNanos();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics;
+
+
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Snapshot of single decision evaluation metrics.
+ */
+@ToString
+public class DecisionMetricsSnapshot {
+
+    private final String decisionId;
+    private final long evaluationCount;
+    private final long errorCount;
+    private final Map<String, Long> errorCounts;
+    private final long hitPolicyViolationCount;
+    private final LatencySnapshot latency;
+
+    DecisionMetricsSnapshot(final String decisionId,
+                            final long evaluationCount,
+                            final long errorCount,
+                            final Map<String, Long> errorCounts,
+                            final long hitPolicyViolationCount,
+                            final LatencySnapshot latency) {
+        this.decisionId = decisionId;
+        this.evaluationCount = evaluationCount;
+        this.errorCount = errorCount;
+        this.errorCounts = errorCounts;
+        this.hitPolicyViolationCount = hitPolicyViolationCount;
+        this.latency = latency;
+    }
+
+    public String getDecisionId() {
+        return decisionId;
+    }
+
+    /**
+     * @return number of evaluations, including failed ones
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return numbers of failed evaluations by simple name of exception class
+     */
+    public Map<String, Long> getErrorCounts() {
+        return errorCounts;
+    }
+
+    /**
+     * @return number of evaluations failed because rule results violated decision hit policy
+     */
+    public long getHitPolicyViolationCount() {
+        return hitPolicyViolationCount;
+    }
+
+    public LatencySnapshot getLatency() {
+        return latency;
+    }
+}
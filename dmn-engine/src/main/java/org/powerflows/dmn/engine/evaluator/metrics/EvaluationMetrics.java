@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics;
+
+
+import lombok.extern.slf4j.Slf4j;
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListenerAdapter;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluation listener collecting per decision latency histograms, evaluation counts, error counts by exception type
+ * and hit policy violation counts. Counters are striped, so evaluating threads don't contend on shared state.
+ * When created with MBean server, metrics of every evaluated decision are registered as {@link DecisionMetricsMXBean}
+ * named {@value #OBJECT_NAME_PREFIX}decision id.
+ * Decisions are identified by id, or by name when id is not set.
+ */
+@Slf4j
+public class EvaluationMetrics extends EvaluationListenerAdapter {
+
+    /**
+     * Object name prefix of registered decision MBeans.
+     */
+    public static final String OBJECT_NAME_PREFIX = "org.powerflows.dmn:type=DecisionMetrics,decision=";
+
+    private static final String UNKNOWN_DECISION_ID = "unknown";
+
+    private final MBeanServer mBeanServer;
+    private final Map<String, DecisionMetrics> decisionMetrics = new ConcurrentHashMap<>();
+    private final ThreadLocal<StartTimes> startTimes = ThreadLocal.withInitial(StartTimes::new);
+
+    /**
+     * Creates metrics available through {@link #getSnapshot()} only.
+     */
+    public EvaluationMetrics() {
+        this.mBeanServer = null;
+    }
+
+    /**
+     * @param mBeanServer server the decision MBeans are registered in
+     */
+    public EvaluationMetrics(final MBeanServer mBeanServer) {
+        if (mBeanServer == null) {
+            throw new NullPointerException("MBean server can not be null");
+        }
+
+        this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void decisionEvaluated(final Decision decision, final DecisionVariables decisionVariables, final DecisionResult decisionResult) {
+        final long nanos = System.nanoTime() - startTimes.get().pop();
+
+        getDecisionMetrics(decision).recordEvaluation(nanos);
+    }
+
+    @Override
+    public void decisionFailed(final Decision decision, final DecisionVariables decisionVariables, final RuntimeException exception) {
+        final long nanos = System.nanoTime() - startTimes.get().pop();
+
+        getDecisionMetrics(decision).recordFailure(nanos, exception);
+    }
+
+    /**
+     * @return snapshots of all evaluated decisions by decision id
+     */
+    public Map<String, DecisionMetricsSnapshot> getSnapshot() {
+        final Map<String, DecisionMetricsSnapshot> snapshot = new TreeMap<>();
+
+        decisionMetrics.forEach((decisionId, metrics) -> snapshot.put(decisionId, metrics.snapshot()));
+
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * @param decisionId decision id
+     * @return snapshot of the decision metrics or null when the decision was not evaluated
+     */
+    public DecisionMetricsSnapshot getSnapshot(final String decisionId) {
+        final DecisionMetrics metrics = decisionMetrics.get(decisionId);
+
+        return metrics == null ? null : metrics.snapshot();
+    }
+
+    /**
+     * Unregisters decision MBeans registered by these metrics, collected values are kept.
+     */
+    public void unregisterMBeans() {
+        if (mBeanServer != null) {
+            decisionMetrics.keySet().forEach(this::unregisterMBean);
+        }
+    }
+
+    private DecisionMetrics getDecisionMetrics(final Decision decision) {
+        final String decisionId = getDecisionId(decision);
+        final DecisionMetrics metrics = decisionMetrics.get(decisionId);
+
+        return metrics == null ? decisionMetrics.computeIfAbsent(decisionId, this::createDecisionMetrics) : metrics;
+    }
+
+    private DecisionMetrics createDecisionMetrics(final String decisionId) {
+        final DecisionMetrics metrics = new DecisionMetrics(decisionId);
+
+        if (mBeanServer != null) {
+            try {
+                mBeanServer.registerMBean(metrics, createObjectName(decisionId));
+            } catch (JMException e) {
+                log.warn("Can not register metrics MBean of decision " + decisionId, e);
+            }
+        }
+
+        return metrics;
+    }
+
+    private void unregisterMBean(final String decisionId) {
+        try {
+            final ObjectName objectName = createObjectName(decisionId);
+
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            log.warn("Can not unregister metrics MBean of decision " + decisionId, e);
+        }
+    }
+
+    private static ObjectName createObjectName(final String decisionId) throws JMException {
+        return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(decisionId));
+    }
+
+    private static String getDecisionId(final Decision decision) {
+        final String decisionId;
+
+        if (decision.getId() != null) {
+            decisionId = decision.getId();
+        } else if (decision.getName() != null) {
+            decisionId = decision.getName();
+        } else {
+            decisionId = UNKNOWN_DECISION_ID;
+        }
+
+        return decisionId;
+    }
+
+    /**
+     * Start times of evaluations in progress on single thread, nested evaluations included.
+     */
+    private static class StartTimes {
+
+        private long[] nanos = new long[4];
+        private int size;
+
+        private void push(final long startNanos) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+
+            nanos[size++] = startNanos;
+        }
+
+        private long pop() {
+            return nanos[--size];
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics;
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets, like HdrHistogram.
+ * Values below 32 have their own buckets, greater values are counted in 16 buckets per power of two,
+ * so percentiles are reported with relative error below 1/16.
+ * Counts are striped by thread, so threads recording the same decision rarely contend on the same cache line.
+ */
+class LatencyHistogram {
+
+    private static final int LINEAR_BUCKET_COUNT = 32;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (62 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final int MAX_STRIPE_COUNT = 8;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final int stripeCount = Math.min(MAX_STRIPE_COUNT, Integer.highestOneBit(processors * 2 - 1));
+
+        this.stripes = new AtomicLongArray[stripeCount];
+        this.stripeMask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+    }
+
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+
+        stripes[(int) Thread.currentThread().getId() & stripeMask].incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    LatencySnapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                final long bucketCount = stripe.get(i);
+
+                counts[i] += bucketCount;
+                count += bucketCount;
+            }
+        }
+
+        return new LatencySnapshot(counts, count, sum.sum(), max.get());
+    }
+
+    static int bucketIndex(final long value) {
+        final int index;
+
+        if (value < LINEAR_BUCKET_COUNT) {
+            index = (int) value;
+        } else {
+            final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+            index = LINEAR_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the highest value counted in bucket of given index
+     */
+    static long highestValue(final int index) {
+        final long value;
+
+        if (index < LINEAR_BUCKET_COUNT) {
+            value = index;
+        } else {
+            final int shift = (index - LINEAR_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+            final long subBucket = (index - LINEAR_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+            value = ((subBucket + 1) << shift) - 1;
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.rule;
+
+
+import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledOutputEntry;
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.evaluation.result.EntryResult;
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Rule with compiled input and output entries.
+ * Wildcard input entries never influence the rule result, so they are not present among input entries
+ * which column indexes and other compiled forms of the decision are built of. The rule still evaluates them
+ * in rule order, converting their input values only, so values not convertible to the input type fail the evaluation.
+ * Result of rule having constant output entries only is created once and shared by all evaluations.
+ * Instances are immutable, they are created by {@link RuleEvaluator#compile(Rule, java.util.Map, java.util.Map)}.
+ */
+public class CompiledRule {
+
+    private final Rule rule;
+    private final CompiledInputEntry[] inputEntries;
+    private final CompiledOutputEntry[] outputEntries;
+    private final List<CompiledInputEntry> inputEntryList;
+    private final List<CompiledInputEntry> wildcardInputEntryList;
+    private final RuleResult constantRuleResult;
+
+    CompiledRule(final Rule rule,
+                 final CompiledInputEntry[] inputEntries,
+                 final CompiledOutputEntry[] outputEntries) {
+        this(rule, inputEntries, outputEntries, isConstant(outputEntries) ? createRuleResult(outputEntries, null) : null);
+    }
+
+    private CompiledRule(final Rule rule,
+                         final CompiledInputEntry[] inputEntries,
+                         final CompiledOutputEntry[] outputEntries,
+                         final RuleResult constantRuleResult) {
+        this.rule = rule;
+        this.inputEntries = inputEntries;
+        this.outputEntries = outputEntries;
+        this.inputEntryList = filterInputEntries(inputEntries, false);
+        this.wildcardInputEntryList = filterInputEntries(inputEntries, true);
+        this.constantRuleResult = constantRuleResult;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * @return compiled input entries without wildcard entries, in rule order
+     */
+    public List<CompiledInputEntry> getInputEntries() {
+        return inputEntryList;
+    }
+
+    /**
+     * @return compiled wildcard input entries, which only convert their input values
+     */
+    public List<CompiledInputEntry> getWildcardInputEntries() {
+        return wildcardInputEntryList;
+    }
+
+    /**
+     * Rules without output entries never have a result, even if all input entries are positive.
+     *
+     * @return true if the rule has any output entry
+     */
+    public boolean hasOutputEntries() {
+        return outputEntries.length > 0;
+    }
+
+    /**
+     * @return result shared by all evaluations or null if any output entry is not constant
+     */
+    public RuleResult getConstantRuleResult() {
+        return constantRuleResult;
+    }
+
+    /**
+     * Creates rule evaluating remaining input entries only, for inputs which entries are already known to be positive.
+     *
+     * @param inputNames names of inputs which entries are skipped
+     * @return rule without entries of given inputs
+     */
+    public CompiledRule withoutInputEntries(final Set<String> inputNames) {
+        final CompiledInputEntry[] remainingInputEntries = Arrays
+                .stream(inputEntries)
+                .filter(inputEntry -> !inputNames.contains(inputEntry.getInputEntry().getName()))
+                .toArray(CompiledInputEntry[]::new);
+
+        return new CompiledRule(rule, remainingInputEntries, outputEntries, constantRuleResult);
+    }
+
+    /**
+     * @param evaluationContext decision variable context
+     * @return rule result or null when rule is not matched
+     */
+    public RuleResult evaluate(final EvaluationContext evaluationContext) {
+        return evaluate(evaluationContext, null);
+    }
+
+    /**
+     * @param evaluationContext decision variable context
+     * @param evaluationListener listener notified of evaluated input entries, null if there is none
+     * @return rule result or null when rule is not matched
+     */
+    public RuleResult evaluate(final EvaluationContext evaluationContext, final EvaluationListener evaluationListener) {
+        final RuleResult ruleResult;
+
+        if (outputEntries.length > 0 && isPositive(evaluationContext, evaluationListener)) {
+            ruleResult = constantRuleResult == null ? createRuleResult(outputEntries, evaluationContext) : constantRuleResult;
+        } else {
+            ruleResult = null;
+        }
+
+        return ruleResult;
+    }
+
+    private boolean isPositive(final EvaluationContext evaluationContext, final EvaluationListener evaluationListener) {
+        for (CompiledInputEntry inputEntry : inputEntries) {
+            final boolean positive = inputEntry.evaluate(evaluationContext);
+
+            if (evaluationListener != null) {
+                evaluationListener.inputEntryEvaluated(inputEntry.getInputEntry(), positive);
+            }
+
+            if (!positive) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static RuleResult createRuleResult(final CompiledOutputEntry[] outputEntries, final EvaluationContext evaluationContext) {
+        return RuleResult.builder().entryResults(evaluateOutputEntries(outputEntries, evaluationContext)).build();
+    }
+
+    private static List<EntryResult> evaluateOutputEntries(final CompiledOutputEntry[] outputEntries, final EvaluationContext evaluationContext) {
+        final List<EntryResult> entryResults = new ArrayList<>(outputEntries.length);
+
+        for (CompiledOutputEntry outputEntry : outputEntries) {
+            entryResults.add(outputEntry.evaluate(evaluationContext));
+        }
+
+        return unmodifiableList(entryResults);
+    }
+
+    private static List<CompiledInputEntry> filterInputEntries(final CompiledInputEntry[] inputEntries, final boolean wildcard) {
+        return unmodifiableList(Arrays
+                .stream(inputEntries)
+                .filter(inputEntry -> inputEntry.isWildcard() == wildcard)
+                .collect(Collectors.toList()));
+    }
+
+    private static boolean isConstant(final CompiledOutputEntry[] outputEntries) {
+        for (CompiledOutputEntry outputEntry : outputEntries) {
+            if (!outputEntry.isConstant()) {
+                return false;
+            }
+        }
+
+        return outputEntries.length > 0;
+    }
+}
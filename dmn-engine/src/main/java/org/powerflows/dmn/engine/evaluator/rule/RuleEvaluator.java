@@ -17,8 +17,9 @@
 package org.powerflows.dmn.engine.evaluator.rule;
 
 
-import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledInputEntry;
+import org.powerflows.dmn.engine.evaluator.entry.CompiledOutputEntry;
 import org.powerflows.dmn.engine.evaluator.entry.InputEntryEvaluator;
 import org.powerflows.dmn.engine.evaluator.entry.OutputEntryEvaluator;
 import org.powerflows.dmn.engine.model.decision.field.Input;
@@ -39,7 +40,6 @@ import static java.util.Collections.unmodifiableList;
  * Evaluates decision rule.
  * Delegates to {@link InputEntryEvaluator} and {@link OutputEntryEvaluator}
  */
-@Slf4j
 public class RuleEvaluator {
 
     private final InputEntryEvaluator inputEntryEvaluator;
@@ -55,8 +55,6 @@ public class RuleEvaluator {
                                final Map<String, Input> inputs,
                                final Map<String, Output> outputs,
                                final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of rule: {} with inputs: {}, outputs: {} and evaluation context: {}", rule, inputs, outputs, evaluationContext);
-
         final RuleResult ruleResult;
 
         final List<EntryResult> entryResults = evaluateRule(rule, inputs, outputs, evaluationContext);
@@ -67,8 +65,6 @@ public class RuleEvaluator {
             ruleResult = RuleResult.builder().entryResults(entryResults).build();
         }
 
-        log.debug("Evaluated rule result: {}", ruleResult);
-
         return ruleResult;
     }
 
@@ -98,4 +94,34 @@ public class RuleEvaluator {
 
         return unmodifiableList(entryResults);
     }
+
+    /**
+     * Compiles rule entries. Wildcard input entries are kept, so the compiled rule converts their input values.
+     *
+     * @param rule rule to compile
+     * @param inputs decision inputs by name
+     * @param outputs decision outputs by name
+     * @return compiled rule
+     */
+    public CompiledRule compile(final Rule rule,
+                                final Map<String, Input> inputs,
+                                final Map<String, Output> outputs) {
+        final List<CompiledInputEntry> compiledInputEntries = new ArrayList<>();
+
+        for (InputEntry inputEntry : rule.getInputEntries()) {
+            compiledInputEntries.add(inputEntryEvaluator.compile(inputEntry, inputs.get(inputEntry.getName())));
+        }
+
+        final CompiledOutputEntry[] compiledOutputEntries = new CompiledOutputEntry[rule.getOutputEntries().size()];
+
+        for (int i = 0; i < compiledOutputEntries.length; i++) {
+            final OutputEntry outputEntry = rule.getOutputEntries().get(i);
+
+            compiledOutputEntries[i] = outputEntryEvaluator.compile(outputEntry, outputs.get(outputEntry.getName()));
+        }
+
+        return new CompiledRule(rule,
+                compiledInputEntries.toArray(new CompiledInputEntry[0]),
+                compiledOutputEntries);
+    }
 }
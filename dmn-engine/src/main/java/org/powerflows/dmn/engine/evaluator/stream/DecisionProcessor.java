@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.stream;
+
+
+import lombok.Builder;
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates compiled decision for every received variable set and publishes results to single subscriber.
+ * Received variable sets are evaluated in micro batches, each batch is one {@link CompiledDecision#evaluateBatch(List)}
+ * call on the executor. At most {@code batchSize * maxBatchesInFlight} variable sets are requested from upstream
+ * and not yet published, so memory stays bounded when the subscriber is slow.
+ * Batches are formed when enough variable sets are received, or immediately when no batch is being evaluated.
+ *
+ * <p>Results are published in order of variable sets, or in order of batch completion when the processor is unordered.
+ * Evaluation failure cancels upstream and is published as error.</p>
+ *
+ * <p>All signals are serialized by single drain loop, which may run on upstream, subscriber or executor thread.</p>
+ */
+public class DecisionProcessor implements Flow.Processor<DecisionVariables, DecisionResult> {
+
+    /**
+     * Default maximum number of variable sets evaluated as single batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final CompiledDecision compiledDecision;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final boolean unordered;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Queue<DecisionVariables> received = new ConcurrentLinkedQueue<>();
+    private final Queue<Batch> completedBatches = new ConcurrentLinkedQueue<>();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super DecisionResult> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+    private volatile boolean invalidRequest;
+
+    private final Deque<DecisionVariables> pending = new ArrayDeque<>();
+    private final Deque<Batch> orderedBatches = new ArrayDeque<>();
+    private long outstanding;
+    private long buffered;
+    private int batchesInFlight;
+    private Batch emittedBatch;
+    private int emittedIndex;
+    private boolean terminated;
+
+    /**
+     * @param compiledDecision decision to evaluate
+     * @param executor executor evaluating batches, common fork join pool when not set
+     * @param batchSize maximum number of variable sets evaluated as single batch, {@link #DEFAULT_BATCH_SIZE} when not set
+     * @param maxBatchesInFlight maximum number of batches being evaluated or waiting for publication, number of processors when not set
+     * @param unordered true if results may be published in order of batch completion
+     */
+    @Builder
+    private DecisionProcessor(final CompiledDecision compiledDecision,
+                              final Executor executor,
+                              final int batchSize,
+                              final int maxBatchesInFlight,
+                              final boolean unordered) {
+        if (compiledDecision == null) {
+            throw new NullPointerException("Compiled decision can not be null");
+        }
+
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        if (maxBatchesInFlight < 0) {
+            throw new IllegalArgumentException("Maximum number of batches in flight must be positive");
+        }
+
+        this.compiledDecision = compiledDecision;
+        this.executor = executor == null ? ForkJoinPool.commonPool() : executor;
+        this.batchSize = batchSize == 0 ? DEFAULT_BATCH_SIZE : batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight == 0 ? Runtime.getRuntime().availableProcessors() : maxBatchesInFlight;
+        this.unordered = unordered;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super DecisionResult> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber can not be null");
+        }
+
+        if (subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new DownstreamSubscription());
+            downstream = subscriber;
+            drain();
+        } else {
+            subscriber.onSubscribe(new RejectedSubscription());
+            subscriber.onError(new IllegalStateException("Decision processor supports single subscriber"));
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (subscription == null) {
+            throw new NullPointerException("Subscription can not be null");
+        }
+
+        if (upstream == null) {
+            upstream = subscription;
+            drain();
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(final DecisionVariables decisionVariables) {
+        if (decisionVariables == null) {
+            throw new NullPointerException("Decision variables can not be null");
+        }
+
+        received.add(decisionVariables);
+        drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        if (throwable == null) {
+            throw new NullPointerException("Throwable can not be null");
+        }
+
+        upstreamError = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+            drainOnce();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        if (terminated) {
+            return;
+        }
+
+        if (cancelled) {
+            terminate();
+        } else if (invalidRequest) {
+            fail(new IllegalArgumentException("Number of requested results must be positive"));
+        } else if (upstreamError != null) {
+            fail(upstreamError);
+        } else {
+            receive();
+            publish();
+
+            if (!terminated) {
+                dispatch();
+                requestUpstream();
+                completeWhenDone();
+            }
+        }
+    }
+
+    private void receive() {
+        DecisionVariables decisionVariables = received.poll();
+
+        while (decisionVariables != null) {
+            pending.add(decisionVariables);
+            outstanding--;
+            buffered++;
+            decisionVariables = received.poll();
+        }
+    }
+
+    private void publish() {
+        final Flow.Subscriber<? super DecisionResult> subscriber = downstream;
+
+        while (subscriber != null && !cancelled) {
+            if (emittedBatch == null) {
+                emittedBatch = pollCompletedBatch();
+                emittedIndex = 0;
+
+                if (emittedBatch == null) {
+                    return;
+                }
+
+                if (emittedBatch.failure != null) {
+                    fail(emittedBatch.failure);
+
+                    return;
+                }
+            }
+
+            if (emittedIndex < emittedBatch.results.size()) {
+                if (requested.get() == 0) {
+                    return;
+                }
+
+                subscriber.onNext(emittedBatch.results.get(emittedIndex++));
+                buffered--;
+                consumeRequested();
+            }
+
+            if (emittedIndex == emittedBatch.results.size()) {
+                emittedBatch = null;
+            }
+        }
+    }
+
+    private Batch pollCompletedBatch() {
+        final Batch batch;
+
+        if (unordered) {
+            batch = completedBatches.poll();
+        } else if (!orderedBatches.isEmpty() && orderedBatches.peek().completed) {
+            batch = orderedBatches.poll();
+        } else {
+            batch = null;
+        }
+
+        if (batch != null) {
+            batchesInFlight--;
+        }
+
+        return batch;
+    }
+
+    private void consumeRequested() {
+        long current;
+
+        do {
+            current = requested.get();
+        } while (current != Long.MAX_VALUE && !requested.compareAndSet(current, current - 1));
+    }
+
+    private void dispatch() {
+        while (batchesInFlight < maxBatchesInFlight && isBatchReady()) {
+            final List<DecisionVariables> decisionVariables = new ArrayList<>(Math.min(batchSize, pending.size()));
+
+            while (decisionVariables.size() < batchSize && !pending.isEmpty()) {
+                decisionVariables.add(pending.poll());
+            }
+
+            final Batch batch = new Batch(decisionVariables);
+            batchesInFlight++;
+
+            if (!unordered) {
+                orderedBatches.add(batch);
+            }
+
+            try {
+                executor.execute(() -> evaluate(batch));
+            } catch (RejectedExecutionException e) {
+                complete(batch, null, e);
+            }
+        }
+    }
+
+    /**
+     * Partial batch is evaluated when no batch is being evaluated or no more variable sets are expected soon,
+     * so latency stays low under light load and batches are full under heavy load.
+     */
+    private boolean isBatchReady() {
+        return !pending.isEmpty() && (pending.size() >= batchSize || batchesInFlight == 0 || upstreamDone || outstanding == 0);
+    }
+
+    private void evaluate(final Batch batch) {
+        try {
+            complete(batch, compiledDecision.evaluateBatch(batch.decisionVariables), null);
+        } catch (RuntimeException e) {
+            complete(batch, null, e);
+        }
+    }
+
+    private void complete(final Batch batch, final List<DecisionResult> results, final RuntimeException failure) {
+        batch.results = results;
+        batch.failure = failure;
+        batch.completed = true;
+
+        if (unordered) {
+            completedBatches.add(batch);
+        }
+
+        drain();
+    }
+
+    private void requestUpstream() {
+        final Flow.Subscription subscription = upstream;
+
+        if (subscription != null && !upstreamDone) {
+            final long capacity = (long) batchSize * maxBatchesInFlight;
+            final long missing = capacity - buffered - outstanding;
+
+            if (missing > 0) {
+                outstanding += missing;
+                subscription.request(missing);
+            }
+        }
+    }
+
+    private void completeWhenDone() {
+        final Flow.Subscriber<? super DecisionResult> subscriber = downstream;
+
+        if (upstreamDone && subscriber != null && received.isEmpty() && pending.isEmpty() && batchesInFlight == 0 && emittedBatch == null) {
+            terminated = true;
+            subscriber.onComplete();
+        }
+    }
+
+    private void fail(final Throwable throwable) {
+        final Flow.Subscriber<? super DecisionResult> subscriber = downstream;
+
+        if (subscriber != null) {
+            terminate();
+            subscriber.onError(throwable);
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+
+        if (upstream != null && !upstreamDone) {
+            upstream.cancel();
+        }
+
+        received.clear();
+        pending.clear();
+        orderedBatches.clear();
+        completedBatches.clear();
+        emittedBatch = null;
+    }
+
+    /**
+     * Variable sets evaluated by single task, completion is published to the drain loop.
+     */
+    private static class Batch {
+
+        private final List<DecisionVariables> decisionVariables;
+        private volatile List<DecisionResult> results;
+        private volatile RuntimeException failure;
+        private volatile boolean completed;
+
+        private Batch(final List<DecisionVariables> decisionVariables) {
+            this.decisionVariables = decisionVariables;
+        }
+    }
+
+    /**
+     * Subscription of rejected subscriber, its signals don't affect the processor.
+     */
+    private static class RejectedSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * Subscription of the single subscriber, adding demand and cancelling the processor.
+     */
+    private class DownstreamSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+            } else {
+                long current;
+                long next;
+
+                do {
+                    current = requested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (current != Long.MAX_VALUE && !requested.compareAndSet(current, next));
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.stream;
+
+
+/**
+ * Reactive streams contracts with back-pressure.
+ * Interfaces have the same methods as their counterparts in {@code java.util.concurrent.Flow} of JDK 9
+ * and in Reactive Streams, so they can be adapted with method references, while the engine still targets Java 8.
+ * Adapters to Reactive Streams are provided by {@link ReactiveStreams}.
+ */
+public final class Flow {
+
+    private Flow() {
+    }
+
+    /**
+     * Producer of items received by subscribers.
+     *
+     * @param <T> published item type
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        /**
+         * @param subscriber subscriber receiving items
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * Receiver of items, which are sent only after they are requested through the subscription.
+     *
+     * @param <T> subscribed item type
+     */
+    public interface Subscriber<T> {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * Link between publisher and subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * @param n number of additional items the subscriber is ready to receive, must be positive
+         */
+        void request(long n);
+
+        void cancel();
+    }
+
+    /**
+     * Stage being both subscriber and publisher.
+     *
+     * @param <T> subscribed item type
+     * @param <R> published item type
+     */
+    public interface Processor<T, R> extends Subscriber<T>, Publisher<R> {
+    }
+}
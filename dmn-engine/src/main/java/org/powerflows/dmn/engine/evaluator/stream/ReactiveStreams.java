@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.stream;
+
+
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Adapters between {@link Flow} contracts and Reactive Streams, so {@link DecisionProcessor} can be connected
+ * to any Reactive Streams library. Reactive Streams is an optional dependency, it has to be present only when
+ * the adapters are used.
+ * Subscribers and subscriptions passed through an adapter are adapted back the other way, so signals cross
+ * the boundary in both directions. Adapting an adapter returns the original object instead of wrapping it again.
+ * Null arguments of signals are passed to adapted objects, which reject them as the specification requires.
+ */
+public final class ReactiveStreams {
+
+    private ReactiveStreams() {
+    }
+
+    /**
+     * @param publisher flow publisher
+     * @param <T> published item type
+     * @return Reactive Streams publisher subscribing its subscribers to the flow publisher
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Publisher<T> toPublisher(final Flow.Publisher<T> publisher) {
+        if (publisher == null) {
+            throw new NullPointerException("Publisher can not be null");
+        }
+
+        final Publisher<T> reactivePublisher;
+
+        if (publisher instanceof FlowPublisher) {
+            reactivePublisher = ((FlowPublisher<T>) publisher).publisher;
+        } else {
+            reactivePublisher = new ReactivePublisher<>(publisher);
+        }
+
+        return reactivePublisher;
+    }
+
+    /**
+     * @param publisher Reactive Streams publisher
+     * @param <T> published item type
+     * @return flow publisher subscribing its subscribers to the Reactive Streams publisher
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Flow.Publisher<T> fromPublisher(final Publisher<T> publisher) {
+        if (publisher == null) {
+            throw new NullPointerException("Publisher can not be null");
+        }
+
+        final Flow.Publisher<T> flowPublisher;
+
+        if (publisher instanceof ReactivePublisher) {
+            flowPublisher = ((ReactivePublisher<T>) publisher).publisher;
+        } else {
+            flowPublisher = new FlowPublisher<>(publisher);
+        }
+
+        return flowPublisher;
+    }
+
+    /**
+     * @param subscriber flow subscriber
+     * @param <T> subscribed item type
+     * @return Reactive Streams subscriber passing signals to the flow subscriber
+     */
+    public static <T> Subscriber<T> toSubscriber(final Flow.Subscriber<T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber can not be null");
+        }
+
+        return adaptSubscriber(subscriber);
+    }
+
+    /**
+     * @param subscriber Reactive Streams subscriber
+     * @param <T> subscribed item type
+     * @return flow subscriber passing signals to the Reactive Streams subscriber
+     */
+    public static <T> Flow.Subscriber<T> fromSubscriber(final Subscriber<T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber can not be null");
+        }
+
+        return adaptSubscriber(subscriber);
+    }
+
+    /**
+     * @param processor flow processor, such as {@link DecisionProcessor}
+     * @param <T> subscribed item type
+     * @param <R> published item type
+     * @return Reactive Streams processor passing signals to and from the flow processor
+     */
+    public static <T, R> Processor<T, R> toProcessor(final Flow.Processor<T, R> processor) {
+        if (processor == null) {
+            throw new NullPointerException("Processor can not be null");
+        }
+
+        return new ReactiveProcessor<>(processor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Subscriber<T> adaptSubscriber(final Flow.Subscriber<T> subscriber) {
+        final Subscriber<T> reactiveSubscriber;
+
+        if (subscriber == null) {
+            reactiveSubscriber = null;
+        } else if (subscriber instanceof FlowSubscriber) {
+            reactiveSubscriber = ((FlowSubscriber<T>) subscriber).subscriber;
+        } else {
+            reactiveSubscriber = new ReactiveSubscriber<>(subscriber);
+        }
+
+        return reactiveSubscriber;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Flow.Subscriber<T> adaptSubscriber(final Subscriber<T> subscriber) {
+        final Flow.Subscriber<T> flowSubscriber;
+
+        if (subscriber == null) {
+            flowSubscriber = null;
+        } else if (subscriber instanceof ReactiveSubscriber) {
+            flowSubscriber = ((ReactiveSubscriber<T>) subscriber).subscriber;
+        } else {
+            flowSubscriber = new FlowSubscriber<>(subscriber);
+        }
+
+        return flowSubscriber;
+    }
+
+    private static Subscription adaptSubscription(final Flow.Subscription subscription) {
+        final Subscription reactiveSubscription;
+
+        if (subscription == null) {
+            reactiveSubscription = null;
+        } else if (subscription instanceof FlowSubscription) {
+            reactiveSubscription = ((FlowSubscription) subscription).subscription;
+        } else {
+            reactiveSubscription = new ReactiveSubscription(subscription);
+        }
+
+        return reactiveSubscription;
+    }
+
+    private static Flow.Subscription adaptSubscription(final Subscription subscription) {
+        final Flow.Subscription flowSubscription;
+
+        if (subscription == null) {
+            flowSubscription = null;
+        } else if (subscription instanceof ReactiveSubscription) {
+            flowSubscription = ((ReactiveSubscription) subscription).subscription;
+        } else {
+            flowSubscription = new FlowSubscription(subscription);
+        }
+
+        return flowSubscription;
+    }
+
+    private static class ReactivePublisher<T> implements Publisher<T> {
+
+        private final Flow.Publisher<T> publisher;
+
+        private ReactivePublisher(final Flow.Publisher<T> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void subscribe(final Subscriber<? super T> subscriber) {
+            publisher.subscribe(adaptSubscriber((Subscriber<T>) subscriber));
+        }
+    }
+
+    private static class FlowPublisher<T> implements Flow.Publisher<T> {
+
+        private final Publisher<T> publisher;
+
+        private FlowPublisher(final Publisher<T> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+            publisher.subscribe(adaptSubscriber((Flow.Subscriber<T>) subscriber));
+        }
+    }
+
+    private static class ReactiveSubscriber<T> implements Subscriber<T> {
+
+        private final Flow.Subscriber<T> subscriber;
+
+        private ReactiveSubscriber(final Flow.Subscriber<T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            subscriber.onSubscribe(adaptSubscription(subscription));
+        }
+
+        @Override
+        public void onNext(final T item) {
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+
+    private static class FlowSubscriber<T> implements Flow.Subscriber<T> {
+
+        private final Subscriber<T> subscriber;
+
+        private FlowSubscriber(final Subscriber<T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            subscriber.onSubscribe(adaptSubscription(subscription));
+        }
+
+        @Override
+        public void onNext(final T item) {
+            subscriber.onNext(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            subscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            subscriber.onComplete();
+        }
+    }
+
+    private static class ReactiveSubscription implements Subscription {
+
+        private final Flow.Subscription subscription;
+
+        private ReactiveSubscription(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void request(final long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+
+    private static class FlowSubscription implements Flow.Subscription {
+
+        private final Subscription subscription;
+
+        private FlowSubscription(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void request(final long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            subscription.cancel();
+        }
+    }
+
+    private static class ReactiveProcessor<T, R> implements Processor<T, R> {
+
+        private final Flow.Processor<T, R> processor;
+        private final Publisher<R> publisher;
+
+        private ReactiveProcessor(final Flow.Processor<T, R> processor) {
+            this.processor = processor;
+            this.publisher = new ReactivePublisher<>(processor);
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super R> subscriber) {
+            publisher.subscribe(subscriber);
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            processor.onSubscribe(adaptSubscription(subscription));
+        }
+
+        @Override
+        public void onNext(final T item) {
+            processor.onNext(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            processor.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            processor.onComplete();
+        }
+    }
+}
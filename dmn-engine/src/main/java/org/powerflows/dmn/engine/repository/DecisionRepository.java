@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.repository;
+
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.powerflows.dmn.engine.CompiledDecision;
+import org.powerflows.dmn.engine.DecisionEngine;
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+import org.powerflows.dmn.engine.reader.DecisionReadException;
+import org.powerflows.dmn.engine.reader.DecisionReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps compiled decisions read from files of a directory and from classpath resources.
+ * Decisions are read by reader matching file extension and compiled when the repository is started or reloaded,
+ * and, if watching is enabled, on a background thread when files of the directory change. So decisions are never
+ * compiled on the evaluation path.
+ * <p>
+ * Current versions of all decisions are published together as an immutable snapshot, swapped atomically.
+ * Readers never lock: evaluations in flight finish on the version they obtained, new evaluations see the new one.
+ * Every changed definition of decision gets next version number, last versions are kept in history and any of them
+ * may be published again by rollback. Sources which can not be read or compiled don't change published versions.
+ * <p>
+ * Only sources which content changed since it was last published are compiled and published by reloads,
+ * so version published by rollback stays published until its source changes again, even when other sources
+ * change or all of them are reloaded.
+ */
+@Slf4j
+public class DecisionRepository implements AutoCloseable {
+
+    /**
+     * Default number of versions kept in history of every decision.
+     */
+    public static final int DEFAULT_HISTORY_SIZE = 10;
+
+    private static final long WATCH_DEBOUNCE_MILLIS = 100;
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final DecisionEngine decisionEngine;
+    private final Path directory;
+    private final List<String> classpathResources;
+    private final Map<String, DecisionReader> readers;
+    private final int historySize;
+    private final boolean watch;
+    private final Object publishLock = new Object();
+    private final Map<String, Deque<DecisionVersion>> histories = new HashMap<>();
+    private final Map<String, Integer> lastVersions = new HashMap<>();
+    private final Map<String, Set<String>> sourceDecisionIds = new HashMap<>();
+    private final Map<String, byte[]> sourceContents = new HashMap<>();
+    private volatile Map<String, DecisionVersion> currentVersions = Collections.emptyMap();
+    private volatile boolean closed;
+    private WatchService watchService;
+
+    /**
+     * @param decisionEngine engine compiling the decisions
+     * @param directory directory which files are read, not including subdirectories, none when not set
+     * @param classpathResources names of classpath resources to read, none when not set
+     * @param readers decision readers by lower case file extension, for example yml and xml
+     * @param historySize number of versions kept in history of every decision, {@link #DEFAULT_HISTORY_SIZE} when not set
+     * @param watch true if directory files are reloaded on change
+     */
+    @Builder
+    private DecisionRepository(final DecisionEngine decisionEngine,
+                               final Path directory,
+                               final List<String> classpathResources,
+                               final Map<String, DecisionReader> readers,
+                               final int historySize,
+                               final boolean watch) {
+        if (decisionEngine == null) {
+            throw new NullPointerException("Decision engine can not be null");
+        }
+
+        if (readers == null || readers.isEmpty()) {
+            throw new IllegalArgumentException("At least one decision reader is required");
+        }
+
+        if (historySize < 0) {
+            throw new IllegalArgumentException("History size must be positive");
+        }
+
+        if (directory != null && !Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Path " + directory + " is not a directory");
+        }
+
+        this.decisionEngine = decisionEngine;
+        this.directory = directory;
+        this.classpathResources = classpathResources == null ? Collections.emptyList() : new ArrayList<>(classpathResources);
+        this.readers = readers.entrySet()
+                .stream()
+                .collect(Collectors.toMap(reader -> reader.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue));
+        this.historySize = historySize == 0 ? DEFAULT_HISTORY_SIZE : historySize;
+        this.watch = watch;
+    }
+
+    /**
+     * Reads and compiles all decisions, then starts watching the directory if enabled.
+     *
+     * @throws DecisionReadException when any source can not be read
+     */
+    public void start() {
+        reload();
+
+        if (watch && directory != null) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Reads all sources again, compiling and publishing decisions of changed ones.
+     * Decisions of deleted files are no longer published.
+     *
+     * @throws DecisionReadException when any source can not be read, no version is published then
+     */
+    public void reload() {
+        final Map<String, byte[]> sources = new LinkedHashMap<>();
+
+        for (String classpathResource : classpathResources) {
+            sources.put(CLASSPATH_PREFIX + classpathResource, readClasspathResource(classpathResource));
+        }
+
+        for (Path file : listFiles()) {
+            sources.put(file.toString(), readFile(file));
+        }
+
+        synchronized (publishLock) {
+            sourceContents
+                    .keySet()
+                    .stream()
+                    .filter(source -> !sources.containsKey(source))
+                    .forEach(source -> sources.put(source, null));
+        }
+
+        publish(sources);
+    }
+
+    /**
+     * @param decisionId decision id
+     * @return current version of compiled decision
+     */
+    public Optional<CompiledDecision> find(final String decisionId) {
+        final DecisionVersion decisionVersion = currentVersions.get(decisionId);
+
+        return decisionVersion == null ? Optional.empty() : Optional.of(decisionVersion.getCompiledDecision());
+    }
+
+    /**
+     * @param decisionId decision id
+     * @param decisionVariables variables used in evaluation
+     * @return evaluation result of current version of the decision
+     */
+    public DecisionResult evaluate(final String decisionId, final DecisionVariables decisionVariables) {
+        final DecisionVersion decisionVersion = currentVersions.get(decisionId);
+
+        if (decisionVersion == null) {
+            throw new EvaluationException("Decision '" + decisionId + "' is not found");
+        }
+
+        return decisionVersion.getCompiledDecision().evaluate(decisionVariables);
+    }
+
+    /**
+     * @param decisionId decision id
+     * @return current version of the decision
+     */
+    public Optional<DecisionVersion> getCurrentVersion(final String decisionId) {
+        return Optional.ofNullable(currentVersions.get(decisionId));
+    }
+
+    /**
+     * @return ids of published decisions
+     */
+    public Set<String> getDecisionIds() {
+        return currentVersions.keySet();
+    }
+
+    /**
+     * @param decisionId decision id
+     * @return versions kept in history, from the oldest one
+     */
+    public List<DecisionVersion> getHistory(final String decisionId) {
+        synchronized (publishLock) {
+            final Deque<DecisionVersion> history = histories.get(decisionId);
+
+            return history == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(history));
+        }
+    }
+
+    /**
+     * Publishes version of the decision preceding current one in history.
+     *
+     * @param decisionId decision id
+     * @return published version
+     */
+    public DecisionVersion rollback(final String decisionId) {
+        synchronized (publishLock) {
+            final DecisionVersion currentVersion = currentVersions.get(decisionId);
+
+            if (currentVersion == null) {
+                throw new IllegalStateException("Decision '" + decisionId + "' is not published");
+            }
+
+            final DecisionVersion previousVersion = getHistory(decisionId)
+                    .stream()
+                    .filter(decisionVersion -> decisionVersion.getVersion() < currentVersion.getVersion())
+                    .reduce((first, second) -> second)
+                    .orElseThrow(() -> new IllegalStateException("There is no version of decision '" + decisionId
+                            + "' before version " + currentVersion.getVersion()));
+
+            return publishVersion(previousVersion);
+        }
+    }
+
+    /**
+     * Publishes given version of the decision, kept in history.
+     *
+     * @param decisionId decision id
+     * @param version version number
+     * @return published version
+     */
+    public DecisionVersion rollback(final String decisionId, final int version) {
+        synchronized (publishLock) {
+            final DecisionVersion decisionVersion = getHistory(decisionId)
+                    .stream()
+                    .filter(historyVersion -> historyVersion.getVersion() == version)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Version " + version + " of decision '" + decisionId
+                            + "' is not kept in history"));
+
+            return publishVersion(decisionVersion);
+        }
+    }
+
+    /**
+     * Stops watching the directory, published decisions are still available.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.warn("Can not close directory watch service", e);
+            }
+        }
+    }
+
+    private DecisionVersion publishVersion(final DecisionVersion decisionVersion) {
+        final Map<String, DecisionVersion> versions = new HashMap<>(currentVersions);
+
+        versions.put(decisionVersion.getDecisionId(), decisionVersion);
+        currentVersions = Collections.unmodifiableMap(versions);
+
+        return decisionVersion;
+    }
+
+    /**
+     * Compiles given sources changed since they were last published and publishes their decisions as single snapshot.
+     *
+     * @param sources content by source, null for removed sources
+     */
+    private void publish(final Map<String, byte[]> sources) {
+        final Map<String, List<CompiledDecision>> compiledSources = new LinkedHashMap<>();
+
+        for (Map.Entry<String, byte[]> source : sources.entrySet()) {
+            if (isChanged(source.getKey(), source.getValue())) {
+                compiledSources.put(source.getKey(), source.getValue() == null
+                        ? Collections.emptyList()
+                        : compile(source.getKey(), source.getValue()));
+            }
+        }
+
+        synchronized (publishLock) {
+            final Map<String, DecisionVersion> versions = new HashMap<>(currentVersions);
+            final Instant publishedAt = Instant.now();
+
+            compiledSources
+                    .entrySet()
+                    .stream()
+                    .filter(compiledSource -> isChanged(compiledSource.getKey(), sources.get(compiledSource.getKey())))
+                    .forEach(compiledSource -> publishSource(versions,
+                            compiledSource.getKey(),
+                            sources.get(compiledSource.getKey()),
+                            compiledSource.getValue(),
+                            publishedAt));
+
+            currentVersions = Collections.unmodifiableMap(versions);
+        }
+    }
+
+    /**
+     * Adds versions of changed decisions of the source and removes decisions no longer read from it.
+     */
+    private void publishSource(final Map<String, DecisionVersion> versions,
+                               final String source,
+                               final byte[] content,
+                               final List<CompiledDecision> compiledDecisions,
+                               final Instant publishedAt) {
+        if (content == null) {
+            sourceContents.remove(source);
+        } else {
+            sourceContents.put(source, content);
+        }
+
+        final Set<String> decisionIds = new LinkedHashSet<>();
+
+        for (CompiledDecision compiledDecision : compiledDecisions) {
+            final String decisionId = compiledDecision.getDecision().getId();
+            final DecisionVersion currentVersion = versions.get(decisionId);
+
+            decisionIds.add(decisionId);
+
+            if (currentVersion == null || !currentVersion.getCompiledDecision().getDecision().equals(compiledDecision.getDecision())) {
+                versions.put(decisionId, addVersion(decisionId, compiledDecision, source, publishedAt));
+            }
+        }
+
+        final Set<String> previousDecisionIds = sourceDecisionIds.getOrDefault(source, Collections.emptySet());
+
+        previousDecisionIds
+                .stream()
+                .filter(decisionId -> !decisionIds.contains(decisionId))
+                .filter(decisionId -> versions.containsKey(decisionId) && source.equals(versions.get(decisionId).getSource()))
+                .forEach(versions::remove);
+
+        if (decisionIds.isEmpty()) {
+            sourceDecisionIds.remove(source);
+        } else {
+            sourceDecisionIds.put(source, decisionIds);
+        }
+    }
+
+    private boolean isChanged(final String source, final byte[] content) {
+        synchronized (publishLock) {
+            return !Arrays.equals(sourceContents.get(source), content);
+        }
+    }
+
+    private DecisionVersion addVersion(final String decisionId,
+                                       final CompiledDecision compiledDecision,
+                                       final String source,
+                                       final Instant publishedAt) {
+        final int version = lastVersions.merge(decisionId, 1, Integer::sum);
+        final DecisionVersion decisionVersion = new DecisionVersion(decisionId, version, compiledDecision, source, publishedAt);
+        final Deque<DecisionVersion> history = histories.computeIfAbsent(decisionId, id -> new ArrayDeque<>());
+
+        history.addLast(decisionVersion);
+
+        while (history.size() > historySize) {
+            history.removeFirst();
+        }
+
+        return decisionVersion;
+    }
+
+    private List<Path> listFiles() {
+        final List<Path> files;
+
+        if (directory == null) {
+            files = Collections.emptyList();
+        } else {
+            try (Stream<Path> paths = Files.list(directory)) {
+                files = paths
+                        .filter(Files::isRegularFile)
+                        .filter(path -> getReader(path.toString()) != null)
+                        .sorted()
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new DecisionReadException("Can not list files of directory " + directory, e);
+            }
+        }
+
+        return files;
+    }
+
+    private byte[] readFile(final Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new DecisionReadException("Can not read decisions from file " + file, e);
+        }
+    }
+
+    private byte[] readClasspathResource(final String classpathResource) {
+        final ClassLoader classLoader = DecisionRepository.class.getClassLoader();
+
+        try (InputStream inputStream = classLoader.getResourceAsStream(classpathResource)) {
+            if (inputStream == null) {
+                throw new DecisionReadException("Classpath resource " + classpathResource + " is not found");
+            }
+
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+
+            for (int length = inputStream.read(buffer); length >= 0; length = inputStream.read(buffer)) {
+                content.write(buffer, 0, length);
+            }
+
+            return content.toByteArray();
+        } catch (IOException e) {
+            throw new DecisionReadException("Can not read decisions from classpath resource " + classpathResource, e);
+        }
+    }
+
+    private List<CompiledDecision> compile(final String source, final byte[] content) {
+        final DecisionReader reader = getReader(source);
+
+        if (reader == null) {
+            throw new DecisionReadException("There is no decision reader for " + source);
+        }
+
+        final List<CompiledDecision> compiledDecisions = new ArrayList<>();
+
+        for (Decision decision : reader.readAll(new ByteArrayInputStream(content))) {
+            if (decision.getId() == null) {
+                throw new DecisionReadException("Decision read from " + source + " has no id");
+            }
+
+            compiledDecisions.add(decisionEngine.compile(decision));
+        }
+
+        return compiledDecisions;
+    }
+
+    private DecisionReader getReader(final String source) {
+        final int extensionStart = source.lastIndexOf('.');
+
+        return extensionStart < 0 ? null : readers.get(source.substring(extensionStart + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private void startWatching() {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can not watch directory " + directory, e);
+        }
+
+        final Thread watcher = new Thread(this::watch, "decision-repository-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch() {
+        try {
+            while (!closed) {
+                final Set<Path> changedFiles = new HashSet<>();
+                WatchKey watchKey = watchService.take();
+                boolean overflow = false;
+
+                while (watchKey != null) {
+                    for (WatchEvent<?> event : watchKey.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else {
+                            changedFiles.add(directory.resolve((Path) event.context()));
+                        }
+                    }
+
+                    watchKey.reset();
+                    watchKey = watchService.poll(WATCH_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                reloadChanged(changedFiles, overflow);
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Directory watch service is closed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reloadChanged(final Set<Path> changedFiles, final boolean overflow) {
+        try {
+            if (overflow) {
+                reload();
+            } else {
+                final Map<String, byte[]> sources = new LinkedHashMap<>();
+
+                changedFiles
+                        .stream()
+                        .filter(file -> getReader(file.toString()) != null)
+                        .sorted()
+                        .forEach(file -> sources.put(file.toString(), Files.isRegularFile(file) ? readFile(file) : null));
+
+                if (!sources.isEmpty()) {
+                    publish(sources);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can not reload changed decisions, previous versions are kept", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.repository;
+
+
+import lombok.ToString;
+import org.powerflows.dmn.engine.CompiledDecision;
+
+import java.time.Instant;
+
+/**
+ * Compiled decision published by {@link DecisionRepository}.
+ * Versions of decision are numbered from 1, every change of the decision definition gets next number.
+ */
+@ToString(exclude = "compiledDecision")
+public class DecisionVersion {
+
+    private final String decisionId;
+    private final int version;
+    private final CompiledDecision compiledDecision;
+    private final String source;
+    private final Instant publishedAt;
+
+    DecisionVersion(final String decisionId,
+                    final int version,
+                    final CompiledDecision compiledDecision,
+                    final String source,
+                    final Instant publishedAt) {
+        this.decisionId = decisionId;
+        this.version = version;
+        this.compiledDecision = compiledDecision;
+        this.source = source;
+        this.publishedAt = publishedAt;
+    }
+
+    public String getDecisionId() {
+        return decisionId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public CompiledDecision getCompiledDecision() {
+        return compiledDecision;
+    }
+
+    /**
+     * @return file or classpath resource the decision was read from
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine
+
+import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class DefaultDecisionEngineSpec extends Specification {
+
+    private final DecisionEvaluator decisionEvaluator = Mock()
+    private final DecisionEngine decisionEngine = new DefaultDecisionEngine(decisionEvaluator)
+
+    void 'should compile decision once for repeated evaluations'() {
+        given:
+        final Decision decision = readDecision()
+        final CompiledDecision compiledDecision = Mock()
+        final DecisionVariables decisionVariables = new DecisionVariables([x: 1])
+        final DecisionResult decisionResult = DecisionResult.builder().ruleResults([]).build()
+
+        when:
+        final List<DecisionResult> decisionResults = (1..5).collect { decisionEngine.evaluate(decision, decisionVariables) }
+        decisionResults << decisionEngine.evaluateInputs(decision, 1)
+        decisionResults << decisionEngine.evaluateAsync(decision, decisionVariables).get(5, TimeUnit.SECONDS)
+        decisionResults.addAll(decisionEngine.evaluateBatch(decision, [decisionVariables]))
+
+        then:
+        1 * decisionEvaluator.compile(decision) >> compiledDecision
+        6 * compiledDecision.evaluate(decisionVariables) >> decisionResult
+        1 * compiledDecision.evaluateInputs(1) >> decisionResult
+        1 * compiledDecision.evaluateBatch([decisionVariables]) >> [decisionResult]
+        decisionResults.every { it.is(decisionResult) }
+    }
+
+    void 'should compile equal decision instances separately'() {
+        given:
+        final Decision decision1 = readDecision()
+        final Decision decision2 = readDecision()
+        final DecisionVariables decisionVariables = new DecisionVariables([x: 1])
+
+        when:
+        decisionEngine.evaluate(decision1, decisionVariables)
+        decisionEngine.evaluate(decision2, decisionVariables)
+        decisionEngine.evaluate(decision1, decisionVariables)
+
+        then:
+        decision1 == decision2
+        1 * decisionEvaluator.compile({ it.is(decision1) }) >> Mock(CompiledDecision)
+        1 * decisionEvaluator.compile({ it.is(decision2) }) >> Mock(CompiledDecision)
+    }
+
+    void 'should keep compiled decisions of recently evaluated decisions'() {
+        given:
+        final Decision hotDecision = Stub()
+        final List<Decision> decisions = (0..DefaultDecisionEngine.MAX_COMPILED_DECISION_COUNT).collect { Stub(Decision) }
+        final DecisionVariables decisionVariables = new DecisionVariables([x: 1])
+
+        when:
+        decisions.each {
+            decisionEngine.evaluate(hotDecision, decisionVariables)
+            decisionEngine.evaluate(it, decisionVariables)
+        }
+        decisionEngine.evaluate(hotDecision, decisionVariables)
+        decisionEngine.evaluate(decisions.last(), decisionVariables)
+
+        then:
+        1 * decisionEvaluator.compile(hotDecision) >> Mock(CompiledDecision)
+        1 * decisionEvaluator.compile({ it.is(decisions.last()) }) >> Mock(CompiledDecision)
+        DefaultDecisionEngine.MAX_COMPILED_DECISION_COUNT * decisionEvaluator.compile(_) >> { Mock(CompiledDecision) }
+        decisionEngine.@compiledDecisions.size() == DefaultDecisionEngine.MAX_COMPILED_DECISION_COUNT
+    }
+
+    void 'should compile decision explicitly each time it is compiled'() {
+        given:
+        final Decision decision = readDecision()
+
+        when:
+        decisionEngine.compile(decision)
+        decisionEngine.compile(decision)
+
+        then:
+        2 * decisionEvaluator.compile(decision) >> Mock(CompiledDecision)
+    }
+
+    void 'should throw exception when evaluating null decision'() {
+        when:
+        decisionEngine.evaluate(null, new DecisionVariables([:]))
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Decision can not be null'
+        0 * decisionEvaluator.compile(_)
+    }
+
+    private static Decision readDecision() {
+        return new YamlDecisionReader().read(DefaultDecisionEngineSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/reference-single.yml')).get()
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.configuration
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator
+import org.powerflows.dmn.engine.evaluator.entry.InputEntryEvaluator
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.entry.OutputEntryEvaluator
+import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModeProviderFactory
+import org.powerflows.dmn.engine.evaluator.expression.provider.DefaultExpressionEvaluationProviderFactory
+import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationConfiguration
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding
+import org.powerflows.dmn.engine.evaluator.rule.RuleEvaluator
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.engine.reader.DecisionReader
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.reflect.Method
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class DefaultDecisionEngineConfigurationCompiledDecisionSpec extends Specification {
+
+    @Shared
+    private DecisionEngine decisionEngine
+
+    @Shared
+    private DecisionEvaluator decisionEvaluator
+
+    @Shared
+    private Decision decision
+
+    void setupSpec() {
+        final DecisionReader decisionReader = new YamlDecisionReader()
+        final String decisionFileName = 'reference-single.yml'
+        final InputStream decisionInputStream = this.class.getResourceAsStream(decisionFileName)
+        decision = decisionReader.read(decisionInputStream).get()
+
+        final Method method = TestMethods.class.getMethod('parse', String)
+        final List<MethodBinding> methodBindings = [new StaticMethodBinding('parseDate', method)]
+        decisionEngine = new DefaultDecisionEngineConfiguration().methodBindings(methodBindings).configure()
+
+        final ExpressionEvaluationConfiguration configuration = ExpressionEvaluationConfiguration.builder()
+                .methodBindings(methodBindings)
+                .build()
+        final DefaultExpressionEvaluationProviderFactory expressionEvaluationProviderFactory = new DefaultExpressionEvaluationProviderFactory(configuration)
+        final TypeConverterFactory typeConverterFactory = new TypeConverterFactory()
+        final InputEntryEvaluator inputEntryEvaluator = new InputEntryEvaluator(expressionEvaluationProviderFactory, typeConverterFactory, new EvaluationModeProviderFactory())
+        final OutputEntryEvaluator outputEntryEvaluator = new OutputEntryEvaluator(expressionEvaluationProviderFactory, typeConverterFactory)
+        decisionEvaluator = new DecisionEvaluator(new RuleEvaluator(inputEntryEvaluator, outputEntryEvaluator))
+    }
+
+    @Unroll
+    void 'should evaluate compiled decision like interpreted decision for x=#x, y=#y, p=#p, q=#q, arrayVar=#arrayVar, inputFour=#inputFour'(
+            int x, int y, int p, int q, String arrayVar, String inputFour) {
+        given:
+        final Map<String, Serializable> variables = [:]
+        variables.put('x', x)
+        variables.put('y', y)
+        variables.put('p', p)
+        variables.put('q', q)
+        variables.put('arrayVar', arrayVar)
+        variables.put('inputFour', Date.parse('yyyy-MM-dd', inputFour))
+        final DecisionVariables decisionVariables = new DecisionVariables(variables)
+        final CompiledDecision compiledDecision = decisionEngine.compile(decision)
+
+        when:
+        final DecisionResult compiledDecisionResult = compiledDecision.evaluate(decisionVariables)
+        final DecisionResult interpretedDecisionResult = decisionEvaluator.evaluate(decision, decisionVariables)
+
+        then:
+        compiledDecision.getDecision().is(decision)
+        compiledDecisionResult.toString() == interpretedDecisionResult.toString()
+
+        where:
+        x  | y  | p  | q  | arrayVar      | inputFour
+        2  | 3  | 0  | 0  | ''            | '2018-12-18'
+        1  | 1  | 0  | 0  | ''            | '2018-12-18'
+        5  | 7  | 0  | 0  | ''            | '2018-12-18'
+        5  | 7  | 3  | 4  | ''            | '2018-12-18'
+        1  | 2  | 10 | 10 | 'a,b,c,d,e,f' | '2018-12-18'
+        1  | 2  | 10 | 10 | 'a,b'         | '2018-12-13'
+        1  | 2  | 0  | 0  | 'a,b'         | '2018-12-14'
+    }
+
+    @Unroll
+    void 'should evaluate indexed decision like interpreted decision for country=#country, productCode=#productCode, channel=#channel'(
+            String country, int productCode, String channel) {
+        given:
+        final Decision indexedDecision = readDecision('equality-index.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables([country: country, productCode: productCode, channel: channel])
+
+        when:
+        final DecisionResult compiledDecisionResult = decisionEngine.compile(indexedDecision).evaluate(decisionVariables)
+        final DecisionResult interpretedDecisionResult = decisionEvaluator.evaluate(indexedDecision, decisionVariables)
+
+        then:
+        compiledDecisionResult.toString() == interpretedDecisionResult.toString()
+
+        where:
+        [country, productCode, channel] << [['PL', 'DE', 'US', 'FR'], [1, 2, 3], ['web', 'shop']].combinations()
+    }
+
+    void 'should keep rule order of indexed and wildcard rules'() {
+        given:
+        final Decision indexedDecision = readDecision('equality-index.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables([country: 'PL', productCode: 1, channel: 'web'])
+
+        when:
+        final DecisionResult decisionResult = decisionEngine.compile(indexedDecision).evaluate(decisionVariables)
+
+        then:
+        decisionResult.getCollectionRulesResult().collect { it.getEntryResults()[0].getValue() } == ['r1', 'r2', 'r3', 'r4', 'r6']
+    }
+
+    @Unroll
+    void 'should evaluate interval indexed decision like interpreted decision for amount=#amount, score=#score, since=#since'(
+            int amount, double score, String since) {
+        given:
+        final Decision indexedDecision = readDecision('interval-index.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables([amount: amount, score: score, since: Date.parse('yyyy-MM-dd', since)])
+
+        when:
+        final DecisionResult compiledDecisionResult = decisionEngine.compile(indexedDecision).evaluate(decisionVariables)
+        final DecisionResult interpretedDecisionResult = decisionEvaluator.evaluate(indexedDecision, decisionVariables)
+
+        then:
+        compiledDecisionResult.toString() == interpretedDecisionResult.toString()
+
+        where:
+        [amount, score, since] << [[-5, 0, 99, 100, 150, 200, 500, 501, 1000], [0.5d, 0.7d], ['2017-06-01', '2018-06-01', '2019-06-01']].combinations()
+    }
+
+    @Unroll
+    void 'should evaluate entries of primitive inputs like interpreted decision for code=#code, rate=#rate, since=#since'(
+            Object code, Object rate, Object since) {
+        given:
+        final Decision decision = readDecision('primitive-keys.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables([code: code, rate: rate, since: since])
+
+        when:
+        final String compiledDecisionResult = evaluate { decisionEngine.compile(decision).evaluate(decisionVariables) }
+        final String interpretedDecisionResult = evaluate { decisionEvaluator.evaluate(decision, decisionVariables) }
+
+        then:
+        compiledDecisionResult == interpretedDecisionResult
+
+        where:
+        [code, rate, since] << [[1, 2L, 3.0d, (short) 3, '2', 11, 10.5d, null],
+                                [0.5d, 0.5f, 0, -0.0d, 1.5f, '0.25', 0.75d],
+                                [Date.parse('yyyy-MM-dd', '2018-06-01'), Date.parse('yyyy-MM-dd', '2019-01-01')]].combinations()
+    }
+
+    void 'should find interval indexed rules in rule order'() {
+        given:
+        final Decision indexedDecision = readDecision('interval-index.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables([amount: 150, score: 0.7d, since: Date.parse('yyyy-MM-dd', '2019-06-01')])
+
+        when:
+        final DecisionResult decisionResult = decisionEngine.compile(indexedDecision).evaluate(decisionVariables)
+
+        then:
+        decisionResult.getCollectionRulesResult().collect { it.getEntryResults()[0].getValue() } == ['r2', 'r7', 'r8']
+    }
+
+    @Unroll
+    void 'should evaluate bitset columns like interpreted decision for #hitPolicy, age=#age, segment=#segment, score=#score'(
+            HitPolicy hitPolicy, int age, Object segment, double score) {
+        given:
+        final Decision bitsetDecision = readDecision('bitset-columns.yml', hitPolicy)
+        final DecisionVariables decisionVariables = new DecisionVariables([age: age, segment: segment, score: score, limit: 1.0d])
+
+        when:
+        final String compiledDecisionResult = evaluate { decisionEngine.compile(bitsetDecision).evaluate(decisionVariables) }
+        final String interpretedDecisionResult = evaluate { decisionEvaluator.evaluate(bitsetDecision, decisionVariables) }
+
+        then:
+        compiledDecisionResult == interpretedDecisionResult
+
+        where:
+        [hitPolicy, age, segment, score] << [[HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.UNIQUE], [10, 18, 25, 30, 45], ['retail', 'business', 'other', ['retail', 'business']], [0.5d, 2.0d]].combinations()
+    }
+
+    void 'should return lowest matching rule of bitset columns for first hit policy'() {
+        given:
+        final Decision bitsetDecision = readDecision('bitset-columns.yml', HitPolicy.FIRST)
+        final DecisionVariables decisionVariables = new DecisionVariables([age: 45, segment: 'business', score: 2.0d, limit: 1.0d])
+
+        when:
+        final DecisionResult decisionResult = decisionEngine.compile(bitsetDecision).evaluate(decisionVariables)
+
+        then:
+        decisionResult.getSingleRuleResult().getEntryResults()[0].getValue() == 'r2'
+    }
+
+    void 'should throw exception when many rules of bitset columns match for unique hit policy'() {
+        given:
+        final Decision bitsetDecision = readDecision('bitset-columns.yml', HitPolicy.UNIQUE)
+        final DecisionVariables decisionVariables = new DecisionVariables([age: 10, segment: 'other', score: 0.5d, limit: 1.0d])
+
+        when:
+        decisionEngine.compile(bitsetDecision).evaluate(decisionVariables)
+
+        then:
+        final EvaluationException exception = thrown()
+        exception.getMessage() == 'Unique result is expected'
+    }
+
+    @Unroll
+    void 'should evaluate input values not of input type like interpreted decision for #decisionFileName, #variables'(
+            String decisionFileName, Map<String, Object> variables) {
+        given:
+        final Decision decision = readDecision(decisionFileName)
+        final DecisionVariables decisionVariables = new DecisionVariables(variables)
+
+        when:
+        final String compiledDecisionResult = evaluate { decisionEngine.compile(decision).evaluate(decisionVariables) }
+        final String interpretedDecisionResult = evaluate { decisionEvaluator.evaluate(decision, decisionVariables) }
+
+        then:
+        compiledDecisionResult == interpretedDecisionResult
+
+        where:
+        decisionFileName     | variables
+        'equality-index.yml' | [country: 'PL', productCode: '2', channel: 'web']
+        'equality-index.yml' | [country: 'PL', productCode: 'two', channel: 'web']
+        'interval-index.yml' | [amount: '150', score: 0.7d, since: Date.parse('yyyy-MM-dd', '2019-06-01')]
+        'interval-index.yml' | [amount: 150, score: '0.7', since: Date.parse('yyyy-MM-dd', '2019-06-01')]
+        'bitset-columns.yml' | [age: '25', segment: 'retail', score: 2.0d, limit: 1.0d]
+        'bitset-columns.yml' | [age: 'old', segment: 'retail', score: 2.0d, limit: 1.0d]
+    }
+
+    @Unroll
+    void 'should convert input values of wildcard entries like interpreted decision for #variables'(final Map<String, Object> variables) {
+        given:
+        final Decision decision = readDecision('wildcard-entries.yml')
+        final DecisionVariables decisionVariables = new DecisionVariables(variables)
+        final DecisionEngine methodHandleDecisionEngine = new DefaultDecisionEngineConfiguration().compileToMethodHandles(true).configure()
+
+        when:
+        final String compiledDecisionResult = evaluate { decisionEngine.compile(decision).evaluate(decisionVariables) }
+        final String methodHandleDecisionResult = evaluate { methodHandleDecisionEngine.compile(decision).evaluate(decisionVariables) }
+        final String interpretedDecisionResult = evaluate { decisionEvaluator.evaluate(decision, decisionVariables) }
+
+        then:
+        compiledDecisionResult == interpretedDecisionResult
+        methodHandleDecisionResult == interpretedDecisionResult
+
+        where:
+        variables << [
+                [segment: 'retail', age: 25, limit: 10],
+                [segment: 'retail', age: 'old', limit: 10],
+                [segment: 'business', age: 25, limit: 10],
+                [segment: 'business', age: 25, limit: 'high'],
+                [segment: 'private', age: 'old', limit: 10],
+                [segment: 'private', age: null, limit: null],
+                [segment: 'other', age: 'old', limit: 'high']
+        ]
+    }
+
+    void 'should evaluate batch of variable sets in input order'() {
+        given:
+        final Decision bitsetDecision = readDecision('bitset-columns.yml', HitPolicy.COLLECT)
+        final List<DecisionVariables> decisionVariables = [[10, 18, 25, 30, 45], ['retail', 'business', 'other']].combinations()
+                .collect { age, segment -> new DecisionVariables([age: age, segment: segment, score: 2.0d, limit: 1.0d]) }
+
+        when:
+        final List<DecisionResult> listResults = decisionEngine.evaluateBatch(bitsetDecision, decisionVariables)
+        final List<DecisionResult> iterableResults = decisionEngine.evaluateBatch(bitsetDecision, (Iterable<DecisionVariables>) decisionVariables).collect()
+        final List<DecisionResult> iteratorResults = decisionEngine.evaluateBatch(bitsetDecision, decisionVariables.iterator()).collect()
+
+        then:
+        final List<String> expectedResults = decisionVariables.collect { decisionEvaluator.evaluate(bitsetDecision, it).toString() }
+        listResults*.toString() == expectedResults
+        iterableResults*.toString() == expectedResults
+        iteratorResults*.toString() == expectedResults
+    }
+
+    void 'should evaluate batch of variable sets lazily'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(readDecision('bitset-columns.yml', HitPolicy.COLLECT))
+        final Iterator<DecisionVariables> decisionVariables = Mock()
+
+        when:
+        final Iterator<DecisionResult> decisionResults = compiledDecision.evaluateBatch(decisionVariables)
+
+        then:
+        0 * decisionVariables.next()
+
+        when:
+        decisionResults.next()
+
+        then:
+        1 * decisionVariables.next() >> new DecisionVariables([age: 10, segment: 'other', score: 2.0d, limit: 1.0d])
+    }
+
+    void 'should throw exception when batch of variable sets is null'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(decision)
+
+        when:
+        compiledDecision.evaluateBatch((List<DecisionVariables>) null)
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Decision variables can not be null'
+    }
+
+    void 'should evaluate decision asynchronously'() {
+        given:
+        final DecisionVariables decisionVariables = new DecisionVariables([age: 25, segment: 'retail', score: 2.0d, limit: 1.0d])
+        final Decision bitsetDecision = readDecision('bitset-columns.yml', HitPolicy.COLLECT)
+        final ExecutorService executorService = Executors.newSingleThreadExecutor()
+
+        when:
+        final DecisionResult defaultExecutorResult = decisionEngine.evaluateAsync(bitsetDecision, decisionVariables).get(5, TimeUnit.SECONDS)
+        final DecisionResult givenExecutorResult = decisionEngine.evaluateAsync(bitsetDecision, decisionVariables, executorService).get(5, TimeUnit.SECONDS)
+
+        then:
+        defaultExecutorResult.toString() == decisionEvaluator.evaluate(bitsetDecision, decisionVariables).toString()
+        givenExecutorResult.toString() == defaultExecutorResult.toString()
+
+        cleanup:
+        executorService.shutdownNow()
+    }
+
+    void 'should reuse compiled decision for many evaluations'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(decision)
+        final DecisionVariables decisionVariables1 = new DecisionVariables([x: 1, y: 1, p: 0, q: 0, arrayVar: '', inputFour: Date.parse('yyyy-MM-dd', '2018-12-18')])
+        final DecisionVariables decisionVariables2 = new DecisionVariables([x: 5, y: 7, p: 0, q: 0, arrayVar: '', inputFour: Date.parse('yyyy-MM-dd', '2018-12-18')])
+
+        when:
+        final DecisionResult decisionResult1 = compiledDecision.evaluate(decisionVariables1)
+        final DecisionResult decisionResult2 = compiledDecision.evaluate(decisionVariables2)
+        final DecisionResult decisionResult3 = compiledDecision.evaluate(decisionVariables1)
+
+        then:
+        decisionResult1.getSingleEntryResult().getName() == 'outputOne'
+        !decisionResult1.getSingleEntryResult().getValue()
+        decisionResult2.getSingleRuleResult().getEntryResults()[1].getValue() == 'The output rule two'
+        decisionResult3.toString() == decisionResult1.toString()
+    }
+
+    void 'should validate literal output entry when compiling decision'() {
+        given:
+        final DecisionReader decisionReader = new YamlDecisionReader()
+        final String decisionFileName = 'invalid-literal-output-entry.yml'
+        final InputStream decisionInputStream = this.class.getResourceAsStream(decisionFileName)
+        final Decision decision = decisionReader.read(decisionInputStream).get()
+
+        when:
+        decisionEngine.compile(decision)
+
+        then:
+        thrown(RuntimeException)
+    }
+
+    void 'should throw exception when compiling null decision'() {
+        given:
+        final Decision decision = null
+
+        when:
+        decisionEngine.compile(decision)
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Decision can not be null'
+    }
+
+    void 'should throw exception when evaluating compiled decision with null decision variables'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(decision)
+
+        when:
+        compiledDecision.evaluate(null)
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Decision variables can not be null'
+    }
+
+    @Unroll
+    void 'should evaluate input values like decision variables for age=#age, segment=#segment, score=#score'(
+            Object age, Object segment, Object score) {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(readDecision('allocation-free.yml'))
+        final DecisionVariables decisionVariables = new DecisionVariables([age: age, segment: segment, score: score])
+
+        when:
+        final String positionalDecisionResult = evaluate { compiledDecision.evaluateInputs(age, segment, score) }
+        final String decisionResult = evaluate { compiledDecision.evaluate(decisionVariables) }
+
+        then:
+        positionalDecisionResult == decisionResult
+
+        where:
+        [age, segment, score] << [[10, 25, 25L, '25', 45, null], ['retail', 'business', ['retail', 'business'], null], [0.7d, 0.2f, null]].combinations()
+    }
+
+    void 'should evaluate input values by decision engine'() {
+        when:
+        final DecisionResult decisionResult = decisionEngine.evaluateInputs(readDecision('allocation-free.yml'), 25, 'retail', 0.7d)
+
+        then:
+        decisionResult.getSingleEntryResult().getValue() == 'r2'
+    }
+
+    void 'should throw exception when number of input values differs from number of inputs'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(readDecision('allocation-free.yml'))
+
+        when:
+        compiledDecision.evaluateInputs(25, 'retail')
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Decision has 3 inputs, got 2 input values'
+    }
+
+    void 'should throw exception when input value is not serializable'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(readDecision('allocation-free.yml'))
+
+        when:
+        compiledDecision.evaluateInputs(25, new Object(), 0.7d)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Value of input segment is not serializable'
+    }
+
+    void 'should throw exception when compiling decision with unsupported hit policy'() {
+        given:
+        final Decision decision = [hitPolicy: HitPolicy.PRIORITY] as Decision
+
+        when:
+        decisionEngine.compile(decision)
+
+        then:
+        final UnsupportedOperationException exception = thrown()
+        exception.getMessage() == 'HitPolicy PRIORITY is not supported'
+    }
+
+    private Decision readDecision(final String decisionFileName, final HitPolicy hitPolicy) {
+        final DecisionReader decisionReader = new YamlDecisionReader()
+        final String decisionText = this.class.getResourceAsStream(decisionFileName).getText('UTF-8')
+                .replaceFirst('hit-policy: [A-Z_]+', 'hit-policy: ' + hitPolicy)
+
+        return decisionReader.read(new ByteArrayInputStream(decisionText.getBytes('UTF-8'))).get()
+    }
+
+    private static String evaluate(final Closure<DecisionResult> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+
+    private Decision readDecision(final String decisionFileName) {
+        final DecisionReader decisionReader = new YamlDecisionReader()
+        final InputStream decisionInputStream = this.class.getResourceAsStream(decisionFileName)
+
+        return decisionReader.read(decisionInputStream).get()
+    }
+}
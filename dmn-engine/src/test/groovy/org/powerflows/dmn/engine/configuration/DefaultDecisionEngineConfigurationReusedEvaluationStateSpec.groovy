@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.configuration
+
+import groovy.transform.CompileStatic
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.evaluator.decision.DecisionEvaluator
+import org.powerflows.dmn.engine.evaluator.entry.InputEntryEvaluator
+import org.powerflows.dmn.engine.evaluator.entry.OutputEntryEvaluator
+import org.powerflows.dmn.engine.evaluator.entry.mode.provider.EvaluationModeProviderFactory
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.expression.provider.DefaultExpressionEvaluationProviderFactory
+import org.powerflows.dmn.engine.evaluator.expression.provider.ExpressionEvaluationConfiguration
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListenerAdapter
+import org.powerflows.dmn.engine.evaluator.rule.RuleEvaluator
+import org.powerflows.dmn.engine.evaluator.type.converter.TypeConverterFactory
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.engine.reader.DecisionReader
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.management.ManagementFactory
+
+class DefaultDecisionEngineConfigurationReusedEvaluationStateSpec extends Specification {
+
+    private static final int WARM_UP_EVALUATIONS = 50000
+    private static final int MEASURED_EVALUATIONS = 20000
+
+    @Shared
+    private DecisionEngine decisionEngine
+
+    @Shared
+    private DecisionEvaluator decisionEvaluator
+
+    void setupSpec() {
+        decisionEngine = new DefaultDecisionEngineConfiguration().reuseEvaluationState(true).configure()
+
+        final DefaultExpressionEvaluationProviderFactory expressionEvaluationProviderFactory = new DefaultExpressionEvaluationProviderFactory(ExpressionEvaluationConfiguration.builder().build())
+        final TypeConverterFactory typeConverterFactory = new TypeConverterFactory()
+        final InputEntryEvaluator inputEntryEvaluator = new InputEntryEvaluator(expressionEvaluationProviderFactory, typeConverterFactory, new EvaluationModeProviderFactory())
+        final OutputEntryEvaluator outputEntryEvaluator = new OutputEntryEvaluator(expressionEvaluationProviderFactory, typeConverterFactory)
+        decisionEvaluator = new DecisionEvaluator(new RuleEvaluator(inputEntryEvaluator, outputEntryEvaluator))
+    }
+
+    @Unroll
+    void 'should evaluate #decisionFileName with reused state like interpreted decision for #hitPolicy'(
+            String decisionFileName, HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision(decisionFileName, hitPolicy)
+        final CompiledDecision compiledDecision = decisionEngine.compile(decision)
+        final List<DecisionVariables> decisionVariables = [[10, 18, 25, 30, 45, 25L, '25', null], ['retail', 'business', 'other', ['retail', 'business'], null], [0.5d, 0.5f, 2.0d]]
+                .combinations()
+                .collect { new DecisionVariables([age: it[0], segment: it[1], score: it[2], limit: 1.0d]) }
+
+        when:
+        final List<String> compiledDecisionResults = decisionVariables.collect { variables -> evaluate { compiledDecision.evaluate(variables) } }
+        final List<String> interpretedDecisionResults = decisionVariables.collect { variables -> evaluate { decisionEvaluator.evaluate(decision, variables) } }
+
+        then:
+        compiledDecisionResults == interpretedDecisionResults
+
+        where:
+        [decisionFileName, hitPolicy] << [['allocation-free.yml', 'bitset-columns.yml'], [HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.UNIQUE]].combinations()
+    }
+
+    void 'should evaluate decision nested in evaluation of the same decision'() {
+        given:
+        final Decision decision = readDecision('allocation-free.yml', HitPolicy.FIRST)
+        final NestedEvaluationListener evaluationListener = new NestedEvaluationListener(new DecisionVariables([age: 45, segment: 'business', score: 0.1d]))
+        final DecisionEngine nestingDecisionEngine = new DefaultDecisionEngineConfiguration()
+                .reuseEvaluationState(true)
+                .evaluationListeners([evaluationListener as EvaluationListener])
+                .configure()
+        evaluationListener.compiledDecision = nestingDecisionEngine.compile(decision)
+
+        when:
+        final DecisionResult decisionResult = evaluationListener.compiledDecision.evaluate(new DecisionVariables([age: 25, segment: 'retail', score: 0.7d]))
+
+        then:
+        decisionResult.getSingleEntryResult().getValue() == 'r2'
+        evaluationListener.nestedDecisionResult.getSingleEntryResult().getValue() == 'r4'
+    }
+
+    @Requires({ ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean })
+    void 'should allocate decision result only when evaluation state is reused'() {
+        given:
+        final CompiledDecision compiledDecision = decisionEngine.compile(readDecision('allocation-free.yml', HitPolicy.FIRST))
+        final DecisionVariables decisionVariables = new DecisionVariables([age: 25, segment: 'retail', score: 0.7d])
+        measureAllocatedBytes(compiledDecision, decisionVariables, WARM_UP_EVALUATIONS)
+
+        when:
+        final long allocatedBytes = measureAllocatedBytes(compiledDecision, decisionVariables, MEASURED_EVALUATIONS)
+
+        then:
+        compiledDecision.evaluate(decisionVariables).getSingleEntryResult().getValue() == 'r2'
+        allocatedBytes / MEASURED_EVALUATIONS < 256
+    }
+
+    @CompileStatic
+    private static long measureAllocatedBytes(final CompiledDecision compiledDecision, final DecisionVariables decisionVariables, final int evaluations) {
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+        final long threadId = Thread.currentThread().getId()
+        final long allocatedBytesBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+
+        for (int i = 0; i < evaluations; i++) {
+            compiledDecision.evaluate(decisionVariables)
+        }
+
+        return threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore
+    }
+
+    private Decision readDecision(final String decisionFileName, final HitPolicy hitPolicy) {
+        final DecisionReader decisionReader = new YamlDecisionReader()
+        final String decisionText = this.class.getResourceAsStream(decisionFileName).getText('UTF-8')
+                .replaceFirst('hit-policy: [A-Z_]+', 'hit-policy: ' + hitPolicy)
+
+        return decisionReader.read(new ByteArrayInputStream(decisionText.getBytes('UTF-8'))).get()
+    }
+
+    private static String evaluate(final Closure<DecisionResult> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+
+    private static class NestedEvaluationListener extends EvaluationListenerAdapter {
+
+        private final DecisionVariables nestedDecisionVariables
+        private CompiledDecision compiledDecision
+        private DecisionResult nestedDecisionResult
+
+        NestedEvaluationListener(final DecisionVariables nestedDecisionVariables) {
+            this.nestedDecisionVariables = nestedDecisionVariables
+        }
+
+        @Override
+        void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+            if (nestedDecisionResult == null && !decisionVariables.is(nestedDecisionVariables)) {
+                nestedDecisionResult = compiledDecision.evaluate(nestedDecisionVariables)
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.async
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class AsyncEvaluationExecutorSpec extends Specification {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2)
+    private final CountDownLatch release = new CountDownLatch(1)
+
+    void cleanup() {
+        release.countDown()
+        executorService.shutdownNow()
+    }
+
+    void 'should complete future with evaluation result'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 1, RejectionPolicy.ABORT)
+
+        when:
+        final CompletableFuture<String> result = asyncEvaluationExecutor.submit({ 'result' })
+
+        then:
+        result.get(5, TimeUnit.SECONDS) == 'result'
+        asyncEvaluationExecutor.getPendingEvaluations() == 0
+    }
+
+    void 'should complete future exceptionally when evaluation fails'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 1, RejectionPolicy.ABORT)
+        final IllegalStateException failure = new IllegalStateException('Evaluation failed')
+
+        when:
+        asyncEvaluationExecutor.submit({ throw failure }).get(5, TimeUnit.SECONDS)
+
+        then:
+        final ExecutionException exception = thrown()
+        exception.getCause().is(failure)
+    }
+
+    void 'should reject evaluation when limit of pending evaluations is reached for abort policy'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 1, RejectionPolicy.ABORT)
+        final CompletableFuture<String> pending = asyncEvaluationExecutor.submit({ release.await(); 'pending' })
+
+        when:
+        asyncEvaluationExecutor.submit({ 'rejected' }).get(5, TimeUnit.SECONDS)
+
+        then:
+        final ExecutionException exception = thrown()
+        exception.getCause() instanceof RejectedExecutionException
+        exception.getCause().getMessage() == 'Maximum number of pending evaluations 1 is reached'
+        asyncEvaluationExecutor.getPendingEvaluations() == 1
+
+        when:
+        release.countDown()
+
+        then:
+        pending.get(5, TimeUnit.SECONDS) == 'pending'
+        asyncEvaluationExecutor.submit({ 'admitted' }).get(5, TimeUnit.SECONDS) == 'admitted'
+    }
+
+    void 'should keep evaluation pending when its future is cancelled or completed'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 2, RejectionPolicy.ABORT)
+        final CompletableFuture<String> cancelled = asyncEvaluationExecutor.submit({ release.await(); 'cancelled' })
+        final CompletableFuture<String> completed = asyncEvaluationExecutor.submit({ release.await(); 'completed' })
+
+        when:
+        cancelled.cancel(true)
+        completed.complete('completed by caller')
+        asyncEvaluationExecutor.submit({ 'rejected' }).get(5, TimeUnit.SECONDS)
+
+        then:
+        final ExecutionException exception = thrown()
+        exception.getCause() instanceof RejectedExecutionException
+        asyncEvaluationExecutor.getPendingEvaluations() == 2
+
+        when:
+        release.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            asyncEvaluationExecutor.getPendingEvaluations() == 0
+        }
+        asyncEvaluationExecutor.submit({ 'admitted' }).get(5, TimeUnit.SECONDS) == 'admitted'
+    }
+
+    void 'should run evaluation on caller thread when limit of pending evaluations is reached for caller runs policy'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 1, RejectionPolicy.CALLER_RUNS)
+        asyncEvaluationExecutor.submit({ release.await(); 'pending' })
+
+        when:
+        final CompletableFuture<Thread> result = asyncEvaluationExecutor.submit({ Thread.currentThread() })
+
+        then:
+        result.isDone()
+        result.get().is(Thread.currentThread())
+    }
+
+    void 'should wait for pending evaluation when limit of pending evaluations is reached for block policy'() {
+        given:
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(executorService, 1, RejectionPolicy.BLOCK)
+        asyncEvaluationExecutor.submit({ release.await(); 'pending' })
+        final CompletableFuture<CompletableFuture<String>> submission = CompletableFuture.supplyAsync({ asyncEvaluationExecutor.submit({ 'admitted' }) })
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        !submission.isDone()
+
+        when:
+        release.countDown()
+
+        then:
+        submission.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS) == 'admitted'
+    }
+
+    void 'should complete future exceptionally when executor rejects evaluation'() {
+        given:
+        final Executor rejectingExecutor = { throw new RejectedExecutionException('Executor is shut down') } as Executor
+        final AsyncEvaluationExecutor asyncEvaluationExecutor = new AsyncEvaluationExecutor(rejectingExecutor, 1, RejectionPolicy.ABORT)
+
+        when:
+        asyncEvaluationExecutor.submit({ 'rejected' }).get(5, TimeUnit.SECONDS)
+
+        then:
+        final ExecutionException exception = thrown()
+        exception.getCause().getMessage() == 'Executor is shut down'
+        asyncEvaluationExecutor.getPendingEvaluations() == 0
+    }
+
+    void 'should use virtual threads by default only when they are available'() {
+        when:
+        final Executor executor = DefaultAsyncExecutor.create()
+
+        then:
+        final boolean virtualThreadsAvailable = Executors.metaClass.respondsTo(Executors, 'newVirtualThreadPerTaskExecutor')
+        virtualThreadsAvailable ? executor instanceof ExecutorService : executor.is(ForkJoinPool.commonPool())
+    }
+
+    void 'should throw exception when limit of pending evaluations is not positive'() {
+        when:
+        new AsyncEvaluationExecutor(executorService, 0, RejectionPolicy.ABORT)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Maximum number of pending evaluations must be positive'
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.batch
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.configuration.TestMethods
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.Future
+
+class ParallelBatchEvaluatorSpec extends Specification {
+
+    private static final int THREADS = 8
+
+    @Shared
+    private List<MethodBinding> methodBindings
+
+    @Shared
+    private Decision referenceDecision
+
+    @Shared
+    private Decision bitsetDecision
+
+    @Shared
+    private ForkJoinPool forkJoinPool
+
+    @Shared
+    private ExecutorService fixedThreadPool
+
+    void setupSpec() {
+        methodBindings = [new StaticMethodBinding('parseDate', TestMethods.class.getMethod('parse', String))]
+        referenceDecision = readDecision('reference-single.yml')
+        bitsetDecision = readDecision('bitset-columns.yml')
+        forkJoinPool = new ForkJoinPool(THREADS)
+        fixedThreadPool = Executors.newFixedThreadPool(THREADS)
+    }
+
+    void cleanupSpec() {
+        forkJoinPool.shutdownNow()
+        fixedThreadPool.shutdownNow()
+    }
+
+    @Unroll
+    void 'should evaluate list of variable sets in parallel in input order on #executorName'(String executorName) {
+        given:
+        final DecisionEngine decisionEngine = createDecisionEngine()
+        final CompiledDecision compiledDecision = decisionEngine.compile(bitsetDecision)
+        final List<DecisionVariables> decisionVariables = createBitsetVariables(20000)
+        final ParallelBatchEvaluator parallelBatchEvaluator = new ParallelBatchEvaluator(executor(executorName), 64, THREADS * 2)
+
+        when:
+        final List<DecisionResult> decisionResults = parallelBatchEvaluator.evaluate(compiledDecision, decisionVariables)
+
+        then:
+        decisionResults*.toString() == compiledDecision.evaluateBatch(decisionVariables)*.toString()
+
+        where:
+        executorName << ['fork join pool', 'fixed thread pool']
+    }
+
+    @Unroll
+    void 'should evaluate iterator of variable sets in parallel in input order on #executorName'(String executorName) {
+        given:
+        final DecisionEngine decisionEngine = createDecisionEngine()
+        final CompiledDecision compiledDecision = decisionEngine.compile(bitsetDecision)
+        final List<DecisionVariables> decisionVariables = createBitsetVariables(20000)
+        final ParallelBatchEvaluator parallelBatchEvaluator = new ParallelBatchEvaluator(executor(executorName), 100, THREADS)
+
+        when:
+        final List<DecisionResult> decisionResults = parallelBatchEvaluator.evaluate(compiledDecision, decisionVariables.iterator()).collect()
+
+        then:
+        decisionResults*.toString() == compiledDecision.evaluateBatch(decisionVariables)*.toString()
+
+        where:
+        executorName << ['fork join pool', 'fixed thread pool']
+    }
+
+    void 'should keep bounded number of chunks in flight'() {
+        given:
+        final CompiledDecision compiledDecision = createDecisionEngine().compile(bitsetDecision)
+        final Iterator<DecisionVariables> decisionVariables = createBitsetVariables(1000).iterator()
+        int readVariables = 0
+        final Iterator<DecisionVariables> countingDecisionVariables = [
+                hasNext: { decisionVariables.hasNext() },
+                next   : { readVariables++; decisionVariables.next() }
+        ] as Iterator<DecisionVariables>
+        final ParallelBatchEvaluator parallelBatchEvaluator = new ParallelBatchEvaluator(forkJoinPool, 10, 3)
+
+        when:
+        final Iterator<DecisionResult> decisionResults = parallelBatchEvaluator.evaluate(compiledDecision, countingDecisionVariables)
+
+        then:
+        readVariables == 0
+
+        when:
+        decisionResults.next()
+
+        then:
+        readVariables == 30
+    }
+
+    @Unroll
+    void 'should rethrow evaluation failure from #executorName'(String executorName) {
+        given:
+        final EvaluationException failure = new EvaluationException('Evaluation failed')
+        final CompiledDecision compiledDecision = Mock()
+        compiledDecision.evaluateBatch(_ as List) >> { throw failure }
+        final ParallelBatchEvaluator parallelBatchEvaluator = new ParallelBatchEvaluator(executor(executorName), 10, 2)
+
+        when:
+        parallelBatchEvaluator.evaluate(compiledDecision, createBitsetVariables(100))
+
+        then:
+        final EvaluationException exception = thrown()
+        exception.is(failure)
+
+        where:
+        executorName << ['fork join pool', 'fixed thread pool']
+    }
+
+    void 'should evaluate decisions concurrently with shared engine'() {
+        given:
+        final DecisionEngine decisionEngine = createDecisionEngine()
+        final List<DecisionVariables> decisionVariables = createReferenceVariables(200)
+        final List<String> expectedResults = createDecisionEngine().evaluateBatch(referenceDecision, decisionVariables)*.toString()
+        final CompiledDecision compiledDecision = decisionEngine.compile(referenceDecision)
+        final CountDownLatch start = new CountDownLatch(1)
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS * 2)
+
+        when:
+        final List<Future<List<String>>> futures = (1..THREADS * 2).collect { thread ->
+            executorService.submit({
+                start.await()
+
+                thread % 2 == 0 ?
+                        decisionVariables.collect { decisionEngine.evaluate(referenceDecision, it).toString() } :
+                        decisionVariables.collect { compiledDecision.evaluate(it).toString() }
+            } as Callable<List<String>>)
+        }
+        start.countDown()
+        final List<List<String>> results = futures*.get()
+
+        then:
+        results.every { it == expectedResults }
+
+        cleanup:
+        executorService.shutdownNow()
+    }
+
+    void 'should throw exception when chunk size is not positive'() {
+        when:
+        new ParallelBatchEvaluator(forkJoinPool, 0, 1)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Chunk size must be positive'
+    }
+
+    void 'should throw exception when compiled decision is null'() {
+        when:
+        new ParallelBatchEvaluator(forkJoinPool).evaluate(null, [])
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Compiled decision can not be null'
+    }
+
+    private DecisionEngine createDecisionEngine() {
+        return new DefaultDecisionEngineConfiguration().methodBindings(methodBindings).configure()
+    }
+
+    private Executor executor(final String executorName) {
+        return executorName == 'fork join pool' ? forkJoinPool : fixedThreadPool
+    }
+
+    private static List<DecisionVariables> createBitsetVariables(final int count) {
+        final Random random = new Random(count)
+
+        return (0..<count).collect {
+            new DecisionVariables([age        : random.nextInt(60),
+                                   segment    : ['retail', 'business', 'other'][random.nextInt(3)],
+                                   score      : random.nextDouble() * 2,
+                                   limit      : 1.0d])
+        }
+    }
+
+    private static List<DecisionVariables> createReferenceVariables(final int count) {
+        final Random random = new Random(count)
+
+        return (0..<count).collect {
+            new DecisionVariables([x        : random.nextInt(6),
+                                   y        : random.nextInt(8),
+                                   p        : random.nextInt(11),
+                                   q        : random.nextInt(11),
+                                   arrayVar : ['', 'a,b', 'a,b,c,d,e,f'][random.nextInt(3)],
+                                   inputFour: Date.parse('yyyy-MM-dd', '2018-12-1' + (3 + random.nextInt(6)))])
+        }
+    }
+
+    private Decision readDecision(final String decisionFileName) {
+        final InputStream decisionInputStream = this.class.getResourceAsStream('/org/powerflows/dmn/engine/configuration/' + decisionFileName)
+
+        return new YamlDecisionReader().read(decisionInputStream).get()
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.cache
+
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.configuration.TestMethods
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListener
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.field.ValueType
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import java.util.function.LongSupplier
+
+class DecisionResultCacheSpec extends Specification {
+
+    private static final int THREADS = 8
+
+    @Shared
+    private List<MethodBinding> methodBindings
+
+    @Shared
+    private Decision decision
+
+    void setupSpec() {
+        methodBindings = [new StaticMethodBinding('parseDate', TestMethods.class.getMethod('parse', String)),
+                          new StaticMethodBinding('doubled', TestMethods.class.getMethod('doubled', Integer))]
+        decision = readDecision(this.class.getResourceAsStream('/org/powerflows/dmn/engine/configuration/result-cache.yml'))
+    }
+
+    void 'should cache results by values of decision inputs only'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+
+        when:
+        final DecisionResult firstDecisionResult = decisionEngine.evaluate(decision, variables('PL', 3, [other: 1]))
+        final DecisionResult secondDecisionResult = decisionEngine.evaluate(decision, variables('PL', 3, [other: 2]))
+        final DecisionResult thirdDecisionResult = decisionEngine.evaluate(decision, variables('PL', 1))
+
+        then:
+        firstDecisionResult.getSingleEntryResult().getValue() == 15
+        secondDecisionResult.is(firstDecisionResult)
+        thirdDecisionResult.getSingleEntryResult().getValue() == 5
+        statistics(decisionResultCache) == [hitCount: 1, missCount: 2, evictionCount: 0, size: 2]
+        decisionResultCache.getStatistics().getHitRate() == 1 / 3d
+    }
+
+    void 'should cache results of batch evaluation'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+        final List<DecisionVariables> decisionVariables = (0..<100).collect { variables(['PL', 'DE', 'US'][it % 3], it % 5) }
+
+        when:
+        final List<DecisionResult> decisionResults = decisionEngine.evaluateBatch(decision, decisionVariables)
+
+        then:
+        decisionResults*.toString() == createDecisionEngine(null).evaluateBatch(decision, decisionVariables)*.toString()
+        statistics(decisionResultCache) == [hitCount: 85, missCount: 15, evictionCount: 0, size: 15]
+    }
+
+    void 'should evict least recently used result when cache is full'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().maximumSize(2).build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+
+        when:
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        decisionEngine.evaluate(decision, variables('DE', 1))
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        decisionEngine.evaluate(decision, variables('US', 1))
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        decisionEngine.evaluate(decision, variables('DE', 1))
+
+        then:
+        statistics(decisionResultCache) == [hitCount: 2, missCount: 4, evictionCount: 2, size: 2]
+    }
+
+    void 'should evaluate cache hits concurrently'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+        final List<DecisionVariables> decisionVariables = (0..<15).collect { variables(['PL', 'DE', 'US'][it % 3], it % 5) }
+        final List<String> expectedResults = decisionVariables.collect { decisionEngine.evaluate(decision, it).toString() }
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS)
+        final CountDownLatch start = new CountDownLatch(1)
+
+        when:
+        final List<Future<Boolean>> futures = (0..<THREADS).collect {
+            executorService.submit({
+                start.await()
+
+                return (0..<1000).every { i -> decisionEngine.evaluate(decision, decisionVariables[i % 15]).toString() == expectedResults[i % 15] }
+            } as Callable<Boolean>)
+        }
+        start.countDown()
+
+        then:
+        futures*.get(30, TimeUnit.SECONDS) == [true] * THREADS
+        statistics(decisionResultCache) == [hitCount: THREADS * 1000, missCount: 15, evictionCount: 0, size: 15]
+
+        cleanup:
+        executorService.shutdownNow()
+    }
+
+    void 'should not wait for lock of other segment on cache hit'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final DecisionResult decisionResult = DecisionResult.builder().ruleResults([]).build()
+        final List<DecisionResultKey> keys = (0..<100).collect { new DecisionResultKey(decision, 0, [it] as Serializable[]) }
+        final DecisionResultKey lockedKey = keys[0]
+        final DecisionResultKey otherKey = keys.find { !decisionResultCache.getSegment(it).is(decisionResultCache.getSegment(lockedKey)) }
+        keys.each { decisionResultCache.getOrEvaluate(it, { decisionResult }) }
+        final CountDownLatch locked = new CountDownLatch(1)
+        final CountDownLatch release = new CountDownLatch(1)
+        final Thread lockingThread = Thread.start {
+            synchronized (decisionResultCache.getSegment(lockedKey)) {
+                locked.countDown()
+                release.await()
+            }
+        }
+        final ExecutorService executorService = Executors.newSingleThreadExecutor()
+        locked.await()
+
+        when:
+        final DecisionResult otherDecisionResult = executorService
+                .submit({ decisionResultCache.getOrEvaluate(otherKey, { null }) } as Callable<DecisionResult>)
+                .get(5, TimeUnit.SECONDS)
+
+        then:
+        decisionResultCache.@segments.length == DecisionResultCache.MAX_SEGMENT_COUNT
+        otherDecisionResult.is(decisionResult)
+
+        cleanup:
+        release.countDown()
+        lockingThread.join()
+        executorService.shutdownNow()
+    }
+
+    void 'should split maximum size between segments'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().maximumSize(maximumSize).build()
+
+        expect:
+        decisionResultCache.@segments*.@maximumSize == segmentSizes
+
+        where:
+        maximumSize || segmentSizes
+        2           || [2]
+        127         || [127]
+        130         || [65, 65]
+        1000        || [125] * 8
+        1030        || [65] * 6 + [64] * 10
+    }
+
+    void 'should expire results after time to live'() {
+        given:
+        final AtomicLong time = new AtomicLong()
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder()
+                .timeToLive(Duration.ofSeconds(10))
+                .ticker({ time.get() } as LongSupplier)
+                .build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+
+        when:
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        time.set(Duration.ofSeconds(9).toNanos())
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        time.set(Duration.ofSeconds(10).toNanos())
+        decisionEngine.evaluate(decision, variables('PL', 1))
+
+        then:
+        statistics(decisionResultCache) == [hitCount: 1, missCount: 2, evictionCount: 1, size: 1]
+    }
+
+    void 'should not cache results of decisions disabled by decision filter'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder()
+                .decisionFilter({ it.getId() != 'result_cache' })
+                .build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+
+        when:
+        decisionEngine.evaluate(decision, variables('PL', 1))
+        decisionEngine.evaluate(decision, variables('PL', 1))
+
+        then:
+        statistics(decisionResultCache) == [hitCount: 0, missCount: 0, evictionCount: 0, size: 0]
+    }
+
+    void 'should not cache results of decisions depending on other variables'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final DecisionEngine decisionEngine = createDecisionEngine(decisionResultCache)
+        final Decision nonDeterministicDecision = readDecision(yamlDecision('FEEL', '>= limit'))
+
+        when:
+        final DecisionResult firstDecisionResult = decisionEngine.evaluate(nonDeterministicDecision, variables('PL', 3, [limit: 3]))
+        final DecisionResult secondDecisionResult = decisionEngine.evaluate(nonDeterministicDecision, variables('PL', 3, [limit: 4]))
+
+        then:
+        firstDecisionResult.getSingleEntryResult().getValue() == 15
+        secondDecisionResult.getSingleEntryResult().getValue() == 5
+        statistics(decisionResultCache) == [hitCount: 0, missCount: 0, evictionCount: 0, size: 0]
+    }
+
+    void 'should not cache results when evaluations are listened to'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final EvaluationListener evaluationListener = Mock()
+        final DecisionEngine decisionEngine = new DefaultDecisionEngineConfiguration()
+                .methodBindings(methodBindings)
+                .decisionResultCache(decisionResultCache)
+                .evaluationListeners([evaluationListener])
+                .configure()
+
+        when:
+        decisionEngine.evaluate(decision, variables('PL', 3))
+        decisionEngine.evaluate(decision, variables('PL', 3))
+
+        then:
+        2 * evaluationListener.decisionStarted(decision, _)
+        2 * evaluationListener.decisionEvaluated(decision, _, _)
+        statistics(decisionResultCache) == [hitCount: 0, missCount: 0, evictionCount: 0, size: 0]
+    }
+
+    void 'should keep cached key when date of evaluated variables changes'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final Date date = new Date(0L)
+        final DecisionResult decisionResult = DecisionResult.builder().ruleResults([]).build()
+        decisionResultCache.getOrEvaluate(new DecisionResultKey(decision, decision.hashCode(), [date] as Serializable[]), { decisionResult })
+        date.setTime(1000L)
+
+        when:
+        final DecisionResult cachedDecisionResult = decisionResultCache
+                .getOrEvaluate(new DecisionResultKey(decision, decision.hashCode(), [new Date(0L)] as Serializable[]), { null })
+
+        then:
+        cachedDecisionResult.is(decisionResult)
+        statistics(decisionResultCache) == [hitCount: 1, missCount: 1, evictionCount: 0, size: 1]
+    }
+
+    void 'should not cache results of decisions with DATE outputs'() {
+        given:
+        final DecisionResultCache decisionResultCache = DecisionResultCache.builder().build()
+        final Decision dateDecision = readDecision(new ByteArrayInputStream(this.class
+                .getResourceAsStream('/org/powerflows/dmn/engine/configuration/result-cache.yml').text
+                .replace('type: INTEGER\nrules', 'type: DATE\nrules')
+                .getBytes('UTF-8')))
+
+        expect:
+        dateDecision.getOutputs()*.getType() == [ValueType.DATE]
+        decisionResultCache.isEnabled(decision)
+        !decisionResultCache.isEnabled(dateDecision)
+    }
+
+    @Unroll
+    void 'should find decision with #expressionType entry #expression deterministic #deterministic'(String expressionType,
+                                                                                                   String expression,
+                                                                                                   boolean deterministic) {
+        given:
+        final DecisionDeterminismAnalyzer decisionDeterminismAnalyzer = new DecisionDeterminismAnalyzer(methodBindings)
+
+        expect:
+        decisionDeterminismAnalyzer.isDeterministic(readDecision(yamlDecision(expressionType, expression))) == deterministic
+
+        where:
+        expressionType | expression                                    || deterministic
+        'LITERAL'      | '3'                                           || true
+        'FEEL'         | '[1..5]'                                      || true
+        'FEEL'         | '>= 3, < 1.5e2'                               || true
+        'FEEL'         | 'not(3, 4)'                                   || true
+        'FEEL'         | '-'                                           || true
+        'FEEL'         | '> doubled(country)'                          || true
+        'FEEL'         | 'cellInput > country'                         || true
+        'FEEL'         | '"limit"'                                     || true
+        'FEEL'         | 'date and time("2018-12-10T00:00:00")'        || true
+        'FEEL'         | '> limit'                                     || false
+        'FEEL'         | '> parseDate("2018-12-10")'                   || false
+        'MVEL'         | 'cellInput > 3'                               || false
+        'JUEL'         | '${cellInput > 3}'                            || false
+    }
+
+    @Unroll
+    void 'should throw exception when maximum size is #maximumSize'(final int maximumSize) {
+        when:
+        DecisionResultCache.builder().maximumSize(maximumSize).build()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Maximum size must be positive'
+
+        where:
+        maximumSize << [0, -1]
+    }
+
+    void 'should throw exception when time to live is not positive'() {
+        when:
+        DecisionResultCache.builder().timeToLive(Duration.ZERO).build()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Time to live must be positive'
+    }
+
+    private DecisionEngine createDecisionEngine(final DecisionResultCache decisionResultCache) {
+        return new DefaultDecisionEngineConfiguration()
+                .methodBindings(methodBindings)
+                .decisionResultCache(decisionResultCache)
+                .configure()
+    }
+
+    private static Map<String, Object> statistics(final DecisionResultCache decisionResultCache) {
+        final CacheStatistics statistics = decisionResultCache.getStatistics()
+
+        return [hitCount     : statistics.getHitCount(),
+                missCount    : statistics.getMissCount(),
+                evictionCount: statistics.getEvictionCount(),
+                size         : statistics.getSize()]
+    }
+
+    private static DecisionVariables variables(final String country, final int tier, final Map<String, Serializable> others = [:]) {
+        return new DecisionVariables([country: country, tier: tier] + others)
+    }
+
+    private static InputStream yamlDecision(final String expressionType, final String expression) {
+        final String yaml = this.getResourceAsStream('/org/powerflows/dmn/engine/configuration/result-cache.yml').text
+                .replace("expression-type: FEEL\n      expression: '>= 3'",
+                        "expression-type: ${expressionType}\n      expression: '${expression}'")
+
+        return new ByteArrayInputStream(yaml.getBytes('UTF-8'))
+    }
+
+    private static Decision readDecision(final InputStream decisionInputStream) {
+        return new YamlDecisionReader().read(decisionInputStream).get()
+    }
+}
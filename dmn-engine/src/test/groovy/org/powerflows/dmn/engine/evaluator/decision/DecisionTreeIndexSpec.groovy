@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class DecisionTreeIndexSpec extends Specification {
+
+    @Shared
+    private DecisionEngine treeDecisionEngine
+
+    @Shared
+    private DecisionEngine decisionEngine
+
+    void setupSpec() {
+        treeDecisionEngine = new DefaultDecisionEngineConfiguration().compileToDecisionTrees(true).configure()
+        decisionEngine = new DefaultDecisionEngineConfiguration().configure()
+    }
+
+    @Unroll
+    void 'should evaluate decision tree like column indexes for #hitPolicy'(final HitPolicy hitPolicy) {
+        given:
+        final Decision decision = createDecision(hitPolicy)
+        final List<DecisionVariables> decisionVariables = [['a', 'b', 'x', ['a', 'b'], null], [5, 18, 25, 40, 64, 65, 90, 25L, null], [0.5d, 1.5d]]
+                .combinations()
+                .collect { new DecisionVariables([segment: it[0], age: it[1], score: it[2], limit: 1.0d]) }
+
+        when:
+        final CompiledDecision treeDecision = treeDecisionEngine.compile(decision)
+        final CompiledDecision indexedDecision = decisionEngine.compile(decision)
+
+        then:
+        treeDecision.@indexes*.getClass() == [DecisionTreeIndex]
+        indexedDecision.@indexes*.getClass() == [EqualityColumnIndex, IntervalColumnIndex]
+        decisionVariables.collect { variables -> evaluate { treeDecision.evaluate(variables) } } == decisionVariables.collect { variables -> evaluate { indexedDecision.evaluate(variables) } }
+        evaluate { treeDecision.evaluateBatch(decisionVariables) } == evaluate { indexedDecision.evaluateBatch(decisionVariables) }
+
+        where:
+        hitPolicy << [HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.UNIQUE, HitPolicy.RULE_ORDER]
+    }
+
+    void 'should split first on column leaving fewest candidates'() {
+        given:
+        final Decision decision = createDecision(HitPolicy.COLLECT)
+
+        when:
+        final CompiledDecision treeDecision = treeDecisionEngine.compile(decision)
+
+        then:
+        treeDecision.@indexes[0].@root.@column.getClass() == IntervalColumnIndex
+        treeDecision.evaluate(new DecisionVariables([segment: 'b', age: 30, score: 1.5d, limit: 1.0d])).getCollectionRulesResult()*.getEntryResults()*.getAt(0)*.getValue() == ['r10', 'r12', 'r22', 'r24', 'r30', 'r32']
+    }
+
+    void 'should keep column index of decision with single indexed column'() {
+        given:
+        final String rules = (0..9).collect { "- in:\n    age: $it\n  out:\n    result: r$it\n" }.join()
+        final String yaml = "id: single\nname: Single\nhit-policy: FIRST\nevaluation-mode: INPUT_COMPARISON\nfields:\n  in:\n    age:\n      type: INTEGER\n  out:\n    result:\n      type: STRING\nrules:\n$rules"
+        final Decision decision = new YamlDecisionReader().read(new ByteArrayInputStream(yaml.getBytes('UTF-8'))).get()
+
+        when:
+        final CompiledDecision treeDecision = treeDecisionEngine.compile(decision)
+
+        then:
+        treeDecision.@indexes*.getClass() == [EqualityColumnIndex]
+    }
+
+    @Unroll
+    void 'should evaluate decision tree of #decisionFileName like column indexes'(final String decisionFileName, final List<List<?>> values) {
+        given:
+        final Decision decision = readDecision(decisionFileName)
+        final List<String> inputNames = decision.getInputs()*.getName()
+        final List<DecisionVariables> decisionVariables = values.combinations().collect { new DecisionVariables([inputNames, it].transpose().collectEntries()) }
+
+        when:
+        final CompiledDecision treeDecision = treeDecisionEngine.compile(decision)
+        final CompiledDecision indexedDecision = decisionEngine.compile(decision)
+
+        then:
+        treeDecision.@indexes*.getClass() == [DecisionTreeIndex]
+        decisionVariables.collect { variables -> evaluate { treeDecision.evaluate(variables) } } == decisionVariables.collect { variables -> evaluate { indexedDecision.evaluate(variables) } }
+
+        where:
+        decisionFileName     || values
+        'equality-index.yml' || [['PL', 'DE', 'US', 'FR'], [1, 2, 3], ['web', 'shop', null]]
+        'interval-index.yml' || [[-5, 0, 99, 100, 150, 200, 500, 501, 1000], [0.5d, 0.7d], [new Date(1496275200000L), new Date(1527811200000L), new Date(1559347200000L)]]
+    }
+
+    void 'should propagate failure of index instead of evaluating rule by rule'() {
+        given:
+        final CompiledDecision treeDecision = treeDecisionEngine.compile(createDecision(HitPolicy.COLLECT))
+        treeDecision.@indexes[0] = Stub(ColumnIndex) {
+            retainCandidates(_, _) >> { throw new IllegalStateException('Broken index') }
+        }
+
+        when:
+        treeDecision.evaluate(new DecisionVariables([segment: 'b', age: 30, score: 1.5d, limit: 1.0d]))
+
+        then:
+        final IllegalStateException exception = thrown()
+        exception.getMessage() == 'Broken index'
+    }
+
+    /**
+     * Segments of odd and even rules are a and b, ages of every four rules are one of 8 ranges, so age narrows candidates most.
+     * Every third rule has score entry depending on other variable.
+     */
+    private static Decision createDecision(final HitPolicy hitPolicy) {
+        final List<String> segments = ['a', 'b']
+        final List<String> ages = ['< 18', '[18..25)', '[25..40)', '[40..65)', '>= 65', '[30..35]', '> 80', '[0..150]']
+        final String rules = (0..31).collect {
+            final String score = it % 3 == 0 ? "    score:\n      expression-type: FEEL\n      expression: '> limit'\n" : ''
+            final String age = "    age:\n      expression-type: FEEL\n      expression: '${ages[it.intdiv(4)]}'\n"
+
+            return "- in:\n    segment: ${segments[it % 2]}\n$age$score  out:\n    result: r${it + 1}\n"
+        }.join()
+        final String yaml = "id: tree\nname: Tree\nhit-policy: $hitPolicy\nevaluation-mode: INPUT_COMPARISON\nfields:\n  in:\n" +
+                "    segment:\n      type: STRING\n    age:\n      type: INTEGER\n    score:\n      type: DOUBLE\n  out:\n    result:\n      type: STRING\nrules:\n$rules"
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(yaml.getBytes('UTF-8'))).get()
+    }
+
+    private static Decision readDecision(final String decisionFileName) {
+        return new YamlDecisionReader().read(DecisionTreeIndexSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/' + decisionFileName)).get()
+    }
+
+    private static String evaluate(final Closure<?> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListenerAdapter
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MethodHandleEvaluatorSpec extends Specification {
+
+    @Shared
+    private DecisionEngine compilingDecisionEngine
+
+    @Shared
+    private DecisionEngine interpretingDecisionEngine
+
+    void setupSpec() {
+        compilingDecisionEngine = new DefaultDecisionEngineConfiguration().compileToMethodHandles(true).configure()
+        interpretingDecisionEngine = new DefaultDecisionEngineConfiguration().configure()
+    }
+
+    @Unroll
+    void 'should evaluate #decisionFileName by method handles like interpreted decision for #hitPolicy'(
+            String decisionFileName, HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision(decisionFileName, hitPolicy)
+        final CompiledDecision compiledDecision = compilingDecisionEngine.compile(decision)
+        final CompiledDecision interpretedDecision = interpretingDecisionEngine.compile(decision)
+        final List<DecisionVariables> decisionVariables = [[10, 18, 25, 30, 45, 25L, '25', null], ['retail', 'business', 'other', ['retail', 'business'], null], [0.5d, 0.5f, 2.0d]]
+                .combinations()
+                .collect { new DecisionVariables([age: it[0], segment: it[1], score: it[2], limit: 1.0d]) }
+
+        when:
+        final List<String> compiledDecisionResults = decisionVariables.collect { variables -> evaluate { compiledDecision.evaluate(variables) } }
+        final List<String> interpretedDecisionResults = decisionVariables.collect { variables -> evaluate { interpretedDecision.evaluate(variables) } }
+
+        then:
+        evaluate { compiledDecision.@methodHandleEvaluator.evaluate(new DecisionVariables([age: 25, segment: 'retail', score: 0.7d])) } == evaluate { interpretedDecision.evaluate(new DecisionVariables([age: 25, segment: 'retail', score: 0.7d])) }
+        compiledDecisionResults == interpretedDecisionResults
+        evaluate { compiledDecision.evaluateBatch(decisionVariables) } == evaluate { interpretedDecision.evaluateBatch(decisionVariables) }
+
+        where:
+        [decisionFileName, hitPolicy] << [['allocation-free.yml'], [HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.ANY, HitPolicy.UNIQUE, HitPolicy.RULE_ORDER]].combinations()
+    }
+
+    @Unroll
+    void 'should evaluate primitive keys by method handles like interpreted decision for #hitPolicy'(final HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision('primitive-keys.yml', hitPolicy)
+        final CompiledDecision compiledDecision = compilingDecisionEngine.compile(decision)
+        final CompiledDecision interpretedDecision = interpretingDecisionEngine.compile(decision)
+        final List<DecisionVariables> decisionVariables = [[1, 2, 11, 2.0d, '3', null], [0.5d, 0.25d, 1.5d, 1, null], [new Date(1577836800000L), new Date(0L), null]]
+                .combinations()
+                .collect { new DecisionVariables([code: it[0], rate: it[1], since: it[2]]) }
+
+        when:
+        final List<String> compiledDecisionResults = decisionVariables.collect { variables -> evaluate { compiledDecision.evaluate(variables) } }
+        final List<String> interpretedDecisionResults = decisionVariables.collect { variables -> evaluate { interpretedDecision.evaluate(variables) } }
+
+        then:
+        evaluate { compiledDecision.@methodHandleEvaluator.evaluate(new DecisionVariables([code: 2, rate: 0.5d, since: new Date(0L)])) } == evaluate { interpretedDecision.evaluate(new DecisionVariables([code: 2, rate: 0.5d, since: new Date(0L)])) }
+        compiledDecisionResults == interpretedDecisionResults
+
+        where:
+        hitPolicy << [HitPolicy.COLLECT, HitPolicy.FIRST, HitPolicy.UNIQUE]
+    }
+
+    void 'should interpret decision with entry depending on other variables'() {
+        given:
+        final Decision decision = readDecision('bitset-columns.yml', HitPolicy.COLLECT)
+
+        when:
+        final CompiledDecision compiledDecision = compilingDecisionEngine.compile(decision)
+
+        then:
+        compiledDecision.@methodHandleEvaluator == null
+        compiledDecision.evaluate(new DecisionVariables([age: 20, segment: 'business', score: 2.0d, limit: 1.0d])).getCollectionRulesResult()*.getEntryResults()*.getAt(0)*.getValue() == ['r3', 'r5', 'r6']
+    }
+
+    void 'should interpret decision when evaluations are listened to'() {
+        given:
+        final DecisionEngine listenedDecisionEngine = new DefaultDecisionEngineConfiguration()
+                .compileToMethodHandles(true)
+                .evaluationListeners([new EvaluationListenerAdapter() {}])
+                .configure()
+
+        when:
+        final CompiledDecision compiledDecision = listenedDecisionEngine.compile(readDecision('allocation-free.yml', HitPolicy.FIRST))
+
+        then:
+        compiledDecision.@methodHandleEvaluator == null
+    }
+
+    void 'should interpret decision having more rules than method handle tree limit'() {
+        given:
+        final String rules = (0..MethodHandleEvaluator.MAX_GUARD_COUNT / 2).collect { "- in:\n    age: $it\n  out:\n    result: r$it\n" }.join()
+        final String yaml = "id: large\nname: Large\nhit-policy: FIRST\nevaluation-mode: INPUT_COMPARISON\nfields:\n  in:\n    age:\n      type: INTEGER\n  out:\n    result:\n      type: STRING\nrules:\n$rules"
+        final Decision decision = new YamlDecisionReader().read(new ByteArrayInputStream(yaml.getBytes('UTF-8'))).get()
+
+        when:
+        final CompiledDecision compiledDecision = compilingDecisionEngine.compile(decision)
+
+        then:
+        compiledDecision.@methodHandleEvaluator == null
+        compiledDecision.evaluate(new DecisionVariables([age: 7])).getSingleEntryResult().getValue() == 'r7'
+    }
+
+    private static Decision readDecision(final String decisionFileName, final HitPolicy hitPolicy) {
+        final String decisionText = MethodHandleEvaluatorSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/' + decisionFileName).getText('UTF-8')
+                .replaceFirst('hit-policy: [A-Z_]+', 'hit-policy: ' + hitPolicy)
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(decisionText.getBytes('UTF-8'))).get()
+    }
+
+    private static String evaluate(final Closure<?> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RuleTableAnalyzerSpec extends Specification {
+
+    @Shared
+    private DecisionEngine pruningDecisionEngine
+
+    @Shared
+    private DecisionEngine decisionEngine
+
+    void setupSpec() {
+        pruningDecisionEngine = new DefaultDecisionEngineConfiguration().pruneRules(true).checkRuleOverlaps(true).configure()
+        decisionEngine = new DefaultDecisionEngineConfiguration().configure()
+    }
+
+    @Unroll
+    void 'should prune rules of #hitPolicy decision'(final HitPolicy hitPolicy, final List<String> expectedPrunedRules) {
+        given:
+        final Decision decision = readDecision(hitPolicy)
+
+        when:
+        final CompiledDecision compiledDecision = pruningDecisionEngine.compile(decision)
+
+        then:
+        compiledDecision.getPrunedRules().collect { "${it.getRuleIndex()} ${it.getReason()} ${it.getSubsumingRuleIndex()}".toString() } == expectedPrunedRules
+        compiledDecision.getPrunedRules()*.getRule() == compiledDecision.getPrunedRules().collect { decision.getRules().get(it.getRuleIndex()) }
+
+        where:
+        hitPolicy            || expectedPrunedRules
+        HitPolicy.FIRST      || ['1 SUBSUMED 0', '2 EMPTY_DOMAIN null', '3 EMPTY_DOMAIN null', '6 SUBSUMED 4']
+        HitPolicy.ANY        || ['1 SUBSUMED 0', '2 EMPTY_DOMAIN null', '3 EMPTY_DOMAIN null', '6 SUBSUMED 4']
+        HitPolicy.COLLECT    || ['2 EMPTY_DOMAIN null', '3 EMPTY_DOMAIN null']
+        HitPolicy.RULE_ORDER || ['2 EMPTY_DOMAIN null', '3 EMPTY_DOMAIN null']
+    }
+
+    @Unroll
+    void 'should evaluate pruned #hitPolicy decision like decision with all rules'(final HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision(hitPolicy)
+        final CompiledDecision prunedDecision = pruningDecisionEngine.compile(decision)
+        final CompiledDecision completeDecision = decisionEngine.compile(decision)
+        final List<DecisionVariables> decisionVariables = [[5, 10, 18, 25, 35, 50, 62, 65, 66, 75], ['retail', 'business', 'other', ['retail', 'business'], []]]
+                .combinations()
+                .collect { new DecisionVariables([age: it[0], segment: it[1]]) }
+
+        when:
+        final List<String> prunedDecisionResults = decisionVariables.collect { variables -> evaluate { prunedDecision.evaluate(variables) } }
+        final List<String> completeDecisionResults = decisionVariables.collect { variables -> evaluate { completeDecision.evaluate(variables) } }
+
+        then:
+        !prunedDecision.getPrunedRules().isEmpty()
+        completeDecision.getPrunedRules().isEmpty()
+        prunedDecisionResults == completeDecisionResults
+
+        where:
+        hitPolicy << [HitPolicy.FIRST, HitPolicy.ANY, HitPolicy.COLLECT, HitPolicy.RULE_ORDER]
+    }
+
+    void 'should not compare rules of decision with entries depending on other variables'() {
+        given:
+        final Decision decision = readDecision(HitPolicy.FIRST, 'rule-pruning.yml') { it.replace("expression: '[18..65]'", "expression: '[18..limit]'") }
+
+        when:
+        final CompiledDecision compiledDecision = pruningDecisionEngine.compile(decision)
+
+        then:
+        compiledDecision.getPrunedRules()*.getRuleIndex() == [2, 3, 6]
+        compiledDecision.evaluate(new DecisionVariables([age: 35, segment: 'retail', limit: 30])).getSingleEntryResult().getValue() == 'r2'
+    }
+
+    void 'should stop evaluation of unique decision with rules never overlapping at first matching rule'() {
+        given:
+        final Decision decision = readDecision(HitPolicy.UNIQUE, 'unique-rules.yml')
+        final List<DecisionVariables> decisionVariables = [[10, 17, 18, 30, 64, 65, 70], ['retail', 'business', 'other', ['retail', 'business'], [], null]]
+                .combinations()
+                .collect { new DecisionVariables([age: it[0], segment: it[1]]) }
+
+        when:
+        final CompiledDecision checkedDecision = pruningDecisionEngine.compile(decision)
+        final CompiledDecision uncheckedDecision = decisionEngine.compile(decision)
+
+        then:
+        checkedDecision.getRuleOverlaps() == []
+        checkedDecision.@singleNonUniqueRuleResultExpected
+        uncheckedDecision.getRuleOverlaps() == null
+        !uncheckedDecision.@singleNonUniqueRuleResultExpected
+        decisionVariables.collect { variables -> evaluate { checkedDecision.evaluate(variables) } } == decisionVariables.collect { variables -> evaluate { uncheckedDecision.evaluate(variables) } }
+    }
+
+    void 'should report overlapping rules of unique decision'() {
+        given:
+        final Decision decision = readDecision(HitPolicy.UNIQUE, 'unique-rules.yml') { it.replace("expression: '>= 65'", "expression: '>= 60'") }
+
+        when:
+        final CompiledDecision compiledDecision = pruningDecisionEngine.compile(decision)
+        compiledDecision.evaluate(new DecisionVariables([age: 62, segment: 'retail']))
+
+        then:
+        compiledDecision.getRuleOverlaps().collect { [it.getFirstRuleIndex(), it.getSecondRuleIndex()] } == [[1, 3], [2, 3]]
+        compiledDecision.getRuleOverlaps()*.getSecondRule() == [decision.getRules().get(3)] * 2
+        !compiledDecision.@singleNonUniqueRuleResultExpected
+        thrown(HitPolicyViolationException)
+    }
+
+    void 'should report rules with entries depending on other variables as overlapping'() {
+        given:
+        final Decision decision = readDecision(HitPolicy.UNIQUE, 'unique-rules.yml') { it.replace("expression: '< 18'", "expression: '< limit'") }
+
+        when:
+        final CompiledDecision compiledDecision = pruningDecisionEngine.compile(decision)
+
+        then:
+        compiledDecision.getRuleOverlaps().collect { [it.getFirstRuleIndex(), it.getSecondRuleIndex()] } == [[0, 1], [0, 2], [0, 3]]
+    }
+
+    @Unroll
+    void 'should not check rules of #hitPolicy decision for overlaps'(final HitPolicy hitPolicy) {
+        when:
+        final CompiledDecision compiledDecision = pruningDecisionEngine.compile(readDecision(hitPolicy, 'unique-rules.yml'))
+
+        then:
+        compiledDecision.getRuleOverlaps() == null
+
+        where:
+        hitPolicy << [HitPolicy.FIRST, HitPolicy.COLLECT, HitPolicy.RULE_ORDER]
+    }
+
+    private static Decision readDecision(final HitPolicy hitPolicy, final String decisionFileName = 'rule-pruning.yml', final Closure<String> modification = { it }) {
+        final String decisionText = RuleTableAnalyzerSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/' + decisionFileName).getText('UTF-8')
+                .replaceFirst('hit-policy: [A-Z_]+', 'hit-policy: ' + hitPolicy)
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(modification(decisionText).getBytes('UTF-8'))).get()
+    }
+
+    private static String evaluate(final Closure<?> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+}
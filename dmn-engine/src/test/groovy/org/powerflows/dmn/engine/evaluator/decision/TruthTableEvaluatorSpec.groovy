@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.decision
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListenerAdapter
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TruthTableEvaluatorSpec extends Specification {
+
+    @Shared
+    private DecisionEngine precomputingDecisionEngine
+
+    @Shared
+    private DecisionEngine decisionEngine
+
+    void setupSpec() {
+        precomputingDecisionEngine = new DefaultDecisionEngineConfiguration().maxTruthTableSize(100).configure()
+        decisionEngine = new DefaultDecisionEngineConfiguration().configure()
+    }
+
+    @Unroll
+    void 'should evaluate precomputed #hitPolicy decision like interpreted decision'(final HitPolicy hitPolicy) {
+        given:
+        final Decision decision = readDecision(hitPolicy)
+        final List<DecisionVariables> decisionVariables = [[true, false, null, 'true'], ['retail', 'business', 'partner', 'other', '', null, ['retail'], 5], ['web', 'shop', 'phone', 'mail', null]]
+                .combinations()
+                .collectMany { [new DecisionVariables([vip: it[0], segment: it[1], channel: it[2]]), new DecisionVariables([vip: it[0], customerSegment: it[1], channel: it[2]])] }
+
+        when:
+        final CompiledDecision precomputedDecision = precomputingDecisionEngine.compile(decision)
+        final CompiledDecision interpretedDecision = decisionEngine.compile(decision)
+
+        then:
+        precomputedDecision.@truthTableEvaluator.@decisionResults.length == 3 * 5 * 5
+        interpretedDecision.@truthTableEvaluator == null
+        decisionVariables.collect { variables -> evaluate { precomputedDecision.evaluate(variables) } } == decisionVariables.collect { variables -> evaluate { interpretedDecision.evaluate(variables) } }
+        evaluate { precomputedDecision.evaluateBatch(decisionVariables) } == evaluate { interpretedDecision.evaluateBatch(decisionVariables) }
+
+        where:
+        hitPolicy << [HitPolicy.UNIQUE, HitPolicy.FIRST, HitPolicy.COLLECT, HitPolicy.RULE_ORDER]
+    }
+
+    void 'should interpret input values outside of precomputed values'() {
+        given:
+        final CompiledDecision precomputedDecision = precomputingDecisionEngine.compile(readDecision(HitPolicy.FIRST))
+
+        expect:
+        precomputedDecision.@truthTableEvaluator.evaluate(new DecisionVariables([vip: true, segment: 'retail', channel: 'web'])).getSingleEntryResult().getValue() == 0.1d
+        precomputedDecision.@truthTableEvaluator.evaluate(new DecisionVariables([vip: 'true', segment: 'retail', channel: 'web'])) == null
+        precomputedDecision.@truthTableEvaluator.evaluate(new DecisionVariables([vip: true, segment: ['retail'], channel: 'web'])) == null
+    }
+
+    void 'should precompute decision once for repeated evaluations by decision engine'() {
+        given:
+        final Decision decision = readDecision(HitPolicy.FIRST)
+        final DecisionEngine decisionEngine = new DefaultDecisionEngineConfiguration().maxTruthTableSize(100).configure()
+        final DecisionVariables decisionVariables = new DecisionVariables([vip: true, segment: 'retail', channel: 'web'])
+
+        when:
+        final List<Object> results = (1..3).collect { decisionEngine.evaluate(decision, decisionVariables).getSingleEntryResult().getValue() }
+
+        then:
+        results == [0.1d, 0.1d, 0.1d]
+        decisionEngine.@compiledDecisions.size() == 1
+        decisionEngine.@compiledDecisions.values()[0].@truthTableEvaluator != null
+    }
+
+    void 'should not precompute decision having more input value combinations than allowed'() {
+        given:
+        final DecisionEngine limitedDecisionEngine = new DefaultDecisionEngineConfiguration().maxTruthTableSize(74).configure()
+
+        when:
+        final CompiledDecision compiledDecision = limitedDecisionEngine.compile(readDecision(HitPolicy.FIRST))
+
+        then:
+        compiledDecision.@truthTableEvaluator == null
+        compiledDecision.evaluate(new DecisionVariables([vip: true, segment: 'business', channel: 'web'])).getSingleEntryResult().getValue() == 0.2d
+    }
+
+    @Unroll
+    void 'should not precompute decision with #description'(final String description, final Closure<String> modification) {
+        when:
+        final CompiledDecision compiledDecision = precomputingDecisionEngine.compile(readDecision(HitPolicy.FIRST, modification))
+
+        then:
+        compiledDecision.@truthTableEvaluator == null
+
+        where:
+        description               || modification
+        'non STRING input'        || { String it -> it.replace('channel:\n      type: STRING', 'channel:\n      type: INTEGER').replaceAll('channel: [a-z]+', 'channel: 1').replace('- web\n      - shop', '- 1\n      - 2') }
+        'entry depending on input' || { String it -> it.replace('channel: phone', "channel:\n      expression-type: FEEL\n      expression: 'segment'") }
+        'output depending on input' || { String it -> it.replace('discount: 0.3', "discount:\n      expression-type: MVEL\n      expression: 'vip ? 0.3 : 0.2'") }
+    }
+
+    void 'should not precompute decision when evaluations are listened to'() {
+        given:
+        final DecisionEngine listenedDecisionEngine = new DefaultDecisionEngineConfiguration()
+                .maxTruthTableSize(100)
+                .evaluationListeners([new EvaluationListenerAdapter() {}])
+                .configure()
+
+        when:
+        final CompiledDecision compiledDecision = listenedDecisionEngine.compile(readDecision(HitPolicy.FIRST))
+
+        then:
+        compiledDecision.@truthTableEvaluator == null
+    }
+
+    void 'should throw exception when max truth table size is negative'() {
+        when:
+        new DefaultDecisionEngineConfiguration().maxTruthTableSize(-1).configure()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Max truth table size can not be negative'
+    }
+
+    private static Decision readDecision(final HitPolicy hitPolicy, final Closure<String> modification = { it }) {
+        final String decisionText = TruthTableEvaluatorSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/truth-table.yml').getText('UTF-8')
+                .replaceFirst('hit-policy: [A-Z_]+', 'hit-policy: ' + hitPolicy)
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(modification(decisionText).getBytes('UTF-8'))).get()
+    }
+
+    private static String evaluate(final Closure<?> evaluation) {
+        try {
+            return evaluation.call().toString()
+        } catch (EvaluationException e) {
+            return e.getClass().getName() + ': ' + e.getMessage()
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.graph
+
+import org.powerflows.dmn.engine.CompiledDecisionGraph
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.listener.EvaluationListenerAdapter
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class DecisionGraphEvaluatorSpec extends Specification {
+
+    @Unroll
+    void 'should evaluate decision requiring other decisions for age #age and income #income'() {
+        given:
+        final CompiledDecisionGraph graph = createDecisionEngine().compileGraph(readDecisions())
+
+        when:
+        final DecisionResult offerResult = graph.evaluate('offer', variables(age, income))
+        final DecisionResult approvalResult = graph.evaluate('approval', variables(age, income))
+
+        then:
+        offerResult.getSingleEntryResult().getValue() == offer
+        approvalResult.getSingleEntryResult().getValue() == approved
+
+        where:
+        age | income  || offer      | approved
+        30  | 6000.0d || 'premium'  | true
+        30  | 1000.0d || 'standard' | true
+        20  | 6000.0d || 'none'     | false
+    }
+
+    void 'should evaluate all decisions in topological order'() {
+        given:
+        final CompiledDecisionGraph graph = createDecisionEngine().compileGraph(readDecisions())
+
+        when:
+        final Map<String, DecisionResult> results = graph.evaluateAll(variables(30, 6000.0d))
+
+        then:
+        graph.getDecisions()*.getId() == ['risk', 'limit', 'offer', 'approval']
+        results.keySet().toList() == ['risk', 'limit', 'offer', 'approval']
+        results.collect { it.getValue().getSingleEntryResult().getValue() } == ['LOW', 10000.0d, 'premium', true]
+    }
+
+    void 'should evaluate decision required by many others once per graph evaluation'() {
+        given:
+        final List<String> startedDecisionIds = Collections.synchronizedList([])
+        final EvaluationListenerAdapter listener = new EvaluationListenerAdapter() {
+            @Override
+            void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+                startedDecisionIds << decision.getId()
+            }
+        }
+        final DecisionEngine decisionEngine = new DefaultDecisionEngineConfiguration().evaluationListeners([listener]).configure()
+        final CompiledDecisionGraph graph = decisionEngine.compileGraph(readDecisions())
+
+        when:
+        graph.evaluate('approval', variables(30, 6000.0d))
+        graph.evaluate('approval', variables(30, 6000.0d))
+
+        then:
+        startedDecisionIds.countBy { it } == [risk: 2, limit: 2, offer: 2, approval: 2]
+        startedDecisionIds.indexOf('offer') > startedDecisionIds.indexOf('risk')
+        startedDecisionIds.indexOf('offer') > startedDecisionIds.indexOf('limit')
+    }
+
+    void 'should evaluate graph concurrently on given executor'() {
+        given:
+        final ExecutorService executor = Executors.newFixedThreadPool(4)
+        final ExecutorService callers = Executors.newFixedThreadPool(4)
+        final CompiledDecisionGraph graph = new DefaultDecisionEngineConfiguration()
+                .decisionGraphExecutor(executor)
+                .configure()
+                .compileGraph(readDecisions())
+        final List<Callable<Serializable>> evaluations = (0..<64).collect { final int i ->
+            { -> graph.evaluate('offer', variables(i % 2 == 0 ? 30 : 20, 6000.0d)).getSingleEntryResult().getValue() } as Callable<Serializable>
+        }
+
+        when:
+        final List<Serializable> offers = callers.invokeAll(evaluations)*.get()
+
+        then:
+        offers == (0..<64).collect { it % 2 == 0 ? 'premium' : 'none' }
+
+        cleanup:
+        executor.shutdown()
+        callers.shutdown()
+    }
+
+    void 'should rethrow failure of required decision'() {
+        given:
+        final List<Decision> decisions = readDecisions { it.replace('name: Risk\nhit-policy: FIRST', 'name: Risk\nhit-policy: UNIQUE') }
+        final CompiledDecisionGraph graph = createDecisionEngine().compileGraph(decisions)
+
+        when:
+        graph.evaluate('approval', variables(20, 6000.0d))
+
+        then:
+        final EvaluationException exception = thrown()
+        exception.getMessage() == 'Unique result is expected'
+    }
+
+    void 'should throw exception when evaluated decision is not found'() {
+        given:
+        final CompiledDecisionGraph graph = createDecisionEngine().compileGraph(readDecisions())
+
+        when:
+        graph.evaluate('missing', variables(30, 6000.0d))
+
+        then:
+        final EvaluationException exception = thrown()
+        exception.getMessage() == "Decision 'missing' is not found"
+    }
+
+    void 'should throw exception when decision id is not unique'() {
+        given:
+        final List<Decision> decisions = readDecisions()
+
+        when:
+        createDecisionEngine().compileGraph(decisions + decisions[1])
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == "Decision id 'risk' is not unique"
+    }
+
+    void 'should throw exception when required decision is unknown'() {
+        given:
+        final List<Decision> decisions = readDecisions { it.replace('  - limit', '  - missing') }
+
+        when:
+        createDecisionEngine().compileGraph(decisions)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == "Decision 'offer' requires unknown decision 'missing'"
+    }
+
+    void 'should throw exception when requirements are cyclic'() {
+        given:
+        final List<Decision> decisions = readDecisions { it.replace('name: Risk\n', 'name: Risk\nrequired-decisions:\n  - approval\n') }
+
+        when:
+        createDecisionEngine().compileGraph(decisions)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Decisions [approval, risk, offer] have cyclic requirements'
+    }
+
+    private static DecisionEngine createDecisionEngine() {
+        return new DefaultDecisionEngineConfiguration().configure()
+    }
+
+    private static DecisionVariables variables(final int age, final double income) {
+        return new DecisionVariables([age: age, income: income])
+    }
+
+    private static List<Decision> readDecisions(final Closure<String> modification = { it }) {
+        final String yaml = DecisionGraphEvaluatorSpec.getResourceAsStream('decision-graph.yml').text
+
+        return new YamlDecisionReader().readAll(new ByteArrayInputStream(modification(yaml).getBytes('UTF-8')))
+    }
+}
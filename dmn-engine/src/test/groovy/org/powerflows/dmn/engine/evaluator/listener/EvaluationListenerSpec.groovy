@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.listener
+
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.rule.Rule
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.result.RuleResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+
+class EvaluationListenerSpec extends Specification {
+
+    @Shared
+    private Decision decision
+
+    void setupSpec() {
+        decision = readDecision('COLLECT')
+    }
+
+    void 'should notify listeners of evaluation progress'() {
+        given:
+        final RecordingEvaluationListener firstListener = new RecordingEvaluationListener()
+        final RecordingEvaluationListener secondListener = new RecordingEvaluationListener()
+        final DecisionEngine decisionEngine = createDecisionEngine([firstListener, secondListener])
+
+        when:
+        decisionEngine.evaluate(decision, variables(20, 'retail', 2.0d))
+
+        then:
+        firstListener.events == ['started bitset_columns',
+                                 'matched 0',
+                                 'matched 4',
+                                 'entry score true',
+                                 'matched 5',
+                                 'evaluated [r1, r5, r6]']
+        secondListener.events == firstListener.events
+    }
+
+    void 'should notify listener of evaluation failure'() {
+        given:
+        final RecordingEvaluationListener listener = new RecordingEvaluationListener()
+        final DecisionEngine decisionEngine = createDecisionEngine([listener])
+
+        when:
+        decisionEngine.evaluate(readDecision('UNIQUE'), variables(20, 'retail', 2.0d))
+
+        then:
+        thrown(EvaluationException)
+        listener.events == ['started bitset_columns',
+                           'matched 0',
+                           'matched 4',
+                           'entry score true',
+                           'matched 5',
+                           'failed Unique result is expected']
+    }
+
+    void 'should keep the most recent sampled records in ring buffer'() {
+        given:
+        final SamplingEvaluationListener listener = new SamplingEvaluationListener(4, 1)
+        final DecisionEngine decisionEngine = createDecisionEngine([listener])
+
+        when:
+        (0..<6).each { decisionEngine.evaluate(decision, variables(20 + it * 5, 'retail', 0.5d)) }
+        final List<EvaluationRecord> records = listener.getRecords()
+
+        then:
+        listener.getRecordCount() == 6
+        records*.getSequence() == [2L, 3L, 4L, 5L]
+        records*.getDecisionId().unique() == ['bitset_columns']
+        records*.getThreadName().unique() == [Thread.currentThread().getName()]
+        records*.getMatchedRuleIndexes()*.toList() == [[0, 4], [1, 4], [1, 4], [1, 4]]
+        records*.getEvaluatedInputEntryCount() == [1, 0, 0, 0]
+        records.every { it.getDurationNanos() >= 0 && it.getFailure() == null && it.getDecisionResult() != null }
+    }
+
+    void 'should record failed evaluations'() {
+        given:
+        final SamplingEvaluationListener listener = new SamplingEvaluationListener()
+        final DecisionEngine decisionEngine = createDecisionEngine([listener])
+
+        when:
+        decisionEngine.evaluate(readDecision('UNIQUE'), variables(20, 'retail', 2.0d))
+
+        then:
+        thrown(EvaluationException)
+        listener.getRecords().size() == 1
+        listener.getRecords()[0].getFailure().getMessage() == 'Unique result is expected'
+        listener.getRecords()[0].getDecisionResult() == null
+    }
+
+    void 'should throw exception when sample interval is not positive'() {
+        when:
+        new SamplingEvaluationListener(16, 0)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Sample interval must be positive'
+    }
+
+    private static DecisionEngine createDecisionEngine(final List<EvaluationListener> evaluationListeners) {
+        return new DefaultDecisionEngineConfiguration().evaluationListeners(evaluationListeners).configure()
+    }
+
+    private static DecisionVariables variables(final int age, final String segment, final double score) {
+        return new DecisionVariables([age: age, segment: segment, score: score, limit: 1.0d])
+    }
+
+    private static Decision readDecision(final String hitPolicy) {
+        final String yaml = EvaluationListenerSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/bitset-columns.yml').text
+                .replace('hit-policy: COLLECT', 'hit-policy: ' + hitPolicy)
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(yaml.getBytes('UTF-8'))).get()
+    }
+
+    private static class RecordingEvaluationListener extends EvaluationListenerAdapter {
+
+        private final List<String> events = []
+
+        @Override
+        void decisionStarted(final Decision decision, final DecisionVariables decisionVariables) {
+            events << 'started ' + decision.getId()
+        }
+
+        @Override
+        void inputEntryEvaluated(final InputEntry inputEntry, final boolean positive) {
+            events << 'entry ' + inputEntry.getName() + ' ' + positive
+        }
+
+        @Override
+        void ruleMatched(final Decision decision, final int ruleIndex, final Rule rule, final RuleResult ruleResult) {
+            events << 'matched ' + ruleIndex
+        }
+
+        @Override
+        void decisionEvaluated(final Decision decision, final DecisionVariables decisionVariables, final DecisionResult decisionResult) {
+            events << 'evaluated ' + decisionResult.getCollectionRulesResult().collect { it.getEntryResults()[0].getValue() }
+        }
+
+        @Override
+        void decisionFailed(final Decision decision, final DecisionVariables decisionVariables, final RuntimeException exception) {
+            events << 'failed ' + exception.getMessage()
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.metrics
+
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.evaluator.exception.HitPolicyViolationException
+import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Specification
+
+import javax.management.MBeanServer
+import javax.management.ObjectName
+import java.lang.management.ManagementFactory
+
+class EvaluationMetricsSpec extends Specification {
+
+    void 'should count evaluations and record latency percentiles'() {
+        given:
+        final EvaluationMetrics metrics = new EvaluationMetrics()
+        final DecisionEngine decisionEngine = createDecisionEngine(metrics)
+        final Decision decision = readDecision('COLLECT')
+
+        when:
+        (0..<100).each { decisionEngine.evaluate(decision, variables(20 + it % 40, 'retail', 2.0d)) }
+        final DecisionMetricsSnapshot snapshot = metrics.getSnapshot('bitset_columns')
+
+        then:
+        metrics.getSnapshot().keySet() == ['bitset_columns'] as Set
+        snapshot.getEvaluationCount() == 100
+        snapshot.getErrorCount() == 0
+        snapshot.getErrorCounts().isEmpty()
+        snapshot.getHitPolicyViolationCount() == 0
+        snapshot.getLatency().getCount() == 100
+        snapshot.getLatency().getP50Nanos() > 0
+        snapshot.getLatency().getP50Nanos() <= snapshot.getLatency().getP99Nanos()
+        snapshot.getLatency().getP99Nanos() <= snapshot.getLatency().getP999Nanos()
+        snapshot.getLatency().getP999Nanos() <= LatencyHistogram.highestValue(LatencyHistogram.bucketIndex(snapshot.getLatency().getMaxNanos()))
+    }
+
+    void 'should count hit policy violations'() {
+        given:
+        final EvaluationMetrics metrics = new EvaluationMetrics()
+        final DecisionEngine decisionEngine = createDecisionEngine(metrics)
+
+        when:
+        decisionEngine.evaluate(readDecision('UNIQUE'), variables(20, 'retail', 2.0d))
+
+        then:
+        thrown(HitPolicyViolationException)
+        metrics.getSnapshot('bitset_columns').getEvaluationCount() == 1
+        metrics.getSnapshot('bitset_columns').getErrorCount() == 1
+        metrics.getSnapshot('bitset_columns').getHitPolicyViolationCount() == 1
+        metrics.getSnapshot('bitset_columns').getErrorCounts() == [HitPolicyViolationException: 1L]
+    }
+
+    void 'should count errors by exception type'() {
+        given:
+        final DecisionMetrics metrics = new DecisionMetrics('decision')
+
+        when:
+        metrics.recordFailure(100, new EvaluationException('first'))
+        metrics.recordFailure(200, new ExpressionEvaluationException('second'))
+        metrics.recordFailure(300, new ExpressionEvaluationException('third'))
+        metrics.recordEvaluation(400)
+
+        then:
+        metrics.getEvaluationCount() == 4
+        metrics.getErrorCount() == 3
+        metrics.getErrorCounts() == [EvaluationException: 1L, ExpressionEvaluationException: 2L]
+        metrics.getHitPolicyViolationCount() == 0
+        metrics.getLatencyMaxNanos() == 400
+        metrics.getLatencyMeanNanos() == 250.0d
+    }
+
+    void 'should expose decision metrics as platform MBean'() {
+        given:
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer()
+        final EvaluationMetrics metrics = new EvaluationMetrics(mBeanServer)
+        final DecisionEngine decisionEngine = createDecisionEngine(metrics)
+        final ObjectName objectName = new ObjectName(EvaluationMetrics.OBJECT_NAME_PREFIX + ObjectName.quote('bitset_columns'))
+
+        when:
+        (0..<10).each { decisionEngine.evaluate(readDecision('COLLECT'), variables(20, 'retail', 2.0d)) }
+
+        then:
+        mBeanServer.getAttribute(objectName, 'DecisionId') == 'bitset_columns'
+        mBeanServer.getAttribute(objectName, 'EvaluationCount') == 10L
+        mBeanServer.getAttribute(objectName, 'ErrorCount') == 0L
+        (mBeanServer.getAttribute(objectName, 'LatencyP99Nanos') as long) > 0
+
+        when:
+        metrics.unregisterMBeans()
+
+        then:
+        !mBeanServer.isRegistered(objectName)
+        metrics.getSnapshot('bitset_columns').getEvaluationCount() == 10
+    }
+
+    void 'should map values to buckets covering them'() {
+        expect:
+        LatencyHistogram.bucketIndex(value) == bucketIndex
+        LatencyHistogram.highestValue(bucketIndex) >= value
+        bucketIndex == 0 || LatencyHistogram.highestValue(bucketIndex - 1) < value
+
+        where:
+        value          | bucketIndex
+        0              | 0
+        31             | 31
+        32             | 32
+        33             | 32
+        34             | 33
+        64             | 48
+        1_000_000      | LatencyHistogram.bucketIndex(1_000_000)
+        Long.MAX_VALUE | LatencyHistogram.bucketIndex(Long.MAX_VALUE)
+    }
+
+    void 'should throw exception when percentile is out of range'() {
+        when:
+        new LatencyHistogram().snapshot().getValueAtPercentile(101)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static DecisionEngine createDecisionEngine(final EvaluationMetrics metrics) {
+        return new DefaultDecisionEngineConfiguration().evaluationListeners([metrics]).configure()
+    }
+
+    private static DecisionVariables variables(final int age, final String segment, final double score) {
+        return new DecisionVariables([age: age, segment: segment, score: score, limit: 1.0d])
+    }
+
+    private static Decision readDecision(final String hitPolicy) {
+        final String yaml = EvaluationMetricsSpec.getResourceAsStream('/org/powerflows/dmn/engine/configuration/bitset-columns.yml').text
+                .replace('hit-policy: COLLECT', 'hit-policy: ' + hitPolicy)
+
+        return new YamlDecisionReader().read(new ByteArrayInputStream(yaml.getBytes('UTF-8'))).get()
+    }
+}
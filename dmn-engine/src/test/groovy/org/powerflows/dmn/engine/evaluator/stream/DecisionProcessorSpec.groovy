@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.stream
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.evaluator.exception.EvaluationException
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class DecisionProcessorSpec extends Specification {
+
+    @Shared
+    private CompiledDecision compiledDecision
+
+    @Shared
+    private ExecutorService executorService
+
+    void setupSpec() {
+        final Decision decision = new YamlDecisionReader()
+                .read(this.class.getResourceAsStream('/org/powerflows/dmn/engine/configuration/bitset-columns.yml'))
+                .get()
+        compiledDecision = new DefaultDecisionEngineConfiguration().configure().compile(decision)
+        executorService = Executors.newFixedThreadPool(4)
+    }
+
+    void cleanupSpec() {
+        executorService.shutdownNow()
+    }
+
+    @Unroll
+    void 'should publish results in order of variable sets with batch size #batchSize'(int batchSize) {
+        given:
+        final List<DecisionVariables> decisionVariables = createVariables(1000)
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .executor(executorService)
+                .batchSize(batchSize)
+                .maxBatchesInFlight(4)
+                .build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        new ListPublisher(decisionVariables).subscribe(decisionProcessor)
+
+        then:
+        subscriber.await()
+        subscriber.failure == null
+        subscriber.results*.toString() == compiledDecision.evaluateBatch(decisionVariables)*.toString()
+
+        where:
+        batchSize << [1, 7, 64]
+    }
+
+    void 'should publish all results when unordered'() {
+        given:
+        final List<DecisionVariables> decisionVariables = createVariables(1000)
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .executor(executorService)
+                .batchSize(16)
+                .unordered(true)
+                .build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        new ListPublisher(decisionVariables).subscribe(decisionProcessor)
+
+        then:
+        subscriber.await()
+        subscriber.failure == null
+        subscriber.results*.toString().sort() == compiledDecision.evaluateBatch(decisionVariables)*.toString().sort()
+    }
+
+    void 'should honour subscriber demand and bound upstream requests'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(100))
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .executor({ Runnable runnable -> runnable.run() } as Executor)
+                .batchSize(5)
+                .maxBatchesInFlight(2)
+                .build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(3)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        publisher.subscribe(decisionProcessor)
+
+        then:
+        subscriber.results.size() == 3
+        publisher.requested == 13
+
+        when:
+        subscriber.subscription.request(20)
+
+        then:
+        subscriber.results.size() == 23
+        publisher.requested == 33
+        !subscriber.completed
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        subscriber.results.size() == 100
+        subscriber.completed
+    }
+
+    void 'should publish evaluation failure and cancel upstream'() {
+        given:
+        final EvaluationException failure = new EvaluationException('Evaluation failed')
+        final CompiledDecision failingDecision = Mock()
+        failingDecision.evaluateBatch(_ as List) >> { throw failure }
+        final ListPublisher publisher = new ListPublisher(createVariables(100))
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(failingDecision)
+                .executor(executorService)
+                .build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        publisher.subscribe(decisionProcessor)
+
+        then:
+        subscriber.await()
+        subscriber.failure.is(failure)
+        publisher.cancelled
+    }
+
+    void 'should publish upstream failure'() {
+        given:
+        final IllegalStateException failure = new IllegalStateException('Upstream failed')
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder().compiledDecision(compiledDecision).build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(1)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        decisionProcessor.onError(failure)
+
+        then:
+        subscriber.failure.is(failure)
+    }
+
+    void 'should reject second subscriber without affecting first subscriber'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(100))
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .executor({ Runnable runnable -> runnable.run() } as Executor)
+                .batchSize(5)
+                .maxBatchesInFlight(2)
+                .build()
+        final RecordingSubscriber firstSubscriber = new RecordingSubscriber(2)
+        final RecordingSubscriber subscriber = new RecordingSubscriber(10)
+
+        when:
+        decisionProcessor.subscribe(firstSubscriber)
+        publisher.subscribe(decisionProcessor)
+        decisionProcessor.subscribe(subscriber)
+        subscriber.subscription.request(10)
+        subscriber.subscription.cancel()
+
+        then:
+        subscriber.failure instanceof IllegalStateException
+        subscriber.failure.getMessage() == 'Decision processor supports single subscriber'
+        subscriber.results.isEmpty()
+        firstSubscriber.results.size() == 2
+        !publisher.cancelled
+
+        when:
+        firstSubscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        firstSubscriber.results.size() == 100
+        firstSubscriber.completed
+        firstSubscriber.failure == null
+    }
+
+    void 'should publish error when requested number of results is not positive'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(100))
+        final DecisionProcessor decisionProcessor = DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .batchSize(10)
+                .maxBatchesInFlight(1)
+                .build()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0)
+
+        when:
+        decisionProcessor.subscribe(subscriber)
+        publisher.subscribe(decisionProcessor)
+        subscriber.subscription.request(0)
+
+        then:
+        subscriber.failure instanceof IllegalArgumentException
+        subscriber.failure.getMessage() == 'Number of requested results must be positive'
+        publisher.cancelled
+    }
+
+    void 'should throw exception when compiled decision is null'() {
+        when:
+        DecisionProcessor.builder().build()
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == 'Compiled decision can not be null'
+    }
+
+    private static List<DecisionVariables> createVariables(final int count) {
+        final Random random = new Random(count)
+
+        return (0..<count).collect {
+            new DecisionVariables([age    : random.nextInt(60),
+                                   segment: ['retail', 'business', 'other'][random.nextInt(3)],
+                                   score  : random.nextDouble() * 2,
+                                   limit  : 1.0d])
+        }
+    }
+
+    private static class ListPublisher implements Flow.Publisher<DecisionVariables> {
+
+        private final List<DecisionVariables> decisionVariables
+        private long requested
+        private boolean cancelled
+        private int emitted
+        private boolean emitting
+
+        ListPublisher(final List<DecisionVariables> decisionVariables) {
+            this.decisionVariables = decisionVariables
+        }
+
+        @Override
+        void subscribe(final Flow.Subscriber<? super DecisionVariables> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                void request(final long n) {
+                    synchronized (ListPublisher.this) {
+                        requested += n
+                        if (emitting) {
+                            return
+                        }
+                        emitting = true
+                    }
+
+                    while (true) {
+                        final DecisionVariables next
+                        synchronized (ListPublisher.this) {
+                            if (cancelled || emitted >= Math.min(requested, decisionVariables.size())) {
+                                emitting = false
+                                if (!cancelled && emitted == decisionVariables.size()) {
+                                    emitted++
+                                    subscriber.onComplete()
+                                }
+                                return
+                            }
+                            next = decisionVariables[emitted++]
+                        }
+                        subscriber.onNext(next)
+                    }
+                }
+
+                @Override
+                void cancel() {
+                    synchronized (ListPublisher.this) {
+                        cancelled = true
+                    }
+                }
+            })
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<DecisionResult> {
+
+        private final long initialRequest
+        private final CountDownLatch terminated = new CountDownLatch(1)
+        private final List<DecisionResult> results = Collections.synchronizedList([])
+        private Flow.Subscription subscription
+        private volatile Throwable failure
+        private volatile boolean completed
+
+        RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest
+        }
+
+        @Override
+        void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription
+            if (initialRequest > 0) {
+                subscription.request(initialRequest)
+            }
+        }
+
+        @Override
+        void onNext(final DecisionResult decisionResult) {
+            results.add(decisionResult)
+        }
+
+        @Override
+        void onError(final Throwable throwable) {
+            failure = throwable
+            terminated.countDown()
+        }
+
+        @Override
+        void onComplete() {
+            completed = true
+            terminated.countDown()
+        }
+
+        boolean await() {
+            return terminated.await(60, TimeUnit.SECONDS)
+        }
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.stream
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import org.reactivestreams.Processor
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Executor
+
+/**
+ * Checks rules of Reactive Streams specification, numbered like in the specification, for decision processor
+ * adapted to Reactive Streams.
+ */
+class ReactiveStreamsSpec extends Specification {
+
+    @Shared
+    private CompiledDecision compiledDecision
+
+    void setupSpec() {
+        final Decision decision = new YamlDecisionReader()
+                .read(this.class.getResourceAsStream('/org/powerflows/dmn/engine/configuration/bitset-columns.yml'))
+                .get()
+        compiledDecision = new DefaultDecisionEngineConfiguration().configure().compile(decision)
+    }
+
+    void 'should not publish more results than requested (rule 1.1)'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(50))
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(3)
+
+        when:
+        processor.subscribe(subscriber)
+        publisher.subscribe(processor)
+
+        then:
+        subscriber.results.size() == 3
+        publisher.requested == 20 + 3
+        !subscriber.completed
+
+        when:
+        subscriber.subscription.request(10)
+
+        then:
+        subscriber.results.size() == 13
+        !subscriber.completed
+
+        when:
+        subscriber.subscription.request(Long.MAX_VALUE)
+
+        then:
+        subscriber.results.size() == 50
+        subscriber.completed
+        subscriber.results == compiledDecision.evaluateBatch(createVariables(50))*.toString()
+    }
+
+    void 'should signal upstream failure (rule 1.4)'() {
+        given:
+        final IllegalStateException failure = new IllegalStateException('Upstream failed')
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(1)
+
+        when:
+        processor.subscribe(subscriber)
+        processor.onError(failure)
+
+        then:
+        subscriber.failure.is(failure)
+    }
+
+    void 'should signal error to second subscriber after subscription (rule 1.9)'() {
+        given:
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(1)
+
+        when:
+        processor.subscribe(new RecordingSubscriber(1))
+        processor.subscribe(subscriber)
+
+        then:
+        subscriber.subscription != null
+        subscriber.failure instanceof IllegalStateException
+    }
+
+    void 'should cancel second upstream subscription (rule 2.5)'() {
+        given:
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final ListPublisher firstPublisher = new ListPublisher(createVariables(10))
+        final ListPublisher secondPublisher = new ListPublisher(createVariables(10))
+
+        when:
+        firstPublisher.subscribe(processor)
+        secondPublisher.subscribe(processor)
+
+        then:
+        !firstPublisher.cancelled
+        secondPublisher.cancelled
+    }
+
+    @Unroll
+    void 'should throw exception when #signal is null (rules 1.9, 2.13)'(String signal, Closure<?> call) {
+        given:
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+
+        when:
+        call.call(processor)
+
+        then:
+        thrown(NullPointerException)
+
+        where:
+        signal         | call
+        'subscriber'   | { Processor adapted -> adapted.subscribe(null) }
+        'subscription' | { Processor adapted -> adapted.onSubscribe(null) }
+        'item'         | { Processor adapted -> adapted.onNext(null) }
+        'throwable'    | { Processor adapted -> adapted.onError(null) }
+    }
+
+    @Unroll
+    void 'should signal error and cancel upstream when #n results are requested (rule 3.9)'(long n) {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(50))
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0)
+
+        when:
+        processor.subscribe(subscriber)
+        publisher.subscribe(processor)
+        subscriber.subscription.request(n)
+
+        then:
+        subscriber.failure instanceof IllegalArgumentException
+        publisher.cancelled
+
+        where:
+        n << [0L, -1L, Long.MIN_VALUE]
+    }
+
+    void 'should stop publishing and cancel upstream when subscription is cancelled (rules 3.5, 3.6)'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(50))
+        final Processor<DecisionVariables, DecisionResult> processor = createProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(2)
+
+        when:
+        processor.subscribe(subscriber)
+        publisher.subscribe(processor)
+        subscriber.subscription.cancel()
+        subscriber.subscription.cancel()
+        subscriber.subscription.request(10)
+
+        then:
+        subscriber.results.size() == 2
+        publisher.cancelled
+        !subscriber.completed
+        subscriber.failure == null
+    }
+
+    void 'should pass signals through Reactive Streams publisher adapted to flow and back'() {
+        given:
+        final ListPublisher publisher = new ListPublisher(createVariables(20))
+        final DecisionProcessor decisionProcessor = createDecisionProcessor()
+        final RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE)
+
+        when:
+        ReactiveStreams.toPublisher(decisionProcessor).subscribe(subscriber)
+        ReactiveStreams.fromPublisher(publisher).subscribe(decisionProcessor)
+
+        then:
+        subscriber.results.size() == 20
+        subscriber.completed
+    }
+
+    void 'should return adapted object when adapting adapter back'() {
+        given:
+        final DecisionProcessor decisionProcessor = createDecisionProcessor()
+        final ListPublisher publisher = new ListPublisher([])
+        final RecordingSubscriber subscriber = new RecordingSubscriber(0)
+
+        expect:
+        ReactiveStreams.fromPublisher(ReactiveStreams.toPublisher(decisionProcessor)).is(decisionProcessor)
+        ReactiveStreams.toPublisher(ReactiveStreams.fromPublisher(publisher)).is(publisher)
+        ReactiveStreams.toSubscriber(ReactiveStreams.fromSubscriber(subscriber)).is(subscriber)
+        ReactiveStreams.fromSubscriber(ReactiveStreams.toSubscriber(decisionProcessor)).is(decisionProcessor)
+    }
+
+    @Unroll
+    void 'should throw exception when adapted #name is null'(String name, Closure<?> adaptation, String message) {
+        when:
+        adaptation.call()
+
+        then:
+        final NullPointerException exception = thrown()
+        exception.getMessage() == message
+
+        where:
+        name         | adaptation                                      || message
+        'publisher'  | { ReactiveStreams.toPublisher(null) }           || 'Publisher can not be null'
+        'publisher'  | { ReactiveStreams.fromPublisher(null) }         || 'Publisher can not be null'
+        'subscriber' | { ReactiveStreams.toSubscriber(null) }          || 'Subscriber can not be null'
+        'subscriber' | { ReactiveStreams.fromSubscriber(null) }        || 'Subscriber can not be null'
+        'processor'  | { ReactiveStreams.toProcessor(null) }           || 'Processor can not be null'
+    }
+
+    private Processor<DecisionVariables, DecisionResult> createProcessor() {
+        return ReactiveStreams.toProcessor(createDecisionProcessor())
+    }
+
+    private DecisionProcessor createDecisionProcessor() {
+        return DecisionProcessor.builder()
+                .compiledDecision(compiledDecision)
+                .executor({ Runnable runnable -> runnable.run() } as Executor)
+                .batchSize(5)
+                .maxBatchesInFlight(4)
+                .build()
+    }
+
+    private static List<DecisionVariables> createVariables(final int count) {
+        return (0..<count).collect {
+            new DecisionVariables([age: it % 60, segment: ['retail', 'business', 'other'][it % 3], score: it % 4 * 0.5d, limit: 1.0d])
+        }
+    }
+
+    /**
+     * Publishes list items synchronously when requested.
+     */
+    private static class ListPublisher implements Publisher<DecisionVariables> {
+
+        private final List<DecisionVariables> decisionVariables
+        private long requested
+        private boolean cancelled
+        private int emitted
+        private boolean emitting
+
+        ListPublisher(final List<DecisionVariables> decisionVariables) {
+            this.decisionVariables = decisionVariables
+        }
+
+        @Override
+        void subscribe(final Subscriber<? super DecisionVariables> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+
+                @Override
+                void request(final long n) {
+                    requested += n
+                    if (emitting) {
+                        return
+                    }
+                    emitting = true
+
+                    while (!cancelled && emitted < Math.min(requested, decisionVariables.size())) {
+                        subscriber.onNext(decisionVariables[emitted++])
+                    }
+
+                    emitting = false
+                    if (!cancelled && emitted == decisionVariables.size()) {
+                        emitted++
+                        subscriber.onComplete()
+                    }
+                }
+
+                @Override
+                void cancel() {
+                    cancelled = true
+                }
+            })
+        }
+    }
+
+    /**
+     * Records results as text, failing when more results are received than requested.
+     */
+    private static class RecordingSubscriber implements Subscriber<DecisionResult> {
+
+        private final long initialRequest
+        private final List<String> results = []
+        private Subscription subscription
+        private long demand
+        private Throwable failure
+        private boolean completed
+
+        RecordingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest
+        }
+
+        @Override
+        void onSubscribe(final Subscription subscription) {
+            this.subscription = [
+                    request: { long n -> demand = n > 0 && demand + n > 0 ? demand + n : Long.MAX_VALUE; subscription.request(n) },
+                    cancel : { subscription.cancel() }
+            ] as Subscription
+            if (initialRequest > 0) {
+                this.subscription.request(initialRequest)
+            }
+        }
+
+        @Override
+        void onNext(final DecisionResult decisionResult) {
+            if (demand-- <= 0) {
+                throw new IllegalStateException('Result was not requested')
+            }
+            results.add(decisionResult.toString())
+        }
+
+        @Override
+        void onError(final Throwable throwable) {
+            failure = throwable
+        }
+
+        @Override
+        void onComplete() {
+            completed = true
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.repository
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.DecisionEngine
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import org.powerflows.dmn.engine.reader.DecisionReadException
+import org.powerflows.dmn.io.yaml.YamlDecisionReader
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+
+class DecisionRepositorySpec extends Specification {
+
+    @Shared
+    private DecisionEngine decisionEngine = new DefaultDecisionEngineConfiguration().configure()
+
+    private Path directory
+    private DecisionRepository decisionRepository
+
+    void setup() {
+        directory = Files.createTempDirectory('decisions')
+    }
+
+    void cleanup() {
+        decisionRepository?.close()
+        directory.toFile().deleteDir()
+    }
+
+    void 'should load decisions from directory and classpath'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        writeDecision('second.yml', 'second', 'b')
+        Files.write(directory.resolve('notes.txt'), 'not a decision'.getBytes('UTF-8'))
+        decisionRepository = createRepository(['org/powerflows/dmn/engine/configuration/bitset-columns.yml'], false)
+
+        when:
+        decisionRepository.start()
+
+        then:
+        decisionRepository.getDecisionIds() == ['first', 'second', 'bitset_columns'] as Set
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 1
+        decisionRepository.getCurrentVersion('first').get().getSource() == directory.resolve('first.yml').toString()
+        decisionRepository.getCurrentVersion('bitset_columns').get().getSource() == 'classpath:org/powerflows/dmn/engine/configuration/bitset-columns.yml'
+        evaluate('second') == 'b'
+    }
+
+    void 'should publish new version of changed decision only'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        writeDecision('second.yml', 'second', 'b')
+        decisionRepository = createRepository([], false)
+        decisionRepository.start()
+        final CompiledDecision inFlightDecision = decisionRepository.find('first').get()
+
+        when:
+        writeDecision('first.yml', 'first', 'c')
+        decisionRepository.reload()
+
+        then:
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 2
+        decisionRepository.getCurrentVersion('second').get().getVersion() == 1
+        decisionRepository.getHistory('first')*.getVersion() == [1, 2]
+        evaluate('first') == 'c'
+        inFlightDecision.evaluate(variables()).getSingleEntryResult().getValue() == 'a'
+    }
+
+    void 'should roll decision back to previous and to given version'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        decisionRepository = createRepository([], false)
+        decisionRepository.start()
+        writeDecision('first.yml', 'first', 'b')
+        decisionRepository.reload()
+        writeDecision('first.yml', 'first', 'c')
+        decisionRepository.reload()
+
+        when:
+        final DecisionVersion previousVersion = decisionRepository.rollback('first')
+
+        then:
+        previousVersion.getVersion() == 2
+        evaluate('first') == 'b'
+
+        when:
+        decisionRepository.rollback('first', 1)
+
+        then:
+        evaluate('first') == 'a'
+        decisionRepository.getHistory('first')*.getVersion() == [1, 2, 3]
+
+        when:
+        decisionRepository.rollback('first')
+
+        then:
+        final IllegalStateException exception = thrown()
+        exception.getMessage() == "There is no version of decision 'first' before version 1"
+    }
+
+    void 'should keep rolled back version when unchanged source is reloaded'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        writeDecision('second.yml', 'second', 'b')
+        decisionRepository = createRepository([], false)
+        decisionRepository.start()
+        writeDecision('first.yml', 'first', 'c')
+        decisionRepository.reload()
+        decisionRepository.rollback('first')
+
+        when:
+        decisionRepository.reload()
+        writeDecision('second.yml', 'second', 'd')
+        decisionRepository.reload()
+
+        then:
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 1
+        decisionRepository.getHistory('first')*.getVersion() == [1, 2]
+        evaluate('first') == 'a'
+        evaluate('second') == 'd'
+
+        when:
+        writeDecision('first.yml', 'first', 'e')
+        decisionRepository.reload()
+
+        then:
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 3
+        evaluate('first') == 'e'
+    }
+
+    void 'should keep rolled back version when other file of watched directory changes'() {
+        given:
+        final PollingConditions conditions = new PollingConditions(timeout: 30)
+        writeDecision('first.yml', 'first', 'a')
+        decisionRepository = createRepository([], true)
+        decisionRepository.start()
+        writeDecision('first.yml', 'first', 'b')
+        decisionRepository.reload()
+        decisionRepository.rollback('first')
+
+        when:
+        writeDecision('second.yml', 'second', 'c')
+
+        then:
+        conditions.eventually {
+            assert decisionRepository.find('second').isPresent()
+        }
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 1
+        evaluate('first') == 'a'
+    }
+
+    void 'should keep limited history of versions'() {
+        given:
+        writeDecision('first.yml', 'first', 'v0')
+        decisionRepository = DecisionRepository.builder()
+                .decisionEngine(decisionEngine)
+                .directory(directory)
+                .readers([yml: new YamlDecisionReader()])
+                .historySize(2)
+                .build()
+        decisionRepository.start()
+
+        when:
+        (1..3).each {
+            writeDecision('first.yml', 'first', 'v' + it)
+            decisionRepository.reload()
+        }
+
+        then:
+        decisionRepository.getHistory('first')*.getVersion() == [3, 4]
+    }
+
+    void 'should remove decisions of deleted files'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        writeDecision('second.yml', 'second', 'b')
+        decisionRepository = createRepository([], false)
+        decisionRepository.start()
+
+        when:
+        Files.delete(directory.resolve('second.yml'))
+        decisionRepository.reload()
+
+        then:
+        decisionRepository.getDecisionIds() == ['first'] as Set
+        !decisionRepository.find('second').isPresent()
+    }
+
+    void 'should keep published versions when decisions can not be read'() {
+        given:
+        writeDecision('first.yml', 'first', 'a')
+        decisionRepository = createRepository([], false)
+        decisionRepository.start()
+
+        when:
+        writeDecision('first.yml', 'first', 'b')
+        Files.write(directory.resolve('broken.yml'), 'id: [broken'.getBytes('UTF-8'))
+        decisionRepository.reload()
+
+        then:
+        thrown(DecisionReadException)
+        decisionRepository.getCurrentVersion('first').get().getVersion() == 1
+        evaluate('first') == 'a'
+    }
+
+    void 'should reload changed files of watched directory'() {
+        given:
+        final PollingConditions conditions = new PollingConditions(timeout: 30)
+        writeDecision('first.yml', 'first', 'a')
+        decisionRepository = createRepository([], true)
+        decisionRepository.start()
+
+        when:
+        writeDecision('first.yml', 'first', 'b')
+        writeDecision('second.yml', 'second', 'c')
+
+        then:
+        conditions.eventually {
+            assert decisionRepository.find('second').isPresent()
+            assert evaluate('first') == 'b'
+        }
+
+        when:
+        Files.delete(directory.resolve('second.yml'))
+
+        then:
+        conditions.eventually {
+            assert !decisionRepository.find('second').isPresent()
+        }
+    }
+
+    void 'should throw exception when there is no decision reader'() {
+        when:
+        DecisionRepository.builder().decisionEngine(decisionEngine).directory(directory).build()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'At least one decision reader is required'
+    }
+
+    private DecisionRepository createRepository(final List<String> classpathResources, final boolean watch) {
+        return DecisionRepository.builder()
+                .decisionEngine(decisionEngine)
+                .directory(directory)
+                .classpathResources(classpathResources)
+                .readers([yml: new YamlDecisionReader()])
+                .watch(watch)
+                .build()
+    }
+
+    private String evaluate(final String decisionId) {
+        return decisionRepository.evaluate(decisionId, variables()).getSingleEntryResult().getValue()
+    }
+
+    private static DecisionVariables variables() {
+        return new DecisionVariables([age: 20])
+    }
+
+    private void writeDecision(final String fileName, final String decisionId, final String result) {
+        final String yaml = """\
+            id: ${decisionId}
+            name: ${decisionId}
+            hit-policy: FIRST
+            fields:
+              in:
+                age:
+                  type: INTEGER
+              out:
+                result:
+                  type: STRING
+            rules:
+            - in:
+                age:
+                  expression-type: FEEL
+                  expression: '>= 18'
+              out:
+                result: ${result}
+            """.stripIndent()
+        final Path tmp = directory.resolve(fileName + '.tmp')
+
+        Files.write(tmp, yaml.getBytes('UTF-8'))
+        Files.move(tmp, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.sample.generator
+
+import org.powerflows.dmn.engine.CompiledDecision
+import org.powerflows.dmn.engine.configuration.DefaultDecisionEngineConfiguration
+import org.powerflows.dmn.engine.model.decision.Decision
+import org.powerflows.dmn.engine.model.decision.HitPolicy
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType
+import org.powerflows.dmn.engine.model.decision.field.ValueType
+import org.powerflows.dmn.engine.model.evaluation.result.DecisionResult
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class DecisionGeneratorSpec extends Specification {
+
+    private static final List<ValueType> ALL_VALUE_TYPES = [ValueType.INTEGER, ValueType.DOUBLE, ValueType.STRING, ValueType.BOOLEAN]
+
+    void 'should generate the same decision and workload for the same seed'() {
+        given:
+        final DecisionShape shape = createShape(HitPolicy.FIRST, 7L)
+
+        when:
+        final DecisionGenerator firstGenerator = new DecisionGenerator(shape)
+        final DecisionGenerator secondGenerator = new DecisionGenerator(shape)
+
+        then:
+        firstGenerator.generateDecision() == secondGenerator.generateDecision()
+        firstGenerator.generateVariables(100, 3L)*.get(DecisionGenerator.getInputName(0)) ==
+                secondGenerator.generateVariables(100, 3L)*.get(DecisionGenerator.getInputName(0))
+        firstGenerator.generateDecision() != new DecisionGenerator(createShape(HitPolicy.FIRST, 8L)).generateDecision()
+    }
+
+    void 'should generate decision of given shape'() {
+        when:
+        final Decision decision = new DecisionGenerator(createShape(HitPolicy.FIRST, 1L)).generateDecision()
+
+        then:
+        decision.getHitPolicy() == HitPolicy.FIRST
+        decision.getRules().size() == 200
+        decision.getInputs()*.getType() == ALL_VALUE_TYPES * 3
+        decision.getRules()*.getInputEntries().flatten()*.getExpression()*.getType().unique().sort() ==
+                [ExpressionType.FEEL, ExpressionType.JUEL, ExpressionType.MVEL]
+        decision.getRules().every { it.getInputEntries().size() < 12 }
+    }
+
+    @Unroll
+    void 'should evaluate generated workload for #hitPolicy hit policy'(final HitPolicy hitPolicy) {
+        given:
+        final DecisionGenerator generator = new DecisionGenerator(createShape(hitPolicy, 5L))
+        final CompiledDecision compiledDecision = new DefaultDecisionEngineConfiguration().configure().compile(generator.generateDecision())
+
+        when:
+        final List<DecisionResult> results = compiledDecision.evaluateBatch(generator.generateVariables(500, 11L))
+
+        then:
+        results.size() == 500
+        results.count { !it.getCollectionRulesResult().isEmpty() } >= 500 * DecisionGenerator.MATCH_RATIO * 0.9
+
+        where:
+        hitPolicy << [HitPolicy.UNIQUE, HitPolicy.FIRST, HitPolicy.ANY, HitPolicy.RULE_ORDER, HitPolicy.COLLECT]
+    }
+
+    void 'should throw exception for unsupported value type'() {
+        when:
+        DecisionShape.builder().ruleCount(1).inputCount(1).valueTypes([ValueType.DATE]).build()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Value type DATE is not supported'
+    }
+
+    void 'should throw exception when first input of unique decision is not numeric'() {
+        when:
+        DecisionShape.builder().hitPolicy(HitPolicy.UNIQUE).ruleCount(1).inputCount(1).valueTypes([ValueType.STRING]).build()
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'First input has to be numeric for UNIQUE hit policy'
+    }
+
+    private static DecisionShape createShape(final HitPolicy hitPolicy, final long seed) {
+        return DecisionShape.builder()
+                .seed(seed)
+                .hitPolicy(hitPolicy)
+                .ruleCount(200)
+                .inputCount(12)
+                .valueTypes(ALL_VALUE_TYPES)
+                .wildcardDensity(0.6d)
+                .expressionTypeWeights([(ExpressionType.FEEL): 2, (ExpressionType.MVEL): 1, (ExpressionType.JUEL): 1])
+                .build()
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.powerflows.dmn.engine.configuration;
 
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.Pure;
+
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
@@ -23,4 +25,9 @@ public class TestMethods {
     public static Date parse(final String dateText) {
         return Date.from(LocalDate.parse(dateText).atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
+
+    @Pure
+    public static Integer doubled(final Integer value) {
+        return value * 2;
+    }
 }
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.powerflows.dmn.engine.evaluator.context;
 
 
@@ -22,23 +21,160 @@ import org.powerflows.dmn.engine.model.evaluation.variable.AbstractDecisionVaria
 import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Container for values available to org.powerflows.dmn.engine.DecisionEngine during evaluation.
- * {@link EvaluationContext} is mutable, it's content is shaped by decision table being evaluated
+ * {@link EvaluationContext} is mutable, it's content is shaped by decision table being evaluated.
+ * Values of variables having {@link VariableSlots} are kept in an array, other decision variables are not copied,
+ * other variables added during evaluation are kept separately on top of them.
+ * All variables are merged into single map only when requested by {@link #getAll()}.
+ * The context is used by single evaluation at a time, it is not thread safe.
  */
 @ToString(callSuper = true)
 public class EvaluationContext extends AbstractDecisionVariables implements Serializable {
 
     private static final long serialVersionUID = 1;
 
+    private final VariableSlots variableSlots;
+    private final Serializable[] slotValues;
+    private final Map<String, Serializable> addedVariables = new HashMap<>();
+    private Map<String, Serializable> decisionVariables;
+    private int givenSlotCount;
+
     public EvaluationContext(final DecisionVariables decisionVariables) {
-        this.variables = new HashMap<>();
-        this.variables.putAll(decisionVariables.getAll());
+        this(decisionVariables, VariableSlots.NONE);
+    }
+
+    /**
+     * @param decisionVariables variables of first evaluation
+     * @param variableSlots slots of variables kept in an array
+     */
+    public EvaluationContext(final DecisionVariables decisionVariables, final VariableSlots variableSlots) {
+        if (variableSlots == null) {
+            throw new NullPointerException("Variable slots can not be null");
+        }
+
+        this.variableSlots = variableSlots;
+        this.slotValues = new Serializable[variableSlots.size()];
+        reset(decisionVariables);
+    }
+
+    @Override
+    public Serializable get(final String name) {
+        final Serializable value;
+
+        if (variables != null) {
+            value = variables.get(name);
+        } else {
+            final int slot = variableSlots.slotOf(name);
+
+            if (slot >= 0) {
+                value = slotValues[slot];
+            } else if (addedVariables.containsKey(name)) {
+                value = addedVariables.get(name);
+            } else {
+                value = decisionVariables.get(name);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * @param slot slot of variable
+     * @return value of the variable
+     */
+    public Serializable get(final int slot) {
+        return slotValues[slot];
+    }
+
+    @Override
+    public Map<String, Serializable> getAll() {
+        if (variables == null) {
+            variables = new HashMap<>(decisionVariables);
+
+            for (int i = 0; i < slotValues.length; i++) {
+                if (slotValues[i] != null || i < givenSlotCount) {
+                    variables.put(variableSlots.getName(i), slotValues[i]);
+                }
+            }
+
+            variables.putAll(addedVariables);
+        }
+
+        return variables;
     }
 
-    public synchronized void addVariable(final String key, final Serializable value) {
-        variables.put(key, value);
+    @Override
+    public boolean isPresent(final String name) {
+        return get(name) != null;
+    }
+
+    public void addVariable(final String key, final Serializable value) {
+        final int slot = variableSlots.slotOf(key);
+
+        if (slot >= 0) {
+            slotValues[slot] = value;
+        } else {
+            addedVariables.put(key, value);
+        }
+
+        if (variables != null) {
+            variables.put(key, value);
+        }
+    }
+
+    /**
+     * @param slot slot of variable
+     * @param value value of the variable
+     */
+    public void addVariable(final int slot, final Serializable value) {
+        slotValues[slot] = value;
+
+        if (variables != null) {
+            variables.put(variableSlots.getName(slot), value);
+        }
+    }
+
+    /**
+     * Replaces content of the context, so the same context can be reused for evaluations of many variable sets.
+     *
+     * @param decisionVariables variables of next evaluation
+     */
+    public void reset(final DecisionVariables decisionVariables) {
+        this.decisionVariables = decisionVariables.getAll();
+        this.givenSlotCount = 0;
+
+        for (int i = 0; i < slotValues.length; i++) {
+            slotValues[i] = this.decisionVariables.get(variableSlots.getName(i));
+        }
+
+        addedVariables.clear();
+        variables = null;
+    }
+
+    /**
+     * Replaces content of the context by values of first slots, without any other decision variables.
+     * Variables of the slots are present in {@link #getAll()} even if their values are null, like null decision variables are.
+     *
+     * @param values values of slots, starting with slot 0
+     */
+    public void reset(final Serializable[] values) {
+        if (values.length > slotValues.length) {
+            throw new IllegalArgumentException("Context has " + slotValues.length + " slots, got " + values.length + " values");
+        }
+
+        this.decisionVariables = Collections.emptyMap();
+        this.givenSlotCount = values.length;
+
+        System.arraycopy(values, 0, slotValues, 0, values.length);
+        Arrays.fill(slotValues, values.length, slotValues.length, null);
+
+        addedVariables.clear();
+        variables = null;
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.context;
+
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Integer slots of variable names, resolved once when decision is compiled.
+ * {@link EvaluationContext} keeps values of slotted variables in an array, so they are read and written by slot.
+ * {@link VariableSlots} is immutable.
+ */
+public final class VariableSlots implements Serializable {
+
+    private static final long serialVersionUID = 1;
+
+    public static final VariableSlots NONE = new VariableSlots(new String[0], Collections.emptyMap());
+
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    private VariableSlots(final String[] names, final Map<String, Integer> slots) {
+        this.names = names;
+        this.slots = slots;
+    }
+
+    /**
+     * @param names variable names, slot of every name is its position in the list
+     * @return slots of the names
+     */
+    public static VariableSlots of(final List<String> names) {
+        if (names == null) {
+            throw new NullPointerException("Names can not be null");
+        }
+
+        final Map<String, Integer> slots = new HashMap<>();
+
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i) == null) {
+                throw new NullPointerException("Name can not be null");
+            }
+
+            if (slots.put(names.get(i), i) != null) {
+                throw new IllegalArgumentException("Name " + names.get(i) + " has more than one slot");
+            }
+        }
+
+        return new VariableSlots(names.toArray(new String[0]), slots);
+    }
+
+    /**
+     * @param name variable name
+     * @return slot of the name or -1 if the name has no slot
+     */
+    public int slotOf(final String name) {
+        final Integer slot = slots.get(name);
+
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot slot of variable
+     * @return name of the variable
+     */
+    public String getName(final int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @return number of slots
+     */
+    public int size() {
+        return names.length;
+    }
+}
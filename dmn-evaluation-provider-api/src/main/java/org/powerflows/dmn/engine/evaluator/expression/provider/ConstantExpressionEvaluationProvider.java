@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.expression.provider;
+
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
+import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Defines contract of expression evaluation provider able to fold constant expressions.
+ * Constant expressions don't depend on evaluation context, so they are evaluated once, when decision is compiled.
+ */
+public interface ConstantExpressionEvaluationProvider extends ExpressionEvaluationProvider {
+
+    /**
+     * Evaluates input entry without evaluation context.
+     * Folded value replaces the input entry evaluation result, so it is compared with the input value by the entry evaluation mode.
+     *
+     * @param inputEntry entry expression defined in decision
+     * @param input input the entry belongs to
+     * @return folded value or empty if the entry expression is not constant
+     */
+    Optional<Serializable> evaluateConstantInputEntry(InputEntry inputEntry, Input input);
+
+    /**
+     * Describes input entry as intervals of input values it is positive for.
+     * Entry is positive when the input value is contained in any of the intervals, regardless of the entry evaluation mode.
+     *
+     * @param inputEntry entry expression defined in decision
+     * @param input input the entry belongs to
+     * @return intervals or empty if the entry expression is not made of constant ranges, comparisons and equality tests
+     */
+    Optional<List<Interval>> evaluateConstantIntervals(InputEntry inputEntry, Input input);
+
+    /**
+     * Evaluates output entry without evaluation context.
+     *
+     * @param outputEntry output entry expression defined in decision
+     * @return folded value or empty if the entry expression is not constant
+     */
+    Optional<Serializable> evaluateConstantOutputEntry(OutputEntry outputEntry);
+}
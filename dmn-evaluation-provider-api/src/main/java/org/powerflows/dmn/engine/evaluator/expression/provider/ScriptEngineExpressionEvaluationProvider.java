@@ -16,7 +16,6 @@
 
 package org.powerflows.dmn.engine.evaluator.expression.provider;
 
-import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
 import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
@@ -38,9 +37,15 @@ import java.util.stream.Collectors;
  *
  * Supports binding instance methods as expression functions.
  */
-@Slf4j
 public abstract class ScriptEngineExpressionEvaluationProvider implements ExpressionEvaluationProvider {
+
+    /**
+     * Script engines not declaring threading support are not thread safe, their evaluations are serialized.
+     */
+    private static final String THREADING_PARAMETER = "THREADING";
+
     protected final ScriptEngine scriptEngine;
+    private final boolean threadSafe;
 
     public ScriptEngineExpressionEvaluationProvider(final ExpressionEvaluationConfiguration configuration) {
         scriptEngine = configuration.getScriptEngineManager().getEngineByName(getEngineName());
@@ -53,6 +58,7 @@ public abstract class ScriptEngineExpressionEvaluationProvider implements Expres
                 .stream()
                 .collect(Collectors.toMap(MethodBinding::name, this::createMethodBinding)));
         scriptEngine.setBindings(bindings, ScriptContext.GLOBAL_SCOPE);
+        threadSafe = scriptEngine.getFactory().getParameter(THREADING_PARAMETER) != null;
     }
 
     protected abstract Object createMethodBinding(MethodBinding methodBinding);
@@ -61,35 +67,17 @@ public abstract class ScriptEngineExpressionEvaluationProvider implements Expres
 
     @Override
     public Serializable evaluateInput(final Input input, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input: {} with evaluation context: {}", input, evaluationContext);
-
-        final Serializable result = evaluate(input.getExpression(), evaluationContext);
-
-        log.debug("Evaluated result: {}", result);
-
-        return result;
+        return evaluate(input.getExpression(), evaluationContext);
     }
 
     @Override
     public Serializable evaluateInputEntry(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input entry {} with evaluation context: {}", inputEntry, evaluationContext);
-
-        final Serializable result = evaluate(inputEntry, evaluationContext);
-
-        log.debug("Evaluated entry result: {}", result);
-
-        return result;
+        return evaluate(inputEntry, evaluationContext);
     }
 
     @Override
     public Serializable evaluateOutputEntry(final OutputEntry outputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of output entry {} with evaluation context: {}", outputEntry, evaluationContext);
-
-        final Serializable result = evaluate(outputEntry.getExpression(), evaluationContext);
-
-        log.debug("Evaluated entry result: {}", result);
-
-        return result;
+        return evaluate(outputEntry.getExpression(), evaluationContext);
     }
 
     private Serializable evaluate(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
@@ -108,7 +96,13 @@ public abstract class ScriptEngineExpressionEvaluationProvider implements Expres
         final Serializable result;
 
         try {
-            result = (Serializable) scriptEngine.eval((String) expression.getValue(), bindings);
+            if (threadSafe) {
+                result = (Serializable) scriptEngine.eval((String) expression.getValue(), bindings);
+            } else {
+                synchronized (scriptEngine) {
+                    result = (Serializable) scriptEngine.eval((String) expression.getValue(), bindings);
+                }
+            }
         } catch (ScriptException e) {
             throw new EvaluationException("Script evaluation exception", e);
         }
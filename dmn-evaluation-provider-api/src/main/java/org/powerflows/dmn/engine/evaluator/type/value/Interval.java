@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.engine.evaluator.type.value;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Interval of input values.
+ * Null start or end means the interval is unbounded on that side.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class Interval {
+
+    private final Comparable<?> start;
+    private final boolean startInclusive;
+    private final Comparable<?> end;
+    private final boolean endInclusive;
+
+    /**
+     * Creates interval containing single value.
+     *
+     * @param value interval start and end
+     * @return interval instance
+     */
+    public static Interval point(final Comparable<?> value) {
+        return Interval.builder()
+                .start(value)
+                .startInclusive(true)
+                .end(value)
+                .endInclusive(true)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.type.value;
+
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.Date;
+
+/**
+ * Unboxed keys of single INTEGER, DOUBLE and DATE values: integer values, bits of double values and epoch milliseconds of dates.
+ * Keys are computed only for values the type converters convert without parsing or failure, so equal keys mean equal converted values.
+ * Values having no key, like strings, nulls and NaN, are compared as converted values.
+ */
+public final class PrimitiveKey {
+
+    private PrimitiveKey() {
+    }
+
+    /**
+     * @param type value type
+     * @return true if values of the type may have keys
+     */
+    public static boolean isSupported(final ValueType type) {
+        return ValueType.INTEGER == type || ValueType.DOUBLE == type || ValueType.DATE == type;
+    }
+
+    /**
+     * @param type value type
+     * @param value single value not converted to the type
+     * @return true if the value has key of the type
+     */
+    public static boolean hasKey(final ValueType type, final Object value) {
+        final boolean key;
+
+        if (ValueType.INTEGER == type) {
+            key = value instanceof Number && isInteger(((Number) value).doubleValue());
+        } else if (ValueType.DOUBLE == type) {
+            key = value instanceof Number && !Double.isNaN(((Number) value).doubleValue());
+        } else if (ValueType.DATE == type) {
+            key = value instanceof Date;
+        } else {
+            key = false;
+        }
+
+        return key;
+    }
+
+    /**
+     * @param type value type
+     * @param value single value having key of the type
+     * @return key of the value converted to the type
+     */
+    public static long of(final ValueType type, final Object value) {
+        final long key;
+
+        if (ValueType.INTEGER == type) {
+            key = ((Number) value).intValue();
+        } else if (ValueType.DOUBLE == type) {
+            key = Double.doubleToLongBits(((Number) value).doubleValue());
+        } else if (ValueType.DATE == type) {
+            key = ((Date) value).getTime();
+        } else {
+            throw new IllegalArgumentException("Value type " + type + " has no primitive keys");
+        }
+
+        return key;
+    }
+
+    /**
+     * Numeric value orders keys of the same type, negative zero being equal to zero.
+     *
+     * @param type value type
+     * @param key key of the type
+     * @return numeric value of the key
+     */
+    public static double toDouble(final ValueType type, final long key) {
+        return (ValueType.DOUBLE == type ? Double.longBitsToDouble(key) : key) + 0.0;
+    }
+
+    /**
+     * Same check as done by integer converter.
+     */
+    private static boolean isInteger(final double value) {
+        return value == (int) value;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.context
+
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
+import spock.lang.Specification
+
+class EvaluationContextSpec extends Specification {
+
+    private final VariableSlots variableSlots = VariableSlots.of(['age', 'segment', 'cellInput'])
+
+    void 'should read decision variables by name and by slot'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([age: 25, other: 'x']), variableSlots)
+
+        expect:
+        evaluationContext.get('age') == 25
+        evaluationContext.get(0) == 25
+        evaluationContext.get('segment') == null
+        evaluationContext.get('other') == 'x'
+        evaluationContext.getAll() == [age: 25, other: 'x']
+    }
+
+    void 'should keep added variables in slots'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([age: 25]), variableSlots)
+
+        when:
+        evaluationContext.addVariable('segment', 'retail')
+        evaluationContext.addVariable(0, 30)
+        evaluationContext.addVariable('added', true)
+
+        then:
+        evaluationContext.get(1) == 'retail'
+        evaluationContext.get('age') == 30
+        evaluationContext.isPresent('added')
+        evaluationContext.getAll() == [age: 30, segment: 'retail', added: true]
+    }
+
+    void 'should reset context by slot values'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([age: 25, other: 'x']), variableSlots)
+        evaluationContext.addVariable('added', true)
+        evaluationContext.getAll()
+
+        when:
+        evaluationContext.reset([40, 'business'] as Serializable[])
+
+        then:
+        evaluationContext.get('age') == 40
+        evaluationContext.get('segment') == 'business'
+        evaluationContext.get('cellInput') == null
+        !evaluationContext.isPresent('other')
+        !evaluationContext.isPresent('added')
+        evaluationContext.getAll() == [age: 40, segment: 'business']
+    }
+
+    void 'should keep null slot values in all variables'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([:]), variableSlots)
+
+        when:
+        evaluationContext.reset([null, 'business'] as Serializable[])
+
+        then:
+        !evaluationContext.isPresent('age')
+        evaluationContext.getAll() == [age: null, segment: 'business']
+        evaluationContext.getAll().containsKey('age')
+    }
+
+    void 'should throw exception when reset by more values than slots'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([:]), variableSlots)
+
+        when:
+        evaluationContext.reset([1, 2, 3, 4] as Serializable[])
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Context has 3 slots, got 4 values'
+    }
+
+    void 'should throw exception when name has more than one slot'() {
+        when:
+        VariableSlots.of(['age', 'age'])
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Name age has more than one slot'
+    }
+}
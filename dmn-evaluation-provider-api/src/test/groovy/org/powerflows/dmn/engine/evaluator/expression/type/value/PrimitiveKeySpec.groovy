@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.expression.type.value
+
+import org.powerflows.dmn.engine.evaluator.type.value.PrimitiveKey
+import org.powerflows.dmn.engine.model.decision.field.ValueType
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class PrimitiveKeySpec extends Specification {
+
+    @Unroll
+    void 'should find key of #value for #type'(ValueType type, Object value, boolean expectedKey) {
+        expect:
+        PrimitiveKey.hasKey(type, value) == expectedKey
+
+        where:
+        type              | value             || expectedKey
+        ValueType.INTEGER | 5                 || true
+        ValueType.INTEGER | 5L                || true
+        ValueType.INTEGER | 5.0d              || true
+        ValueType.INTEGER | 5.5d              || false
+        ValueType.INTEGER | 5_000_000_000L    || false
+        ValueType.INTEGER | '5'               || false
+        ValueType.INTEGER | null              || false
+        ValueType.DOUBLE  | 0.5f              || true
+        ValueType.DOUBLE  | 3                 || true
+        ValueType.DOUBLE  | Double.NaN        || false
+        ValueType.DOUBLE  | '0.5'             || false
+        ValueType.DATE    | new Date(1000L)   || true
+        ValueType.DATE    | 1000L             || false
+        ValueType.STRING  | 'a'               || false
+        ValueType.BOOLEAN | true              || false
+    }
+
+    void 'should compute keys of equal converted values as equal'() {
+        expect:
+        PrimitiveKey.of(ValueType.INTEGER, 5) == PrimitiveKey.of(ValueType.INTEGER, 5.0d)
+        PrimitiveKey.of(ValueType.DOUBLE, 3) == PrimitiveKey.of(ValueType.DOUBLE, 3.0d)
+        PrimitiveKey.of(ValueType.DATE, new Date(1000L)) == 1000L
+    }
+
+    void 'should order keys by numeric values'() {
+        expect:
+        PrimitiveKey.toDouble(ValueType.INTEGER, PrimitiveKey.of(ValueType.INTEGER, -3)) == -3.0d
+        PrimitiveKey.toDouble(ValueType.DOUBLE, PrimitiveKey.of(ValueType.DOUBLE, 0.25d)) == 0.25d
+        PrimitiveKey.toDouble(ValueType.DOUBLE, PrimitiveKey.of(ValueType.DOUBLE, -0.0d)).equals(0.0d)
+        PrimitiveKey.toDouble(ValueType.DATE, PrimitiveKey.of(ValueType.DATE, new Date(1000L))) == 1000.0d
+    }
+
+    void 'should throw exception when type has no keys'() {
+        when:
+        PrimitiveKey.of(ValueType.STRING, 'a')
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Value type STRING has no primitive keys'
+    }
+}
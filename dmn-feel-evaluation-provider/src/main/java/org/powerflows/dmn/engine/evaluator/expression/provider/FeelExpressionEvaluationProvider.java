@@ -18,28 +18,46 @@ package org.powerflows.dmn.engine.evaluator.expression.provider;
 
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
-import lombok.extern.slf4j.Slf4j;
 import org.mvel2.integration.VariableResolverFactory;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
+import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException;
 import org.powerflows.dmn.engine.evaluator.expression.provider.feel.converter.ExpressionConverter;
 import org.powerflows.dmn.engine.evaluator.expression.provider.feel.converter.mvel.FeelToMvelExpressionConverter;
+import org.powerflows.dmn.engine.evaluator.expression.provider.feel.function.DateAndTime;
+import org.powerflows.dmn.engine.evaluator.expression.provider.mvel.ExpressionCache;
+import org.powerflows.dmn.engine.evaluator.type.value.Interval;
+import org.powerflows.dmn.engine.model.decision.EvaluationMode;
 import org.powerflows.dmn.engine.model.decision.expression.Expression;
 import org.powerflows.dmn.engine.model.decision.field.Input;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
 import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
 import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
 
 import java.io.Serializable;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Provides S-FEEL expression evaluation.
+ * Equality tests made of string, number and built-in date and time function call literals are folded when decision is compiled.
+ * Ranges and comparisons with literal operands are described as intervals, so decision input columns made of them can be indexed.
  */
-@Slf4j
-class FeelExpressionEvaluationProvider extends MvelExpressionEvaluationProvider {
+class FeelExpressionEvaluationProvider extends MvelExpressionEvaluationProvider implements ConstantExpressionEvaluationProvider {
+
+    private static final String COLLECTION_PATTERN = ",(?=([^\"]*\"[^\"]*\")*[^\"]*$)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("^\"[^\"\\\\]*\"$");
+    private static final Pattern INTEGER_LITERAL = Pattern.compile("^-?\\d+$");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("^-?\\d+(\\.\\d+)?$");
+    private static final Pattern RANGE = Pattern.compile("^(\\(|\\]|\\[)(.*[^\\.])\\.\\.(.+)(\\)|\\[|\\])$");
+    private static final Pattern COMPARISON = Pattern.compile("^(<|<=|>|>=)([^=].*)$");
+    private static final Pattern DATE_AND_TIME_LITERAL = Pattern.compile("^date\\s+and\\s+time\\s*\\(\\s*\"([^\"]*)\"\\s*\\)$");
 
     private final ExpressionConverter expressionConverter;
-    private final Map<Key,String> expressionCache = new WeakHashMap<>();
+    private final ExpressionCache<Key, String> expressionCache = new ExpressionCache<>();
 
 
     FeelExpressionEvaluationProvider(final ExpressionEvaluationConfiguration configuration) {
@@ -50,32 +68,20 @@ class FeelExpressionEvaluationProvider extends MvelExpressionEvaluationProvider
 
     @Override
     public Serializable evaluateInput(final Input input, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input: {} with evaluation context: {}", input, evaluationContext);
-
         final Key key = Key.builder().expression(String.valueOf(input.getExpression().getValue())).build();
-        final String mvelInputExpressionValue = expressionCache.computeIfAbsent(key, k -> expressionConverter.convert(k.expression, k.inputName));
+        final String mvelInputExpressionValue = convert(key);
         final Expression mvelInputExpression = Expression.builder().type(input.getExpression().getType()).value(mvelInputExpressionValue).build();
 
-        final Serializable result = evaluate(mvelInputExpression, evaluationContext);
-
-        log.debug("Evaluated result: {}", result);
-
-        return result;
+        return evaluate(mvelInputExpression, evaluationContext);
     }
 
     @Override
     public Serializable evaluateOutputEntry(final OutputEntry outputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of output entry with evaluation context: {}", outputEntry, evaluationContext);
-
         final Key key = Key.builder().expression(String.valueOf(outputEntry.getExpression().getValue())).build();
-        final String mvelInputExpressionValue = expressionCache.computeIfAbsent(key, k -> expressionConverter.convert(k.expression, k.inputName));
+        final String mvelInputExpressionValue = convert(key);
         final Expression mvelInputExpression = Expression.builder().type(outputEntry.getExpression().getType()).value(mvelInputExpressionValue).build();
 
-        final Serializable result = evaluate(mvelInputExpression, evaluationContext);
-
-        log.debug("Evaluated output entry result: {}", result);
-
-        return result;
+        return evaluate(mvelInputExpression, evaluationContext);
     }
 
     @Override
@@ -85,12 +91,219 @@ class FeelExpressionEvaluationProvider extends MvelExpressionEvaluationProvider
 
         final Key key = Key.builder().expression(String.valueOf(inputEntry.getExpression().getValue())).inputName(inputEntry.getName()).build();
 
-        final String mvelExpressionValue = expressionCache.computeIfAbsent(key, k -> expressionConverter.convert(k.expression, k.inputName));
+        final String mvelExpressionValue = convert(key);
         final Expression mvelInputEntryExpression = Expression.builder().type(inputEntry.getExpression().getType()).value(mvelExpressionValue).build();
 
         return evaluate(mvelInputEntryExpression, mapVariableResolverFactory);
     }
 
+    @Override
+    public Optional<Serializable> evaluateConstantInputEntry(final InputEntry inputEntry, final Input input) {
+        final Object value = inputEntry.getExpression().getValue();
+        final ArrayList<Serializable> literals;
+
+        if (EvaluationMode.INPUT_COMPARISON == inputEntry.getEvaluationMode() && input.getType() != null && value instanceof String) {
+            literals = evaluateLiterals((String) value, input.getType());
+        } else {
+            literals = null;
+        }
+
+        final Optional<Serializable> result;
+
+        if (literals == null) {
+            result = Optional.empty();
+        } else if (literals.size() == 1) {
+            result = Optional.of(literals.get(0));
+        } else {
+            result = Optional.of(literals);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Optional<List<Interval>> evaluateConstantIntervals(final InputEntry inputEntry, final Input input) {
+        final Object value = inputEntry.getExpression().getValue();
+        final List<Interval> intervals;
+
+        if (isIntervalType(input.getType()) && value instanceof String) {
+            intervals = evaluateIntervals((String) value, input.getType());
+        } else {
+            intervals = null;
+        }
+
+        return Optional.ofNullable(intervals);
+    }
+
+    @Override
+    public Optional<Serializable> evaluateConstantOutputEntry(final OutputEntry outputEntry) {
+        final Object value = outputEntry.getExpression().getValue();
+        final Optional<Serializable> result;
+
+        if (value instanceof String) {
+            result = Optional.ofNullable(evaluateLiteral(((String) value).trim(), ValueType.DATE));
+        } else {
+            result = Optional.empty();
+        }
+
+        return result;
+    }
+
+    /**
+     * Evaluates equality test or collection of equality tests made of literals only.
+     *
+     * @return literal values or null when any of tests is not a literal of given type
+     */
+    private ArrayList<Serializable> evaluateLiterals(final String feelExpression, final ValueType type) {
+        final ArrayList<Serializable> literals = new ArrayList<>();
+
+        for (String expression : feelExpression.split(COLLECTION_PATTERN, -1)) {
+            final Serializable literal = evaluateLiteral(expression.trim(), type);
+
+            if (literal == null) {
+                return null;
+            }
+
+            literals.add(literal);
+        }
+
+        return literals;
+    }
+
+    private boolean isIntervalType(final ValueType type) {
+        return ValueType.INTEGER == type || ValueType.DOUBLE == type || ValueType.DATE == type;
+    }
+
+    /**
+     * Evaluates range, comparison and equality tests, or collection of them, having literal operands only.
+     * Comparisons of dates are not supported by expression converter, so they are not described as intervals either.
+     *
+     * @return intervals or null when any of tests can not be described as interval
+     */
+    private List<Interval> evaluateIntervals(final String feelExpression, final ValueType type) {
+        final List<Interval> intervals = new ArrayList<>();
+
+        for (String expression : feelExpression.split(COLLECTION_PATTERN, -1)) {
+            final Interval interval = evaluateInterval(expression.trim(), type);
+
+            if (interval == null) {
+                return null;
+            }
+
+            intervals.add(interval);
+        }
+
+        return intervals;
+    }
+
+    private Interval evaluateInterval(final String feelExpression, final ValueType type) {
+        final Matcher rangeMatcher = RANGE.matcher(feelExpression);
+        final Matcher comparisonMatcher = COMPARISON.matcher(feelExpression);
+        final Interval interval;
+
+        if (rangeMatcher.matches()) {
+            final Comparable<?> start = evaluateIntervalLiteral(rangeMatcher.group(2).trim(), type);
+            final Comparable<?> end = evaluateIntervalLiteral(rangeMatcher.group(3).trim(), type);
+
+            interval = start == null || end == null ? null : Interval.builder()
+                    .start(start)
+                    .startInclusive("[".equals(rangeMatcher.group(1)))
+                    .end(end)
+                    .endInclusive("]".equals(rangeMatcher.group(4)))
+                    .build();
+        } else if (comparisonMatcher.matches() && ValueType.DATE != type) {
+            final String operator = comparisonMatcher.group(1);
+            final Comparable<?> operand = evaluateIntervalLiteral(comparisonMatcher.group(2).trim(), type);
+
+            if (operand == null) {
+                interval = null;
+            } else if (operator.startsWith("<")) {
+                interval = Interval.builder().end(operand).endInclusive("<=".equals(operator)).build();
+            } else {
+                interval = Interval.builder().start(operand).startInclusive(">=".equals(operator)).build();
+            }
+        } else {
+            final Comparable<?> literal = evaluateIntervalLiteral(feelExpression, type);
+
+            interval = literal == null ? null : Interval.point(literal);
+        }
+
+        return interval;
+    }
+
+    /**
+     * Numbers are evaluated as double values, so integer and double bounds can be compared with each other.
+     */
+    private Comparable<?> evaluateIntervalLiteral(final String feelExpression, final ValueType type) {
+        final Comparable<?> literal;
+
+        if (ValueType.DATE == type) {
+            literal = evaluateDateAndTime(feelExpression);
+        } else if (NUMBER_LITERAL.matcher(feelExpression).matches()) {
+            literal = Double.valueOf(feelExpression);
+        } else {
+            literal = null;
+        }
+
+        return literal;
+    }
+
+    private Serializable evaluateLiteral(final String feelExpression, final ValueType type) {
+        final Serializable literal;
+
+        switch (type) {
+            case STRING:
+                literal = STRING_LITERAL.matcher(feelExpression).matches() ? feelExpression.substring(1, feelExpression.length() - 1) : null;
+                break;
+            case INTEGER:
+                literal = INTEGER_LITERAL.matcher(feelExpression).matches() ? evaluateInteger(feelExpression) : null;
+                break;
+            case DOUBLE:
+                literal = NUMBER_LITERAL.matcher(feelExpression).matches() ? Double.valueOf(feelExpression) : null;
+                break;
+            case DATE:
+                literal = evaluateDateAndTime(feelExpression);
+                break;
+            default:
+                literal = null;
+        }
+
+        return literal;
+    }
+
+    private Integer evaluateInteger(final String feelExpression) {
+        Integer literal;
+
+        try {
+            literal = Integer.valueOf(feelExpression);
+        } catch (NumberFormatException e) {
+            literal = null;
+        }
+
+        return literal;
+    }
+
+    private Date evaluateDateAndTime(final String feelExpression) {
+        final Matcher matcher = DATE_AND_TIME_LITERAL.matcher(feelExpression);
+        final Date literal;
+
+        if (matcher.matches()) {
+            try {
+                literal = DateAndTime.execute(matcher.group(1));
+            } catch (Exception e) {
+                throw new ExpressionEvaluationException("Can not evaluate feel expression '" + feelExpression + "'", e);
+            }
+        } else {
+            literal = null;
+        }
+
+        return literal;
+    }
+
+    private String convert(final Key key) {
+        return expressionCache.get(key, k -> expressionConverter.convert(k.expression, k.inputName));
+    }
+
     @EqualsAndHashCode
     @Builder
     private static class Key implements Serializable {
@@ -23,9 +23,13 @@ import java.util.List;
 
 /**
  * Converts FEEL expression into MVEL expression.
+ * Empty unary test and "-" of input entries match any input value.
  */
 @Slf4j
 public class FeelToMvelExpressionConverter implements ExpressionConverter {
+    private static final String FEEL_ANY = "-";
+    private static final String MVEL_ANY = "true";
+
     private final ExpressionConverter feelToMvelCollectionExpressionConverter;
     private final ExpressionConverter feelToMvelNotExpressionConverter;
     private final ExpressionConverter feelToMvelUnaryExpressionConverter;
@@ -57,6 +61,8 @@ public class FeelToMvelExpressionConverter implements ExpressionConverter {
 
         if (feelExpression == null) {
             mvelExpression = null;
+        } else if (inputName != null && isAny(feelExpression.trim())) {
+            mvelExpression = MVEL_ANY;
         } else if (feelToMvelNotExpressionConverter.isConvertible(feelExpression)) {
             mvelExpression = feelToMvelNotExpressionConverter.convert(feelExpression, inputName);
         } else if (feelToMvelCollectionExpressionConverter.isConvertible(feelExpression)) {
@@ -72,4 +78,8 @@ public class FeelToMvelExpressionConverter implements ExpressionConverter {
     public boolean isConvertible(final String expression) {
         return true;
     }
+
+    private boolean isAny(final String feelExpression) {
+        return feelExpression.isEmpty() || FEEL_ANY.equals(feelExpression);
+    }
 }
\ No newline at end of file
@@ -18,9 +18,12 @@ package org.powerflows.dmn.engine.evaluator.expression.provider
 
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext
 import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException
+import org.powerflows.dmn.engine.evaluator.type.value.Interval
+import org.powerflows.dmn.engine.model.decision.EvaluationMode
 import org.powerflows.dmn.engine.model.decision.expression.Expression
 import org.powerflows.dmn.engine.model.decision.expression.ExpressionType
 import org.powerflows.dmn.engine.model.decision.field.Input
+import org.powerflows.dmn.engine.model.decision.field.ValueType
 import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry
 import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry
 import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables
@@ -75,6 +78,9 @@ class FeelExpressionEvaluationProviderSpec extends Specification {
         'not([1..3])'                                                                  | 3                                   || false
         'not(>=3, <=1)'                                                                | 2                                   || true
         'not(>=3, <=1)'                                                                | 1                                   || false
+        '-'                                                                            | 4                                   || true
+        ' - '                                                                          | 'abc'                               || true
+        ''                                                                             | null                                || true
         '4'                                                                            | 4                                   || true
         '4'                                                                            | 2                                   || false
         '"abc"'                                                                        | 'abc'                               || true
@@ -168,6 +174,87 @@ class FeelExpressionEvaluationProviderSpec extends Specification {
         false                || false
     }
 
+    @Unroll
+    void 'should fold input entry feel expression value #entryExpressionValue for #inputType input in #evaluationMode mode'(
+            final Object entryExpressionValue, final ValueType inputType, final EvaluationMode evaluationMode, final Optional<Serializable> expectedConstant) {
+        given:
+        final Expression entryExpression = [value: entryExpressionValue, type: ExpressionType.FEEL]
+        final InputEntry inputEntry = [expression: entryExpression, name: 'TestInputName', nameAlias: 'cellInput', evaluationMode: evaluationMode]
+        final Input input = [name: 'TestInputName', type: inputType]
+
+        when:
+        final Optional<Serializable> constant = ((ConstantExpressionEvaluationProvider) expressionEvaluationProvider).evaluateConstantInputEntry(inputEntry, input)
+
+        then:
+        constant == expectedConstant
+
+        where:
+        entryExpressionValue                                                           | inputType         | evaluationMode                  || expectedConstant
+        'date and time("2015-11-30T12:00:00")'                                         | ValueType.DATE    | EvaluationMode.INPUT_COMPARISON || Optional.of(format.parse('2015-11-30T12:00:00'))
+        ' date  and time ( "2015-11-30T12:00:00" ) '                                   | ValueType.DATE    | EvaluationMode.INPUT_COMPARISON || Optional.of(format.parse('2015-11-30T12:00:00'))
+        'date and time("2015-11-30T12:00:00")'                                         | ValueType.DATE    | EvaluationMode.BOOLEAN          || Optional.empty()
+        'date and time("2015-11-30T12:00:00")'                                         | ValueType.STRING  | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '[date and time("2015-11-28T12:00:00")..date and time("2015-11-30T12:00:00")]' | ValueType.DATE    | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '4'                                                                            | ValueType.DATE    | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '4'                                                                            | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.of(4)
+        '4, -5'                                                                        | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.of([4, -5])
+        '4.5'                                                                          | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '4.5'                                                                          | ValueType.DOUBLE  | EvaluationMode.INPUT_COMPARISON || Optional.of(4.5d)
+        '"a","b,c"'                                                                    | ValueType.STRING  | EvaluationMode.INPUT_COMPARISON || Optional.of(['a', 'b,c'])
+        '"a",'                                                                         | ValueType.STRING  | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '4'                                                                            | ValueType.STRING  | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '>= 4'                                                                         | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        'not(4)'                                                                       | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+        '99999999999'                                                                  | ValueType.INTEGER | EvaluationMode.INPUT_COMPARISON || Optional.empty()
+    }
+
+    @Unroll
+    void 'should describe input entry feel expression value #entryExpressionValue for #inputType input with intervals #expectedIntervals'(
+            final Object entryExpressionValue, final ValueType inputType, final List<Interval> expectedIntervals) {
+        given:
+        final Expression entryExpression = [value: entryExpressionValue, type: ExpressionType.FEEL]
+        final InputEntry inputEntry = [expression: entryExpression, name: 'TestInputName', nameAlias: 'cellInput', evaluationMode: EvaluationMode.BOOLEAN]
+        final Input input = [name: 'TestInputName', type: inputType]
+
+        when:
+        final Optional<List<Interval>> intervals = ((ConstantExpressionEvaluationProvider) expressionEvaluationProvider).evaluateConstantIntervals(inputEntry, input)
+
+        then:
+        intervals.orElse(null) == expectedIntervals
+
+        where:
+        entryExpressionValue                     | inputType         || expectedIntervals
+        '[1..10)'                                | ValueType.INTEGER || [Interval.builder().start(1d).startInclusive(true).end(10d).endInclusive(false).build()]
+        ']1.5..2.5]'                             | ValueType.DOUBLE  || [Interval.builder().start(1.5d).startInclusive(false).end(2.5d).endInclusive(true).build()]
+        '>= 100'                                 | ValueType.INTEGER || [Interval.builder().start(100d).startInclusive(true).build()]
+        '<5, 7'                                  | ValueType.INTEGER || [Interval.builder().end(5d).endInclusive(false).build(), Interval.point(7d)]
+        '> date and time("2015-11-30T12:00:00")' | ValueType.DATE    || null
+        '[1..10)'                                | ValueType.STRING  || null
+        '[a..10)'                                | ValueType.INTEGER || null
+        'not(4)'                                 | ValueType.INTEGER || null
+        '> 4,'                                   | ValueType.INTEGER || null
+    }
+
+    @Unroll
+    void 'should fold output entry feel expression value #entryExpressionValue with #expectedConstant'(
+            final Object entryExpressionValue, final Optional<Serializable> expectedConstant) {
+        given:
+        final Expression entryExpression = [value: entryExpressionValue, type: ExpressionType.FEEL]
+        final OutputEntry outputEntry = [expression: entryExpression, name: 'TestOutputName']
+
+        when:
+        final Optional<Serializable> constant = ((ConstantExpressionEvaluationProvider) expressionEvaluationProvider).evaluateConstantOutputEntry(outputEntry)
+
+        then:
+        constant == expectedConstant
+
+        where:
+        entryExpressionValue                   || expectedConstant
+        'date and time("2015-11-30T12:00:00")' || Optional.of(format.parse('2015-11-30T12:00:00'))
+        '"some string"'                        || Optional.empty()
+        4                                      || Optional.empty()
+    }
+
     void 'should throw exception for empty value of collection'() {
         given:
         final Expression entryExpression = [value: '1,,', type: ExpressionType.FEEL]
@@ -24,10 +24,12 @@ import org.powerflows.dmn.engine.model.decision.rule.Rule;
 import org.powerflows.dmn.engine.reader.DecisionReadException;
 import org.powerflows.dmn.io.DecisionToExternalModelConverter;
 import org.powerflows.dmn.io.xml.model.XmlDecision;
+import org.powerflows.dmn.io.xml.model.XmlInformationRequirement;
 import org.powerflows.dmn.io.xml.model.XmlInput;
 import org.powerflows.dmn.io.xml.model.XmlInputEntry;
 import org.powerflows.dmn.io.xml.model.XmlOutput;
 import org.powerflows.dmn.io.xml.model.XmlOutputEntry;
+import org.powerflows.dmn.io.xml.model.XmlRequiredDecision;
 import org.powerflows.dmn.io.xml.model.XmlRule;
 
 import java.util.ArrayList;
@@ -37,6 +39,7 @@ import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -90,6 +93,8 @@ public class XmlDecisionConverter implements DecisionToExternalModelConverter<Xm
                 .name(xmlDecision.getName())
                 .hitPolicy(makeHitPolicy(xmlDecision));
 
+        processInformationRequirements(builder, xmlDecision.getInformationRequirements());
+
         processRules(builder,
                 xmlDecision.getDecisionTable().getInputs(),
                 xmlDecision.getDecisionTable().getOutputs(),
@@ -98,6 +103,20 @@ public class XmlDecisionConverter implements DecisionToExternalModelConverter<Xm
         return builder.build();
     }
 
+    /**
+     * Required decisions are referenced by href of the decision id, e.g. #decisionId.
+     */
+    private void processInformationRequirements(final Decision.Builder builder, final List<XmlInformationRequirement> informationRequirements) {
+        informationRequirements.stream()
+                .map(XmlInformationRequirement::getRequiredDecision)
+                .filter(Objects::nonNull)
+                .map(XmlRequiredDecision::getHref)
+                .filter(Objects::nonNull)
+                .map(href -> href.startsWith("#") ? href.substring(1) : href)
+                .distinct()
+                .forEach(builder::requiredDecision);
+    }
+
     private Supplier<String> makeSequenceNameSupplier(final String prefix) {
         return new Supplier<String>() {
             private int count = 0;
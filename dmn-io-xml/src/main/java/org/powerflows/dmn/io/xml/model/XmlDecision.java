@@ -43,6 +43,9 @@ public class XmlDecision {
     @XmlAttribute
     private String id;
 
+    @XmlElement(name = "informationRequirement")
+    private List<XmlInformationRequirement> informationRequirements = new ArrayList<>();
+
     @XmlElement
     private XmlDecisionTable decisionTable;
 
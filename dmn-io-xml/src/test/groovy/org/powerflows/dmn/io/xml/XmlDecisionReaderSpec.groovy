@@ -262,6 +262,7 @@ class XmlDecisionReaderSpec extends Specification {
             getId() == 'Decision_0replv7'
             getName() == 'Another Table'
             getHitPolicy() == HitPolicy.UNIQUE
+            getRequiredDecisions() == ['some_table_id_1']
             getInputs().size() == 1
             getOutputs().size() == 2
             getRules().size() == 1
@@ -273,6 +274,7 @@ class XmlDecisionReaderSpec extends Specification {
             getId() == 'some_table_id_1'
             getName() == 'Some Table Name'
             getHitPolicy() == HitPolicy.FIRST
+            getRequiredDecisions() == []
             getInputs().size() == 3
             getOutputs().size() == 2
             getRules().size() == 3
@@ -38,6 +38,7 @@ public class CustomPropertyUtils extends PropertyUtils {
         PROPERTY_NAME_MAP.put("expressionType", "expression-type");
         PROPERTY_NAME_MAP.put("evaluationMode", "evaluation-mode");
         PROPERTY_NAME_MAP.put("nameAlias", "name-alias");
+        PROPERTY_NAME_MAP.put("requiredDecisions", "required-decisions");
     }
 
     CustomPropertyUtils() {
@@ -55,6 +55,7 @@ public class YamlDecisionConverter implements DecisionToExternalModelConverter<Y
         yamlDecision.setExpressionType(Decision.DEFAULT_EXPRESSION_TYPE.equals(decisionExpressionType) ? null : decisionExpressionType);
         yamlDecision.setEvaluationMode(decisionEvaluationMode);
         yamlDecision.setHitPolicy(decisionHitPolicy);
+        yamlDecision.setRequiredDecisions(decision.getRequiredDecisions().isEmpty() ? null : decision.getRequiredDecisions());
         yamlDecision.setFields(createFields(decision.getInputs(), decision.getOutputs(), decisionEvaluationMode, decisionExpressionType));
 
         final Map<String, Input> inputsMap = decision.getInputs()
@@ -199,6 +200,10 @@ public class YamlDecisionConverter implements DecisionToExternalModelConverter<Y
             builder.hitPolicy(model.getHitPolicy());
         }
 
+        if (model.getRequiredDecisions() != null) {
+            model.getRequiredDecisions().forEach(builder::requiredDecision);
+        }
+
         if (model.getFields().getIn() != null) {
             model.getFields().getIn().forEach((name, input) -> builder
                     .withInput(inputBuilder -> {
@@ -32,6 +32,7 @@ public final class YamlDecision {
     private HitPolicy hitPolicy;
     private ExpressionType expressionType;
     private EvaluationMode evaluationMode;
+    private List<String> requiredDecisions;
     private YamlFields fields;
     private List<YamlRule> rules;
 }
@@ -17,7 +17,6 @@
 package org.powerflows.dmn.engine.evaluator.expression.provider;
 
 import de.odysseus.el.ExpressionFactoryImpl;
-import lombok.extern.slf4j.Slf4j;
 import org.powerflows.dmn.engine.evaluator.context.EvaluationContext;
 import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException;
 import org.powerflows.dmn.engine.evaluator.expression.provider.juel.MethodBindingListFunctionMapper;
@@ -36,7 +35,6 @@ import java.io.Serializable;
  * Provides JUEL expression evaluation.
  * Doesn't support instance method binding.
  */
-@Slf4j
 class JuelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
 
     private final ExpressionFactory expressionFactory;
@@ -49,38 +47,26 @@ class JuelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
 
     @Override
     public Serializable evaluateInput(final Input input, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input: {} with evaluation context: {}", input, evaluationContext);
-
         final Serializable result = evaluate((String) input.getExpression()
                 .getValue(), input.getType().realType(), makeContext(evaluationContext));
 
-        log.debug("Evaluated result: {}", result);
-
         return result;
     }
 
     @Override
     public Serializable evaluateInputEntry(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input entry {} with evaluation context: {}", inputEntry, evaluationContext);
-
         final Serializable result = evaluate((String) inputEntry.getExpression()
                 .getValue(), Serializable.class, makeContext(evaluationContext, inputEntry));
 
-        log.debug("Evaluated entry result: {}", result);
-
         return result;
     }
 
 
     @Override
     public Serializable evaluateOutputEntry(final OutputEntry outputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of output entry {} with evaluation context: {}", outputEntry, evaluationContext);
-
         final Serializable result = evaluate((String) outputEntry.getExpression()
                 .getValue(), Serializable.class, makeContext(evaluationContext));
 
-        log.debug("Evaluated entry result: {}", result);
-
         return result;
     }
 
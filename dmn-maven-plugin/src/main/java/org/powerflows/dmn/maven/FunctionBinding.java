@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.maven;
+
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of function bound to decisions, implemented by public static method of a class
+ * available on compile classpath of the project.
+ */
+@Getter
+@Setter
+public class FunctionBinding {
+
+    /**
+     * Name of the function used in decision expressions
+     */
+    private String name;
+    private String className;
+    private String methodName;
+}
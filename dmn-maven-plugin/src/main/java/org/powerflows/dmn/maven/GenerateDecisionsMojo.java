@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.powerflows.dmn.maven;
+
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.powerflows.dmn.codegen.CodeGenerationException;
+import org.powerflows.dmn.codegen.DecisionCodeGenerator;
+import org.powerflows.dmn.codegen.GeneratedSource;
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding;
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.reader.DecisionReadException;
+import org.powerflows.dmn.engine.reader.DecisionReader;
+import org.powerflows.dmn.io.xml.XmlDecisionReader;
+import org.powerflows.dmn.io.yaml.YamlDecisionReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates decision classes, and optionally their tests, from YAML and XML decision definitions.
+ * Classes of bound functions are loaded from compile classpath of the project, so they have to be provided
+ * by project dependencies. Generated tests compare results with the decision engine, so they require
+ * dmn-engine, dmn-feel-evaluation-provider and JUnit 4 on test classpath of the project.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class GenerateDecisionsMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Directory searched for *.yml, *.yaml, *.xml and *.dmn decision definitions
+     */
+    @Parameter(defaultValue = "${project.basedir}/src/main/dmn", required = true)
+    private File sourceDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-sources/dmn", required = true)
+    private File outputDirectory;
+
+    @Parameter(defaultValue = "${project.build.directory}/generated-test-sources/dmn", required = true)
+    private File testOutputDirectory;
+
+    /**
+     * Package of generated classes
+     */
+    @Parameter(required = true)
+    private String packageName;
+
+    @Parameter
+    private List<FunctionBinding> functionBindings = new ArrayList<>();
+
+    @Parameter(defaultValue = "true")
+    private boolean generateTests;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (sourceDirectory.isDirectory()) {
+            final DecisionCodeGenerator generator = new DecisionCodeGenerator(packageName, createMethodBindings());
+
+            for (Path decisionFile : findDecisionFiles()) {
+                for (Decision decision : readDecisions(decisionFile)) {
+                    generate(generator, decision, decisionFile);
+                }
+            }
+
+            project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+
+            if (generateTests) {
+                project.addTestCompileSourceRoot(testOutputDirectory.getAbsolutePath());
+            }
+        } else {
+            getLog().info("Skipping generation of decisions, " + sourceDirectory + " does not exist");
+        }
+    }
+
+    private void generate(final DecisionCodeGenerator generator, final Decision decision, final Path decisionFile) throws MojoExecutionException, MojoFailureException {
+        try {
+            write(outputDirectory, generator.generateClass(decision));
+
+            if (generateTests) {
+                write(testOutputDirectory, generator.generateTest(decision));
+            }
+        } catch (CodeGenerationException e) {
+            throw new MojoFailureException("Decision " + decision.getId() + " of " + decisionFile + " can not be generated: " + e.getMessage(), e);
+        }
+
+        getLog().info("Generated " + generator.getClassName(decision) + " from " + decisionFile);
+    }
+
+    private List<Path> findDecisionFiles() throws MojoExecutionException {
+        try (Stream<Path> paths = Files.walk(sourceDirectory.toPath())) {
+            return paths
+                    .filter(path -> createReader(path) != null)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can not list decisions of " + sourceDirectory, e);
+        }
+    }
+
+    private List<Decision> readDecisions(final Path decisionFile) throws MojoExecutionException {
+        try (InputStream inputStream = Files.newInputStream(decisionFile)) {
+            return createReader(decisionFile).readAll(inputStream);
+        } catch (IOException | DecisionReadException e) {
+            throw new MojoExecutionException("Can not read decisions of " + decisionFile, e);
+        }
+    }
+
+    private static DecisionReader createReader(final Path path) {
+        final String fileName = path.getFileName().toString();
+        final DecisionReader decisionReader;
+
+        if (fileName.endsWith(".yml") || fileName.endsWith(".yaml")) {
+            decisionReader = new YamlDecisionReader();
+        } else if (fileName.endsWith(".xml") || fileName.endsWith(".dmn")) {
+            decisionReader = new XmlDecisionReader();
+        } else {
+            decisionReader = null;
+        }
+
+        return decisionReader;
+    }
+
+    private static void write(final File directory, final GeneratedSource generatedSource) throws MojoExecutionException {
+        final Path sourceFile = directory.toPath().resolve(generatedSource.getPath());
+
+        try {
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, generatedSource.getSource().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can not write " + sourceFile, e);
+        }
+    }
+
+    private List<MethodBinding> createMethodBindings() throws MojoExecutionException {
+        final List<MethodBinding> methodBindings = new ArrayList<>();
+
+        if (!functionBindings.isEmpty()) {
+            final ClassLoader classLoader = createProjectClassLoader();
+
+            for (FunctionBinding functionBinding : functionBindings) {
+                methodBindings.add(new StaticMethodBinding(functionBinding.getName(), findMethod(functionBinding, classLoader)));
+            }
+        }
+
+        return methodBindings;
+    }
+
+    private static Method findMethod(final FunctionBinding functionBinding, final ClassLoader classLoader) throws MojoExecutionException {
+        final Class<?> bindingClass;
+
+        try {
+            bindingClass = Class.forName(functionBinding.getClassName(), false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new MojoExecutionException("Class " + functionBinding.getClassName() + " of function " + functionBinding.getName() + " is not found", e);
+        }
+
+        final List<Method> methods = Stream.of(bindingClass.getMethods())
+                .filter(method -> method.getName().equals(functionBinding.getMethodName()))
+                .filter(method -> Modifier.isStatic(method.getModifiers()))
+                .collect(Collectors.toList());
+
+        if (methods.size() != 1) {
+            throw new MojoExecutionException("Class " + functionBinding.getClassName() + " of function " + functionBinding.getName()
+                    + " has to have exactly one public static method " + functionBinding.getMethodName() + ", found " + methods.size());
+        }
+
+        return methods.get(0);
+    }
+
+    private ClassLoader createProjectClassLoader() throws MojoExecutionException {
+        final List<URL> urls = new ArrayList<>();
+
+        try {
+            for (String classpathElement : project.getCompileClasspathElements()) {
+                urls.add(new File(classpathElement).toURI().toURL());
+            }
+        } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+            throw new MojoExecutionException("Can not resolve compile classpath of " + project.getArtifactId(), e);
+        }
+
+        return new URLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.maven
+
+import org.apache.maven.plugin.MojoExecutionException
+import org.apache.maven.plugin.MojoFailureException
+import org.apache.maven.project.MavenProject
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+
+class GenerateDecisionsMojoSpec extends Specification {
+
+    private MavenProject project = Mock()
+    private Path buildDirectory = Files.createTempDirectory('dmn-maven-plugin')
+    private GenerateDecisionsMojo mojo = new GenerateDecisionsMojo()
+
+    void setup() {
+        mojo.@project = project
+        mojo.@sourceDirectory = Paths.get(GenerateDecisionsMojoSpec.getResource('decisions').toURI()).toFile()
+        mojo.@outputDirectory = buildDirectory.resolve('generated-sources').toFile()
+        mojo.@testOutputDirectory = buildDirectory.resolve('generated-test-sources').toFile()
+        mojo.@packageName = 'org.powerflows.dmn.sample'
+        mojo.@generateTests = true
+        mojo.@functionBindings = [functionBinding('parse', 'java.lang.Double', 'parseDouble')]
+        project.getCompileClasspathElements() >> []
+    }
+
+    void 'should generate classes and tests of all decisions'() {
+        when:
+        mojo.execute()
+
+        then:
+        1 * project.addCompileSourceRoot(buildDirectory.resolve('generated-sources').toFile().getAbsolutePath())
+        1 * project.addTestCompileSourceRoot(buildDirectory.resolve('generated-test-sources').toFile().getAbsolutePath())
+        sources('generated-sources') == ['org/powerflows/dmn/sample/DiscountDecision.java', 'org/powerflows/dmn/sample/FeeDecision.java']
+        sources('generated-test-sources') == ['org/powerflows/dmn/sample/DiscountDecisionTest.java', 'org/powerflows/dmn/sample/FeeDecisionTest.java']
+        buildDirectory.resolve('generated-sources/org/powerflows/dmn/sample/DiscountDecision.java').getText('UTF-8').contains('java.lang.Double.parseDouble("0.1")')
+    }
+
+    void 'should skip generation of tests'() {
+        given:
+        mojo.@generateTests = false
+
+        when:
+        mojo.execute()
+
+        then:
+        0 * project.addTestCompileSourceRoot(_)
+        sources('generated-sources').size() == 2
+        !Files.exists(buildDirectory.resolve('generated-test-sources'))
+    }
+
+    void 'should skip generation when source directory does not exist'() {
+        given:
+        mojo.@sourceDirectory = buildDirectory.resolve('missing').toFile()
+
+        when:
+        mojo.execute()
+
+        then:
+        0 * project._
+        !Files.exists(buildDirectory.resolve('generated-sources'))
+    }
+
+    void 'should fail on ambiguous function binding'() {
+        given:
+        mojo.@functionBindings = [functionBinding('parse', 'java.lang.Integer', 'parseInt')]
+
+        when:
+        mojo.execute()
+
+        then:
+        final MojoExecutionException exception = thrown()
+        exception.getMessage() == 'Class java.lang.Integer of function parse has to have exactly one public static method parseInt, found 2'
+    }
+
+    void 'should fail on unsupported decision'() {
+        given:
+        mojo.@functionBindings = []
+
+        when:
+        mojo.execute()
+
+        then:
+        final MojoFailureException exception = thrown()
+        exception.getMessage().startsWith('Decision discount of ')
+        exception.getMessage().endsWith('discount.yml can not be generated: FEEL expression parse("0.1") is not supported')
+    }
+
+    private static FunctionBinding functionBinding(final String name, final String className, final String methodName) {
+        final FunctionBinding functionBinding = new FunctionBinding()
+        functionBinding.setName(name)
+        functionBinding.setClassName(className)
+        functionBinding.setMethodName(methodName)
+
+        return functionBinding
+    }
+
+    private List<String> sources(final String directory) {
+        final Path root = buildDirectory.resolve(directory)
+
+        return Files.walk(root).findAll { Files.isRegularFile(it) }.collect { root.relativize(it).toString() }.sort()
+    }
+}
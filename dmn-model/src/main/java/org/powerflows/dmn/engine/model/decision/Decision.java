@@ -34,11 +34,13 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 import static org.powerflows.dmn.engine.model.decision.DecisionUtil.assignDefaults;
 
 /**
  * Represents decision table.
+ * Required decisions are identified by their ids, their outputs are available to the decision as variables.
  */
 @EqualsAndHashCode
 @ToString
@@ -58,6 +60,7 @@ public class Decision implements Serializable {
     private List<Input> inputs = new ArrayList<>();
     private List<Output> outputs = new ArrayList<>();
     private List<Rule> rules = new ArrayList<>();
+    private List<String> requiredDecisions = new ArrayList<>();
 
     private Decision() {
     }
@@ -94,6 +97,26 @@ public class Decision implements Serializable {
         return rules;
     }
 
+    /**
+     * @return ids of decisions which outputs are inputs of this decision
+     */
+    public List<String> getRequiredDecisions() {
+        return requiredDecisions;
+    }
+
+    /**
+     * Decisions serialized before required decisions were introduced have no value of the field.
+     *
+     * @return this decision with no required decisions assigned when the serialized form lacks them
+     */
+    private Object readResolve() {
+        if (requiredDecisions == null) {
+            requiredDecisions = emptyList();
+        }
+
+        return this;
+    }
+
     public static FluentBuilder fluentBuilder() {
         return new FluentBuilder();
     }
@@ -138,6 +161,12 @@ public class Decision implements Serializable {
             return (B) this;
         }
 
+        public B requiredDecision(String decisionId) {
+            this.product.requiredDecisions.add(decisionId);
+
+            return (B) this;
+        }
+
         @Override
         protected Decision assembleProduct() {
             validateIsNonEmpty(product.outputs, "At least one output is required");
@@ -153,6 +182,7 @@ public class Decision implements Serializable {
 
             validateIsNonDuplicated(inputNames, "Inputs must have unique names. Duplicated names: ");
             validateIsNonDuplicated(outputNames, "Outputs must have unique names. Duplicated names: ");
+            validateIsNonDuplicated(product.requiredDecisions, "Required decisions must be unique. Duplicated ids: ");
 
             product.rules.forEach(rule -> {
                 final List<String> inputEntryNames = rule.getInputEntries().stream()
@@ -179,6 +209,7 @@ public class Decision implements Serializable {
             this.product.inputs = unmodifiableList(this.product.inputs);
             this.product.outputs = unmodifiableList(this.product.outputs);
             this.product.rules = unmodifiableList(this.product.rules);
+            this.product.requiredDecisions = unmodifiableList(this.product.requiredDecisions);
 
             return this.product;
         }
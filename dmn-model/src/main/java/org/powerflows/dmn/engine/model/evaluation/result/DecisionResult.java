@@ -22,7 +22,7 @@ import org.powerflows.dmn.engine.model.builder.AbstractBuilder;
 import org.powerflows.dmn.engine.model.evaluation.result.exception.EvaluationResultException;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Collections.unmodifiableList;
@@ -38,7 +38,7 @@ public class DecisionResult implements Serializable {
     private static final int SINGLE_ITEM_COLLECTION_SIZE = 1;
     private static final int FIRST_ITEM_COLLECTION_INDEX = 0;
 
-    private List<RuleResult> ruleResults = new ArrayList<>();
+    private List<RuleResult> ruleResults = Collections.emptyList();
 
     private DecisionResult() {
     }
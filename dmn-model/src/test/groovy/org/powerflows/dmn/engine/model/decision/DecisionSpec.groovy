@@ -690,4 +690,42 @@ class DecisionSpec extends Specification {
         exception != null
         exception.getMessage() == "Input entries refer to non existing inputs: [$someRule1InputEntry1NonMatchName]"
     }
+
+    void 'should deserialize decision serialized without required decisions'() {
+        given:
+        final Decision decision = Decision.builder()
+                .id(someTableId)
+                .name(someTableName)
+                .withInput({ inputBuilder -> inputBuilder.name(someInput1Name).type(someInput1Type).build() })
+                .withOutput({ outputBuilder -> outputBuilder.name(someOutput1Name).type(someOutput1Type).build() })
+                .withRule(
+                { ruleBuilder ->
+                    ruleBuilder
+                            .withInputEntry({ entryBuilder -> entryBuilder.name(someInput1Name).withLiteralValue(someInput1Expression1Value).build() })
+                            .withOutputEntry({ entryBuilder -> entryBuilder.name(someOutput1Name).withLiteralValue(true).build() })
+                            .build()
+                })
+                .build()
+        decision.@requiredDecisions = null
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(decision) }
+
+        when:
+        final Decision deserialized = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))
+                .withCloseable { it.readObject() } as Decision
+
+        then:
+        deserialized.requiredDecisions == []
+        deserialized.id == someTableId
+        deserialized.inputs.size() == 1
+        deserialized.outputs.size() == 1
+        deserialized.rules.size() == 1
+
+        when:
+        deserialized.requiredDecisions.add('other_table_id')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
 }
@@ -16,7 +16,6 @@
 
 package org.powerflows.dmn.engine.evaluator.expression.provider;
 
-import lombok.extern.slf4j.Slf4j;
 import org.mvel2.MVEL;
 import org.mvel2.integration.VariableResolverFactory;
 import org.mvel2.integration.impl.MapVariableResolverFactory;
@@ -25,6 +24,7 @@ import org.powerflows.dmn.engine.evaluator.exception.EvaluationException;
 import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationException;
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.InstanceMethodBinding;
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding;
+import org.powerflows.dmn.engine.evaluator.expression.provider.mvel.ExpressionCache;
 import org.powerflows.dmn.engine.evaluator.expression.provider.mvel.FastCachingMapVariableResolverFactory;
 import org.powerflows.dmn.engine.model.decision.expression.Expression;
 import org.powerflows.dmn.engine.model.decision.field.Input;
@@ -32,17 +32,16 @@ import org.powerflows.dmn.engine.model.decision.rule.entry.InputEntry;
 import org.powerflows.dmn.engine.model.decision.rule.entry.OutputEntry;
 
 import java.io.Serializable;
-import java.util.WeakHashMap;
 
 /**
  * Provides MVEL expression evaluation.
+ * Limited number of compiled expressions is cached, the provider can be used by many threads concurrently.
  *
  * Doesn't support instance method binding.
  */
-@Slf4j
 class MvelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
     private final VariableResolverFactory functionResolverFactory = new MapVariableResolverFactory();
-    private WeakHashMap<String, Object> expressionCache = new WeakHashMap<>();
+    private final ExpressionCache<String, Object> expressionCache = new ExpressionCache<>();
 
     MvelExpressionEvaluationProvider(final ExpressionEvaluationConfiguration configuration) {
         configuration.getMethodBindings().forEach(methodBinding -> functionResolverFactory.createVariable(methodBinding.name().replaceAll("\\s", ""), createMethodBinding(methodBinding)));
@@ -59,35 +58,17 @@ class MvelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
 
     @Override
     public Serializable evaluateInput(final Input input, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input: {} with evaluation context: {}", input, evaluationContext);
-
-        final Serializable result = evaluate(input.getExpression(), evaluationContext);
-
-        log.debug("Evaluated result: {}", result);
-
-        return result;
+        return evaluate(input.getExpression(), evaluationContext);
     }
 
     @Override
     public Serializable evaluateInputEntry(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of input entry {} with evaluation context: {}", inputEntry, evaluationContext);
-
-        final Serializable result = evaluate(inputEntry, evaluationContext);
-
-        log.debug("Evaluated entry result: {}", result);
-
-        return result;
+        return evaluate(inputEntry, evaluationContext);
     }
 
     @Override
     public Serializable evaluateOutputEntry(final OutputEntry outputEntry, final EvaluationContext evaluationContext) {
-        log.debug("Starting evaluation of output entry {} with evaluation context: {}", outputEntry, evaluationContext);
-
-        final Serializable result = evaluate(outputEntry.getExpression(), evaluationContext);
-
-        log.debug("Evaluated entry result: {}", result);
-
-        return result;
+        return evaluate(outputEntry.getExpression(), evaluationContext);
     }
 
     Serializable evaluate(final InputEntry inputEntry, final EvaluationContext evaluationContext) {
@@ -111,7 +92,7 @@ class MvelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
 
         try {
             final String expressionString = (String) expression.getValue();
-            final Object compiledExpression = expressionCache.computeIfAbsent(expressionString, MVEL::compileExpression);
+            final Object compiledExpression = getCompiledExpression(expressionString);
             result = (Serializable) MVEL.executeExpression(compiledExpression, variableResolverFactory);
         } catch (Exception e) {
             throw new ExpressionEvaluationException("Can not evaluate feel expression '" + expression.getValue() + "'", e);
@@ -120,4 +101,7 @@ class MvelExpressionEvaluationProvider implements ExpressionEvaluationProvider {
         return result;
     }
 
+    private Object getCompiledExpression(final String expressionString) {
+        return expressionCache.get(expressionString, MVEL::compileExpression);
+    }
 }
\ No newline at end of file
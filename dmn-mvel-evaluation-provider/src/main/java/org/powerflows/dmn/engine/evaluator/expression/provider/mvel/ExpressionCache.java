@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.evaluator.expression.provider.mvel;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Cache of compiled or converted expressions which can be used by many threads concurrently.
+ * Cache is read without locking. When it is full, arbitrary expression is dropped before another one is added,
+ * dropped expression is compiled again when it is evaluated next time. Concurrent additions may exceed
+ * maximum size by number of adding threads.
+ *
+ * @param <K> type of expression
+ * @param <V> type of compiled expression
+ */
+public class ExpressionCache<K, V> {
+
+    /**
+     * Default maximum number of cached expressions.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final int maximumSize;
+    private final ConcurrentMap<K, V> values = new ConcurrentHashMap<>();
+
+    public ExpressionCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize maximum number of cached expressions
+     */
+    public ExpressionCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param key expression
+     * @param compilation compiles the expression when it is not cached
+     * @return cached or compiled expression
+     */
+    public V get(final K key, final Function<? super K, ? extends V> compilation) {
+        final V value = values.get(key);
+        final V result;
+
+        if (value == null) {
+            if (values.size() >= maximumSize) {
+                evictAny();
+            }
+
+            result = values.computeIfAbsent(key, compilation);
+        } else {
+            result = value;
+        }
+
+        return result;
+    }
+
+    /**
+     * @return number of cached expressions
+     */
+    public int size() {
+        return values.size();
+    }
+
+    private void evictAny() {
+        final Iterator<K> keys = values.keySet().iterator();
+
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
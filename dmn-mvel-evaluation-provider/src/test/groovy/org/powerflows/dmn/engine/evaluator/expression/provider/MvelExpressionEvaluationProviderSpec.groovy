@@ -22,6 +22,7 @@ import org.powerflows.dmn.engine.evaluator.expression.ExpressionEvaluationExcept
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.InstanceMethodBinding
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.MethodBinding
 import org.powerflows.dmn.engine.evaluator.expression.provider.binding.StaticMethodBinding
+import org.powerflows.dmn.engine.evaluator.expression.provider.mvel.ExpressionCache
 import org.powerflows.dmn.engine.evaluator.expression.provider.sample.MethodSource
 import org.powerflows.dmn.engine.model.decision.expression.Expression
 import org.powerflows.dmn.engine.model.decision.expression.ExpressionType
@@ -192,4 +193,44 @@ class MvelExpressionEvaluationProviderSpec extends Specification {
         exception != null
         exception.getMessage() == 'Instance method binding for MVEL is not supported yet'
     }
+
+    void 'should keep limited number of compiled expressions'() {
+        given:
+        final ExpressionCache<String, Object> expressionCache = new ExpressionCache<>(3)
+        final List<String> compiledExpressions = []
+
+        when:
+        final List<Object> results = ['a', 'b', 'a', 'c', 'd', 'e'].collect { expression ->
+            expressionCache.get(expression, { compiledExpressions << it; it.toUpperCase() })
+        }
+
+        then:
+        results == ['A', 'B', 'A', 'C', 'D', 'E']
+        compiledExpressions == ['a', 'b', 'c', 'd', 'e']
+        expressionCache.size() == 3
+    }
+
+    void 'should evaluate expressions after they are dropped from cache'() {
+        given:
+        final EvaluationContext evaluationContext = new EvaluationContext(new DecisionVariables([x: 2]))
+        final List<Integer> numbers = (0..<ExpressionCache.DEFAULT_MAXIMUM_SIZE + 10)
+
+        when:
+        final List<Serializable> results = (numbers + numbers).collect {
+            expressionEvaluationProvider.evaluateInput([expression: [value: "x + ${it}".toString(), type: ExpressionType.MVEL]] as Input, evaluationContext)
+        }
+
+        then:
+        results == (numbers + numbers).collect { it + 2 }
+        expressionEvaluationProvider.@expressionCache.size() == ExpressionCache.DEFAULT_MAXIMUM_SIZE
+    }
+
+    void 'should throw exception when maximum size of expression cache is not positive'() {
+        when:
+        new ExpressionCache<String, Object>(0)
+
+        then:
+        final IllegalArgumentException exception = thrown()
+        exception.getMessage() == 'Maximum size must be positive'
+    }
 }
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.sample.generator;
+
+
+import org.powerflows.dmn.engine.model.decision.Decision;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+import org.powerflows.dmn.engine.model.decision.rule.Rule;
+import org.powerflows.dmn.engine.model.evaluation.variable.DecisionVariables;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic decisions of given shape and variable workloads for them. Generation is seeded,
+ * so the same shape always produces the same decision, and the same workload seed the same variables.
+ * <p>
+ * Numeric entries are intervals of random width, string entries are categories and boolean entries are constants.
+ * Every rule has single integer output with the rule index. Workloads favour a small number of hot rules
+ * following Zipf distribution, numeric values outside of hot rules are normally distributed around the middle
+ * of their domain and categories follow Zipf distribution too.
+ */
+public class DecisionGenerator {
+
+    public static final String INPUT_NAME_PREFIX = "input";
+    public static final String OUTPUT_NAME = "result";
+    public static final String CATEGORY_PREFIX = "c";
+
+    /**
+     * Probability of workload variables being taken from entries of a hot rule.
+     */
+    public static final double MATCH_RATIO = 0.8;
+
+    private static final int NUMERIC_DOMAIN = 1000;
+    private static final int MAX_INTERVAL_WIDTH = NUMERIC_DOMAIN / 5;
+    private static final int DISJOINT_INTERVAL_WIDTH = 10;
+    private static final int CATEGORY_COUNT = 50;
+    private static final double TRUE_PROBABILITY = 0.7;
+
+    private final DecisionShape shape;
+    private final Object[][] entries;
+    private final ExpressionType[][] entryExpressionTypes;
+    private final int[] hotRules;
+    private final double[] hotRuleDistribution;
+    private final double[] categoryDistribution;
+
+    public DecisionGenerator(final DecisionShape shape) {
+        if (shape == null) {
+            throw new NullPointerException("Decision shape can not be null");
+        }
+
+        final Random random = new Random(shape.getSeed());
+        final ExpressionTypePicker expressionTypePicker = new ExpressionTypePicker(shape.getExpressionTypeWeights());
+
+        this.shape = shape;
+        this.entries = new Object[shape.getRuleCount()][shape.getInputCount()];
+        this.entryExpressionTypes = new ExpressionType[shape.getRuleCount()][shape.getInputCount()];
+
+        for (int rule = 0; rule < shape.getRuleCount(); rule++) {
+            for (int input = 0; input < shape.getInputCount(); input++) {
+                if (isDisjoint(input)) {
+                    entries[rule][input] = createDisjointInterval(rule, shape.getValueType(input));
+                } else if (random.nextDouble() >= shape.getWildcardDensity()) {
+                    entries[rule][input] = createEntry(random, shape.getValueType(input));
+                }
+
+                entryExpressionTypes[rule][input] = expressionTypePicker.pick(random);
+            }
+        }
+
+        this.hotRules = shuffledIndexes(shape.getRuleCount(), random);
+        this.hotRuleDistribution = zipfDistribution(shape.getRuleCount());
+        this.categoryDistribution = zipfDistribution(CATEGORY_COUNT);
+    }
+
+    public DecisionShape getShape() {
+        return shape;
+    }
+
+    /**
+     * @return decision of the generator shape
+     */
+    public Decision generateDecision() {
+        final Decision.Builder builder = Decision.builder()
+                .id("generated_" + shape.getRuleCount() + "x" + shape.getInputCount() + "_" + shape.getSeed())
+                .name("Generated decision")
+                .hitPolicy(shape.getHitPolicy())
+                .expressionType(ExpressionType.FEEL);
+
+        for (int input = 0; input < shape.getInputCount(); input++) {
+            final String inputName = getInputName(input);
+            final ValueType valueType = shape.getValueType(input);
+
+            builder.withInput(in -> in
+                    .name(inputName)
+                    .type(valueType)
+                    .withExpression(ex -> ex
+                            .type(ExpressionType.LITERAL)
+                            .build())
+                    .build());
+        }
+
+        builder.withOutput(out -> out
+                .name(OUTPUT_NAME)
+                .type(ValueType.INTEGER)
+                .build());
+
+        for (int rule = 0; rule < shape.getRuleCount(); rule++) {
+            final int ruleIndex = rule;
+
+            builder.withRule(ruleBuilder -> createRule(ruleBuilder, ruleIndex));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param count number of variable sets
+     * @param seed seed of random generator
+     * @return variable sets
+     */
+    public List<DecisionVariables> generateVariables(final int count, final long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+
+        final Random random = new Random(seed);
+        final List<DecisionVariables> variables = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            variables.add(generateVariables(random));
+        }
+
+        return variables;
+    }
+
+    /**
+     * @param input index of input
+     * @return name of the input
+     */
+    public static String getInputName(final int input) {
+        return INPUT_NAME_PREFIX + input;
+    }
+
+    private DecisionVariables generateVariables(final Random random) {
+        final Map<String, Serializable> variables = new HashMap<>();
+        final int rule = random.nextDouble() < MATCH_RATIO ? hotRules[sample(hotRuleDistribution, random)] : -1;
+
+        for (int input = 0; input < shape.getInputCount(); input++) {
+            final Object entry = rule < 0 ? null : entries[rule][input];
+            final Serializable value;
+
+            if (entry == null) {
+                value = createValue(random, input);
+            } else {
+                value = createMatchingValue(random, entry, shape.getValueType(input));
+            }
+
+            variables.put(getInputName(input), value);
+        }
+
+        return new DecisionVariables(variables);
+    }
+
+    private Rule createRule(final Rule.Builder ruleBuilder, final int rule) {
+        for (int input = 0; input < shape.getInputCount(); input++) {
+            final Object entry = entries[rule][input];
+
+            if (entry != null) {
+                final String inputName = getInputName(input);
+                final ExpressionType expressionType = entryExpressionTypes[rule][input];
+                final String expression = createExpression(entry, shape.getValueType(input), expressionType);
+
+                ruleBuilder.withInputEntry(in -> in
+                        .name(inputName)
+                        .withExpression(ex -> ex
+                                .type(expressionType)
+                                .value(expression)
+                                .build())
+                        .build());
+            }
+        }
+
+        return ruleBuilder
+                .withOutputEntry(out -> out
+                        .name(OUTPUT_NAME)
+                        .withExpression(ex -> ex
+                                .type(ExpressionType.LITERAL)
+                                .value(rule)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private boolean isDisjoint(final int input) {
+        return input == 0 && shape.hasDisjointFirstInput();
+    }
+
+    private Serializable createValue(final Random random, final int input) {
+        final ValueType valueType = shape.getValueType(input);
+        final Serializable value;
+
+        if (isDisjoint(input)) {
+            value = toNumber(random.nextDouble() * shape.getRuleCount() * DISJOINT_INTERVAL_WIDTH, valueType);
+        } else if (DecisionShape.isNumeric(valueType)) {
+            final double normal = NUMERIC_DOMAIN / 2d + random.nextGaussian() * NUMERIC_DOMAIN / 6;
+
+            value = toNumber(Math.max(0, Math.min(NUMERIC_DOMAIN - 1, normal)), valueType);
+        } else if (valueType == ValueType.STRING) {
+            value = CATEGORY_PREFIX + sample(categoryDistribution, random);
+        } else {
+            value = random.nextDouble() < TRUE_PROBABILITY;
+        }
+
+        return value;
+    }
+
+    private static Serializable createMatchingValue(final Random random, final Object entry, final ValueType valueType) {
+        final Serializable value;
+
+        if (entry instanceof Interval) {
+            final Interval interval = (Interval) entry;
+
+            if (valueType == ValueType.INTEGER) {
+                value = (int) interval.start + random.nextInt((int) (interval.end - interval.start) + 1);
+            } else {
+                value = round(interval.start + random.nextDouble() * (interval.end - interval.start));
+            }
+        } else if (entry instanceof Integer) {
+            value = CATEGORY_PREFIX + entry;
+        } else {
+            value = (Boolean) entry;
+        }
+
+        return value;
+    }
+
+    private static Object createEntry(final Random random, final ValueType valueType) {
+        final Object entry;
+
+        if (valueType == ValueType.INTEGER) {
+            final int start = random.nextInt(NUMERIC_DOMAIN);
+
+            entry = new Interval(start, Math.min(NUMERIC_DOMAIN - 1, start + random.nextInt(MAX_INTERVAL_WIDTH)));
+        } else if (valueType == ValueType.DOUBLE) {
+            final double start = round(random.nextDouble() * (NUMERIC_DOMAIN - 1));
+
+            entry = new Interval(start, Math.min(NUMERIC_DOMAIN - 1, round(start + random.nextDouble() * MAX_INTERVAL_WIDTH)));
+        } else if (valueType == ValueType.STRING) {
+            entry = random.nextInt(CATEGORY_COUNT);
+        } else {
+            entry = random.nextBoolean();
+        }
+
+        return entry;
+    }
+
+    private static Interval createDisjointInterval(final int rule, final ValueType valueType) {
+        final double start = rule * DISJOINT_INTERVAL_WIDTH;
+        final double end = valueType == ValueType.INTEGER
+                ? start + DISJOINT_INTERVAL_WIDTH - 1
+                : round(start + DISJOINT_INTERVAL_WIDTH - 0.1);
+
+        return new Interval(start, end);
+    }
+
+    private static String createExpression(final Object entry, final ValueType valueType, final ExpressionType expressionType) {
+        final String expression;
+
+        if (entry instanceof Interval) {
+            final Interval interval = (Interval) entry;
+            final String start = format(interval.start, valueType);
+            final String end = format(interval.end, valueType);
+
+            expression = expressionType == ExpressionType.FEEL
+                    ? "[" + start + ".." + end + "]"
+                    : "cellInput >= " + start + " && cellInput <= " + end;
+        } else if (entry instanceof Integer) {
+            final String category = "\"" + CATEGORY_PREFIX + entry + "\"";
+
+            expression = expressionType == ExpressionType.FEEL ? category : "cellInput == " + category;
+        } else {
+            expression = expressionType == ExpressionType.FEEL ? entry.toString() : "cellInput == " + entry;
+        }
+
+        return expression;
+    }
+
+    private static String format(final double value, final ValueType valueType) {
+        return valueType == ValueType.INTEGER ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static Serializable toNumber(final double value, final ValueType valueType) {
+        return valueType == ValueType.INTEGER ? Integer.valueOf((int) value) : Double.valueOf(round(value));
+    }
+
+    private static double round(final double value) {
+        return Math.round(value * 10) / 10d;
+    }
+
+    private static int[] shuffledIndexes(final int count, final Random random) {
+        final int[] indexes = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            final int j = random.nextInt(i + 1);
+
+            indexes[i] = indexes[j];
+            indexes[j] = i;
+        }
+
+        return indexes;
+    }
+
+    /**
+     * @return cumulative Zipf distribution with exponent 1 over given number of ranks
+     */
+    private static double[] zipfDistribution(final int count) {
+        final double[] distribution = new double[count];
+        double sum = 0;
+
+        for (int i = 0; i < count; i++) {
+            sum += 1d / (i + 1);
+            distribution[i] = sum;
+        }
+
+        for (int i = 0; i < count; i++) {
+            distribution[i] /= sum;
+        }
+
+        return distribution;
+    }
+
+    private static int sample(final double[] distribution, final Random random) {
+        final int index = Arrays.binarySearch(distribution, random.nextDouble());
+
+        return Math.min(distribution.length - 1, index < 0 ? -index - 1 : index);
+    }
+
+    /**
+     * Closed interval of numeric entry.
+     */
+    private static class Interval {
+
+        private final double start;
+        private final double end;
+
+        private Interval(final double start, final double end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Picks expression types with given relative frequencies.
+     */
+    private static class ExpressionTypePicker {
+
+        private final ExpressionType[] expressionTypes;
+        private final int[] cumulativeWeights;
+
+        private ExpressionTypePicker(final Map<ExpressionType, Integer> weights) {
+            this.expressionTypes = new ExpressionType[weights.size()];
+            this.cumulativeWeights = new int[weights.size()];
+
+            int index = 0;
+            int sum = 0;
+
+            for (Map.Entry<ExpressionType, Integer> weight : weights.entrySet()) {
+                sum += weight.getValue();
+                expressionTypes[index] = weight.getKey();
+                cumulativeWeights[index++] = sum;
+            }
+        }
+
+        private ExpressionType pick(final Random random) {
+            final int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int index = 0;
+
+            while (cumulativeWeights[index] <= value) {
+                index++;
+            }
+
+            return expressionTypes[index];
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2018-present PowerFlows.org - all rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.powerflows.dmn.engine.sample.generator;
+
+
+import lombok.Builder;
+import lombok.ToString;
+import org.powerflows.dmn.engine.model.decision.HitPolicy;
+import org.powerflows.dmn.engine.model.decision.expression.ExpressionType;
+import org.powerflows.dmn.engine.model.decision.field.ValueType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shape of decision produced by {@link DecisionGenerator}.
+ * Decisions generated for equal shapes are equal.
+ */
+@ToString
+public class DecisionShape {
+
+    /**
+     * Value types of generated inputs.
+     */
+    public static final Set<ValueType> SUPPORTED_VALUE_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(ValueType.INTEGER, ValueType.DOUBLE, ValueType.STRING, ValueType.BOOLEAN));
+
+    /**
+     * Expression types of generated input entries.
+     */
+    public static final Set<ExpressionType> SUPPORTED_EXPRESSION_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(ExpressionType.FEEL, ExpressionType.MVEL, ExpressionType.JUEL));
+
+    private final long seed;
+    private final HitPolicy hitPolicy;
+    private final int ruleCount;
+    private final int inputCount;
+    private final List<ValueType> valueTypes;
+    private final double wildcardDensity;
+    private final Map<ExpressionType, Integer> expressionTypeWeights;
+
+    /**
+     * When hit policy is UNIQUE or ANY, entries of the first input never overlap, so every workload matches one rule at most.
+     * The first input has to be numeric then.
+     *
+     * @param seed seed of random generator
+     * @param hitPolicy hit policy of the decision, FIRST when not set
+     * @param ruleCount number of rules
+     * @param inputCount number of inputs
+     * @param valueTypes types of inputs used in turn, INTEGER inputs only when not set
+     * @param wildcardDensity probability of rule having no entry for an input, between 0 inclusive and 1 exclusive
+     * @param expressionTypeWeights relative frequencies of input entry expression types, FEEL entries only when not set
+     */
+    @Builder
+    private DecisionShape(final long seed,
+                          final HitPolicy hitPolicy,
+                          final int ruleCount,
+                          final int inputCount,
+                          final List<ValueType> valueTypes,
+                          final double wildcardDensity,
+                          final Map<ExpressionType, Integer> expressionTypeWeights) {
+        if (ruleCount <= 0) {
+            throw new IllegalArgumentException("Rule count must be positive");
+        }
+
+        if (inputCount <= 0) {
+            throw new IllegalArgumentException("Input count must be positive");
+        }
+
+        if (wildcardDensity < 0 || wildcardDensity >= 1) {
+            throw new IllegalArgumentException("Wildcard density must be between 0 inclusive and 1 exclusive");
+        }
+
+        this.seed = seed;
+        this.hitPolicy = hitPolicy == null ? HitPolicy.FIRST : hitPolicy;
+        this.ruleCount = ruleCount;
+        this.inputCount = inputCount;
+        this.valueTypes = valueTypes == null || valueTypes.isEmpty()
+                ? Collections.singletonList(ValueType.INTEGER)
+                : Collections.unmodifiableList(valueTypes);
+        this.wildcardDensity = wildcardDensity;
+        this.expressionTypeWeights = expressionTypeWeights == null || expressionTypeWeights.isEmpty()
+                ? Collections.singletonMap(ExpressionType.FEEL, 1)
+                : Collections.unmodifiableMap(new EnumMap<>(expressionTypeWeights));
+
+        validate();
+    }
+
+    private void validate() {
+        for (ValueType valueType : valueTypes) {
+            if (!SUPPORTED_VALUE_TYPES.contains(valueType)) {
+                throw new IllegalArgumentException("Value type " + valueType + " is not supported");
+            }
+        }
+
+        for (Map.Entry<ExpressionType, Integer> weight : expressionTypeWeights.entrySet()) {
+            if (!SUPPORTED_EXPRESSION_TYPES.contains(weight.getKey())) {
+                throw new IllegalArgumentException("Expression type " + weight.getKey() + " is not supported");
+            }
+
+            if (weight.getValue() == null || weight.getValue() <= 0) {
+                throw new IllegalArgumentException("Expression type weight must be positive");
+            }
+        }
+
+        if (hasDisjointFirstInput() && !isNumeric(getValueType(0))) {
+            throw new IllegalArgumentException("First input has to be numeric for " + hitPolicy + " hit policy");
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public HitPolicy getHitPolicy() {
+        return hitPolicy;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    public List<ValueType> getValueTypes() {
+        return valueTypes;
+    }
+
+    public double getWildcardDensity() {
+        return wildcardDensity;
+    }
+
+    public Map<ExpressionType, Integer> getExpressionTypeWeights() {
+        return expressionTypeWeights;
+    }
+
+    /**
+     * @param inputIndex index of input
+     * @return value type of the input
+     */
+    public ValueType getValueType(final int inputIndex) {
+        return valueTypes.get(inputIndex % valueTypes.size());
+    }
+
+    /**
+     * @return true if entries of the first input never overlap
+     */
+    public boolean hasDisjointFirstInput() {
+        return hitPolicy == HitPolicy.UNIQUE || hitPolicy == HitPolicy.ANY;
+    }
+
+    static boolean isNumeric(final ValueType valueType) {
+        return valueType == ValueType.INTEGER || valueType == ValueType.DOUBLE;
+    }
+}